@@ -0,0 +1,49 @@
+package components;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the packing and unpacking of P, done by PHP, PLP, RTI, BRK and
+ * interrupts
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpuInfoBenchmark {
+
+	private static final int VALUE_NUMBER = 0x100;
+
+	private final CpuInfo cpuInfo = new CpuInfo();
+
+	@Benchmark
+	@OperationsPerInvocation(VALUE_NUMBER)
+	public void setP() {
+		for (int P = 0; P < VALUE_NUMBER; P++) {
+			cpuInfo.setP(P);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(VALUE_NUMBER)
+	public void setAndGetP(Blackhole blackhole) {
+		for (int P = 0; P < VALUE_NUMBER; P++) {
+			cpuInfo.setP(P);
+			blackhole.consume(cpuInfo.getP());
+		}
+	}
+}
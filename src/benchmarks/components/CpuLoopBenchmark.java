@@ -0,0 +1,95 @@
+package components;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.InstructionNotSupportedException;
+import utils.BenchmarkRom;
+
+/**
+ * Runs synthetic 6502 programs for one emulated second of an NTSC CPU
+ * (1789773 cycles). The score is the time needed to emulate that second: below
+ * 1000 ms, the engine is faster than the console
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CpuLoopBenchmark {
+
+	private static final int CYCLE_BUDGET = 1789773;
+
+	/**
+	 * Programs in ROM, looping forever
+	 */
+	public enum Program {
+		/**
+		 * Copies a page of RAM to another one: LDX #$00 ; LDA $0200,X ; STA
+		 * $0300,X ; INX ; BNE -9 ; JMP $8000
+		 */
+		MEMORY_COPY(0xA2, 0x00, 0xBD, 0x00, 0x02, 0x9D, 0x00, 0x03, 0xE8, 0xD0, 0xF7, 0x4C, 0x00, 0x80),
+
+		/**
+		 * Adds 16 bits numbers in zeropage: CLC ; LDA $10 ; ADC #$01 ; STA $10 ; LDA
+		 * $11 ; ADC #$00 ; STA $11 ; JMP $8000
+		 */
+		ADD_16_BITS(0x18, 0xA5, 0x10, 0x69, 0x01, 0x85, 0x10, 0xA5, 0x11, 0x69, 0x00, 0x85, 0x11, 0x4C, 0x00, 0x80),
+
+		/**
+		 * Counts bits with shifts and branches: LDA $10 ; LDY #$00 ; LDX #$08 ; LSR A
+		 * ; BCC +1 ; INY ; DEX ; BNE -7 ; STY $11 ; INC $10 ; JMP $8000
+		 */
+		COUNT_BITS(0xA5, 0x10, 0xA0, 0x00, 0xA2, 0x08, 0x4A, 0x90, 0x01, 0xC8, 0xCA, 0xD0, 0xF9, 0x84, 0x11, 0xE6,
+				0x10, 0x4C, 0x00, 0x80),
+
+		/**
+		 * Calls a subroutine saving registers on the stack: JSR $C000 ; JMP $8000 and
+		 * PHA ; TXA ; PHA ; INX ; PLA ; TAX ; PLA ; RTS
+		 */
+		SUBROUTINE(0x20, 0x00, 0xC0, 0x4C, 0x00, 0x80);
+
+		private final int[] code;
+
+		private Program(int... code) {
+			this.code = code;
+		}
+	}
+
+	@Param
+	public Program program;
+
+	@Param
+	public CpuEngine engine;
+
+	private Cpu cpu;
+
+	@Setup
+	public void setup() {
+		BenchmarkRom rom = new BenchmarkRom(program.code).put(0xC000, 0x48, 0x8A, 0x48, 0xE8, 0x68, 0xAA, 0x68, 0x60);
+		cpu = rom.load(engine);
+		cpu.cpuInfo.PC = BenchmarkRom.ROM_ADDRESS;
+	}
+
+	@Benchmark
+	public long emulatedSecond() throws InstructionNotSupportedException {
+		long cycles = 0;
+		while (cycles < CYCLE_BUDGET) {
+			cycles += cpu.tick();
+		}
+
+		return cycles;
+	}
+}
@@ -0,0 +1,100 @@
+package components;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.InstructionNotSupportedException;
+import utils.BenchmarkRom;
+
+/**
+ * Measures {@link Cpu#tick()} on ROM code repeating one opcode with one
+ * addressing mode, for each engine. Operations are emulated cycles, so the
+ * score is in emulated MHz whatever the number of instructions run by a tick
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpuTickBenchmark {
+
+	private static final int CYCLES = 0x10000;
+	private static final int REPEAT = 32;
+
+	/**
+	 * Instructions and their bytes, operands point to RAM prepared in
+	 * {@link #setup()}
+	 */
+	public enum Opcode {
+		LDA_IMMEDIATE(0xA9, 0x12),
+		LDA_ZEROPAGE(0xA5, 0x10),
+		LDA_ABSOLUTE(0xAD, 0x00, 0x02),
+		LDA_ABSOLUTE_X(0xBD, 0x00, 0x02),
+		LDA_ABSOLUTE_X_PAGE_CROSSED(0xBD, 0xF8, 0x02),
+		LDA_INDIRECT_X(0xA1, 0x00),
+		LDA_INDIRECT_Y(0xB1, 0x10),
+		STA_ABSOLUTE(0x8D, 0x00, 0x02),
+		ADC_IMMEDIATE(0x69, 0x01),
+		CMP_ZEROPAGE(0xC5, 0x10),
+		INC_ZEROPAGE(0xE6, 0x10),
+		ASL_ACCUMULATOR(0x0A),
+		INX_IMPLICIT(0xE8),
+		BNE_TAKEN(0xD0, 0x00),
+		PHA_PLA(0x48, 0x68),
+		JSR_RTS(0x20, 0x00, 0xC0);
+
+		private final int[] bytes;
+
+		private Opcode(int... bytes) {
+			this.bytes = bytes;
+		}
+	}
+
+	@Param
+	public Opcode opcode;
+
+	@Param
+	public CpuEngine engine;
+
+	private Cpu cpu;
+
+	@Setup
+	public void setup() {
+		// JSR_RTS calls an RTS at 0xC000
+		BenchmarkRom rom = new BenchmarkRom(BenchmarkRom.repeat(opcode.bytes, REPEAT)).put(0xC000, 0x60);
+		cpu = rom.load(engine);
+
+		// X crosses a page from 0x02F8, ($10) and ($10,X) point to 0x0200
+		cpu.cpuInfo.X = 0x10;
+		cpu.storeMemory(0x0010, 0x00, 0x02);
+		cpu.storeMemory(0x0200, 0x34);
+
+		// Not zero for BNE
+		cpu.cpuInfo.Z = 0;
+		cpu.cpuInfo.PC = BenchmarkRom.ROM_ADDRESS;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(CYCLES)
+	public int tick() throws InstructionNotSupportedException {
+		int cycles = 0;
+		while (cycles < CYCLES) {
+			cycles += cpu.tick();
+		}
+
+		return cycles;
+	}
+}
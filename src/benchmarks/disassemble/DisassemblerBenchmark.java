@@ -0,0 +1,68 @@
+package disassemble;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import exceptions.NotNesFileException;
+
+/**
+ * Measures {@link Disassembler#disassembleFile(File)} on an iNES file with
+ * random PRG ROM, for different numbers of 16 KB PRG banks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisassemblerBenchmark {
+
+	private static final int PRG_CHUNK = 0x4000;
+	private static final int CHR_CHUNK = 0x2000;
+
+	@Param({ "2", "16" })
+	public int prgBanks;
+
+	private final Disassembler disassembler = new Disassembler();
+	private File nesFile;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		byte[] content = new byte[0x10 + prgBanks * PRG_CHUNK + CHR_CHUNK];
+		new Random(0x6502).nextBytes(content);
+
+		// iNES header, mapper 0 and one CHR bank
+		byte[] header = { 0x4E, 0x45, 0x53, 0x1A, (byte) prgBanks, 1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 };
+		System.arraycopy(header, 0, content, 0, header.length);
+
+		nesFile = File.createTempFile("benchmark", ".nes");
+		Files.write(nesFile.toPath(), content);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		nesFile.delete();
+	}
+
+	@Benchmark
+	public DisassemblyInfo disassembleFile() throws NotNesFileException, IOException {
+		return disassembler.disassembleFile(nesFile);
+	}
+}
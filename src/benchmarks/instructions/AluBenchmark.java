@@ -0,0 +1,140 @@
+package instructions;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import instructions.alu.AluTables;
+
+/**
+ * Compares the flag computation with conditions that ALU instructions used to
+ * do (before) with the {@link AluTables} lookups (after). Each operation returns
+ * the result and the C, V, Z and N flags packed like a table entry.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AluBenchmark {
+
+	private static final int OPERATION_NUMBER = 0x1000;
+
+	private int[] accumulators;
+	private int[] operands;
+	private int[] carries;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(0x6502);
+
+		accumulators = new int[OPERATION_NUMBER];
+		operands = new int[OPERATION_NUMBER];
+		carries = new int[OPERATION_NUMBER];
+		for (int index = 0; index < OPERATION_NUMBER; index++) {
+			accumulators[index] = random.nextInt(0x100);
+			operands[index] = random.nextInt(0x100);
+			carries[index] = random.nextInt(2);
+		}
+	}
+
+	private static int branchyFlags(int result, int C, int V) {
+		// This is what AluInstruction#updateFlags and #updateV did
+		int Z = (result & 0xFF) == 0 ? 1 : 0;
+		int N = (result & 0x80) != 0 || result < 0 ? 1 : 0;
+		return (result & 0xFF) | C << AluTables.C_SHIFT | V << AluTables.V_SHIFT | Z << AluTables.Z_SHIFT
+				| N << AluTables.N_SHIFT;
+	}
+
+	private static int branchyV(int operand1, int operand2, int result) {
+		return ((operand1 ^ result) & (operand2 ^ result) & 0x80) == 0 ? 0 : 1;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATION_NUMBER)
+	public void adcBranchy(Blackhole blackhole) {
+		for (int index = 0; index < OPERATION_NUMBER; index++) {
+			int A = accumulators[index];
+			int M = operands[index];
+			int result = A + M + carries[index];
+			blackhole.consume(branchyFlags(result, result > 255 ? 1 : 0, branchyV(A, M, result & 0xFF)));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATION_NUMBER)
+	public void adcTable(Blackhole blackhole) {
+		for (int index = 0; index < OPERATION_NUMBER; index++) {
+			blackhole.consume(AluTables.adc(accumulators[index], operands[index], carries[index]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATION_NUMBER)
+	public void sbcBranchy(Blackhole blackhole) {
+		for (int index = 0; index < OPERATION_NUMBER; index++) {
+			int A = accumulators[index];
+			int M = 255 - operands[index];
+			int result = A + M + carries[index];
+			blackhole.consume(branchyFlags(result, result > 255 ? 0 : 1, branchyV(A, M, result)));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATION_NUMBER)
+	public void sbcTable(Blackhole blackhole) {
+		for (int index = 0; index < OPERATION_NUMBER; index++) {
+			blackhole.consume(AluTables.sbc(accumulators[index], operands[index], carries[index]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATION_NUMBER)
+	public void rorBranchy(Blackhole blackhole) {
+		for (int index = 0; index < OPERATION_NUMBER; index++) {
+			int M = operands[index];
+			int result = (carries[index] << 7) | (M >> 1);
+			blackhole.consume(branchyFlags(result, M & 0b1, 0));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATION_NUMBER)
+	public void rorTable(Blackhole blackhole) {
+		for (int index = 0; index < OPERATION_NUMBER; index++) {
+			blackhole.consume(AluTables.ror(operands[index], carries[index]));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATION_NUMBER)
+	public void compareBranchy(Blackhole blackhole) {
+		for (int index = 0; index < OPERATION_NUMBER; index++) {
+			int result = accumulators[index] - operands[index];
+			blackhole.consume(branchyFlags(result, result >= 0 ? 1 : 0, 0));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPERATION_NUMBER)
+	public void compareTable(Blackhole blackhole) {
+		for (int index = 0; index < OPERATION_NUMBER; index++) {
+			int result = accumulators[index] - operands[index];
+			int flags = AluTables.nz(result) | (result >>> 31) << AluTables.N_SHIFT;
+			blackhole.consume((result & 0xFF) | flags | (1 - (result >>> 31)) << AluTables.C_SHIFT);
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package instructions;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import disassemble.Disassembler;
+
+/**
+ * Compares the opcode decoding throughput of the old {@link Map} lookup (before)
+ * with the dense opcode table of {@link InstructionInfo} (after)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeBenchmark {
+
+	private static final int OPCODE_NUMBER = 0x1000;
+
+	private final Map<Integer, Instruction> instructionMap = InstructionInfo.getInstance().getInstructionMap();
+	private final InstructionInfo instructionInfo = InstructionInfo.getInstance();
+	private final Disassembler disassembler = new Disassembler();
+
+	private int[] opcodes;
+
+	@Setup
+	public void setup() {
+		// Only known opcodes, like in a real instruction stream
+		Integer[] knownOpcodes = instructionMap.keySet().toArray(new Integer[0]);
+		Random random = new Random(0x6502);
+
+		opcodes = new int[OPCODE_NUMBER];
+		for (int index = 0; index < OPCODE_NUMBER; index++) {
+			opcodes[index] = knownOpcodes[random.nextInt(knownOpcodes.length)];
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPCODE_NUMBER)
+	public void byteNumberMap(Blackhole blackhole) {
+		for (int opcode : opcodes) {
+			Instruction instruction = instructionMap.get(opcode);
+			blackhole.consume(instruction != null ? instruction.getByteNumber() : -1);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPCODE_NUMBER)
+	public void byteNumberTable(Blackhole blackhole) {
+		for (int opcode : opcodes) {
+			blackhole.consume(instructionInfo.getByteNumberFromOpcode(opcode));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPCODE_NUMBER)
+	public void disassembleMap(Blackhole blackhole) {
+		for (int opcode : opcodes) {
+			// This is what Disassembler#disassemble did with the map
+			Instruction instruction = instructionMap.get(opcode);
+			if (instruction != null) {
+				int byteNumber = instruction.getByteNumber();
+				if (byteNumber == 2) {
+					instruction = instruction.newInstruction(0x34);
+				} else if (byteNumber == 3) {
+					instruction = instruction.newInstruction(0x1234);
+				}
+			}
+
+			blackhole.consume(instruction);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(OPCODE_NUMBER)
+	public void disassembleTable(Blackhole blackhole) {
+		for (int opcode : opcodes) {
+			blackhole.consume(disassembler.disassemble(opcode, 0x34, 0x12));
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package mapper;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import components.Cpu;
+
+/**
+ * Measures {@link Mapper0#readCpuBus(int)} and
+ * {@link Mapper0#writeCpuBus(int, int)} on random addresses of one region of
+ * the CPU bus
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class Mapper0Benchmark {
+
+	private static final int ACCESS_NUMBER = 0x1000;
+
+	/**
+	 * Regions of the CPU bus, from the first address to the last one
+	 */
+	public enum Region {
+		RAM(0x0000, 0x07FF),
+		RAM_MIRRORS(0x0800, 0x1FFF),
+		PPU_REGISTERS(0x2000, 0x3FFF),
+		APU_IO(0x4000, 0x401F),
+		SRAM(0x6000, 0x7FFF),
+		ROM(0x8000, 0xFFFF);
+
+		private final int first;
+		private final int last;
+
+		private Region(int first, int last) {
+			this.first = first;
+			this.last = last;
+		}
+	}
+
+	@Param
+	public Region region;
+
+	private Mapper0 mapper;
+	private int[] addresses;
+
+	@Setup
+	public void setup() {
+		mapper = new Mapper0(new byte[0x8000], new byte[0x2000]);
+		Cpu.getInstance().setMapper(mapper);
+
+		Random random = new Random(0x6502);
+		addresses = new int[ACCESS_NUMBER];
+		for (int index = 0; index < ACCESS_NUMBER; index++) {
+			addresses[index] = region.first + random.nextInt(region.last - region.first + 1);
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ACCESS_NUMBER)
+	public void read(Blackhole blackhole) {
+		for (int address : addresses) {
+			blackhole.consume(mapper.readCpuBus(address));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(ACCESS_NUMBER)
+	public void write() {
+		for (int index = 0; index < ACCESS_NUMBER; index++) {
+			mapper.writeCpuBus(addresses[index], index & 0xFF);
+		}
+	}
+}
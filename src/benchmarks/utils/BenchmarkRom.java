@@ -0,0 +1,80 @@
+package utils;
+
+import components.Cpu;
+import components.CpuEngine;
+import mapper.Mapper0;
+
+/**
+ * Builds a 32 KB PRG ROM around some code and runs it on the {@link Cpu} with a
+ * {@link Mapper0}, like a real cartridge would
+ */
+public class BenchmarkRom {
+
+	public static final int ROM_ADDRESS = 0x8000;
+	public static final int ROM_SIZE = 0x8000;
+
+	private final byte[] prgRom = new byte[ROM_SIZE];
+
+	/**
+	 * Creates a ROM starting with this code, the reset vector pointing to it
+	 * 
+	 * @param code the code at 0x8000
+	 */
+	public BenchmarkRom(int... code) {
+		put(ROM_ADDRESS, code);
+		put(Cpu.RESET_VECTOR, ROM_ADDRESS & 0xFF, ROM_ADDRESS >> 8);
+	}
+
+	/**
+	 * Puts some bytes in the ROM
+	 * 
+	 * @param address the address of the first byte, from 0x8000
+	 * @param bytes   the bytes to put
+	 * @return this ROM
+	 */
+	public BenchmarkRom put(int address, int... bytes) {
+		for (int index = 0; index < bytes.length; index++) {
+			prgRom[address - ROM_ADDRESS + index] = (byte) bytes[index];
+		}
+
+		return this;
+	}
+
+	public byte[] getPrgRom() {
+		return prgRom;
+	}
+
+	/**
+	 * Plugs the ROM in the CPU and resets the registers, PC pointing to the code
+	 * 
+	 * @param engine the engine of the CPU
+	 * @return the CPU
+	 */
+	public Cpu load(CpuEngine engine) {
+		Cpu cpu = Cpu.getInstance();
+		cpu.setMapper(new Mapper0(prgRom, new byte[0x2000]));
+		cpu.setEngine(engine);
+		cpu.warmUp();
+		cpu.cpuInfo.interrupts = 0;
+		return cpu;
+	}
+
+	/**
+	 * Repeats an instruction and loops back to 0x8000 with a JMP
+	 * 
+	 * @param instruction the bytes of the instruction
+	 * @param repeat      the number of times the instruction is repeated
+	 * @return the code of the loop
+	 */
+	public static int[] repeat(int[] instruction, int repeat) {
+		int[] code = new int[instruction.length * repeat + 3];
+		for (int index = 0; index < repeat; index++) {
+			System.arraycopy(instruction, 0, code, index * instruction.length, instruction.length);
+		}
+
+		code[code.length - 3] = 0x4C;
+		code[code.length - 2] = ROM_ADDRESS & 0xFF;
+		code[code.length - 1] = ROM_ADDRESS >> 8;
+		return code;
+	}
+}
@@ -0,0 +1,34 @@
+package utils;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * <p>
+ * Runs the benchmarks and writes the results in JSON, so that two versions can
+ * be compared (for example with the JMH visualizer or a script).
+ * </p>
+ *
+ * <p>
+ * Usage: <code>BenchmarkRunner [regex] [result file]</code>. The regex selects
+ * the benchmarks to run (all of them by default) and the results are written to
+ * <code>jmh-result.json</code> by default.
+ * </p>
+ */
+public class BenchmarkRunner {
+
+	private static final String DEFAULT_INCLUDE = ".*Benchmark.*";
+	private static final String DEFAULT_RESULT = "jmh-result.json";
+
+	public static void main(String[] args) throws RunnerException {
+		String include = args.length > 0 ? args[0] : DEFAULT_INCLUDE;
+		String result = args.length > 1 ? args[1] : DEFAULT_RESULT;
+
+		Options options = new OptionsBuilder().include(include).resultFormat(ResultFormatType.JSON).result(result)
+				.build();
+		new Runner(options).run();
+	}
+}
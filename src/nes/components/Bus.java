@@ -23,15 +23,37 @@ public abstract class Bus {
 	}
 
 	/**
-	 * Writes the values in the bus at the specified address
+	 * Writes one value in the bus at the specified address
+	 * 
+	 * @param address the address to write to
+	 * @param value   the value to write
+	 */
+	public void writeToBus(int address, int value) {
+		busContent[address & (busSize - 1)] = value & 0xFF;
+	}
+
+	/**
+	 * Writes a slice of an array in the bus, starting at the specified address
+	 * 
+	 * @param address the address to write to
+	 * @param values  the array containing the values to write
+	 * @param offset  the index of the first value to write in the array
+	 * @param length  the number of values to write
+	 */
+	public void writeToBus(int address, int[] values, int offset, int length) {
+		for (int index = 0; index < length; index++) {
+			busContent[(address + index) & (busSize - 1)] = values[offset + index] & 0xFF;
+		}
+	}
+
+	/**
+	 * Writes the values in the bus at the specified address. This allocates an
+	 * array at each call, use {@link #writeToBus(int, int)} for single values
 	 * 
 	 * @param address the address to write to
 	 * @param values  the values to write
 	 */
 	public void writeToBus(int address, int... values) {
-		for (int value : values) {
-			busContent[address & (busSize - 1)] = value & 0xFF;
-			address++;
-		}
+		writeToBus(address, values, 0, values.length);
 	}
 }
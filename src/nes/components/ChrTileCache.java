@@ -0,0 +1,148 @@
+package components;
+
+/**
+ * <p>
+ * Pattern tables (0x0000 to 0x1FFF) decoded into pixel rows. A tile is stored
+ * as two bitplanes, 8 bytes for the low bits then 8 bytes for the high bits,
+ * so a pixel is made from one bit of two bytes. Each tile is decoded once, the
+ * first time it is read, into 8 rows of packed 2-bit pixels: the renderer then
+ * gets the colour index of a pixel with a shift and a mask.
+ * </p>
+ *
+ * <p>
+ * A row is an int: bits 0 to 15 are the 8 pixels from left to right (pixel x
+ * in bits 2x and 2x + 1), bits 16 to 31 the same row flipped horizontally
+ * (see {@link #FLIP_SHIFT}). Vertical flip only changes the row that is read.
+ * </p>
+ *
+ * <p>
+ * With CHR RAM the pattern tables can be written, the mapper must call
+ * {@link #invalidate(int)} for each written byte: only the tile containing it
+ * is decoded again, at the next read. Mappers switching CHR banks call
+ * {@link #invalidateAll()}.
+ * </p>
+ */
+public class ChrTileCache {
+
+	public static final int TILE_NUMBER = 512;
+	public static final int TILE_ROWS = 8;
+
+	// Bytes of a tile, two bitplanes of 8 bytes
+	private static final int TILE_SIZE = 16;
+	private static final int PATTERN_TABLES_SIZE = TILE_NUMBER * TILE_SIZE;
+
+	/**
+	 * Shift of the flipped pixels in a row
+	 */
+	public static final int FLIP_SHIFT = 16;
+
+	/**
+	 * Mask of a pixel once shifted, its colour index in the palette (0 is
+	 * transparent)
+	 */
+	public static final int PIXEL_MASK = 0b11;
+
+	private final int[] patternTables;
+	private final int[] rows = new int[TILE_NUMBER * TILE_ROWS];
+	private final boolean[] dirty = new boolean[TILE_NUMBER];
+
+	private long decodedTiles = 0;
+	private long invalidations = 0;
+
+	/**
+	 * Creates the cache of the pattern tables in this memory (the PPU bus).
+	 * Every tile is decoded when first read
+	 *
+	 * @param patternTables the memory, at least 0x2000 bytes from 0x0000
+	 */
+	public ChrTileCache(int[] patternTables) {
+		this.patternTables = patternTables;
+		invalidateAll();
+	}
+
+	/**
+	 * Returns a row of a tile, decoded if it was not or if it was written since
+	 *
+	 * @param tile the tile, from 0 to 255 in the left table and 256 to 511 in
+	 *             the right one
+	 * @param row  the row, from 0 (top) to 7
+	 * @return the packed pixels of the row, normal and flipped
+	 */
+	public int getRow(int tile, int row) {
+		if (dirty[tile]) {
+			decode(tile);
+		}
+
+		return rows[tile * TILE_ROWS + row];
+	}
+
+	/**
+	 * Returns the colour index of a pixel in a row returned by
+	 * {@link #getRow(int, int)}
+	 *
+	 * @param row     the packed row
+	 * @param x       the pixel, from 0 (left) to 7
+	 * @param flipped true if the tile is flipped horizontally
+	 * @return the colour index, from 0 (transparent) to 3
+	 */
+	public static int getPixel(int row, int x, boolean flipped) {
+		return row >>> ((flipped ? FLIP_SHIFT : 0) + (x << 1)) & PIXEL_MASK;
+	}
+
+	private void decode(int tile) {
+		int address = tile * TILE_SIZE;
+		for (int row = 0; row < TILE_ROWS; row++) {
+			int low = patternTables[address + row];
+			int high = patternTables[address + row + TILE_ROWS];
+
+			int pixels = 0;
+			int flipped = 0;
+			for (int x = 0; x < 8; x++) {
+				int bit = 7 - x;
+				int pixel = (low >> bit & 1) | (high >> bit & 1) << 1;
+				pixels |= pixel << (x << 1);
+				flipped |= pixel << (bit << 1);
+			}
+
+			rows[tile * TILE_ROWS + row] = pixels | flipped << FLIP_SHIFT;
+		}
+
+		dirty[tile] = false;
+		decodedTiles++;
+	}
+
+	/**
+	 * Marks the tile containing the written byte to be decoded again. Addresses
+	 * above the pattern tables are ignored
+	 *
+	 * @param address the written address of the PPU bus
+	 */
+	public void invalidate(int address) {
+		if (address < PATTERN_TABLES_SIZE && !dirty[address / TILE_SIZE]) {
+			dirty[address / TILE_SIZE] = true;
+			invalidations++;
+		}
+	}
+
+	/**
+	 * Marks every tile to be decoded again
+	 */
+	public void invalidateAll() {
+		for (int tile = 0; tile < TILE_NUMBER; tile++) {
+			dirty[tile] = true;
+		}
+	}
+
+	public long getDecodedTiles() {
+		return decodedTiles;
+	}
+
+	public long getInvalidations() {
+		return invalidations;
+	}
+
+	@Override
+	public String toString() {
+		return "CHR tile cache: %d tiles decoded, %d invalidations".formatted(decodedTiles, invalidations);
+	}
+}
@@ -1,48 +1,128 @@
 package components;
 
 import disassemble.Disassembler;
+import events.DecodeMissEvent;
+import events.InterruptEvent;
+import events.OamDmaEvent;
 import exceptions.InstructionNotSupportedException;
 import instructions.Instruction;
 import instructions.InstructionInfo;
 import mapper.Mapper;
+import recompiler.Recompiler;
 
 public class Cpu {
 
-	public static final int RESET_VECTOR = 0xFFFA;
-	public static final int NMI_VECTOR = 0xFFFC;
+	public static final int NMI_VECTOR = 0xFFFA;
+	public static final int RESET_VECTOR = 0xFFFC;
 	public static final int BREAK_VECTOR = 0xFFFE;
+	public static final int IRQ_VECTOR = BREAK_VECTOR;
+
+	/* Pending interrupts, bits of CpuInfo.interrupts */
+	public static final int INTERRUPT_RESET = 0b1;
+	public static final int INTERRUPT_NMI = 0b10;
+
+	// IRQ is level triggered: one bit per source, the line stays asserted while
+	// one of them is set
+	public static final int IRQ_APU_FRAME = 1 << 8;
+	public static final int IRQ_APU_DMC = 1 << 9;
+	public static final int IRQ_MAPPER = 1 << 10;
+	private static final int IRQ_SOURCES = IRQ_APU_FRAME | IRQ_APU_DMC | IRQ_MAPPER;
+
+	// Reset, NMI and IRQ sequences take as long as BRK
+	private static final int INTERRUPT_CYCLES = 7;
 
 	private static final Cpu instance = new Cpu();
 
 	/* Mapper */
 	private Mapper mapper;
 
-	/* ROM Instructions */
-	private Instruction[] romInstructions;
+	/* PPU, synchronised when the clock reaches its next event */
+	private final Ppu ppu = new Ppu(this);
+
+	// CPU cycles since power up, at the start of the current tick
+	private long clock = 0;
+
+	/* Engine */
+	private CpuEngine engine = CpuEngine.INSTRUCTION;
+	private SwitchInterpreter switchInterpreter;
+	private Recompiler recompiler;
+
+	/* Profiler, only used if OpcodeProfiler.ENABLED */
+	private final OpcodeProfiler profiler = new OpcodeProfiler();
 
 	/* Registers & Flags */
 	public CpuInfo cpuInfo = new CpuInfo();
 
+	// I flag seen by the IRQ poll of the last instruction, -1 if not known
+	private int irqPollI = -1;
+
+	// Opcode of the instruction being executed, set by the engines
+	int opcode;
+
+	// Cycles taken by the compiled block before the instruction being executed
+	private int blockCycles = 0;
+
 	private Cpu() {
+		switchInterpreter = new SwitchInterpreter(this);
+		recompiler = new Recompiler(this, switchInterpreter);
 	}
 
 	/**
-	 * Sets the mapper for the CPU. Do not change while running
+	 * Sets the mapper for the CPU. Do not change while running. Compiled blocks
+	 * are forgotten since they come from the ROM of the previous mapper
 	 * 
 	 * @param mapper the mapper to use
 	 */
 	public void setMapper(Mapper mapper) {
 		this.mapper = mapper;
+		this.recompiler = new Recompiler(this, switchInterpreter);
+	}
+
+	/**
+	 * Returns the mapper of the CPU
+	 * 
+	 * @return the mapper
+	 */
+	public Mapper getMapper() {
+		return mapper;
+	}
+
+	/**
+	 * Sets the engine used to execute instructions. Do not change while running
+	 * 
+	 * @param engine the engine to use
+	 */
+	public void setEngine(CpuEngine engine) {
+		this.engine = engine;
+	}
+
+	/**
+	 * Returns the engine used to execute instructions
+	 * 
+	 * @return the engine
+	 */
+	public CpuEngine getEngine() {
+		return engine;
+	}
+
+	/**
+	 * Returns the recompiler used by the {@link CpuEngine#RECOMPILER} engine
+	 * 
+	 * @return the recompiler
+	 */
+	public Recompiler getRecompiler() {
+		return recompiler;
 	}
 
 	/**
-	 * Sets the ROM instructions. This is easy because as the section is in read
-	 * only, they won't change!
+	 * Returns the per-opcode profiler, which only counts something if the
+	 * <code>nes.cpu.profile</code> system property is set (see
+	 * {@link OpcodeProfiler})
 	 * 
-	 * @param romInstructions the instructions
+	 * @return the profiler
 	 */
-	public void setRomInstructions(Instruction[] romInstructions) {
-		this.romInstructions = romInstructions;
+	public OpcodeProfiler getProfiler() {
+		return profiler;
 	}
 
 	/**
@@ -68,13 +148,36 @@ public class Cpu {
 	}
 
 	/**
-	 * Stores values in memory
+	 * Stores a value in memory
+	 * 
+	 * @param address the address to store the value in the memory
+	 * @param value   the value to store
+	 */
+	public void storeMemory(int address, int value) {
+		mapper.writeCpuBus(address, value);
+	}
+
+	/**
+	 * Stores a slice of an array in memory (for DMA-like copies)
+	 * 
+	 * @param address the address to store the first value in the memory
+	 * @param values  the array containing the values to store
+	 * @param offset  the index of the first value to store in the array
+	 * @param length  the number of values to store
+	 */
+	public void storeMemory(int address, int[] values, int offset, int length) {
+		mapper.writeCpuBus(address, values, offset, length);
+	}
+
+	/**
+	 * Stores values in memory. This allocates an array at each call, use
+	 * {@link #storeMemory(int, int)} for single values
 	 * 
 	 * @param address the address to store the value in the memory
 	 * @param values  the values to store
 	 */
 	public void storeMemory(int address, int... values) {
-		mapper.writeCpuBus(address, values);
+		mapper.writeCpuBus(address, values, 0, values.length);
 	}
 
 	/**
@@ -128,13 +231,14 @@ public class Cpu {
 	 * </p>
 	 * 
 	 * <p>
-	 * This method checks if an NMI has been triggered BUT do not triggers it nor
-	 * disables it. Triggering is the PPU work and disabling is done reading the
-	 * 0x2002 PPU register with the CPU (resetting the NMI flag). This then pushes
-	 * everything into the stack and jumps to NMI routine (like BRK) taking 7 cycles
-	 * in total. We can consider the NMI as a virtual instruction taking priority on
-	 * any other normally happening instructions. For more information on the NMI
-	 * routine, maybe check the TODO ppu info
+	 * This method checks if an interrupt is pending BUT do not trigger it. Reset,
+	 * NMI and IRQ are requested by the other components (see
+	 * {@link #requestNmi()}, {@link #assertIrq(int)}, {@link #requestReset()})
+	 * and kept in a bitmask, so when nothing is pending the check is a single
+	 * test. A pending interrupt is a virtual instruction taking priority on any
+	 * other normally happening instruction: it pushes everything into the stack
+	 * and jumps to its vector (like BRK) taking 7 cycles in total. Reset comes
+	 * first, then NMI, then IRQ if I was 0 when polled.
 	 * </p>
 	 * 
 	 * <p>
@@ -145,58 +249,21 @@ public class Cpu {
 	 * </p>
 	 * 
 	 * @return the number of waiting cycles
-	 * @throws InstructionNotSupportedException if an instruction is setup with an
-	 *                                          unsupported addressing mode
+	 * @throws InstructionNotSupportedException if the opcode is not emulated
 	 */
 	public int tick() throws InstructionNotSupportedException {
-		// Check if NMI
-		// TODO check for NMI
-
-		// Get the instruction
-		Instruction instruction;
-		if (cpuInfo.PC >= 0x8000) {
-			// If in the ROM it's great, there is an array for that!
-			instruction = romInstructions[cpuInfo.PC - 0x8000];
-
+		int cycles;
+		if (cpuInfo.interrupts == 0) {
+			// Nothing pending, execute the instruction
+			cycles = executeNext();
 		} else {
-			System.out.println("Instruction not in ROM!");
-
-			// Well we need to disassemble
-			// We need to get the number of bytes we will need
-			int opcode = fetchMemory(cpuInfo.PC);
-			int byteNumber = InstructionInfo.getInstance().getByteNumberFromOpcode(opcode);
-
-			// We declare operands and use the byte number to fetch them if needed (we don't
-			// want to provoke a mapper secret sauce if not needed...
-			int operand1 = -1;
-			int operand2 = -1;
-
-			// Two bytes
-			if (byteNumber >= 2) {
-				operand1 = fetchMemory(cpuInfo.PC + 1);
-			}
-
-			// Three bytes
-			if (byteNumber == 3) {
-				operand2 = fetchMemory(cpuInfo.PC + 2);
+			// Interrupt sequence, or the instruction if the IRQ is masked
+			cycles = serviceInterrupt();
+			if (cycles == 0) {
+				cycles = executePolled();
 			}
-
-			// Finally disassemble the instruction (way longer...)
-			// TODO Maybe make it a singleton... But actually never should be here except
-			// special cases
-			Disassembler disassembler = new Disassembler();
-			instruction = disassembler.disassemble(opcode, operand1, operand2);
 		}
 
-		// Execute the instruction
-		instruction.execute();
-
-		// Get waiting cycles
-		int cycles = instruction.getCycles();
-
-		// Increment PC by the byte number of the instruction
-		cpuInfo.PC = (cpuInfo.PC + instruction.getByteNumber()) & 0xFFFF;
-
 		// If DMA requested, add cycles (+1 if DMA put)
 		if (cpuInfo.dmaRequested) {
 			// Reset the DMA request
@@ -207,15 +274,307 @@ public class Cpu {
 
 			// Adding the DMA transaction
 			cycles += cpuInfo.dmaHaltCycles + cpuInfo.dmaState;
+			OamDmaEvent.commit(cpuInfo.dmaHaltCycles, cpuInfo.dmaState, cpuInfo.PC);
 		}
 
 		// Update DMA state (even cycles = same state)
 		cpuInfo.dmaState = (cpuInfo.dmaState + cycles) & 0b1;
 
+		// The PPU is only advanced when something happens (VBlank)
+		clock += cycles;
+		if (clock >= ppu.getNextEventCycle()) {
+			ppu.catchUp(clock);
+		}
+
 		// Return the waiting cycles
 		return cycles;
 	}
 	
+	/**
+	 * Executes the instruction (or the block) pointed by PC with the engine
+	 * 
+	 * @return the number of cycles taken
+	 * @throws InstructionNotSupportedException if the opcode is not emulated
+	 */
+	private int executeNext() throws InstructionNotSupportedException {
+		// Constant, removed by the JIT when not profiling
+		if (OpcodeProfiler.ENABLED) {
+			return executeProfiled();
+		}
+
+		switch (engine) {
+		case SWITCH:
+			return switchInterpreter.execute();
+
+		case RECOMPILER:
+			// This can execute a whole block of instructions, not past the next PPU
+			// event so that it is handled on time
+			if (ppu.getNextEventCycle() - clock < Recompiler.MAX_BLOCK_CYCLES) {
+				return switchInterpreter.execute();
+			}
+			return recompiler.execute();
+
+		default:
+			return executeInstruction();
+		}
+	}
+
+	/**
+	 * Executes exactly one instruction, the recompiler being replaced by the
+	 * switch interpreter
+	 * 
+	 * @return the number of cycles of the instruction
+	 * @throws InstructionNotSupportedException if the opcode is not emulated
+	 */
+	private int executeSingle() throws InstructionNotSupportedException {
+		return engine == CpuEngine.INSTRUCTION ? executeInstruction() : switchInterpreter.execute();
+	}
+
+	/**
+	 * Executes exactly one instruction and counts it in the profiler
+	 * 
+	 * @return the number of cycles of the instruction
+	 * @throws InstructionNotSupportedException if the opcode is not emulated
+	 */
+	private int executeProfiled() throws InstructionNotSupportedException {
+		int cycles = executeSingle();
+		profiler.record(opcode, cycles);
+		return cycles;
+	}
+
+	/**
+	 * <p>
+	 * Executes one instruction while an interrupt is pending but not taken (masked
+	 * IRQ) and remembers the I flag seen by its IRQ poll.
+	 * </p>
+	 * 
+	 * <p>
+	 * CLI, SEI and PLP change I after the poll, so it sees the old value: with an
+	 * IRQ pending, one more instruction is executed after CLI before the IRQ. The
+	 * recompiler is not used here since a block would delay the IRQ.
+	 * </p>
+	 * 
+	 * @return the number of cycles of the instruction
+	 * @throws InstructionNotSupportedException if the opcode is not emulated
+	 */
+	private int executePolled() throws InstructionNotSupportedException {
+		int I = cpuInfo.I;
+
+		int cycles = OpcodeProfiler.ENABLED ? executeProfiled() : executeSingle();
+
+		// CLI, SEI and PLP
+		irqPollI = opcode == 0x58 || opcode == 0x78 || opcode == 0x28 ? I : cpuInfo.I;
+		return cycles;
+	}
+
+	/**
+	 * Starts the sequence of the pending interrupt with the highest priority
+	 * 
+	 * @return the number of cycles of the sequence, 0 if no interrupt is taken
+	 */
+	private int serviceInterrupt() {
+		int interrupts = cpuInfo.interrupts;
+		int polledI = irqPollI < 0 ? cpuInfo.I : irqPollI;
+		int returnAddress = cpuInfo.PC;
+		irqPollI = -1;
+
+		if ((interrupts & INTERRUPT_RESET) != 0) {
+			// Same sequence but writes are replaced by reads: only SP moves
+			cpuInfo.interrupts = interrupts & ~(INTERRUPT_RESET | INTERRUPT_NMI);
+			cpuInfo.SP = (cpuInfo.SP - 3) & 0xFF;
+			cpuInfo.I = 1;
+			cpuInfo.PC = fetchAddress(RESET_VECTOR);
+			InterruptEvent.commit("RESET", returnAddress, cpuInfo.PC);
+			return INTERRUPT_CYCLES;
+		}
+
+		if ((interrupts & INTERRUPT_NMI) != 0) {
+			// Edge triggered, only taken once
+			cpuInfo.interrupts = interrupts & ~INTERRUPT_NMI;
+			enterInterrupt(NMI_VECTOR);
+			InterruptEvent.commit("NMI", returnAddress, cpuInfo.PC);
+			return INTERRUPT_CYCLES;
+		}
+
+		if ((interrupts & IRQ_SOURCES) != 0 && polledI == 0) {
+			// Level triggered, the source must acknowledge it
+			enterInterrupt(IRQ_VECTOR);
+			InterruptEvent.commit("IRQ", returnAddress, cpuInfo.PC);
+			return INTERRUPT_CYCLES;
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Pushes PC and the flags (B clear) and jumps to the vector, as BRK does
+	 * 
+	 * @param vector the interrupt vector
+	 */
+	private void enterInterrupt(int vector) {
+		// Push PC (remove 1 for RTI, like BRK)
+		int address = (cpuInfo.PC - 1) & 0xFFFF;
+		push(address >> 8); // MSB
+		push(address & 0xFF); // LSB
+
+		// Push flags, B is only set by BRK
+		push(cpuInfo.getP() & ~0b10000);
+		cpuInfo.I = 1;
+
+		cpuInfo.PC = fetchAddress(getInterruptVector(vector));
+	}
+
+	/**
+	 * Returns the vector fetched at the end of a BRK or interrupt sequence. An NMI
+	 * pending at this point hijacks the sequence: the NMI vector is used instead
+	 * and the NMI is consumed
+	 * 
+	 * @param vector the vector of the sequence
+	 * @return the vector to fetch
+	 */
+	public int getInterruptVector(int vector) {
+		int interrupts = cpuInfo.interrupts;
+		if ((interrupts & INTERRUPT_NMI) == 0) {
+			return vector;
+		}
+
+		cpuInfo.interrupts = interrupts & ~INTERRUPT_NMI;
+		return NMI_VECTOR;
+	}
+
+	/**
+	 * Requests an NMI (edge triggered), taken before the next instruction
+	 */
+	public void requestNmi() {
+		cpuInfo.interrupts |= INTERRUPT_NMI;
+	}
+
+	/**
+	 * Requests a reset, taken before the next instruction. This is not the power
+	 * up (see {@link #warmUp()}): registers are kept, SP is decremented by 3 and I
+	 * is set
+	 */
+	public void requestReset() {
+		cpuInfo.interrupts |= INTERRUPT_RESET;
+	}
+
+	/**
+	 * Asserts the IRQ line for a source. The IRQ is taken between instructions
+	 * while I is 0, until the source is acknowledged
+	 * 
+	 * @param source the IRQ source ({@link #IRQ_APU_FRAME}, {@link #IRQ_APU_DMC}
+	 *               or {@link #IRQ_MAPPER})
+	 */
+	public void assertIrq(int source) {
+		cpuInfo.interrupts |= source & IRQ_SOURCES;
+	}
+
+	/**
+	 * Releases the IRQ line for a source (the source has been acknowledged)
+	 * 
+	 * @param source the IRQ source
+	 */
+	public void acknowledgeIrq(int source) {
+		cpuInfo.interrupts &= ~(source & IRQ_SOURCES);
+
+		// The last poll is meaningless for the next IRQ
+		if ((cpuInfo.interrupts & IRQ_SOURCES) == 0) {
+			irqPollI = -1;
+		}
+	}
+
+	/**
+	 * Executes the instruction pointed by PC with the {@link CpuEngine#INSTRUCTION}
+	 * engine and updates PC
+	 * 
+	 * @return the number of cycles of the instruction
+	 * @throws InstructionNotSupportedException if the opcode is not emulated
+	 */
+	private int executeInstruction() throws InstructionNotSupportedException {
+		// Get the instruction
+		Instruction instruction;
+		if (cpuInfo.PC >= 0x8000) {
+			// If in the ROM it's great, the bank shown there is already decoded
+			instruction = mapper.getPrgDecodeCache().get(cpuInfo.PC);
+			if (instruction == null) {
+				// Operands in the next window (or unknown opcode)
+				instruction = decodeInstruction(DecodeMissEvent.UNCACHED);
+			}
+
+		} else {
+			// Maybe it has already been decoded (and not written since)
+			DecodeCache decodeCache = mapper.getDecodeCache();
+			instruction = decodeCache.get(cpuInfo.PC);
+			if (instruction == null) {
+				instruction = decodeInstruction(DecodeMissEvent.RAM);
+				decodeCache.put(cpuInfo.PC, instruction);
+			}
+		}
+
+		if (instruction == null) {
+			throw unsupportedOpcode();
+		}
+
+		// Base cycles come from the opcode, the instruction only adds penalties
+		opcode = instruction.getOpcode();
+		int cycles = InstructionInfo.getInstance().getCycles(opcode, instruction.execute());
+
+		// Increment PC by the byte number of the instruction
+		cpuInfo.PC = (cpuInfo.PC + instruction.getByteNumber()) & 0xFFFF;
+
+		return cycles;
+	}
+
+	/**
+	 * Creates the exception thrown when the opcode pointed by PC is not emulated
+	 * (unstable or jamming opcode). PC is not moved, so the CPU stays halted on it
+	 * and the message gives the opcode, what it is and the registers
+	 * 
+	 * @return the exception to throw
+	 */
+	public InstructionNotSupportedException unsupportedOpcode() {
+		int opcode = fetchMemory(cpuInfo.PC);
+		String description = InstructionInfo.getInstance().getUnsupportedDescription(opcode);
+
+		return new InstructionNotSupportedException(
+				"CPU halted: opcode 0x%02X (%s) at 0x%04X, A=%02X X=%02X Y=%02X SP=%02X P=%02X".formatted(opcode,
+						description == null ? "unknown" : description, cpuInfo.PC, cpuInfo.A, cpuInfo.X, cpuInfo.Y,
+						cpuInfo.SP, cpuInfo.getP()));
+	}
+
+	/**
+	 * Disassembles the instruction pointed by PC from the bus
+	 * 
+	 * @param cache the cache missed, for the {@link DecodeMissEvent}
+	 * @return the instruction, or null if the opcode is unknown
+	 */
+	private Instruction decodeInstruction(String cache) {
+		// Well we need to disassemble
+		// We need to get the number of bytes we will need
+		int opcode = fetchMemory(cpuInfo.PC);
+		DecodeMissEvent.commit(cache, cpuInfo.PC, opcode);
+		int byteNumber = InstructionInfo.getInstance().getByteNumberFromOpcode(opcode);
+
+		// We declare operands and use the byte number to fetch them if needed (we don't
+		// want to provoke a mapper secret sauce if not needed...
+		int operand1 = -1;
+		int operand2 = -1;
+
+		// Two bytes
+		if (byteNumber >= 2) {
+			operand1 = fetchMemory((cpuInfo.PC + 1) & 0xFFFF);
+		}
+
+		// Three bytes
+		if (byteNumber == 3) {
+			operand2 = fetchMemory((cpuInfo.PC + 2) & 0xFFFF);
+		}
+
+		// Finally disassemble the instruction (way longer...), only done when not in
+		// the decode cache
+		return new Disassembler().disassemble(opcode, operand1, operand2);
+	}
+
 	/**
 	 * <p>
 	 * This method updates everything to warp up the CPU. It includes:
@@ -236,6 +595,65 @@ public class Cpu {
 		cpuInfo.Y = 0;
 		cpuInfo.SP = 0xFD;
 		cpuInfo.setP(0x34);
+		ppu.reset();
+	}
+
+	/**
+	 * Returns the number of CPU cycles since power up, at the start of the
+	 * current tick. This is the master clock of the other components
+	 * 
+	 * @return the CPU cycles
+	 */
+	public long getClock() {
+		return clock;
+	}
+
+	/**
+	 * Returns the CPU cycle of a bus access done by the current instruction. The
+	 * exact cycle is not known while executing, so this is the last cycle of the
+	 * instruction without penalty (where most instructions read or write). In a
+	 * compiled block, the cycles of the instructions before are added (see
+	 * {@link #enterBlockInstruction(int, int, int)})
+	 * 
+	 * @return the CPU cycle of the access
+	 */
+	public long getAccessClock() {
+		int baseCycles = InstructionInfo.getInstance().getCycles(opcode);
+		return clock + blockCycles + Math.max(0, baseCycles - 1);
+	}
+
+	/**
+	 * Tells which instruction of a compiled block is running, before it accesses
+	 * an address only known at runtime (it can be a register). The clock is only
+	 * advanced after the whole block, so the block gives the cycles it has
+	 * already taken
+	 * 
+	 * @param PC          the address of the instruction
+	 * @param opcode      the opcode of the instruction
+	 * @param blockCycles the cycles taken by the block before the instruction
+	 */
+	public void enterBlockInstruction(int PC, int opcode, int blockCycles) {
+		cpuInfo.PC = PC;
+		this.opcode = opcode;
+		this.blockCycles = blockCycles;
+	}
+
+	/**
+	 * Tells that the compiled block which called
+	 * {@link #enterBlockInstruction(int, int, int)} has ended, its cycles are
+	 * added to the clock by {@link #tick()}
+	 */
+	public void exitBlock() {
+		blockCycles = 0;
+	}
+
+	/**
+	 * Returns the PPU, advanced by the CPU
+	 * 
+	 * @return the PPU
+	 */
+	public Ppu getPpu() {
+		return ppu;
 	}
 
 	public static Cpu getInstance() {
@@ -0,0 +1,52 @@
+package components;
+
+/**
+ * <p>
+ * Engines that the {@link Cpu} can use to execute instructions. The engine is
+ * chosen at startup with {@link Cpu#setEngine(CpuEngine)}, they all give the
+ * same results.
+ * </p>
+ *
+ * <p>
+ * The engine can also be chosen with the <code>nes.cpu.engine</code> system
+ * property (see {@link #fromProperty()}).
+ * </p>
+ */
+public enum CpuEngine {
+
+	/**
+	 * Each opcode is an {@link instructions.Instruction} object that is executed
+	 * (this is the reference engine, easier to read and to debug)
+	 */
+	INSTRUCTION,
+
+	/**
+	 * All instructions are executed in one big switch over the opcode, reading
+	 * operands directly from the bus (see {@link SwitchInterpreter})
+	 */
+	SWITCH,
+
+	/**
+	 * Hot ROM code is compiled to JVM bytecode, one class per basic block. Other
+	 * code is executed by the {@link SwitchInterpreter} (see
+	 * {@link recompiler.Recompiler})
+	 */
+	RECOMPILER;
+
+	public static final String ENGINE_PROPERTY = "nes.cpu.engine";
+
+	/**
+	 * Returns the engine set in the <code>nes.cpu.engine</code> system property,
+	 * or {@link #INSTRUCTION} if not set
+	 *
+	 * @return the engine to use
+	 */
+	public static CpuEngine fromProperty() {
+		String engine = System.getProperty(ENGINE_PROPERTY);
+		if (engine == null) {
+			return INSTRUCTION;
+		}
+
+		return valueOf(engine.trim().toUpperCase());
+	}
+}
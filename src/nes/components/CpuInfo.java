@@ -23,6 +23,9 @@ public class CpuInfo {
 	public int dmaHaltCycles;
 	public int dmaState; // Put = 1
 
+	/* Interrupts */
+	public int interrupts; // Pending, see Cpu.INTERRUPT_NMI
+
 	public CpuInfo() {
 		this.A = 0;
 		this.X = 0;
@@ -41,6 +44,8 @@ public class CpuInfo {
 		this.dmaRequested = false;
 		this.dmaHaltCycles = 0;
 		this.dmaState = 0;
+
+		this.interrupts = 0;
 	}
 
 	public int getP() {
@@ -0,0 +1,121 @@
+package components;
+
+import instructions.Instruction;
+
+/**
+ * <p>
+ * Cache of decoded instructions for code running outside the ROM (0x0000 to
+ * 0x7FFF). Games copying routines in RAM would else disassemble the same
+ * instruction again at every step.
+ * </p>
+ *
+ * <p>
+ * As RAM can be written, the mapper must call {@link #invalidate(int)} for each
+ * byte it writes below 0x8000: every cached instruction containing this byte is
+ * removed. RAM mirrors (0x0800 to 0x1FFF) share the entries of 0x0000 to
+ * 0x07FF, so an instruction at the end of RAM can have its operands at the
+ * start (through the mirror at 0x0800).
+ * </p>
+ */
+public class DecodeCache {
+
+	private static final int CACHE_SIZE = 0x8000;
+
+	// An instruction has at most 3 bytes
+	private static final int MAX_BYTE_NUMBER = 3;
+
+	private final Instruction[] instructions = new Instruction[CACHE_SIZE];
+
+	private long hits = 0;
+	private long misses = 0;
+	private long invalidations = 0;
+
+	private static int index(int address) {
+		// Internal RAM is mirrored up to 0x1FFF
+		return address < 0x2000 ? address & 0x7FF : address;
+	}
+
+	/**
+	 * Returns the instruction decoded at this address, or null if not decoded yet
+	 * (or invalidated)
+	 *
+	 * @param address the address of the instruction, below 0x8000
+	 * @return the instruction or null
+	 */
+	public Instruction get(int address) {
+		Instruction instruction = instructions[index(address)];
+		if (instruction == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+
+		return instruction;
+	}
+
+	/**
+	 * Caches the instruction decoded at this address
+	 *
+	 * @param address     the address of the instruction, below 0x8000
+	 * @param instruction the decoded instruction
+	 */
+	public void put(int address, Instruction instruction) {
+		instructions[index(address)] = instruction;
+	}
+
+	/**
+	 * Removes every cached instruction containing the written byte
+	 *
+	 * @param address the written address
+	 */
+	public void invalidate(int address) {
+		if (address >= CACHE_SIZE) {
+			return;
+		}
+
+		int index = index(address);
+		boolean ram = address < 0x2000;
+		for (int distance = 0; distance < MAX_BYTE_NUMBER; distance++) {
+			// Instructions starting before, wrapping around in RAM
+			int start = ram ? (index - distance) & 0x7FF : index - distance;
+			if (start < 0) {
+				break;
+			}
+
+			Instruction instruction = instructions[start];
+			if (instruction != null && instruction.getByteNumber() > distance) {
+				instructions[start] = null;
+				invalidations++;
+			}
+		}
+	}
+
+	/**
+	 * Removes every cached instruction
+	 */
+	public void clear() {
+		for (int index = 0; index < CACHE_SIZE; index++) {
+			instructions[index] = null;
+		}
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public long getInvalidations() {
+		return invalidations;
+	}
+
+	@Override
+	public String toString() {
+		long total = hits + misses;
+		double hitRate = total == 0 ? 0 : 100d * hits / total;
+		return "Decode cache: %d hits, %d misses (%.2f%% hit rate), %d invalidations".formatted(hits, misses,
+				hitRate, invalidations);
+	}
+}
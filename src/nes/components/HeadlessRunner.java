@@ -0,0 +1,270 @@
+package components;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import events.CpuSliceEvent;
+import exceptions.InstructionNotSupportedException;
+
+/**
+ * <p>
+ * Runs the CPU without any frame nor throttling, as fast as the host can, and
+ * measures how fast it went. This tells how many emulator instances a machine
+ * can run in real time.
+ * </p>
+ *
+ * <p>
+ * Frames are counted by the PPU (see {@link Ppu#getCompletedFrames()}): a frame
+ * ends when VBlank starts, so a run of frames stops on a VBlank and the region
+ * is the one of the PPU (see {@link Ppu#getRegion()}). Allocation is measured
+ * on the running thread, GC time on the whole JVM.
+ * </p>
+ */
+public class HeadlessRunner {
+
+	private final Cpu cpu;
+
+	/**
+	 * Creates a runner for a CPU with its mapper already set, and the region of
+	 * its PPU
+	 *
+	 * @param cpu the CPU to run
+	 */
+	public HeadlessRunner(Cpu cpu) {
+		this.cpu = cpu;
+	}
+
+	/**
+	 * Ticks the CPU until at least the given number of cycles is reached. If an
+	 * opcode is not emulated, the run stops there and the report says so
+	 *
+	 * @param cycles the number of cycles to emulate
+	 * @return the measures of the run
+	 */
+	public Report runCycles(long cycles) {
+		return run(cycles, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Ticks the CPU until the PPU has ended a number of frames
+	 *
+	 * @param frames the number of frames to emulate
+	 * @return the measures of the run
+	 */
+	public Report runFrames(long frames) {
+		return run(Long.MAX_VALUE, frames);
+	}
+
+	/**
+	 * Ticks the CPU until one of the limits is reached
+	 */
+	private Report run(long cycles, long frames) {
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		com.sun.management.ThreadMXBean allocationBean = null;
+		if (threadBean instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported()
+				&& bean.isThreadAllocatedMemoryEnabled()) {
+			allocationBean = bean;
+		}
+
+		Report report = new Report();
+		boolean recompiler = cpu.getEngine() == CpuEngine.RECOMPILER;
+		long executions = cpu.getRecompiler().getExecutions();
+		long recompiledInstructions = cpu.getRecompiler().getExecutedInstructions();
+		long gcCount = -gcCount();
+		long gcTime = -gcTime();
+		long allocated = allocationBean == null ? 0 : -allocationBean.getCurrentThreadAllocatedBytes();
+		long start = System.nanoTime();
+
+		Ppu ppu = cpu.getPpu();
+		long startFrame = ppu.getCompletedFrames();
+		long emulatedCycles = 0;
+		long ticks = 0;
+		try {
+			// One slice per frame for JFR
+			while (emulatedCycles < cycles && ppu.getCompletedFrames() - startFrame < frames) {
+				CpuSliceEvent sliceEvent = new CpuSliceEvent();
+				sliceEvent.begin();
+
+				long sliceStart = emulatedCycles;
+				long sliceTicks = ticks;
+				long sliceFrame = ppu.getCompletedFrames();
+				while (emulatedCycles < cycles && ppu.getCompletedFrames() == sliceFrame) {
+					emulatedCycles += cpu.tick();
+					ticks++;
+				}
+
+				sliceEvent.end();
+				if (sliceEvent.shouldCommit()) {
+					sliceEvent.cycles = emulatedCycles - sliceStart;
+					sliceEvent.ticks = ticks - sliceTicks;
+					sliceEvent.engine = cpu.getEngine().name();
+					sliceEvent.commit();
+				}
+			}
+		} catch (InstructionNotSupportedException e) {
+			report.error = e.getMessage();
+		}
+
+		report.hostNanos = System.nanoTime() - start;
+		report.allocatedBytes = allocationBean == null ? -1
+				: allocated + allocationBean.getCurrentThreadAllocatedBytes();
+		report.gcTime = gcTime + gcTime();
+		report.gcCount = gcCount + gcCount();
+		report.cycles = emulatedCycles;
+
+		// One tick is one instruction, except for the blocks of the recompiler
+		report.instructions = ticks;
+		if (recompiler) {
+			report.instructions += cpu.getRecompiler().getExecutedInstructions() - recompiledInstructions
+					- (cpu.getRecompiler().getExecutions() - executions);
+		}
+
+		report.frames = ppu.getCompletedFrames() - startFrame;
+		report.frequency = ppu.getRegion().getCpuFrequency();
+
+		return report;
+	}
+
+	private static long gcCount() {
+		long count = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, bean.getCollectionCount());
+		}
+
+		return count;
+	}
+
+	private static long gcTime() {
+		long time = 0;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			time += Math.max(0, bean.getCollectionTime());
+		}
+
+		return time;
+	}
+
+	/**
+	 * Measures of a headless run
+	 */
+	public static class Report {
+
+		private long hostNanos;
+		private long cycles;
+		private long instructions;
+		private long frames;
+		private int frequency;
+		private long allocatedBytes;
+		private long gcCount;
+		private long gcTime;
+		private String error;
+
+		private Report() {
+		}
+
+		public long getHostNanos() {
+			return hostNanos;
+		}
+
+		public long getCycles() {
+			return cycles;
+		}
+
+		public long getInstructions() {
+			return instructions;
+		}
+
+		/**
+		 * Returns the number of frames ended by the PPU during the run
+		 *
+		 * @return the number of frames
+		 */
+		public long getFrames() {
+			return frames;
+		}
+
+		/**
+		 * Returns the bytes allocated by the running thread, or -1 if the JVM cannot
+		 * measure it
+		 *
+		 * @return the allocated bytes
+		 */
+		public long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+
+		public long getGcCount() {
+			return gcCount;
+		}
+
+		/**
+		 * Returns the time spent in GC during the run (by any thread)
+		 *
+		 * @return the GC time in ms
+		 */
+		public long getGcTime() {
+			return gcTime;
+		}
+
+		/**
+		 * Returns the message of the unknown opcode which stopped the run, or null if
+		 * every cycle was emulated
+		 *
+		 * @return the error or null
+		 */
+		public String getError() {
+			return error;
+		}
+
+		private double getSeconds() {
+			return Math.max(1, hostNanos) / 1e9;
+		}
+
+		public double getMegahertz() {
+			return cycles / getSeconds() / 1e6;
+		}
+
+		public double getInstructionsPerSecond() {
+			return instructions / getSeconds();
+		}
+
+		public double getFramesPerSecond() {
+			return frames / getSeconds();
+		}
+
+		/**
+		 * Returns how many times faster than the real console the run was, so how
+		 * many instances can run in real time on one core
+		 *
+		 * @return the speed compared to the console
+		 */
+		public double getSpeed() {
+			return cycles / getSeconds() / frequency;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder builder = new StringBuilder();
+			builder.append("Host time: %.3f s%n".formatted(getSeconds()));
+			builder.append("Emulated: %d cycles, %d instructions, %d frames%n".formatted(cycles, instructions,
+					frames));
+			builder.append("CPU: %.3f MHz (%.2fx real time), %.3f M instructions/s, %.1f frames/s%n"
+					.formatted(getMegahertz(), getSpeed(), getInstructionsPerSecond() / 1e6, getFramesPerSecond()));
+
+			if (allocatedBytes < 0) {
+				builder.append("Allocation: not measured%n".formatted());
+			} else {
+				builder.append("Allocation: %d bytes (%.3f MB/s)%n".formatted(allocatedBytes,
+						allocatedBytes / getSeconds() / 1e6));
+			}
+
+			builder.append("GC: %d collections, %d ms".formatted(gcCount, gcTime));
+
+			if (error != null) {
+				builder.append("%nStopped early: %s".formatted(error));
+			}
+
+			return builder.toString();
+		}
+	}
+}
@@ -0,0 +1,55 @@
+package components;
+
+/**
+ * <p>
+ * Layouts of the four nametables of the PPU (0x2000, 0x2400, 0x2800 and
+ * 0x2C00). The console only has 2 KB of nametable RAM (CIRAM), so two
+ * nametables are usually mirrors of the two others, depending on how the
+ * cartridge is wired. Each layout gives the 1 KB page shown in each of the
+ * four slots: pages 0 and 1 are CIRAM, 2 and 3 the extra RAM of four-screen
+ * cartridges (see {@link PpuBus#setMirroring(Mirroring)}).
+ * </p>
+ */
+public enum Mirroring {
+
+	/**
+	 * 0x2000 = 0x2400 and 0x2800 = 0x2C00, for vertical scrolling
+	 */
+	HORIZONTAL(0, 0, 1, 1),
+
+	/**
+	 * 0x2000 = 0x2800 and 0x2400 = 0x2C00, for horizontal scrolling
+	 */
+	VERTICAL(0, 1, 0, 1),
+
+	/**
+	 * The first page of CIRAM everywhere
+	 */
+	SINGLE_SCREEN_LOWER(0, 0, 0, 0),
+
+	/**
+	 * The second page of CIRAM everywhere
+	 */
+	SINGLE_SCREEN_UPPER(1, 1, 1, 1),
+
+	/**
+	 * Four different nametables, with 2 KB of RAM on the cartridge
+	 */
+	FOUR_SCREEN(0, 1, 2, 3);
+
+	private final int[] pages;
+
+	private Mirroring(int... pages) {
+		this.pages = pages;
+	}
+
+	/**
+	 * Returns the page of nametable RAM shown in a slot
+	 *
+	 * @param slot the nametable, from 0 (0x2000) to 3 (0x2C00)
+	 * @return the page, 0 and 1 in CIRAM, 2 and 3 on the cartridge
+	 */
+	public int getPage(int slot) {
+		return pages[slot];
+	}
+}
@@ -16,6 +16,44 @@ public class Nes {
 
 	}
 
+	private static final String DEFAULT_ROM = "./Super Mario Bros.nes";
+
+	// A minute of emulation when nothing is specified
+	private static final long DEFAULT_HEADLESS_FRAMES = 3600;
+
+	private static final String USAGE = """
+			Usage: Nes [rom] [--headless [--cycles N | --frames N]]
+			  rom         the iNES file to run (default: %s)
+			  --headless  runs the CPU unthrottled without frame and prints its speed
+			  --cycles N  number of CPU cycles to run headless
+			  --frames N  number of frames to run headless (default: %d)""".formatted(DEFAULT_ROM,
+			DEFAULT_HEADLESS_FRAMES);
+
+	private static void exitWithUsage(String message) {
+		System.err.println(message);
+		System.err.println(USAGE);
+		System.exit(1);
+	}
+
+	private static long parseCount(String[] args, int index) {
+		if (index >= args.length) {
+			exitWithUsage("Missing number after " + args[index - 1]);
+		}
+
+		long count;
+		try {
+			count = Long.parseLong(args[index]);
+		} catch (NumberFormatException e) {
+			count = 0;
+		}
+
+		if (count <= 0) {
+			exitWithUsage("Not a positive number: " + args[index]);
+		}
+
+		return count;
+	}
+
 	public static void main(String[] args) throws NotNesFileException, IOException, InstructionNotSupportedException {
 		// TODO When everything will be ok to run
 		
@@ -25,15 +63,46 @@ public class Nes {
 
 		// Create frame
 
+		String romPath = DEFAULT_ROM;
+		boolean headless = false;
+		long cycles = 0;
+		long frames = 0;
+		for (int index = 0; index < args.length; index++) {
+			switch (args[index]) {
+			case "--headless":
+				headless = true;
+				break;
+
+			case "--cycles":
+				cycles = parseCount(args, ++index);
+				break;
+
+			case "--frames":
+				frames = parseCount(args, ++index);
+				break;
+
+			case "-h":
+			case "--help":
+				System.out.println(USAGE);
+				return;
+
+			default:
+				if (args[index].startsWith("-")) {
+					exitWithUsage("Unknown option: " + args[index]);
+				}
+				romPath = args[index];
+			}
+		}
+
+		if (cycles != 0 && frames != 0) {
+			exitWithUsage("Choose either --cycles or --frames");
+		}
+
 		// TODO Remove below when tests over
-		File nesFile = new File("./Super Mario Bros.nes");
+		File nesFile = new File(romPath);
 		Disassembler disassembler = new Disassembler();
 		DisassemblyInfo info = disassembler.disassembleFile(nesFile);
 
-		if (!info.isPALSystem()) {
-			System.err.println("Not a PAL file, running but can do weird things...");
-		}
-
 		final Cpu cpu = Cpu.getInstance();
 
 		if (info.getMapper() != 0) {
@@ -41,11 +110,39 @@ public class Nes {
 			System.exit(2);
 		}
 
-		cpu.setMapper(new Mapper0(info.getPrgRom(), info.getChrRom()));
-		cpu.setRomInstructions(info.getInstructions());
+		Mapper0 mapper = new Mapper0(info.getPrgRom(), info.getChrRom(), info.getNametableMirroring());
+		cpu.setMapper(mapper);
+		cpu.setEngine(CpuEngine.fromProperty());
+		cpu.getPpu().setPal(info.isPALSystem());
 		cpu.warmUp();
+
+		// See how code behaves, and how much of the ROM runs
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			System.out.println(mapper.getDecodeCache());
+			System.out.println(mapper.getPrgDecodeCache());
+			System.out.println(mapper.getChrTileCache());
+
+			if (OpcodeProfiler.ENABLED) {
+				try {
+					cpu.getProfiler().export();
+				} catch (IOException e) {
+					System.err.println("Cannot write the opcode profile: " + e.getMessage());
+				}
+			}
+		}));
+
+		if (headless) {
+			HeadlessRunner runner = new HeadlessRunner(cpu);
+			HeadlessRunner.Report report = cycles != 0 ? runner.runCycles(cycles)
+					: runner.runFrames(frames != 0 ? frames : DEFAULT_HEADLESS_FRAMES);
+
+			System.out.println("%s (%s, %s engine)".formatted(nesFile.getName(), info.isPALSystem() ? "PAL" : "NTSC",
+					cpu.getEngine()));
+			System.out.println(report);
+			System.exit(report.getError() == null ? 0 : 1);
+		}
 		
-		GameFrame frame = new GameFrame(info.getInstructions());
+		GameFrame frame = new GameFrame(mapper.getPrgDecodeCache());
 		frame.initFrame(nesFile.getName());
 	}
 }
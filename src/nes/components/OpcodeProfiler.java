@@ -0,0 +1,237 @@
+package components;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import instructions.Instruction;
+import instructions.InstructionInfo;
+
+/**
+ * <p>
+ * Counts, for each opcode, how many times it was executed, the cycles it took
+ * and how many cycles it added to its base cycles (0 to 3): this gives the
+ * page crossing rate of indexed instructions and the taken rate of branches.
+ * Everything is kept in plain <code>long</code> arrays indexed by opcode.
+ * </p>
+ *
+ * <p>
+ * The profiler is enabled by setting the <code>nes.cpu.profile</code> system
+ * property to the file to write on exit (JSON if it ends with
+ * <code>.json</code>, CSV otherwise). When it is not set, {@link #ENABLED} is a
+ * false constant and the {@link Cpu} does not even call the profiler. While
+ * profiling, the {@link CpuEngine#RECOMPILER} engine interprets every
+ * instruction, else a compiled block would be counted as its first opcode.
+ * </p>
+ */
+public class OpcodeProfiler {
+
+	public static final String PROFILE_PROPERTY = "nes.cpu.profile";
+
+	/**
+	 * True if the <code>nes.cpu.profile</code> system property is set
+	 */
+	public static final boolean ENABLED = System.getProperty(PROFILE_PROPERTY) != null;
+
+	// Branches add 1 cycle when taken, 2 more when crossing a page
+	private static final int MAX_EXTRA_CYCLES = 3;
+
+	private final long[] executions = new long[0x100];
+	private final long[] cycles = new long[0x100];
+	private final long[] extraCycles = new long[0x100 * (MAX_EXTRA_CYCLES + 1)];
+
+	/**
+	 * Records one execution of an opcode (DMA cycles must not be included)
+	 * 
+	 * @param opcode the executed opcode
+	 * @param cycles the cycles taken by the execution
+	 */
+	public void record(int opcode, int cycles) {
+		int extra = cycles - InstructionInfo.getInstance().getCycles(opcode);
+		executions[opcode]++;
+		this.cycles[opcode] += cycles;
+		extraCycles[opcode << 2 | Math.min(Math.max(extra, 0), MAX_EXTRA_CYCLES)]++;
+	}
+
+	/**
+	 * Removes every count
+	 */
+	public void clear() {
+		for (int opcode = 0; opcode < 0x100; opcode++) {
+			executions[opcode] = 0;
+			cycles[opcode] = 0;
+		}
+		for (int index = 0; index < extraCycles.length; index++) {
+			extraCycles[index] = 0;
+		}
+	}
+
+	public long getExecutions(int opcode) {
+		return executions[opcode];
+	}
+
+	public long getCycles(int opcode) {
+		return cycles[opcode];
+	}
+
+	/**
+	 * Returns how many executions of an opcode took some extra cycles
+	 * 
+	 * @param opcode the opcode
+	 * @param extra  the extra cycles, from 0 to 3
+	 * @return the number of executions
+	 */
+	public long getExecutions(int opcode, int extra) {
+		return extraCycles[opcode << 2 | extra];
+	}
+
+	private static boolean isBranch(int opcode) {
+		return (opcode & 0x1F) == 0x10;
+	}
+
+	/**
+	 * Returns how many times a branch was taken (never for other opcodes)
+	 * 
+	 * @param opcode the opcode
+	 * @return the number of taken branches
+	 */
+	public long getBranchesTaken(int opcode) {
+		return isBranch(opcode) ? getExecutions(opcode, 1) + getExecutions(opcode, 3) : 0;
+	}
+
+	/**
+	 * Returns how many times an opcode crossed a page and paid for it (for
+	 * branches, only the taken ones)
+	 * 
+	 * @param opcode the opcode
+	 * @return the number of page crossings
+	 */
+	public long getPageCrossings(int opcode) {
+		return isBranch(opcode) ? getExecutions(opcode, 3) : getExecutions(opcode, 1);
+	}
+
+	private long getTotalCycles() {
+		long total = 0;
+		for (long opcodeCycles : cycles) {
+			total += opcodeCycles;
+		}
+
+		return total;
+	}
+
+	private static String getName(int opcode) {
+		Instruction instruction = InstructionInfo.getInstance().getInstruction(opcode);
+		return instruction == null ? "???" : instruction.getName();
+	}
+
+	private static String getMode(int opcode) {
+		Instruction instruction = InstructionInfo.getInstance().getInstruction(opcode);
+		return instruction == null ? "" : instruction.getMode().name();
+	}
+
+	private int[] getOpcodesByCycles() {
+		return IntStream.range(0, 0x100).filter(opcode -> executions[opcode] != 0).boxed()
+				.sorted((first, second) -> Long.compare(cycles[second], cycles[first])).mapToInt(Integer::intValue)
+				.toArray();
+	}
+
+	private static double rate(long count, long total) {
+		return total == 0 ? 0 : (double) count / total;
+	}
+
+	/**
+	 * Writes one line per executed opcode, the most expensive (in cycles) first
+	 * 
+	 * @param writer where to write the CSV
+	 */
+	public void writeCsv(Writer writer) {
+		PrintWriter printer = new PrintWriter(writer);
+		long totalCycles = getTotalCycles();
+
+		printer.println("opcode,name,mode,executions,cycles,cycle_share,extra_0,extra_1,extra_2,extra_3,"
+				+ "page_cross_rate,branch_taken_rate");
+		for (int opcode : getOpcodesByCycles()) {
+			long opcodeExecutions = executions[opcode];
+			printer.println(String.format(Locale.ROOT, "0x%02X,%s,%s,%d,%d,%.6f,%d,%d,%d,%d,%.6f,%.6f", opcode,
+					getName(opcode), getMode(opcode), opcodeExecutions, cycles[opcode],
+					rate(cycles[opcode], totalCycles), getExecutions(opcode, 0), getExecutions(opcode, 1),
+					getExecutions(opcode, 2), getExecutions(opcode, 3),
+					rate(getPageCrossings(opcode), opcodeExecutions),
+					rate(getBranchesTaken(opcode), opcodeExecutions)));
+		}
+
+		printer.flush();
+	}
+
+	/**
+	 * Writes the totals and one object per executed opcode, the most expensive (in
+	 * cycles) first
+	 * 
+	 * @param writer where to write the JSON
+	 */
+	public void writeJson(Writer writer) {
+		PrintWriter printer = new PrintWriter(writer);
+		long totalExecutions = 0;
+		for (long opcodeExecutions : executions) {
+			totalExecutions += opcodeExecutions;
+		}
+		long totalCycles = getTotalCycles();
+
+		printer.println("{");
+		printer.println("  \"executions\": %d,".formatted(totalExecutions));
+		printer.println("  \"cycles\": %d,".formatted(totalCycles));
+		printer.println("  \"opcodes\": [");
+
+		int[] opcodes = getOpcodesByCycles();
+		for (int index = 0; index < opcodes.length; index++) {
+			int opcode = opcodes[index];
+			long opcodeExecutions = executions[opcode];
+			printer.print(String.format(Locale.ROOT,
+					"    {\"opcode\": \"0x%02X\", \"name\": \"%s\", \"mode\": \"%s\", \"executions\": %d, "
+							+ "\"cycles\": %d, \"cycleShare\": %.6f, \"extraCycles\": [%d, %d, %d, %d], "
+							+ "\"pageCrossRate\": %.6f, \"branchTakenRate\": %.6f}",
+					opcode, getName(opcode), getMode(opcode), opcodeExecutions, cycles[opcode],
+					rate(cycles[opcode], totalCycles), getExecutions(opcode, 0), getExecutions(opcode, 1),
+					getExecutions(opcode, 2), getExecutions(opcode, 3),
+					rate(getPageCrossings(opcode), opcodeExecutions),
+					rate(getBranchesTaken(opcode), opcodeExecutions)));
+			printer.println(index + 1 < opcodes.length ? "," : "");
+		}
+
+		printer.println("  ]");
+		printer.println("}");
+		printer.flush();
+	}
+
+	/**
+	 * Writes the profile in a file, in JSON if its name ends with
+	 * <code>.json</code> and in CSV otherwise
+	 * 
+	 * @param file the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void export(Path file) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(file)) {
+			if (file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")) {
+				writeJson(writer);
+			} else {
+				writeCsv(writer);
+			}
+		}
+	}
+
+	/**
+	 * Writes the profile in the file given by the <code>nes.cpu.profile</code>
+	 * system property (call it on exit)
+	 * 
+	 * @throws IOException if the file cannot be written
+	 */
+	public void export() throws IOException {
+		export(Path.of(System.getProperty(PROFILE_PROPERTY)));
+	}
+}
@@ -1,9 +1,1007 @@
 package components;
 
+import java.util.Arrays;
+
+/**
+ * <p>
+ * Picture processing unit, synchronised by catch-up: it does not run along the
+ * CPU but is advanced to the current time only when its state can be seen.
+ * That is when the CPU accesses its registers (0x2000 to 0x2007 and OAM DMA),
+ * when a mapper needs the current scanline (see
+ * {@link mapper.Mapper#getPpuScanline()}) and at the
+ * predicted time of its next event: the start of VBlank which ends the frame
+ * and can request an NMI, or the sprite 0 hit if it comes before (loops
+ * polling PPUSTATUS then see it at the right cycle, and the recompiler does
+ * not run a block past it). The CPU checks this time after each tick (see
+ * {@link #getNextEventCycle()}), so between two events the CPU loop runs
+ * without touching the PPU.
+ * </p>
+ *
+ * <p>
+ * Time is counted in master clock ticks: a CPU cycle is 12 ticks and a dot 4
+ * in NTSC (16 and 5 in PAL). The PPU advances one scanline at a time and only
+ * handles what the CPU can see: VBlank, sprite 0 hit, sprite overflow and
+ * the dot skipped by odd frames. The sprite 0 hit is predicted from OAM, the pattern tables, the
+ * nametables and the scroll, and kept until one of them changes. Pattern
+ * tables are read through the {@link ChrTileCache} of the mapper.
+ * </p>
+ *
+ * <p>
+ * Visible scanlines are rendered when the catch-up passes their last dot,
+ * with the scroll and the registers of that moment, so writes between two
+ * scanlines (split screens) are seen. Pixels are written as RGB directly in
+ * the frame buffer (see {@link #setFrameBuffer(int[])}): the palette is
+ * resolved when it is written, not for each pixel. With a
+ * {@link TripleBuffer} (see {@link #setFrameBuffers(TripleBuffer)}), each
+ * frame is published when VBlank starts and the next one is written in
+ * another buffer.
+ * </p>
+ *
+ * <p>
+ * Sprites are evaluated once for the whole frame: each scanline gets the list
+ * of its first 8 sprites in OAM order, as the PPU does, and the list is kept
+ * until OAM or the sprite size changes (so usually for many frames). A
+ * scanline then draws at most 8 sprites in a line buffer and merges it with
+ * the background in a single pass.
+ * </p>
+ */
 public class Ppu {
 
-	public Ppu() {
-		// TODO Auto-generated constructor stub
+	public static final int DOTS_PER_SCANLINE = 341;
+	public static final int VISIBLE_SCANLINES = 240;
+	public static final int VBLANK_SCANLINE = 241;
+	public static final int SCREEN_WIDTH = 256;
+	public static final int SCREEN_HEIGHT = VISIBLE_SCANLINES;
+
+	// The pre-render scanline is the last one
+	private static final int NTSC_SCANLINES = 262;
+	private static final int PAL_SCANLINES = 312;
+
+	// Master clock ticks per CPU cycle and per dot
+	private static final int NTSC_CPU_DIVIDER = 12;
+	private static final int NTSC_DOT_DIVIDER = 4;
+	private static final int PAL_CPU_DIVIDER = 16;
+	private static final int PAL_DOT_DIVIDER = 5;
+
+	// Sprites drawn on a scanline
+	public static final int MAX_SPRITES_PER_SCANLINE = 8;
+	private static final int SPRITE_NUMBER = 64;
+
+	// Priority flag of a pixel in the sprite line buffer
+	private static final int SPRITE_BEHIND = 0x100;
+	private static final int SPRITE_PALETTE = 0x10;
+
+	// No sprite overflow during the frame
+	private static final int NO_OVERFLOW = -1;
+
+	// Dots where v is updated from t while rendering
+	private static final int HORIZONTAL_COPY_DOT = 257;
+	private static final int VERTICAL_COPY_DOT = 280;
+
+	// RGB colours of the 2C02
+	private static final int[] SYSTEM_PALETTE = { 0x7C7C7C, 0x0000FC, 0x0000BC, 0x4428BC, 0x940084, 0xA80020,
+			0xA81000, 0x881400, 0x503000, 0x007800, 0x006800, 0x005800, 0x004058, 0x000000, 0x000000, 0x000000,
+			0xBCBCBC, 0x0078F8, 0x0058F8, 0x6844FC, 0xD800CC, 0xE40058, 0xF83800, 0xE45C10, 0xAC7C00, 0x00B800,
+			0x00A800, 0x00A844, 0x008888, 0x000000, 0x000000, 0x000000, 0xF8F8F8, 0x3CBCFC, 0x6888FC, 0x9878F8,
+			0xF878F8, 0xF85898, 0xF87858, 0xFCA044, 0xF8B800, 0xB8F818, 0x58D854, 0x58F898, 0x00E8D8, 0x787878,
+			0x000000, 0x000000, 0xFCFCFC, 0xA4E4FC, 0xB8B8F8, 0xD8B8F8, 0xF8B8F8, 0xF8A4C0, 0xF0D0B0, 0xFCE0A8,
+			0xF8D878, 0xD8F878, 0xB8F8B8, 0xB8F8D8, 0x00FCFC, 0xF8D8F8, 0x000000, 0x000000 };
+
+	// CPU cycles halted by an OAM DMA (+1 if it starts on a put cycle)
+	private static final int OAM_DMA_CYCLES = 513;
+
+	/* PPUCTRL */
+	private static final int CTRL_INCREMENT = 0b100;
+	private static final int CTRL_SPRITE_TABLE = 0b1000;
+	private static final int CTRL_BACKGROUND_TABLE = 0b10000;
+	private static final int CTRL_SPRITE_SIZE = 0b100000;
+	private static final int CTRL_NMI = 0b10000000;
+
+	/* PPUMASK */
+	private static final int MASK_GREYSCALE = 0b1;
+	private static final int MASK_BACKGROUND_LEFT = 0b10;
+	private static final int MASK_SPRITES_LEFT = 0b100;
+	private static final int MASK_BACKGROUND = 0b1000;
+	private static final int MASK_SPRITES = 0b10000;
+	private static final int MASK_RENDERING = MASK_BACKGROUND | MASK_SPRITES;
+
+	/* PPUSTATUS */
+	public static final int STATUS_OVERFLOW = 0b100000;
+	public static final int STATUS_SPRITE0_HIT = 0b1000000;
+	public static final int STATUS_VBLANK = 0b10000000;
+
+	// Sprite 0 does not hit during this frame
+	public static final int NO_HIT = -1;
+
+	private final Cpu cpu;
+
+	/* Region */
+	private boolean pal = false;
+	private int scanlines = NTSC_SCANLINES;
+	private int cpuDivider = NTSC_CPU_DIVIDER;
+	private int dotDivider = NTSC_DOT_DIVIDER;
+
+	/* Timing, the position is the next dot to run */
+	private long masterClock;
+	private int scanline;
+	private int dot;
+	private long frame;
+	private long nextEventCycle;
+
+	// Frames ended since the reset, one per VBlank
+	private long completedFrames;
+
+	/* Registers */
+	private int control;
+	private int mask;
+	private int status;
+	private int oamAddress;
+	private int latch; // Last value written to or read from a register
+	private int readBuffer;
+
+	/* Internal registers: v, t, fine X scroll and the write toggle */
+	private int vramAddress;
+	private int tempAddress;
+	private int fineX;
+	private boolean writeToggle;
+
+	private final int[] oam = new int[256];
+	private final int[] palette = new int[32];
+
+	// Palette resolved in RGB
+	private final int[] paletteRgb = new int[32];
+	private int[] frameBuffer = new int[SCREEN_WIDTH * SCREEN_HEIGHT];
+	private TripleBuffer frameBuffers;
+
+	// Palette index of each pixel of the scanline being rendered (0 is backdrop)
+	private final int[] backgroundLine = new int[SCREEN_WIDTH];
+	private final int[] spriteLine = new int[SCREEN_WIDTH];
+
+	// Sprites of each scanline (OAM indices), kept until OAM or the size changes
+	private final int[] spriteLists = new int[VISIBLE_SCANLINES * MAX_SPRITES_PER_SCANLINE];
+	private final int[] spriteCounts = new int[VISIBLE_SCANLINES];
+	private boolean spritesEvaluated = false;
+	private int overflowScanline = NO_OVERFLOW;
+
+	// Dot of the sprite 0 hit from the start of the frame (scanline * 341 + dot)
+	private boolean sprite0Predicted = false;
+	private int sprite0HitDot = NO_HIT;
+
+	/**
+	 * Creates the PPU of a CPU. Its mapper gives the PPU bus
+	 *
+	 * @param cpu the CPU
+	 */
+	public Ppu(Cpu cpu) {
+		this.cpu = cpu;
+		resolvePalette();
+	}
+
+	/**
+	 * Sets where the PPU writes its pixels, one RGB int per pixel from the top
+	 * left corner, line by line. The array is written in place: it can be the
+	 * data of the image shown on screen
+	 *
+	 * @param frameBuffer the array, of {@link #SCREEN_WIDTH} *
+	 *                    {@link #SCREEN_HEIGHT} pixels
+	 * @throws IllegalArgumentException if the array has not the size of a frame
+	 */
+	public void setFrameBuffer(int[] frameBuffer) {
+		if (frameBuffer.length != SCREEN_WIDTH * SCREEN_HEIGHT) {
+			throw new IllegalArgumentException("A frame has %d pixels, not %d"
+					.formatted(SCREEN_WIDTH * SCREEN_HEIGHT, frameBuffer.length));
+		}
+
+		this.frameBuffer = frameBuffer;
+		this.frameBuffers = null;
+	}
+
+	/**
+	 * Writes the frames in the back buffer of a triple buffer, published when
+	 * finished (at the start of VBlank). The display takes them from the other
+	 * side, the PPU never waits for it
+	 *
+	 * @param frameBuffers the buffers, of {@link #SCREEN_WIDTH} *
+	 *                     {@link #SCREEN_HEIGHT} pixels
+	 * @throws IllegalArgumentException if the buffers have not the size of a
+	 *                                  frame
+	 */
+	public void setFrameBuffers(TripleBuffer frameBuffers) {
+		setFrameBuffer(frameBuffers.getBackBuffer());
+		this.frameBuffers = frameBuffers;
+	}
+
+	public int[] getFrameBuffer() {
+		return frameBuffer;
+	}
+
+	/**
+	 * Sets the region, then {@link #reset()} must be called
+	 *
+	 * @param pal true for PAL timing, false for NTSC
+	 */
+	public void setPal(boolean pal) {
+		this.pal = pal;
+		this.scanlines = pal ? PAL_SCANLINES : NTSC_SCANLINES;
+		this.cpuDivider = pal ? PAL_CPU_DIVIDER : NTSC_CPU_DIVIDER;
+		this.dotDivider = pal ? PAL_DOT_DIVIDER : NTSC_DOT_DIVIDER;
+	}
+
+	public boolean isPal() {
+		return pal;
+	}
+
+	/**
+	 * Returns the region set with {@link #setPal(boolean)}, for the frequency
+	 * and the frame period of the console
+	 *
+	 * @return the region
+	 */
+	public Region getRegion() {
+		return pal ? Region.PAL : Region.NTSC;
+	}
+
+	/**
+	 * Powers the PPU up: registers are cleared and the first frame starts now
+	 */
+	public void reset() {
+		control = 0;
+		mask = 0;
+		status = 0;
+		oamAddress = 0;
+		latch = 0;
+		readBuffer = 0;
+		vramAddress = 0;
+		tempAddress = 0;
+		fineX = 0;
+		writeToggle = false;
+		sprite0Predicted = false;
+		spritesEvaluated = false;
+		resolvePalette();
+
+		masterClock = cpu.getClock() * cpuDivider;
+		scanline = 0;
+		dot = 0;
+		frame = 0;
+		completedFrames = 0;
+		updateNextEventCycle();
+	}
+
+	/**
+	 * Advances the PPU to the CPU cycle being run by the current instruction.
+	 * Mappers counting scanlines call it before {@link #getScanline()} (see
+	 * {@link mapper.Mapper#getPpuScanline()})
+	 */
+	public void catchUp() {
+		catchUp(cpu.getAccessClock());
+	}
+
+	/**
+	 * Advances the PPU to a CPU cycle (nothing happens if it is already there)
+	 *
+	 * @param cycle the CPU cycle, see {@link Cpu#getClock()}
+	 */
+	public void catchUp(long cycle) {
+		long dots = (cycle * cpuDivider - masterClock) / dotDivider;
+		if (dots > 0) {
+			advance(dots);
+			masterClock += dots * dotDivider;
+		}
+
+		updateNextEventCycle();
+	}
+
+	private void advance(long dots) {
+		while (dots > 0) {
+			int length = getScanlineLength();
+			int end = (int) Math.min(length, dot + dots);
+			runDots(dot, end);
+
+			dots -= end - dot;
+			dot = end;
+			if (dot == length) {
+				dot = 0;
+				scanline++;
+				if (scanline == scanlines) {
+					scanline = 0;
+					frame++;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Runs the events of the current scanline from one dot (included) to another
+	 * (excluded)
+	 */
+	private void runDots(int from, int to) {
+		if (scanline < VISIBLE_SCANLINES || scanline == scanlines - 1) {
+			runRenderingDots(from, to);
+		}
+
+		if (from <= 1 && 1 < to) {
+			if (scanline == VBLANK_SCANLINE) {
+				completedFrames++;
+				if (frameBuffers != null) {
+					frameBuffer = frameBuffers.publish();
+				}
+
+				status |= STATUS_VBLANK;
+				if ((control & CTRL_NMI) != 0) {
+					cpu.requestNmi();
+				}
+			} else if (scanline == scanlines - 1) {
+				// Pre-render scanline, the next frame starts
+				status &= ~(STATUS_VBLANK | STATUS_SPRITE0_HIT | STATUS_OVERFLOW);
+				sprite0Predicted = false;
+			}
+		}
+
+		if (scanline < VISIBLE_SCANLINES && (status & STATUS_SPRITE0_HIT) == 0) {
+			int hitDot = getSprite0HitDot();
+			if (hitDot != NO_HIT && hitDot / DOTS_PER_SCANLINE == scanline) {
+				int hitX = hitDot % DOTS_PER_SCANLINE;
+				if (from <= hitX && hitX < to) {
+					status |= STATUS_SPRITE0_HIT;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Renders the scanline at its last visible dot and updates v as the PPU
+	 * does while rendering
+	 */
+	private void runRenderingDots(int from, int to) {
+		boolean visible = scanline < VISIBLE_SCANLINES;
+		if (from <= SCREEN_WIDTH && SCREEN_WIDTH < to) {
+			if (visible) {
+				renderScanline();
+			}
+			if (isRendering()) {
+				incrementY();
+
+				// Found while evaluating the sprites of the next scanline
+				if (scanline + 1 == getOverflowScanline()) {
+					status |= STATUS_OVERFLOW;
+				}
+			}
+		}
+
+		if (!isRendering()) {
+			return;
+		}
+
+		if (from <= HORIZONTAL_COPY_DOT && HORIZONTAL_COPY_DOT < to) {
+			vramAddress = (vramAddress & ~0x041F) | (tempAddress & 0x041F);
+		}
+
+		if (!visible && from <= VERTICAL_COPY_DOT && VERTICAL_COPY_DOT < to) {
+			vramAddress = (vramAddress & ~0x7BE0) | (tempAddress & 0x7BE0);
+		}
+	}
+
+	private void renderScanline() {
+		renderBackground();
+		boolean sprites = renderSprites();
+
+		// Sprites in front or over the backdrop, only one write per pixel
+		int start = scanline * SCREEN_WIDTH;
+		for (int x = 0; x < SCREEN_WIDTH; x++) {
+			int colour = backgroundLine[x];
+			if (sprites) {
+				int sprite = spriteLine[x];
+				if (sprite != 0 && (colour == 0 || (sprite & SPRITE_BEHIND) == 0)) {
+					colour = sprite & 0x1F;
+				}
+			}
+
+			frameBuffer[start + x] = paletteRgb[colour];
+		}
+	}
+
+	/**
+	 * Writes the palette index of each background pixel of the scanline in the
+	 * background line buffer, 0 where it is transparent
+	 */
+	private void renderBackground() {
+		if ((mask & MASK_BACKGROUND) == 0) {
+			Arrays.fill(backgroundLine, 0);
+			return;
+		}
+
+		ChrTileCache tileCache = cpu.getMapper().getChrTileCache();
+		int table = (control & CTRL_BACKGROUND_TABLE) != 0 ? 256 : 0;
+		int fineY = vramAddress >> 12 & 7;
+
+		// 33 tiles as the first one can be scrolled by fine X
+		int address = vramAddress;
+		int x = -fineX;
+		for (int column = 0; column <= SCREEN_WIDTH / 8; column++) {
+			int tile = readMemory(0x2000 | (address & 0x0FFF));
+			int attribute = readMemory(0x23C0 | (address & 0x0C00) | (address >> 4 & 0x38) | (address >> 2 & 0x07));
+			int paletteBase = (attribute >> ((address >> 4 & 0b100) | (address & 0b10)) & 0b11) << 2;
+			int pixels = tileCache.getRow(table + tile, fineY);
+
+			for (int pixel = 0; pixel < 8; pixel++, x++) {
+				if (x >= 0 && x < SCREEN_WIDTH) {
+					int colour = ChrTileCache.getPixel(pixels, pixel, false);
+					backgroundLine[x] = colour == 0 ? 0 : paletteBase | colour;
+				}
+			}
+
+			// Next tile, to the next nametable after the last column
+			address = (address & 0x1F) == 31 ? (address & ~0x1F) ^ 0x0400 : address + 1;
+		}
+
+		if ((mask & MASK_BACKGROUND_LEFT) == 0) {
+			Arrays.fill(backgroundLine, 0, 8, 0);
+		}
+	}
+
+	/**
+	 * Writes the sprites of the scanline in the sprite line buffer: palette
+	 * index and priority, the first opaque pixel in OAM order wins
+	 *
+	 * @return false if there is nothing to draw (the buffer is not written)
+	 */
+	private boolean renderSprites() {
+		if ((mask & MASK_SPRITES) == 0) {
+			return false;
+		}
+
+		evaluateSprites();
+		int count = spriteCounts[scanline];
+		if (count == 0) {
+			return false;
+		}
+
+		Arrays.fill(spriteLine, 0);
+		ChrTileCache tileCache = cpu.getMapper().getChrTileCache();
+		int height = getSpriteHeight();
+		int minX = (mask & MASK_SPRITES_LEFT) == 0 ? 8 : 0;
+
+		for (int index = 0; index < count; index++) {
+			int sprite = spriteLists[scanline * MAX_SPRITES_PER_SCANLINE + index] * 4;
+			int attributes = oam[sprite + 2];
+			int spriteX = oam[sprite + 3];
+
+			int row = scanline - oam[sprite] - 1;
+			int patternRow = (attributes & 0x80) != 0 ? height - 1 - row : row;
+			int pixels = tileCache.getRow(getSpriteTile(oam[sprite + 1], patternRow, height), patternRow & 7);
+			if (pixels == 0) {
+				continue;
+			}
+
+			boolean flipped = (attributes & 0x40) != 0;
+			int paletteBase = SPRITE_PALETTE | (attributes & 0b11) << 2;
+			int priority = (attributes & 0x20) != 0 ? SPRITE_BEHIND : 0;
+			for (int column = 0; column < 8; column++) {
+				int x = spriteX + column;
+				if (x >= SCREEN_WIDTH) {
+					break;
+				}
+
+				int colour = ChrTileCache.getPixel(pixels, column, flipped);
+				if (x >= minX && colour != 0 && spriteLine[x] == 0) {
+					spriteLine[x] = paletteBase | colour | priority;
+				}
+			}
+		}
+
+		return true;
+	}
+
+	private int getSpriteHeight() {
+		return (control & CTRL_SPRITE_SIZE) != 0 ? 16 : 8;
+	}
+
+	/**
+	 * Fills the sprite list of every scanline if OAM or the sprite size changed
+	 * since the last time. A sprite at Y is shown from the scanline Y + 1
+	 */
+	private void evaluateSprites() {
+		if (spritesEvaluated) {
+			return;
+		}
+
+		Arrays.fill(spriteCounts, 0);
+		int height = getSpriteHeight();
+		for (int sprite = 0; sprite < SPRITE_NUMBER; sprite++) {
+			int top = oam[sprite * 4] + 1;
+			for (int line = top; line < top + height && line < VISIBLE_SCANLINES; line++) {
+				if (spriteCounts[line] < MAX_SPRITES_PER_SCANLINE) {
+					spriteLists[line * MAX_SPRITES_PER_SCANLINE + spriteCounts[line]++] = sprite;
+				}
+			}
+		}
+
+		// Only full scanlines can overflow
+		overflowScanline = NO_OVERFLOW;
+		for (int line = 1; line < VISIBLE_SCANLINES && overflowScanline == NO_OVERFLOW; line++) {
+			if (spriteCounts[line] == MAX_SPRITES_PER_SCANLINE && isOverflowing(line, height)) {
+				overflowScanline = line;
+			}
+		}
+
+		spritesEvaluated = true;
+	}
+
+	/**
+	 * Looks for a 9th sprite on a scanline as the PPU does: after 8 sprites, it
+	 * also moves to the next byte of each sprite it skips, so it compares tile
+	 * numbers, attributes or X with the scanline and finds wrong overflows (or
+	 * misses real ones)
+	 */
+	private boolean isOverflowing(int line, int height) {
+		int sprite = 0;
+		for (int found = 0; sprite < SPRITE_NUMBER && found < MAX_SPRITES_PER_SCANLINE; sprite++) {
+			if (isOnScanline(oam[sprite * 4], line, height)) {
+				found++;
+			}
+		}
+
+		for (int offset = 0; sprite < SPRITE_NUMBER; sprite++, offset = (offset + 1) & 0b11) {
+			if (isOnScanline(oam[sprite * 4 + offset], line, height)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean isOnScanline(int y, int line, int height) {
+		int row = line - y - 1;
+		return row >= 0 && row < height;
+	}
+
+	private int getOverflowScanline() {
+		evaluateSprites();
+		return overflowScanline;
 	}
 
+	/**
+	 * Returns the number of sprites drawn on a scanline, at most
+	 * {@link #MAX_SPRITES_PER_SCANLINE}
+	 *
+	 * @param line the scanline, from 0 to 239
+	 * @return the number of sprites
+	 */
+	public int getSpriteCount(int line) {
+		evaluateSprites();
+		return spriteCounts[line];
+	}
+
+	private void incrementY() {
+		if ((vramAddress & 0x7000) != 0x7000) {
+			vramAddress += 0x1000;
+			return;
+		}
+
+		// Fine Y overflows in coarse Y, the attribute rows are skipped
+		vramAddress &= ~0x7000;
+		int coarseY = vramAddress >> 5 & 0x1F;
+		if (coarseY == 29) {
+			coarseY = 0;
+			vramAddress ^= 0x0800;
+		} else if (coarseY == 31) {
+			coarseY = 0;
+		} else {
+			coarseY++;
+		}
+		vramAddress = (vramAddress & ~0x03E0) | coarseY << 5;
+	}
+
+	private boolean isRendering() {
+		return (mask & MASK_RENDERING) != 0;
+	}
+
+	private int getScanlineLength() {
+		// NTSC skips the last dot of the pre-render scanline of odd frames
+		if (!pal && scanline == scanlines - 1 && (frame & 1) == 1 && isRendering()) {
+			return DOTS_PER_SCANLINE - 1;
+		}
+
+		return DOTS_PER_SCANLINE;
+	}
+
+	/**
+	 * Returns the CPU cycle after which the PPU has run a dot, in the current
+	 * frame if not already run, else in the next one. The skipped dot of odd
+	 * frames is counted with the current rendering state
+	 *
+	 * @param targetScanline the scanline of the dot
+	 * @param targetDot      the dot
+	 * @return the first CPU cycle when the dot is run
+	 */
+	public long getCycleAt(int targetScanline, int targetDot) {
+		long distance = (long) (targetScanline - scanline) * DOTS_PER_SCANLINE + targetDot - dot;
+		if (distance < 0) {
+			distance += (long) scanlines * DOTS_PER_SCANLINE;
+			if (!pal && (frame & 1) == 1 && isRendering()) {
+				distance--;
+			}
+		}
+
+		long master = masterClock + (distance + 1) * dotDivider;
+		return (master + cpuDivider - 1) / cpuDivider;
+	}
+
+	/**
+	 * Returns the CPU cycle when the next VBlank starts (the end of the frame)
+	 *
+	 * @return the CPU cycle of the next VBlank
+	 */
+	public long getNextVblankCycle() {
+		return getCycleAt(VBLANK_SCANLINE, 1);
+	}
+
+	/**
+	 * Returns the CPU cycle of the next sprite 0 hit: in the current frame if it
+	 * did not happen yet, in the next one after the visible scanlines (the flag is
+	 * cleared before). Loops polling PPUSTATUS can skip to it
+	 *
+	 * @return the CPU cycle of the hit, or {@link #NO_HIT}
+	 */
+	public long getSprite0HitCycle() {
+		int hitDot = getSprite0HitDot();
+		if (hitDot == NO_HIT) {
+			return NO_HIT;
+		}
+
+		int hitScanline = hitDot / DOTS_PER_SCANLINE;
+		int hitX = hitDot % DOTS_PER_SCANLINE;
+		if (scanline < VISIBLE_SCANLINES && ((status & STATUS_SPRITE0_HIT) != 0 || hitScanline < scanline
+				|| (hitScanline == scanline && hitX < dot))) {
+			return NO_HIT;
+		}
+
+		return getCycleAt(hitScanline, hitX);
+	}
+
+	/**
+	 * Returns the CPU cycle until which the CPU can run without synchronising the
+	 * PPU (next VBlank or sprite 0 hit). The PPU must be caught up when it is
+	 * reached
+	 *
+	 * @return the CPU cycle of the next event
+	 */
+	public long getNextEventCycle() {
+		return nextEventCycle;
+	}
+
+	/**
+	 * Predicts the next event again, after the PPU has moved or what the events
+	 * depend on has changed
+	 */
+	private void updateNextEventCycle() {
+		long vblank = getNextVblankCycle();
+		long hit = getSprite0HitCycle();
+		nextEventCycle = hit == NO_HIT ? vblank : Math.min(vblank, hit);
+	}
+
+	private int getSprite0HitDot() {
+		if (!sprite0Predicted) {
+			sprite0HitDot = predictSprite0Hit();
+			sprite0Predicted = true;
+		}
+
+		return sprite0HitDot;
+	}
+
+	/**
+	 * Finds the first opaque pixel of sprite 0 over an opaque background pixel,
+	 * with the scroll set for the frame (changes during the frame are ignored)
+	 */
+	private int predictSprite0Hit() {
+		if ((mask & MASK_RENDERING) != MASK_RENDERING) {
+			return NO_HIT;
+		}
+
+		int height = getSpriteHeight();
+		int spriteY = oam[0] + 1;
+		int tile = oam[1];
+		int attributes = oam[2];
+		int spriteX = oam[3];
+
+		// Left 8 pixels can be hidden
+		int minX = (mask & MASK_BACKGROUND_LEFT) == 0 || (mask & MASK_SPRITES_LEFT) == 0 ? 8 : 0;
+
+		ChrTileCache tileCache = cpu.getMapper().getChrTileCache();
+		boolean flipped = (attributes & 0x40) != 0;
+		for (int row = 0; row < height && spriteY + row < VISIBLE_SCANLINES; row++) {
+			int y = spriteY + row;
+			int patternRow = (attributes & 0x80) != 0 ? height - 1 - row : row;
+			int pixels = tileCache.getRow(getSpriteTile(tile, patternRow, height), patternRow & 7);
+			if (pixels == 0) {
+				continue;
+			}
+
+			for (int column = 0; column < 8; column++) {
+				int x = spriteX + column;
+
+				// No hit at x = 255
+				if (x >= minX && x < 255 && ChrTileCache.getPixel(pixels, column, flipped) != 0
+						&& isBackgroundOpaque(tileCache, x, y)) {
+					return y * DOTS_PER_SCANLINE + x + 1;
+				}
+			}
+		}
+
+		return NO_HIT;
+	}
+
+	/**
+	 * Returns the tile in the pattern tables (0 to 511) of a row of a sprite
+	 */
+	private int getSpriteTile(int tile, int patternRow, int height) {
+		if (height == 16) {
+			// Table from the first bit, top tile is even
+			return (tile & 1) * 256 + (tile & 0xFE) + (patternRow >> 3);
+		}
+
+		return ((control & CTRL_SPRITE_TABLE) != 0 ? 256 : 0) + tile;
+	}
+
+	private boolean isBackgroundOpaque(ChrTileCache tileCache, int x, int y) {
+		// Position in the 512x480 area of the four nametables
+		int worldX = ((tempAddress >> 10 & 1) * 256 + (tempAddress & 0x1F) * 8 + fineX + x) % 512;
+		int worldY = ((tempAddress >> 11 & 1) * 240 + (tempAddress >> 5 & 0x1F) * 8 + (tempAddress >> 12 & 7) + y)
+				% 480;
+
+		int nametable = 0x2000 + (worldX / 256 + worldY / 240 * 2) * 0x400;
+		int tile = readMemory(nametable + (worldY % 240 / 8) * 32 + (worldX % 256 / 8));
+		int pixels = tileCache.getRow(((control & CTRL_BACKGROUND_TABLE) != 0 ? 256 : 0) + tile, worldY % 8);
+
+		return ChrTileCache.getPixel(pixels, worldX % 8, false) != 0;
+	}
+
+	/**
+	 * Reads a PPU register (0x2000 to 0x3FFF, mirrored every 8 bytes)
+	 *
+	 * @param address the address of the register
+	 * @return the value read
+	 */
+	public int readRegister(int address) {
+		catchUp();
+
+		switch (address & 0x7) {
+		case 2:
+			// Low bits are the latch
+			latch = status | (latch & 0x1F);
+			status &= ~STATUS_VBLANK;
+			writeToggle = false;
+			break;
+
+		case 4:
+			latch = oam[oamAddress];
+			break;
+
+		case 7:
+			int memoryAddress = vramAddress & 0x3FFF;
+			if (memoryAddress >= 0x3F00) {
+				// Palette is not buffered, but the nametable below goes in the buffer
+				latch = palette[getPaletteIndex(memoryAddress)] | (latch & 0xC0);
+				readBuffer = readMemory(memoryAddress - 0x1000);
+			} else {
+				latch = readBuffer;
+				readBuffer = readMemory(memoryAddress);
+			}
+			incrementAddress();
+			break;
+
+		default:
+			// Write only registers
+			break;
+		}
+
+		return latch;
+	}
+
+	/**
+	 * Writes a PPU register (0x2000 to 0x3FFF, mirrored every 8 bytes)
+	 *
+	 * @param address the address of the register
+	 * @param value   the value to write
+	 */
+	public void writeRegister(int address, int value) {
+		catchUp();
+		value &= 0xFF;
+		latch = value;
+
+		switch (address & 0x7) {
+		case 0:
+			// Enabling NMI during VBlank requests it immediately
+			if ((control & CTRL_NMI) == 0 && (value & CTRL_NMI) != 0 && (status & STATUS_VBLANK) != 0) {
+				cpu.requestNmi();
+			}
+			if (((control ^ value) & CTRL_SPRITE_SIZE) != 0) {
+				spritesEvaluated = false;
+			}
+			control = value;
+			tempAddress = (tempAddress & ~0x0C00) | (value & 0b11) << 10;
+			break;
+
+		case 1:
+			boolean greyscale = ((mask ^ value) & MASK_GREYSCALE) != 0;
+			mask = value;
+			if (greyscale) {
+				resolvePalette();
+			}
+			break;
+
+		case 3:
+			oamAddress = value;
+			break;
+
+		case 4:
+			oam[oamAddress] = value;
+			oamAddress = (oamAddress + 1) & 0xFF;
+			spritesEvaluated = false;
+			break;
+
+		case 5:
+			if (!writeToggle) {
+				tempAddress = (tempAddress & ~0x1F) | value >> 3;
+				fineX = value & 0b111;
+			} else {
+				tempAddress = (tempAddress & ~0x73E0) | (value & 0b111) << 12 | (value & 0xF8) << 2;
+			}
+			writeToggle = !writeToggle;
+			break;
+
+		case 6:
+			if (!writeToggle) {
+				tempAddress = (tempAddress & 0x00FF) | (value & 0x3F) << 8;
+			} else {
+				tempAddress = (tempAddress & 0xFF00) | value;
+				vramAddress = tempAddress;
+			}
+			writeToggle = !writeToggle;
+			break;
+
+		case 7:
+			writeMemory(vramAddress & 0x3FFF, value);
+			incrementAddress();
+			break;
+
+		default:
+			// PPUSTATUS is read only
+			return;
+		}
+
+		// What the sprite 0 hit depends on may have changed, and the rendering
+		// state moves the next VBlank
+		sprite0Predicted = false;
+		updateNextEventCycle();
+	}
+
+	/**
+	 * Copies a page of the CPU bus in OAM (write to 0x4014), from the OAM
+	 * address. The CPU is halted during the copy
+	 *
+	 * @param page the high byte of the CPU address
+	 */
+	public void writeOamDma(int page) {
+		catchUp();
+
+		int address = (page & 0xFF) << 8;
+		for (int index = 0; index < oam.length; index++) {
+			oam[(oamAddress + index) & 0xFF] = cpu.fetchMemory(address + index);
+		}
+		sprite0Predicted = false;
+		spritesEvaluated = false;
+		updateNextEventCycle();
+
+		cpu.cpuInfo.dmaRequested = true;
+		cpu.cpuInfo.dmaHaltCycles = OAM_DMA_CYCLES;
+	}
+
+	private void incrementAddress() {
+		vramAddress = (vramAddress + ((control & CTRL_INCREMENT) != 0 ? 32 : 1)) & 0x7FFF;
+	}
+
+	/**
+	 * Returns the RGB colour of a colour of the system palette
+	 *
+	 * @param colour the colour, from 0 to 0x3F
+	 * @return the RGB colour
+	 */
+	public static int getRgb(int colour) {
+		return SYSTEM_PALETTE[colour & 0x3F];
+	}
+
+	private void resolveColour(int index) {
+		paletteRgb[index] = getRgb(palette[index] & ((mask & MASK_GREYSCALE) != 0 ? 0x30 : 0x3F));
+	}
+
+	private void resolvePalette() {
+		for (int index = 0; index < palette.length; index++) {
+			resolveColour(index);
+		}
+	}
+
+	private static int getPaletteIndex(int address) {
+		// Backdrop colours of sprites mirror the ones of the background
+		int index = address & 0x1F;
+		return (index & 0x13) == 0x10 ? index & 0x0F : index;
+	}
+
+	private int readMemory(int address) {
+		if (address >= 0x3F00) {
+			return palette[getPaletteIndex(address)];
+		}
+
+		// The bus mirrors the nametables up to 0x3EFF
+		return cpu.getMapper().readPpuBus(address);
+	}
+
+	private void writeMemory(int address, int value) {
+		if (address >= 0x3F00) {
+			int index = getPaletteIndex(address);
+			palette[index] = value & 0x3F;
+			resolveColour(index);
+		} else {
+			cpu.getMapper().writePpuBus(address, value);
+		}
+	}
+
+	public int getScanline() {
+		return scanline;
+	}
+
+	public int getDot() {
+		return dot;
+	}
+
+	public long getFrame() {
+		return frame;
+	}
+
+	/**
+	 * Returns the number of frames ended since the reset, a frame ending when
+	 * VBlank starts. VBlank is always an event of the CPU, so this is exact after
+	 * each {@link Cpu#tick()}
+	 *
+	 * @return the number of VBlanks since the reset
+	 */
+	public long getCompletedFrames() {
+		return completedFrames;
+	}
+
+	/**
+	 * Returns PPUSTATUS without the side effects of reading it (VBlank is not
+	 * cleared). The PPU is not caught up
+	 *
+	 * @return the status flags
+	 */
+	public int getStatus() {
+		return status;
+	}
+
+	public int getControl() {
+		return control;
+	}
+
+	public int getMask() {
+		return mask;
+	}
+
+	/**
+	 * Returns the object attribute memory (sprites), 4 bytes per sprite
+	 *
+	 * @return the OAM
+	 */
+	public int[] getOam() {
+		return oam;
+	}
+
+	/**
+	 * Returns the palette RAM (32 entries), backdrop mirrors included
+	 *
+	 * @return the palette
+	 */
+	public int[] getPalette() {
+		return palette;
+	}
 }
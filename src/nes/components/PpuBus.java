@@ -1,11 +1,105 @@
 package components;
 
+/**
+ * <p>
+ * PPU bus, from 0x0000 to 0x3EFF (the palette above is in the PPU). The
+ * pattern tables (0x0000 to 0x1FFF) are the bus content. The nametables
+ * (0x2000 to 0x2FFF, mirrored up to 0x3EFF) are four slots of 1 KB, each a
+ * reference to a page of RAM: an access only selects the slot from the
+ * address, whatever the mirroring.
+ * </p>
+ *
+ * <p>
+ * Changing the mirroring (see {@link #setMirroring(Mirroring)}) only changes
+ * the four references, nothing is copied: mappers switching it at runtime do
+ * it at each write of their control register. Mappers with their own
+ * nametable RAM put it in a slot with {@link #mapNametable(int, int[])}.
+ * </p>
+ */
 public class PpuBus extends Bus {
-	
-	private static final int PPU_BUS_SIZE = 0x4000;
-	
+
+	public static final int PATTERN_TABLES_SIZE = 0x2000;
+	public static final int NAMETABLE_SIZE = 0x400;
+
+	private static final int NAMETABLE_MASK = NAMETABLE_SIZE - 1;
+	private static final int SLOT_SHIFT = 10;
+	private static final int SLOT_MASK = 0b11;
+
+	// CIRAM, then the RAM of four-screen cartridges
+	private final int[][] pages = new int[4][NAMETABLE_SIZE];
+
+	private final int[][] nametables = new int[4][];
+	private Mirroring mirroring;
+
 	public PpuBus() {
-		super(PPU_BUS_SIZE);
+		super(PATTERN_TABLES_SIZE);
+		setMirroring(Mirroring.HORIZONTAL);
+	}
+
+	/**
+	 * Shows the nametable RAM with a layout
+	 *
+	 * @param mirroring the layout
+	 */
+	public void setMirroring(Mirroring mirroring) {
+		for (int slot = 0; slot < nametables.length; slot++) {
+			nametables[slot] = pages[mirroring.getPage(slot)];
+		}
+
+		this.mirroring = mirroring;
+	}
+
+	/**
+	 * Returns the layout of the nametables, the last one set with
+	 * {@link #setMirroring(Mirroring)}
+	 *
+	 * @return the layout
+	 */
+	public Mirroring getMirroring() {
+		return mirroring;
+	}
+
+	/**
+	 * Shows a page of RAM in a nametable slot, for mappers with their own
+	 * nametable RAM. {@link #setMirroring(Mirroring)} shows CIRAM again
+	 *
+	 * @param slot the nametable, from 0 (0x2000) to 3 (0x2C00)
+	 * @param page the RAM, of {@link #NAMETABLE_SIZE} values
+	 * @throws IllegalArgumentException if the page has not the size of a
+	 *                                  nametable
+	 */
+	public void mapNametable(int slot, int[] page) {
+		if (page.length != NAMETABLE_SIZE) {
+			throw new IllegalArgumentException(
+					"A nametable has %d bytes, not %d".formatted(NAMETABLE_SIZE, page.length));
+		}
+
+		nametables[slot] = page;
+	}
+
+	@Override
+	public int getFromBus(int address) {
+		if (address < PATTERN_TABLES_SIZE) {
+			return busContent[address];
+		}
+
+		return nametables[address >> SLOT_SHIFT & SLOT_MASK][address & NAMETABLE_MASK];
+	}
+
+	@Override
+	public void writeToBus(int address, int value) {
+		if (address < PATTERN_TABLES_SIZE) {
+			busContent[address] = value & 0xFF;
+		} else {
+			nametables[address >> SLOT_SHIFT & SLOT_MASK][address & NAMETABLE_MASK] = value & 0xFF;
+		}
+	}
+
+	@Override
+	public void writeToBus(int address, int[] values, int offset, int length) {
+		for (int index = 0; index < length; index++) {
+			writeToBus((address + index) & 0x3FFF, values[offset + index]);
+		}
 	}
 
 }
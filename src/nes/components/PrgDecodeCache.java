@@ -0,0 +1,322 @@
+package components;
+
+import disassemble.Disassembler;
+import events.DecodeMissEvent;
+import instructions.Instruction;
+import instructions.InstructionInfo;
+import mapper.Mapper;
+
+/**
+ * <p>
+ * Instructions decoded from the PRG ROM, one array per 8 KB bank. An offset is
+ * only decoded the first time it is read, since most of the ROM is data or the
+ * middle of an instruction and never runs. The CPU sees the ROM through four
+ * windows (0x8000, 0xA000, 0xC000 and 0xE000), and the mapper tells which bank
+ * each window shows with {@link #mapWindow(int, int)}. Switching a bank only
+ * changes one reference: nothing is decoded again.
+ * </p>
+ *
+ * <p>
+ * Each bank is decoded in two forms: {@link Instruction} objects for the
+ * {@link CpuEngine#INSTRUCTION} engine, and packed ints for the
+ * {@link SwitchInterpreter} (see {@link #getPacked(int)}), which only reads a
+ * primitive array and never follows a reference to an object.
+ * </p>
+ *
+ * <p>
+ * An instruction whose operands are in the next window is not cached, since
+ * the next window can show any bank. The CPU decodes it from the bus (it only
+ * happens at the last two bytes of a bank).
+ * </p>
+ */
+public class PrgDecodeCache {
+
+	private static final int BANK_SIZE = Mapper.PRG_WINDOW_SIZE;
+	private static final int OFFSET_MASK = BANK_SIZE - 1;
+	private static final int WINDOW_NUMBER = 0x8000 / BANK_SIZE;
+
+	/* Packed instruction: length (bits 24-25), operand (bits 8-23), opcode */
+	public static final int OPCODE_MASK = 0xFF;
+	public static final int OPERAND_SHIFT = 8;
+	public static final int OPERAND_MASK = 0xFFFF;
+	public static final int LENGTH_SHIFT = 24;
+
+	// Shown by windows while there is no ROM, nothing is decoded there
+	private static final Instruction[] NO_BANK = new Instruction[BANK_SIZE];
+	private static final int[] NO_PACKED_BANK = new int[BANK_SIZE];
+
+	// Average size of a decoded instruction (header, mode and constant)
+	private static final int INSTRUCTION_BYTES = 24;
+
+	private byte[] prgRom = new byte[0];
+	private Disassembler disassembler;
+
+	// Banks that have never been shown are not even allocated
+	private Instruction[][] banks = new Instruction[0][];
+	private int[][] packedBanks = new int[0][];
+	private long decodedOffsets = 0;
+	private long packedOffsets = 0;
+
+	private final Instruction[][] windows = new Instruction[WINDOW_NUMBER][];
+	private final int[][] packedWindows = new int[WINDOW_NUMBER][];
+	private final int[] windowBanks = new int[WINDOW_NUMBER];
+
+	public PrgDecodeCache() {
+		for (int window = 0; window < WINDOW_NUMBER; window++) {
+			windows[window] = NO_BANK;
+			packedWindows[window] = NO_PACKED_BANK;
+			windowBanks[window] = window;
+		}
+	}
+
+	/**
+	 * Loads the PRG ROM. Nothing is decoded yet: windows show the first banks,
+	 * mirrored if the ROM is smaller than 32 KB (as for NROM), and mappers
+	 * switching banks then call {@link #mapWindow(int, int)}
+	 * 
+	 * @param prgRom the PRG ROM
+	 */
+	public void load(byte[] prgRom) {
+		this.prgRom = prgRom;
+		int bankNumber = prgRom.length / BANK_SIZE;
+		banks = new Instruction[bankNumber][];
+		packedBanks = new int[bankNumber][];
+		decodedOffsets = 0;
+		packedOffsets = 0;
+		if (disassembler == null) {
+			disassembler = new Disassembler();
+		}
+
+		for (int window = 0; window < WINDOW_NUMBER; window++) {
+			if (bankNumber == 0) {
+				windows[window] = NO_BANK;
+				packedWindows[window] = NO_PACKED_BANK;
+				windowBanks[window] = window;
+			} else {
+				mapWindow(window, window % bankNumber);
+			}
+		}
+	}
+
+	/**
+	 * Shows a bank in a window. This must be called by the mapper each time it
+	 * switches a PRG bank
+	 * 
+	 * @param window the window, from 0 (0x8000) to 3 (0xE000)
+	 * @param bank   the 8 KB bank of the PRG ROM
+	 */
+	public void mapWindow(int window, int bank) {
+		if (banks[bank] == null) {
+			banks[bank] = new Instruction[BANK_SIZE];
+			packedBanks[bank] = new int[BANK_SIZE];
+		}
+
+		windows[window] = banks[bank];
+		packedWindows[window] = packedBanks[bank];
+		windowBanks[window] = bank;
+	}
+
+	/**
+	 * Returns the instruction decoded at this address, decoding it the first time.
+	 * Returns null if it cannot be cached (operands in the next window) or if the
+	 * opcode is unknown
+	 * 
+	 * @param address the address of the instruction, from 0x8000
+	 * @return the instruction or null
+	 */
+	public Instruction get(int address) {
+		int window = (address >> 13) & 0b11;
+		Instruction instruction = windows[window][address & OFFSET_MASK];
+		if (instruction == null) {
+			instruction = decode(window, address & OFFSET_MASK);
+		}
+
+		return instruction;
+	}
+
+	private Instruction decode(int window, int offset) {
+		if (prgRom.length == 0) {
+			return null;
+		}
+
+		// Operands must stay in the bank, the disassembler returns null if not
+		int start = windowBanks[window] * BANK_SIZE + offset;
+		int opcode = prgRom[start] & 0xFF;
+		int operand1 = offset + 1 < BANK_SIZE ? prgRom[start + 1] & 0xFF : -1;
+		int operand2 = offset + 2 < BANK_SIZE ? prgRom[start + 2] & 0xFF : -1;
+
+		Instruction instruction = disassembler.disassemble(opcode, operand1, operand2);
+		if (instruction != null) {
+			windows[window][offset] = instruction;
+			decodedOffsets++;
+			DecodeMissEvent.commit(DecodeMissEvent.PRG, 0x8000 | window << 13 | offset, opcode);
+		}
+
+		return instruction;
+	}
+
+	/**
+	 * <p>
+	 * Returns the instruction at this address packed in an int, packing it the
+	 * first time. Returns 0 if it cannot be cached (operands in the next window)
+	 * or if the opcode is unknown.
+	 * </p>
+	 * 
+	 * <p>
+	 * The opcode is in the 8 least significant bits, then the operand on 16 bits
+	 * (the byte, or the address for three bytes instructions) and the length of
+	 * the instruction. For non-indexed modes (zeropage, absolute) the operand is
+	 * already the effective address. Relative branches keep their offset, since
+	 * their target depends on the window showing the bank.
+	 * </p>
+	 * 
+	 * @param address the address of the instruction, from 0x8000
+	 * @return the packed instruction or 0
+	 */
+	public int getPacked(int address) {
+		int window = (address >> 13) & 0b11;
+		int packed = packedWindows[window][address & OFFSET_MASK];
+		if (packed == 0) {
+			packed = pack(window, address & OFFSET_MASK);
+		}
+
+		return packed;
+	}
+
+	private int pack(int window, int offset) {
+		if (prgRom.length == 0) {
+			return 0;
+		}
+
+		int start = windowBanks[window] * BANK_SIZE + offset;
+		int opcode = prgRom[start] & 0xFF;
+
+		// Unknown opcodes have -1 bytes, and operands must stay in the bank
+		int length = InstructionInfo.getInstance().getByteNumberFromOpcode(opcode);
+		if (length < 1 || offset + length > BANK_SIZE) {
+			return 0;
+		}
+
+		int operand = 0;
+		if (length >= 2) {
+			operand = prgRom[start + 1] & 0xFF;
+		}
+		if (length == 3) {
+			operand |= (prgRom[start + 2] & 0xFF) << 8;
+		}
+
+		int packed = pack(opcode, operand, length);
+		packedWindows[window][offset] = packed;
+		packedOffsets++;
+		DecodeMissEvent.commit(DecodeMissEvent.PRG_PACKED, 0x8000 | window << 13 | offset, opcode);
+
+		return packed;
+	}
+
+	/**
+	 * Packs an instruction (see {@link #getPacked(int)})
+	 * 
+	 * @param opcode  the opcode
+	 * @param operand the operand (0 if none)
+	 * @param length  the number of bytes of the instruction
+	 * @return the packed instruction
+	 */
+	public static int pack(int opcode, int operand, int length) {
+		return length << LENGTH_SHIFT | operand << OPERAND_SHIFT | opcode;
+	}
+
+	/**
+	 * Rebuilds a readable instruction from a packed one, for the debugger and
+	 * tests. This allocates, never use it to execute code
+	 * 
+	 * @param packed the packed instruction
+	 * @return the instruction, or null if packed is 0
+	 */
+	public static Instruction unpack(int packed) {
+		if (packed == 0) {
+			return null;
+		}
+
+		int operand = (packed >> OPERAND_SHIFT) & OPERAND_MASK;
+		return new Disassembler().disassemble(packed & OPCODE_MASK, operand & 0xFF, operand >> 8);
+	}
+
+	/**
+	 * Returns the bank shown at this address
+	 * 
+	 * @param address the address in ROM
+	 * @return the 8 KB bank
+	 */
+	public int getBank(int address) {
+		return windowBanks[(address >> 13) & 0b11];
+	}
+
+	/**
+	 * Returns the number of 8 KB banks of the PRG ROM
+	 * 
+	 * @return the number of banks
+	 */
+	public int getBankNumber() {
+		return banks.length;
+	}
+
+	/**
+	 * Returns the number of offsets decoded since the ROM was loaded
+	 * 
+	 * @return the number of decoded offsets
+	 */
+	public long getDecodedOffsets() {
+		return decodedOffsets;
+	}
+
+	/**
+	 * Returns the number of offsets packed since the ROM was loaded
+	 * 
+	 * @return the number of packed offsets
+	 */
+	public long getPackedOffsets() {
+		return packedOffsets;
+	}
+
+	/**
+	 * Estimates the memory that decoding the whole ROM at load time would have
+	 * used in addition: instructions of two or three bytes never decoded (one byte
+	 * instructions are shared) and banks never shown
+	 * 
+	 * @return the saved heap, in bytes
+	 */
+	public long getSavedBytes() {
+		InstructionInfo instructionInfo = InstructionInfo.getInstance();
+		long saved = 0;
+
+		for (int bank = 0; bank < banks.length; bank++) {
+			if (banks[bank] == null) {
+				// Array header and references
+				saved += 16 + 4L * BANK_SIZE;
+			}
+
+			for (int offset = 0; offset < BANK_SIZE; offset++) {
+				if (banks[bank] != null && banks[bank][offset] != null) {
+					continue;
+				}
+
+				int opcode = prgRom[bank * BANK_SIZE + offset] & 0xFF;
+				int byteNumber = instructionInfo.getByteNumberFromOpcode(opcode);
+				if (byteNumber > 1 && offset + byteNumber <= BANK_SIZE) {
+					saved += INSTRUCTION_BYTES;
+				}
+			}
+		}
+
+		return saved;
+	}
+
+	@Override
+	public String toString() {
+		long offsets = (long) banks.length * BANK_SIZE;
+		double decodedRate = offsets == 0 ? 0 : 100d * decodedOffsets / offsets;
+		double packedRate = offsets == 0 ? 0 : 100d * packedOffsets / offsets;
+		return "PRG decode cache: %d of %d offsets decoded (%.2f%%), about %d KB saved, %d packed (%.2f%%)"
+				.formatted(decodedOffsets, offsets, decodedRate, getSavedBytes() / 1024, packedOffsets, packedRate);
+	}
+}
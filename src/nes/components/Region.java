@@ -0,0 +1,64 @@
+package components;
+
+/**
+ * <p>
+ * Timing of the console for a TV system. The CPU and the PPU are clocked from
+ * the same crystal, so a frame does not have an integer number of CPU cycles:
+ * it is kept in halves of cycles (rendering disabled, no skipped dot).
+ * </p>
+ *
+ * <p>
+ * The region of the loaded ROM is the one of the PPU (see
+ * {@link Ppu#getRegion()}), anything running the console in real time takes
+ * its frequency and frame period from there.
+ * </p>
+ */
+public enum Region {
+
+	/**
+	 * 60.0988 frames per second
+	 */
+	NTSC(1789773, 59561),
+
+	/**
+	 * 50.0070 frames per second
+	 */
+	PAL(1662607, 66495);
+
+	private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+	private final int cpuFrequency;
+	private final int halfCyclesPerFrame;
+
+	private Region(int cpuFrequency, int halfCyclesPerFrame) {
+		this.cpuFrequency = cpuFrequency;
+		this.halfCyclesPerFrame = halfCyclesPerFrame;
+	}
+
+	/**
+	 * Returns the CPU frequency
+	 *
+	 * @return the frequency in Hz
+	 */
+	public int getCpuFrequency() {
+		return cpuFrequency;
+	}
+
+	/**
+	 * Returns the number of CPU cycles of two frames
+	 *
+	 * @return the number of half cycles per frame
+	 */
+	public int getHalfCyclesPerFrame() {
+		return halfCyclesPerFrame;
+	}
+
+	/**
+	 * Returns the time between two frames of the console
+	 *
+	 * @return the frame period in ns
+	 */
+	public long getFramePeriod() {
+		return halfCyclesPerFrame * NANOS_PER_SECOND / (2L * cpuFrequency);
+	}
+}
@@ -0,0 +1,1442 @@
+package components;
+
+import exceptions.InstructionNotSupportedException;
+import instructions.InstructionInfo;
+import recompiler.BlockRuntime;
+
+/**
+ * <p>
+ * CPU engine executing every instruction in a single switch over the opcode.
+ * Registers are read directly from {@link CpuInfo}, and the opcode and operand
+ * come from the packed ROM (see {@link PrgDecodeCache#getPacked(int)}) or from
+ * the bus outside the ROM, so there is no {@link instructions.Instruction}
+ * object (and no virtual call) involved.
+ * </p>
+ *
+ * <p>
+ * This must give <em>EXACTLY</em> the same results as the classes in the
+ * <code>instructions</code> package (registers, flags, memory and cycles). If
+ * you change an instruction there, change it here too! Operations and flags
+ * are the ones of {@link BlockRuntime}, shared with the compiled blocks.
+ * </p>
+ *
+ * <p>
+ * Addressing helpers return the address in the 16 least significant bits and
+ * the page crossed flag in bit 16, so that no state is kept between
+ * instructions.
+ * </p>
+ */
+public class SwitchInterpreter {
+
+	private static final int PAGE_CROSSED_SHIFT = 16;
+
+	private final Cpu cpu;
+	private final CpuInfo cpuInfo;
+
+	public SwitchInterpreter(Cpu cpu) {
+		this.cpu = cpu;
+		this.cpuInfo = cpu.cpuInfo;
+	}
+
+	/**
+	 * Executes the instruction pointed by PC and updates PC
+	 *
+	 * @return the number of cycles taken by the instruction
+	 * @throws InstructionNotSupportedException if the opcode is not emulated
+	 */
+	public int execute() throws InstructionNotSupportedException {
+		final int PC = cpuInfo.PC;
+
+		// Already packed in ROM, except when operands are in the next window
+		int packed = PC >= 0x8000 ? cpu.getMapper().getPrgDecodeCache().getPacked(PC) : 0;
+		if (packed == 0) {
+			packed = fetchPacked(PC);
+		}
+
+		return execute(PC, packed & PrgDecodeCache.OPCODE_MASK,
+				(packed >> PrgDecodeCache.OPERAND_SHIFT) & PrgDecodeCache.OPERAND_MASK);
+	}
+
+	/**
+	 * Packs the instruction pointed by PC from the bus. Only the bytes of the
+	 * instruction are read, the next ones can be registers
+	 * 
+	 * @param PC the address of the instruction
+	 * @return the packed instruction
+	 */
+	private int fetchPacked(int PC) {
+		int opcode = read(PC);
+		int length = InstructionInfo.getInstance().getByteNumberFromOpcode(opcode);
+
+		int operand = 0;
+		if (length >= 2) {
+			operand = read((PC + 1) & 0xFFFF);
+		}
+		if (length == 3) {
+			operand |= read((PC + 2) & 0xFFFF) << 8;
+		}
+
+		// Unknown opcodes stay unknown, the switch halts on them
+		return PrgDecodeCache.pack(opcode, operand, Math.max(length, 0));
+	}
+
+	private int execute(final int PC, final int opcode, final int operand) throws InstructionNotSupportedException {
+		final CpuInfo info = cpuInfo;
+		cpu.opcode = opcode;
+
+		int address;
+		int cycles;
+		int length;
+
+		switch (opcode) {
+		// ADC
+		case 0x69:
+			BlockRuntime.adc(info, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+		case 0x65:
+			BlockRuntime.adc(info, read(zeropage(operand)));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0x75:
+			BlockRuntime.adc(info, read(zeropageX(operand)));
+			cycles = 4;
+			length = 2;
+			break;
+		case 0x6D:
+			BlockRuntime.adc(info, read(absolute(operand)));
+			cycles = 4;
+			length = 3;
+			break;
+		case 0x7D:
+			address = absoluteX(operand);
+			BlockRuntime.adc(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0x79:
+			address = absoluteY(operand);
+			BlockRuntime.adc(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0x61:
+			BlockRuntime.adc(info, read(indirectX(operand)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0x71:
+			address = indirectY(operand);
+			BlockRuntime.adc(info, read(address & 0xFFFF));
+			cycles = 5 + (address >> PAGE_CROSSED_SHIFT);
+			length = 2;
+			break;
+
+		// AND
+		case 0x29:
+			BlockRuntime.and(info, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+		case 0x25:
+			BlockRuntime.and(info, read(zeropage(operand)));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0x35:
+			BlockRuntime.and(info, read(zeropageX(operand)));
+			cycles = 4;
+			length = 2;
+			break;
+		case 0x2D:
+			BlockRuntime.and(info, read(absolute(operand)));
+			cycles = 4;
+			length = 3;
+			break;
+		case 0x3D:
+			address = absoluteX(operand);
+			BlockRuntime.and(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0x39:
+			address = absoluteY(operand);
+			BlockRuntime.and(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0x21:
+			BlockRuntime.and(info, read(indirectX(operand)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0x31:
+			address = indirectY(operand);
+			BlockRuntime.and(info, read(address & 0xFFFF));
+			cycles = 5 + (address >> PAGE_CROSSED_SHIFT);
+			length = 2;
+			break;
+
+		// ASL
+		case 0x0A:
+			info.A = BlockRuntime.asl(info, info.A);
+			cycles = 2;
+			length = 1;
+			break;
+		case 0x06:
+			address = zeropage(operand);
+			write(address, BlockRuntime.asl(info, read(address)));
+			cycles = 5;
+			length = 2;
+			break;
+		case 0x16:
+			address = zeropageX(operand);
+			write(address, BlockRuntime.asl(info, read(address)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0x0E:
+			address = absolute(operand);
+			write(address, BlockRuntime.asl(info, read(address)));
+			cycles = 6;
+			length = 3;
+			break;
+		case 0x1E:
+			address = absoluteX(operand) & 0xFFFF;
+			write(address, BlockRuntime.asl(info, read(address)));
+			cycles = 7;
+			length = 3;
+			break;
+
+		// Branches
+		case 0x90: // BCC
+			cycles = branch(PC, operand, info.C == 0);
+			length = 2;
+			break;
+		case 0xB0: // BCS
+			cycles = branch(PC, operand, info.C == 1);
+			length = 2;
+			break;
+		case 0xF0: // BEQ
+			cycles = branch(PC, operand, info.Z == 1);
+			length = 2;
+			break;
+		case 0x30: // BMI
+			cycles = branch(PC, operand, info.N == 1);
+			length = 2;
+			break;
+		case 0xD0: // BNE
+			cycles = branch(PC, operand, info.Z == 0);
+			length = 2;
+			break;
+		case 0x10: // BPL
+			cycles = branch(PC, operand, info.N == 0);
+			length = 2;
+			break;
+		case 0x50: // BVC
+			cycles = branch(PC, operand, info.V == 0);
+			length = 2;
+			break;
+		case 0x70: // BVS
+			cycles = branch(PC, operand, info.V == 1);
+			length = 2;
+			break;
+
+		// BIT
+		case 0x24:
+			BlockRuntime.bit(info, read(zeropage(operand)));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0x2C:
+			BlockRuntime.bit(info, read(absolute(operand)));
+			cycles = 4;
+			length = 3;
+			break;
+
+		// BRK
+		case 0x00: {
+			// Push PC (remove 1 for RTI)
+			int pushAddress = (PC - 1) & 0xFFFF;
+			cpu.push(pushAddress >> 8);
+			cpu.push(pushAddress & 0xFF);
+
+			// Push flags and put break and interrupt disable to 1
+			cpu.push(info.getP());
+			info.B = 1;
+			info.I = 1;
+
+			// Jump to the break vector (unless hijacked by NMI)
+			info.PC = cpu.fetchAddress(cpu.getInterruptVector(Cpu.BREAK_VECTOR));
+			return 7;
+		}
+
+		// Flags
+		case 0x18: // CLC
+			info.C = 0;
+			cycles = 2;
+			length = 1;
+			break;
+		case 0xD8: // CLD
+			info.D = 0;
+			cycles = 2;
+			length = 1;
+			break;
+		case 0x58: // CLI
+			info.I = 0;
+			cycles = 2;
+			length = 1;
+			break;
+		case 0xB8: // CLV
+			info.V = 0;
+			cycles = 2;
+			length = 1;
+			break;
+		case 0x38: // SEC
+			info.C = 1;
+			cycles = 2;
+			length = 1;
+			break;
+		case 0xF8: // SED
+			info.D = 1;
+			cycles = 2;
+			length = 1;
+			break;
+		case 0x78: // SEI
+			info.I = 1;
+			cycles = 2;
+			length = 1;
+			break;
+
+		// CMP
+		case 0xC9:
+			BlockRuntime.compare(info, info.A, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+		case 0xC5:
+			BlockRuntime.compare(info, info.A, read(zeropage(operand)));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0xD5:
+			BlockRuntime.compare(info, info.A, read(zeropageX(operand)));
+			cycles = 4;
+			length = 2;
+			break;
+		case 0xCD:
+			BlockRuntime.compare(info, info.A, read(absolute(operand)));
+			cycles = 4;
+			length = 3;
+			break;
+		case 0xDD:
+			address = absoluteX(operand);
+			BlockRuntime.compare(info, info.A, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0xD9:
+			address = absoluteY(operand);
+			BlockRuntime.compare(info, info.A, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0xC1:
+			BlockRuntime.compare(info, info.A, read(indirectX(operand)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0xD1:
+			address = indirectY(operand);
+			BlockRuntime.compare(info, info.A, read(address & 0xFFFF));
+			cycles = 5 + (address >> PAGE_CROSSED_SHIFT);
+			length = 2;
+			break;
+
+		// CPX
+		case 0xE0:
+			BlockRuntime.compare(info, info.X, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+		case 0xE4:
+			BlockRuntime.compare(info, info.X, read(zeropage(operand)));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0xEC:
+			BlockRuntime.compare(info, info.X, read(absolute(operand)));
+			cycles = 4;
+			length = 3;
+			break;
+
+		// CPY
+		case 0xC0:
+			BlockRuntime.compare(info, info.Y, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+		case 0xC4:
+			BlockRuntime.compare(info, info.Y, read(zeropage(operand)));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0xCC:
+			BlockRuntime.compare(info, info.Y, read(absolute(operand)));
+			cycles = 4;
+			length = 3;
+			break;
+
+		// DEC
+		case 0xC6:
+			address = zeropage(operand);
+			write(address, BlockRuntime.decrement(info, read(address)));
+			cycles = 5;
+			length = 2;
+			break;
+		case 0xD6:
+			address = zeropageX(operand);
+			write(address, BlockRuntime.decrement(info, read(address)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0xCE:
+			address = absolute(operand);
+			write(address, BlockRuntime.decrement(info, read(address)));
+			cycles = 6;
+			length = 3;
+			break;
+		case 0xDE:
+			address = absoluteX(operand) & 0xFFFF;
+			write(address, BlockRuntime.decrement(info, read(address)));
+			cycles = 7;
+			length = 3;
+			break;
+
+		// DEX, DEY
+		case 0xCA:
+			info.X = BlockRuntime.decrement(info, info.X);
+			cycles = 2;
+			length = 1;
+			break;
+		case 0x88:
+			info.Y = BlockRuntime.decrement(info, info.Y);
+			cycles = 2;
+			length = 1;
+			break;
+
+		// EOR
+		case 0x49:
+			BlockRuntime.eor(info, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+		case 0x45:
+			BlockRuntime.eor(info, read(zeropage(operand)));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0x55:
+			BlockRuntime.eor(info, read(zeropageX(operand)));
+			cycles = 4;
+			length = 2;
+			break;
+		case 0x4D:
+			BlockRuntime.eor(info, read(absolute(operand)));
+			cycles = 4;
+			length = 3;
+			break;
+		case 0x5D:
+			address = absoluteX(operand);
+			BlockRuntime.eor(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0x59:
+			address = absoluteY(operand);
+			BlockRuntime.eor(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0x41:
+			BlockRuntime.eor(info, read(indirectX(operand)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0x51:
+			address = indirectY(operand);
+			BlockRuntime.eor(info, read(address & 0xFFFF));
+			cycles = 5 + (address >> PAGE_CROSSED_SHIFT);
+			length = 2;
+			break;
+
+		// INC
+		case 0xE6:
+			address = zeropage(operand);
+			write(address, BlockRuntime.increment(info, read(address)));
+			cycles = 5;
+			length = 2;
+			break;
+		case 0xF6:
+			address = zeropageX(operand);
+			write(address, BlockRuntime.increment(info, read(address)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0xEE:
+			address = absolute(operand);
+			write(address, BlockRuntime.increment(info, read(address)));
+			cycles = 6;
+			length = 3;
+			break;
+		case 0xFE:
+			address = absoluteX(operand) & 0xFFFF;
+			write(address, BlockRuntime.increment(info, read(address)));
+			cycles = 7;
+			length = 3;
+			break;
+
+		// INX, INY
+		case 0xE8:
+			info.X = BlockRuntime.increment(info, info.X);
+			cycles = 2;
+			length = 1;
+			break;
+		case 0xC8:
+			info.Y = BlockRuntime.increment(info, info.Y);
+			cycles = 2;
+			length = 1;
+			break;
+
+		// JMP
+		case 0x4C:
+			info.PC = absolute(operand);
+			return 3;
+		case 0x6C:
+			info.PC = cpu.fetchAddress(absolute(operand));
+			return 5;
+
+		// JSR
+		case 0x20: {
+			address = absolute(operand);
+
+			// Push next address minus RTS size (1)
+			int pushAddress = (PC + 2) & 0xFFFF;
+			cpu.push(pushAddress >> 8);
+			cpu.push(pushAddress & 0xFF);
+
+			info.PC = address;
+			return 6;
+		}
+
+		// LDA
+		case 0xA9:
+			info.A = BlockRuntime.load(info, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+		case 0xA5:
+			info.A = BlockRuntime.load(info, read(zeropage(operand)));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0xB5:
+			info.A = BlockRuntime.load(info, read(zeropageX(operand)));
+			cycles = 4;
+			length = 2;
+			break;
+		case 0xAD:
+			info.A = BlockRuntime.load(info, read(absolute(operand)));
+			cycles = 4;
+			length = 3;
+			break;
+		case 0xBD:
+			address = absoluteX(operand);
+			info.A = BlockRuntime.load(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0xB9:
+			address = absoluteY(operand);
+			info.A = BlockRuntime.load(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0xA1:
+			info.A = BlockRuntime.load(info, read(indirectX(operand)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0xB1:
+			address = indirectY(operand);
+			info.A = BlockRuntime.load(info, read(address & 0xFFFF));
+			cycles = 5 + (address >> PAGE_CROSSED_SHIFT);
+			length = 2;
+			break;
+
+		// LDX
+		case 0xA2:
+			info.X = BlockRuntime.load(info, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+		case 0xA6:
+			info.X = BlockRuntime.load(info, read(zeropage(operand)));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0xB6:
+			info.X = BlockRuntime.load(info, read(zeropageY(operand)));
+			cycles = 4;
+			length = 2;
+			break;
+		case 0xAE:
+			info.X = BlockRuntime.load(info, read(absolute(operand)));
+			cycles = 4;
+			length = 3;
+			break;
+		case 0xBE:
+			address = absoluteY(operand);
+			info.X = BlockRuntime.load(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+
+		// LDY
+		case 0xA0:
+			info.Y = BlockRuntime.load(info, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+		case 0xA4:
+			info.Y = BlockRuntime.load(info, read(zeropage(operand)));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0xB4:
+			info.Y = BlockRuntime.load(info, read(zeropageX(operand)));
+			cycles = 4;
+			length = 2;
+			break;
+		case 0xAC:
+			info.Y = BlockRuntime.load(info, read(absolute(operand)));
+			cycles = 4;
+			length = 3;
+			break;
+		case 0xBC:
+			address = absoluteX(operand);
+			info.Y = BlockRuntime.load(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+
+		// LSR
+		case 0x4A:
+			info.A = BlockRuntime.lsr(info, info.A);
+			cycles = 2;
+			length = 1;
+			break;
+		case 0x46:
+			address = zeropage(operand);
+			write(address, BlockRuntime.lsr(info, read(address)));
+			cycles = 5;
+			length = 2;
+			break;
+		case 0x56:
+			address = zeropageX(operand);
+			write(address, BlockRuntime.lsr(info, read(address)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0x4E:
+			address = absolute(operand);
+			write(address, BlockRuntime.lsr(info, read(address)));
+			cycles = 6;
+			length = 3;
+			break;
+		case 0x5E:
+			address = absoluteX(operand) & 0xFFFF;
+			write(address, BlockRuntime.lsr(info, read(address)));
+			cycles = 7;
+			length = 3;
+			break;
+
+		// NOP
+		case 0xEA:
+			cycles = 2;
+			length = 1;
+			break;
+
+		// ORA
+		case 0x09:
+			BlockRuntime.ora(info, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+		case 0x05:
+			BlockRuntime.ora(info, read(zeropage(operand)));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0x15:
+			BlockRuntime.ora(info, read(zeropageX(operand)));
+			cycles = 4;
+			length = 2;
+			break;
+		case 0x0D:
+			BlockRuntime.ora(info, read(absolute(operand)));
+			cycles = 4;
+			length = 3;
+			break;
+		case 0x1D:
+			address = absoluteX(operand);
+			BlockRuntime.ora(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0x19:
+			address = absoluteY(operand);
+			BlockRuntime.ora(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0x01:
+			BlockRuntime.ora(info, read(indirectX(operand)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0x11:
+			address = indirectY(operand);
+			BlockRuntime.ora(info, read(address & 0xFFFF));
+			cycles = 5 + (address >> PAGE_CROSSED_SHIFT);
+			length = 2;
+			break;
+
+		// Stack
+		case 0x48: // PHA
+			cpu.push(info.A);
+			cycles = 3;
+			length = 1;
+			break;
+		case 0x08: // PHP
+			cpu.push(info.getP());
+			cycles = 3;
+			length = 1;
+			break;
+		case 0x68: { // PLA
+			int value = cpu.pop();
+			info.A = value;
+			info.Z = value == 0 ? 1 : 0;
+			info.N = value >= 0x80 ? 1 : 0;
+			cycles = 4;
+			length = 1;
+			break;
+		}
+		case 0x28: // PLP
+			info.setP(cpu.pop());
+			cycles = 4;
+			length = 1;
+			break;
+
+		// ROL
+		case 0x2A:
+			info.A = BlockRuntime.rol(info, info.A);
+			cycles = 2;
+			length = 1;
+			break;
+		case 0x26:
+			address = zeropage(operand);
+			write(address, BlockRuntime.rol(info, read(address)));
+			cycles = 5;
+			length = 2;
+			break;
+		case 0x36:
+			address = zeropageX(operand);
+			write(address, BlockRuntime.rol(info, read(address)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0x2E:
+			address = absolute(operand);
+			write(address, BlockRuntime.rol(info, read(address)));
+			cycles = 6;
+			length = 3;
+			break;
+		case 0x3E:
+			address = absoluteX(operand) & 0xFFFF;
+			write(address, BlockRuntime.rol(info, read(address)));
+			cycles = 7;
+			length = 3;
+			break;
+
+		// ROR
+		case 0x6A:
+			info.A = BlockRuntime.ror(info, info.A);
+			cycles = 2;
+			length = 1;
+			break;
+		case 0x66:
+			address = zeropage(operand);
+			write(address, BlockRuntime.ror(info, read(address)));
+			cycles = 5;
+			length = 2;
+			break;
+		case 0x76:
+			address = zeropageX(operand);
+			write(address, BlockRuntime.ror(info, read(address)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0x6E:
+			address = absolute(operand);
+			write(address, BlockRuntime.ror(info, read(address)));
+			cycles = 6;
+			length = 3;
+			break;
+		case 0x7E:
+			address = absoluteX(operand) & 0xFFFF;
+			write(address, BlockRuntime.ror(info, read(address)));
+			cycles = 7;
+			length = 3;
+			break;
+
+		// RTI (pop flags then RTS)
+		case 0x40:
+			info.setP(cpu.pop());
+			info.PC = ((cpu.pop() | cpu.pop() << 8) + 1) & 0xFFFF;
+			return 6;
+
+		// RTS
+		case 0x60:
+			info.PC = ((cpu.pop() | cpu.pop() << 8) + 1) & 0xFFFF;
+			return 6;
+
+		// SBC
+		case 0xE9:
+			BlockRuntime.sbc(info, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+		case 0xE5:
+			BlockRuntime.sbc(info, read(zeropage(operand)));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0xF5:
+			BlockRuntime.sbc(info, read(zeropageX(operand)));
+			cycles = 4;
+			length = 2;
+			break;
+		case 0xED:
+			BlockRuntime.sbc(info, read(absolute(operand)));
+			cycles = 4;
+			length = 3;
+			break;
+		case 0xFD:
+			address = absoluteX(operand);
+			BlockRuntime.sbc(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0xF9:
+			address = absoluteY(operand);
+			BlockRuntime.sbc(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0xE1:
+			BlockRuntime.sbc(info, read(indirectX(operand)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0xF1:
+			address = indirectY(operand);
+			BlockRuntime.sbc(info, read(address & 0xFFFF));
+			cycles = 5 + (address >> PAGE_CROSSED_SHIFT);
+			length = 2;
+			break;
+
+		// STA
+		case 0x85:
+			write(zeropage(operand), info.A);
+			cycles = 3;
+			length = 2;
+			break;
+		case 0x95:
+			write(zeropageX(operand), info.A);
+			cycles = 4;
+			length = 2;
+			break;
+		case 0x8D:
+			write(absolute(operand), info.A);
+			cycles = 4;
+			length = 3;
+			break;
+		case 0x9D:
+			write(absoluteX(operand) & 0xFFFF, info.A);
+			cycles = 5;
+			length = 3;
+			break;
+		case 0x99:
+			write(absoluteY(operand) & 0xFFFF, info.A);
+			cycles = 5;
+			length = 3;
+			break;
+		case 0x81:
+			write(indirectX(operand), info.A);
+			cycles = 6;
+			length = 2;
+			break;
+		case 0x91:
+			write(indirectY(operand) & 0xFFFF, info.A);
+			cycles = 6;
+			length = 2;
+			break;
+
+		// STX
+		case 0x86:
+			write(zeropage(operand), info.X);
+			cycles = 3;
+			length = 2;
+			break;
+		case 0x96:
+			write(zeropageY(operand), info.X);
+			cycles = 4;
+			length = 2;
+			break;
+		case 0x8E:
+			write(absolute(operand), info.X);
+			cycles = 4;
+			length = 3;
+			break;
+
+		// STY
+		case 0x84:
+			write(zeropage(operand), info.Y);
+			cycles = 3;
+			length = 2;
+			break;
+		case 0x94:
+			write(zeropageX(operand), info.Y);
+			cycles = 4;
+			length = 2;
+			break;
+		case 0x8C:
+			write(absolute(operand), info.Y);
+			cycles = 4;
+			length = 3;
+			break;
+
+		// Transfers
+		case 0xAA: // TAX
+			info.X = BlockRuntime.load(info, info.A);
+			cycles = 2;
+			length = 1;
+			break;
+		case 0xA8: // TAY
+			info.Y = BlockRuntime.load(info, info.A);
+			cycles = 2;
+			length = 1;
+			break;
+		case 0xBA: // TSX
+			info.X = BlockRuntime.load(info, info.SP);
+			cycles = 2;
+			length = 1;
+			break;
+		case 0x8A: // TXA
+			info.A = BlockRuntime.load(info, info.X);
+			cycles = 2;
+			length = 1;
+			break;
+		case 0x9A: // TXS (no flag)
+			info.SP = info.X;
+			cycles = 2;
+			length = 1;
+			break;
+		case 0x98: // TYA
+			info.A = BlockRuntime.load(info, info.Y);
+			cycles = 2;
+			length = 1;
+			break;
+
+		// Stable unofficial opcodes
+		// ALR
+		case 0x4B:
+			BlockRuntime.alr(info, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+
+		// ANC
+		case 0x0B:
+		case 0x2B:
+			BlockRuntime.anc(info, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+
+		// ARR
+		case 0x6B:
+			BlockRuntime.arr(info, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+
+		// AXS
+		case 0xCB:
+			BlockRuntime.axs(info, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+
+		// DCP
+		case 0xC7:
+			dcp(zeropage(operand));
+			cycles = 5;
+			length = 2;
+			break;
+		case 0xD7:
+			dcp(zeropageX(operand));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0xCF:
+			dcp(absolute(operand));
+			cycles = 6;
+			length = 3;
+			break;
+		case 0xDF:
+			dcp(absoluteX(operand) & 0xFFFF);
+			cycles = 7;
+			length = 3;
+			break;
+		case 0xDB:
+			dcp(absoluteY(operand) & 0xFFFF);
+			cycles = 7;
+			length = 3;
+			break;
+		case 0xC3:
+			dcp(indirectX(operand));
+			cycles = 8;
+			length = 2;
+			break;
+		case 0xD3:
+			dcp(indirectY(operand) & 0xFFFF);
+			cycles = 8;
+			length = 2;
+			break;
+
+		// ISC
+		case 0xE7:
+			isc(zeropage(operand));
+			cycles = 5;
+			length = 2;
+			break;
+		case 0xF7:
+			isc(zeropageX(operand));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0xEF:
+			isc(absolute(operand));
+			cycles = 6;
+			length = 3;
+			break;
+		case 0xFF:
+			isc(absoluteX(operand) & 0xFFFF);
+			cycles = 7;
+			length = 3;
+			break;
+		case 0xFB:
+			isc(absoluteY(operand) & 0xFFFF);
+			cycles = 7;
+			length = 3;
+			break;
+		case 0xE3:
+			isc(indirectX(operand));
+			cycles = 8;
+			length = 2;
+			break;
+		case 0xF3:
+			isc(indirectY(operand) & 0xFFFF);
+			cycles = 8;
+			length = 2;
+			break;
+
+		// LAX
+		case 0xA7:
+			info.A = info.X = BlockRuntime.load(info, read(zeropage(operand)));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0xB7:
+			info.A = info.X = BlockRuntime.load(info, read(zeropageY(operand)));
+			cycles = 4;
+			length = 2;
+			break;
+		case 0xAF:
+			info.A = info.X = BlockRuntime.load(info, read(absolute(operand)));
+			cycles = 4;
+			length = 3;
+			break;
+		case 0xBF:
+			address = absoluteY(operand);
+			info.A = info.X = BlockRuntime.load(info, read(address & 0xFFFF));
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+		case 0xA3:
+			info.A = info.X = BlockRuntime.load(info, read(indirectX(operand)));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0xB3:
+			address = indirectY(operand);
+			info.A = info.X = BlockRuntime.load(info, read(address & 0xFFFF));
+			cycles = 5 + (address >> PAGE_CROSSED_SHIFT);
+			length = 2;
+			break;
+
+		// NOP (the operand is read but not used)
+		case 0x1A:
+		case 0x3A:
+		case 0x5A:
+		case 0x7A:
+		case 0xDA:
+		case 0xFA:
+			cycles = 2;
+			length = 1;
+			break;
+		case 0x80:
+		case 0x82:
+		case 0x89:
+		case 0xC2:
+		case 0xE2:
+			cycles = 2;
+			length = 2;
+			break;
+		case 0x04:
+		case 0x44:
+		case 0x64:
+			read(zeropage(operand));
+			cycles = 3;
+			length = 2;
+			break;
+		case 0x14:
+		case 0x34:
+		case 0x54:
+		case 0x74:
+		case 0xD4:
+		case 0xF4:
+			read(zeropageX(operand));
+			cycles = 4;
+			length = 2;
+			break;
+		case 0x0C:
+			read(absolute(operand));
+			cycles = 4;
+			length = 3;
+			break;
+		case 0x1C:
+		case 0x3C:
+		case 0x5C:
+		case 0x7C:
+		case 0xDC:
+		case 0xFC:
+			address = absoluteX(operand);
+			read(address & 0xFFFF);
+			cycles = 4 + (address >> PAGE_CROSSED_SHIFT);
+			length = 3;
+			break;
+
+		// RLA
+		case 0x27:
+			rla(zeropage(operand));
+			cycles = 5;
+			length = 2;
+			break;
+		case 0x37:
+			rla(zeropageX(operand));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0x2F:
+			rla(absolute(operand));
+			cycles = 6;
+			length = 3;
+			break;
+		case 0x3F:
+			rla(absoluteX(operand) & 0xFFFF);
+			cycles = 7;
+			length = 3;
+			break;
+		case 0x3B:
+			rla(absoluteY(operand) & 0xFFFF);
+			cycles = 7;
+			length = 3;
+			break;
+		case 0x23:
+			rla(indirectX(operand));
+			cycles = 8;
+			length = 2;
+			break;
+		case 0x33:
+			rla(indirectY(operand) & 0xFFFF);
+			cycles = 8;
+			length = 2;
+			break;
+
+		// RRA
+		case 0x67:
+			rra(zeropage(operand));
+			cycles = 5;
+			length = 2;
+			break;
+		case 0x77:
+			rra(zeropageX(operand));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0x6F:
+			rra(absolute(operand));
+			cycles = 6;
+			length = 3;
+			break;
+		case 0x7F:
+			rra(absoluteX(operand) & 0xFFFF);
+			cycles = 7;
+			length = 3;
+			break;
+		case 0x7B:
+			rra(absoluteY(operand) & 0xFFFF);
+			cycles = 7;
+			length = 3;
+			break;
+		case 0x63:
+			rra(indirectX(operand));
+			cycles = 8;
+			length = 2;
+			break;
+		case 0x73:
+			rra(indirectY(operand) & 0xFFFF);
+			cycles = 8;
+			length = 2;
+			break;
+
+		// SAX (no flag)
+		case 0x87:
+			write(zeropage(operand), info.A & info.X);
+			cycles = 3;
+			length = 2;
+			break;
+		case 0x97:
+			write(zeropageY(operand), info.A & info.X);
+			cycles = 4;
+			length = 2;
+			break;
+		case 0x8F:
+			write(absolute(operand), info.A & info.X);
+			cycles = 4;
+			length = 3;
+			break;
+		case 0x83:
+			write(indirectX(operand), info.A & info.X);
+			cycles = 6;
+			length = 2;
+			break;
+
+		case 0xEB: // SBC (same as 0xE9)
+			BlockRuntime.sbc(info, immediate(operand));
+			cycles = 2;
+			length = 2;
+			break;
+
+		// SLO
+		case 0x07:
+			slo(zeropage(operand));
+			cycles = 5;
+			length = 2;
+			break;
+		case 0x17:
+			slo(zeropageX(operand));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0x0F:
+			slo(absolute(operand));
+			cycles = 6;
+			length = 3;
+			break;
+		case 0x1F:
+			slo(absoluteX(operand) & 0xFFFF);
+			cycles = 7;
+			length = 3;
+			break;
+		case 0x1B:
+			slo(absoluteY(operand) & 0xFFFF);
+			cycles = 7;
+			length = 3;
+			break;
+		case 0x03:
+			slo(indirectX(operand));
+			cycles = 8;
+			length = 2;
+			break;
+		case 0x13:
+			slo(indirectY(operand) & 0xFFFF);
+			cycles = 8;
+			length = 2;
+			break;
+
+		// SRE
+		case 0x47:
+			sre(zeropage(operand));
+			cycles = 5;
+			length = 2;
+			break;
+		case 0x57:
+			sre(zeropageX(operand));
+			cycles = 6;
+			length = 2;
+			break;
+		case 0x4F:
+			sre(absolute(operand));
+			cycles = 6;
+			length = 3;
+			break;
+		case 0x5F:
+			sre(absoluteX(operand) & 0xFFFF);
+			cycles = 7;
+			length = 3;
+			break;
+		case 0x5B:
+			sre(absoluteY(operand) & 0xFFFF);
+			cycles = 7;
+			length = 3;
+			break;
+		case 0x43:
+			sre(indirectX(operand));
+			cycles = 8;
+			length = 2;
+			break;
+		case 0x53:
+			sre(indirectY(operand) & 0xFFFF);
+			cycles = 8;
+			length = 2;
+			break;
+
+		default:
+			// Unstable or jamming opcode, PC is not moved
+			throw cpu.unsupportedOpcode();
+		}
+
+		info.PC = (info.PC + length) & 0xFFFF;
+		return cycles;
+	}
+
+	/* Memory */
+
+	private int read(int address) {
+		return cpu.fetchMemory(address);
+	}
+
+	private void write(int address, int value) {
+		cpu.storeMemory(address, value);
+	}
+
+	/* Addressing modes */
+
+	private int immediate(int operand) {
+		return operand;
+	}
+
+	private int zeropage(int operand) {
+		return operand;
+	}
+
+	private int zeropageX(int operand) {
+		return (operand + cpuInfo.X) & 0xFF;
+	}
+
+	private int zeropageY(int operand) {
+		return (operand + cpuInfo.Y) & 0xFF;
+	}
+
+	private int absolute(int operand) {
+		return operand;
+	}
+
+	private int absoluteX(int operand) {
+		int base = operand;
+		int pageCrossed = (base & 0xFF) + cpuInfo.X > 0xFF ? 1 : 0;
+		return pageCrossed << PAGE_CROSSED_SHIFT | ((base + cpuInfo.X) & 0xFFFF);
+	}
+
+	private int absoluteY(int operand) {
+		int base = operand;
+		int pageCrossed = (base & 0xFF) + cpuInfo.Y > 0xFF ? 1 : 0;
+		return pageCrossed << PAGE_CROSSED_SHIFT | ((base + cpuInfo.Y) & 0xFFFF);
+	}
+
+	private int indirectX(int operand) {
+		return cpu.fetchAddress((operand + cpuInfo.X) & 0xFFFF);
+	}
+
+	private int indirectY(int operand) {
+		int base = cpu.fetchAddress(operand);
+		int pageCrossed = (base & 0xFF) + cpuInfo.Y > 0xFF ? 1 : 0;
+		return pageCrossed << PAGE_CROSSED_SHIFT | ((base + cpuInfo.Y) & 0xFFFF);
+	}
+
+	/* Unofficial read-modify-write, the operation is in BlockRuntime */
+
+	private void dcp(int address) {
+		write(address, BlockRuntime.dcp(cpuInfo, read(address)));
+	}
+
+	private void isc(int address) {
+		write(address, BlockRuntime.isc(cpuInfo, read(address)));
+	}
+
+	private void slo(int address) {
+		write(address, BlockRuntime.slo(cpuInfo, read(address)));
+	}
+
+	private void rla(int address) {
+		write(address, BlockRuntime.rla(cpuInfo, read(address)));
+	}
+
+	private void sre(int address) {
+		write(address, BlockRuntime.sre(cpuInfo, read(address)));
+	}
+
+	private void rra(int address) {
+		write(address, BlockRuntime.rra(cpuInfo, read(address)));
+	}
+
+	/**
+	 * Branches if the condition is true. PC is updated so that the 2 bytes of the
+	 * instruction are taken into account afterwards
+	 *
+	 * @param PC        the PC of the branch instruction
+	 * @param operand   the offset byte of the branch instruction
+	 * @param condition the branch condition
+	 * @return the number of cycles of the branch
+	 */
+	private int branch(int PC, int operand, boolean condition) {
+		if (!condition) {
+			return 2;
+		}
+
+		// Offset is a signed byte
+		int offset = operand;
+		offset = offset > 0x7F ? offset - 256 : offset;
+
+		int newPC = (PC + offset) & 0xFFFF;
+		cpuInfo.PC = newPC;
+
+		return (PC & 0xFF00) == (newPC & 0xFF00) ? 3 : 5;
+	}
+}
@@ -0,0 +1,144 @@
+package components;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * <p>
+ * Three frame buffers shared by one thread writing frames (the PPU, in the
+ * game thread) and one thread showing them (the display), without lock and
+ * without waiting. The writer always has a back buffer of its own, the reader
+ * a front buffer of its own, and the third one is the last finished frame.
+ * </p>
+ *
+ * <p>
+ * Publishing a frame swaps the back buffer with the middle one, taking the
+ * newest frame swaps the front buffer with the middle one: both are one atomic
+ * exchange, which also makes the pixels written before the publication
+ * visible to the reader. The middle buffer is marked fresh when published, so
+ * that the reader knows if the frame is new.
+ * </p>
+ *
+ * <p>
+ * A frame published while the previous one was not taken replaces it
+ * (dropped, the writer is faster), and taking a frame when nothing new was
+ * published gives the same one again (duplicated, the reader is faster).
+ * </p>
+ */
+public class TripleBuffer {
+
+	private static final int INDEX_MASK = 0b11;
+	private static final int FRESH = 0b100;
+
+	private final int[][] buffers;
+
+	// Index of the middle buffer, and if it was published since last taken
+	private final AtomicInteger middle = new AtomicInteger(1);
+
+	// Each is only used by one thread
+	private int back = 0;
+	private int front = 2;
+
+	// Each is only written by one thread
+	private volatile long publishedFrames = 0;
+	private volatile long droppedFrames = 0;
+	private volatile long duplicatedFrames = 0;
+
+	/**
+	 * Creates three buffers of the same size
+	 *
+	 * @param size the size of a buffer
+	 */
+	public TripleBuffer(int size) {
+		buffers = new int[][] { new int[size], new int[size], new int[size] };
+	}
+
+	/**
+	 * Returns one of the three buffers, to wrap them once (in images for example)
+	 *
+	 * @param index the index, from 0 to 2
+	 * @return the buffer
+	 */
+	public int[] getBuffer(int index) {
+		return buffers[index];
+	}
+
+	/**
+	 * Returns the buffer the writer writes in. Only for the writing thread
+	 *
+	 * @return the back buffer
+	 */
+	public int[] getBackBuffer() {
+		return buffers[back];
+	}
+
+	/**
+	 * Makes the back buffer the newest frame and gives another buffer to write
+	 * in, never the one being read. Only for the writing thread
+	 *
+	 * @return the new back buffer
+	 */
+	public int[] publish() {
+		int previous = middle.getAndSet(back | FRESH);
+		if ((previous & FRESH) != 0) {
+			droppedFrames++;
+		}
+		publishedFrames++;
+
+		back = previous & INDEX_MASK;
+		return buffers[back];
+	}
+
+	/**
+	 * Takes the newest published frame, or keeps the current one if nothing was
+	 * published since. Only for the reading thread
+	 *
+	 * @return the index of the front buffer, see {@link #getBuffer(int)}
+	 */
+	public int acquire() {
+		if ((middle.get() & FRESH) == 0) {
+			duplicatedFrames++;
+			return front;
+		}
+
+		front = middle.getAndSet(front) & INDEX_MASK;
+		return front;
+	}
+
+	/**
+	 * Returns the buffer taken by the last {@link #acquire()}. Only for the
+	 * reading thread
+	 *
+	 * @return the front buffer
+	 */
+	public int[] getFrontBuffer() {
+		return buffers[front];
+	}
+
+	public long getPublishedFrames() {
+		return publishedFrames;
+	}
+
+	/**
+	 * Returns the number of frames replaced before being taken by the reader
+	 *
+	 * @return the dropped frames
+	 */
+	public long getDroppedFrames() {
+		return droppedFrames;
+	}
+
+	/**
+	 * Returns the number of times the reader took the same frame again
+	 *
+	 * @return the duplicated frames
+	 */
+	public long getDuplicatedFrames() {
+		return duplicatedFrames;
+	}
+
+	@Override
+	public String toString() {
+		return "Frames: %d published, %d dropped, %d duplicated".formatted(publishedFrames, droppedFrames,
+				duplicatedFrames);
+	}
+}
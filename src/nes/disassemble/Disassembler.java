@@ -4,7 +4,6 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.Arrays;
-import java.util.Map;
 
 import exceptions.NotNesFileException;
 import instructions.Instruction;
@@ -15,8 +14,8 @@ public class Disassembler {
 	private static final int prgChunk = 0x4000;
 	private static final int chrChunk = 0x2000;
 
-	private static final Map<Integer, Instruction> instructionMap = InstructionInfo.getInstance().getInstructionMap();
-	
+	private static final Instruction[] instructionTable = InstructionInfo.getInstance().getInstructionTable();
+
 	/**
 	 * Disassembles the instruction with the given opcode and operands. If the
 	 * opcode does not exist, then this returns null. If needed operands are -1,
@@ -30,7 +29,7 @@ public class Disassembler {
 	 * @return an instruction, or null if not possible
 	 */
 	public Instruction disassemble(int opcode, int operand1, int operand2) {
-		Instruction instruction = instructionMap.get(opcode);
+		Instruction instruction = instructionTable[opcode & 0xFF];
 
 		if (instruction != null) {
 			int byteNumber = instruction.getByteNumber();
@@ -41,13 +40,13 @@ public class Disassembler {
 				if (operand1 == -1) {
 					instruction = null;
 				} else {
-					instruction = instruction.newInstruction(operand1);
+					instruction = instruction.newInstructionFromOpcode(operand1);
 				}
 			} else if (byteNumber == 3) {
 				if (operand1 == -1 || operand2 == -1) {
 					instruction = null;
 				} else {
-					instruction = instruction.newInstruction(operand2 << 8 | operand1);
+					instruction = instruction.newInstructionFromOpcode(operand2 << 8 | operand1);
 				}
 			}
 		}
@@ -55,6 +54,27 @@ public class Disassembler {
 		return instruction;
 	}
 
+	/**
+	 * Disassembles every offset of the code, as if each one was the start of an
+	 * instruction. Operands must be in the code, else the offset is null.
+	 * 
+	 * @param code the code to disassemble
+	 * @return one instruction (or null) per offset
+	 */
+	public Instruction[] disassemble(byte[] code) {
+		int instructionNumber = code.length;
+		Instruction[] instructions = new Instruction[instructionNumber];
+		for (int instruction = 0; instruction < instructionNumber; instruction++) {
+			int opcode = code[instruction] & 0xFF;
+			int operand1 = instruction + 1 < instructionNumber ? (code[instruction + 1]) & 0xFF : -1;
+			int operand2 = instruction + 2 < instructionNumber ? (code[instruction + 2]) & 0xFF : -1;
+
+			instructions[instruction] = disassemble(opcode, operand1, operand2);
+		}
+
+		return instructions;
+	}
+
 	/**
 	 * <p>
 	 * This method disassembles a NES file and returns a lot of interesting things
@@ -99,18 +119,8 @@ public class Disassembler {
 		// Gets character ROM
 		byte[] chrRom = getINESChrRom(allBytes);
 
-		// Puts instructions from prgRom
-		int instructionNumber = romFlags[0] * prgChunk;
-		Instruction[] instructions = new Instruction[instructionNumber];
-		for (int instruction = 0; instruction < instructionNumber; instruction++) {
-			int opcode = prgRom[instruction] & 0xFF;
-			int operand1 = instruction + 1 < instructionNumber ? (prgRom[instruction + 1]) & 0xFF : -1;
-			int operand2 = instruction + 2 < instructionNumber ? (prgRom[instruction + 2]) & 0xFF : -1;
-
-			instructions[instruction] = disassemble(opcode, operand1, operand2);
-		}
-
-		return new DisassemblyInfoINES(romFlags, prgRom, chrRom, instructions);
+		// Instructions are decoded when they run (see PrgDecodeCache)
+		return new DisassemblyInfoINES(romFlags, prgRom, chrRom);
 	}
 
 	private DisassemblyInfo disassembleNES2File(byte[] allBytes) {
@@ -1,5 +1,6 @@
 package disassemble;
 
+import components.Mirroring;
 import instructions.Instruction;
 
 public abstract  class DisassemblyInfo {
@@ -7,12 +8,9 @@ public abstract  class DisassemblyInfo {
 	private byte[] prgRom;
 	private byte[] chrRom;
 
-	private Instruction[] instructions;
-
-	public DisassemblyInfo(byte[] prgRom, byte[] chrRom, Instruction[] instructions) {
+	public DisassemblyInfo(byte[] prgRom, byte[] chrRom) {
 		this.prgRom = prgRom;
 		this.chrRom = chrRom;
-		this.instructions = instructions;
 	}
 
 	public byte[] getPrgRom() {
@@ -23,13 +21,36 @@ public abstract  class DisassemblyInfo {
 		return chrRom;
 	}
 
+	/**
+	 * Disassembles every offset of the PRG ROM. This is slow and allocates a lot,
+	 * it is only meant for listings: the emulator decodes the ROM when it runs it
+	 * (see {@link components.PrgDecodeCache})
+	 * 
+	 * @return one instruction (or null) per offset of the PRG ROM
+	 */
 	public Instruction[] getInstructions() {
-		return instructions;
+		return new Disassembler().disassemble(prgRom);
 	}
 	
 	public abstract int getMapper();
 
 	public abstract boolean isVerticalNametableMirroring();
+
+	public abstract boolean isFourScreenNametables();
+
+	/**
+	 * Returns the nametable layout of the cartridge, four-screen if it has its
+	 * own nametable RAM
+	 * 
+	 * @return the layout
+	 */
+	public Mirroring getNametableMirroring() {
+		if (isFourScreenNametables()) {
+			return Mirroring.FOUR_SCREEN;
+		}
+
+		return isVerticalNametableMirroring() ? Mirroring.VERTICAL : Mirroring.HORIZONTAL;
+	}
 	
 	public abstract boolean isPALSystem();
 }
@@ -1,16 +1,17 @@
 package disassemble;
 
-import instructions.Instruction;
-
 public class DisassemblyInfoINES extends DisassemblyInfo {
 
 	private final int mapper;
 	private final boolean nametableVerticalMirroring;
+	private final boolean fourScreenNametables;
 	private final boolean palSystem;
 
-	public DisassemblyInfoINES(byte[] romFlags, byte[] prgRom, byte[] chrRom, Instruction[] instructions) {
-		super(prgRom, chrRom, instructions);
-		nametableVerticalMirroring = (romFlags[2] & 0b1) == 0;
+	public DisassemblyInfoINES(byte[] romFlags, byte[] prgRom, byte[] chrRom) {
+		super(prgRom, chrRom);
+		// Bit set for vertical mirroring (horizontal arrangement)
+		nametableVerticalMirroring = (romFlags[2] & 0b1) != 0;
+		fourScreenNametables = (romFlags[2] & 0b1000) != 0;
 		mapper = romFlags[3] & 0xFFFF0000 | romFlags[2] >> 4;
 		palSystem = romFlags[6] != 0;
 	}
@@ -25,6 +26,11 @@ public class DisassemblyInfoINES extends DisassemblyInfo {
 		return nametableVerticalMirroring;
 	}
 
+	@Override
+	public boolean isFourScreenNametables() {
+		return fourScreenNametables;
+	}
+
 	@Override
 	public boolean isPALSystem() {
 		return palSystem;
@@ -0,0 +1,45 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * PRG ROM bank switched by the mapper in a CPU window
+ */
+@Name("nes.BankSwitch")
+@Label("Bank Switch")
+@Category({ "NES", "Mapper" })
+@Description("PRG ROM bank switched by the mapper")
+@StackTrace(false)
+public class BankSwitchEvent extends jdk.jfr.Event {
+
+	@Label("Window")
+	@Description("From 0 (0x8000) to 3 (0xE000)")
+	public int window;
+
+	@Label("Previous Bank")
+	public int previousBank;
+
+	@Label("Bank")
+	public int bank;
+
+	/**
+	 * Records a bank switch if the event is enabled
+	 * 
+	 * @param window       the window
+	 * @param previousBank the bank shown before
+	 * @param bank         the bank shown now
+	 */
+	public static void commit(int window, int previousBank, int bank) {
+		BankSwitchEvent event = new BankSwitchEvent();
+		if (event.shouldCommit()) {
+			event.window = window;
+			event.previousBank = previousBank;
+			event.bank = bank;
+			event.commit();
+		}
+	}
+}
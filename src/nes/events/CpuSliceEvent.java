@@ -0,0 +1,31 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * CPU cycles emulated in a row, without waiting (a frame of the game thread or
+ * of the headless runner). Only slow slices are recorded by default
+ */
+@Name("nes.CpuSlice")
+@Label("CPU Slice")
+@Category({ "NES", "CPU" })
+@Description("CPU cycles emulated in a row")
+@StackTrace(false)
+@Threshold("1 ms")
+public class CpuSliceEvent extends jdk.jfr.Event {
+
+	@Label("Cycles")
+	public long cycles;
+
+	@Label("Ticks")
+	@Description("Calls to Cpu.tick(), instructions or compiled blocks")
+	public long ticks;
+
+	@Label("Engine")
+	public String engine;
+}
@@ -0,0 +1,53 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Instruction disassembled because it was not in a decode cache. Self-modifying
+ * code can miss at every instruction, so it is disabled by default
+ */
+@Name("nes.DecodeMiss")
+@Label("Decode Miss")
+@Category({ "NES", "CPU" })
+@Description("Instruction disassembled because it was not in a decode cache")
+@StackTrace(false)
+@Enabled(false)
+public class DecodeMissEvent extends jdk.jfr.Event {
+
+	public static final String RAM = "RAM";
+	public static final String PRG = "PRG";
+	public static final String PRG_PACKED = "PRG packed";
+	public static final String UNCACHED = "Uncached";
+
+	@Label("Cache")
+	@Description("RAM, PRG, PRG packed or Uncached (operands in the next window)")
+	public String cache;
+
+	@Label("Address")
+	public int address;
+
+	@Label("Opcode")
+	public int opcode;
+
+	/**
+	 * Records a decode miss if the event is enabled
+	 * 
+	 * @param cache   the cache missed
+	 * @param address the address of the instruction
+	 * @param opcode  the opcode of the instruction
+	 */
+	public static void commit(String cache, int address, int opcode) {
+		DecodeMissEvent event = new DecodeMissEvent();
+		if (event.shouldCommit()) {
+			event.cache = cache;
+			event.address = address;
+			event.opcode = opcode;
+			event.commit();
+		}
+	}
+}
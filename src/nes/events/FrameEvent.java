@@ -0,0 +1,38 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A frame of the game thread, from the start of its emulation to its deadline.
+ * The duration of the event is the host time of the frame, to compare with the
+ * emulated duration
+ */
+@Name("nes.Frame")
+@Label("Frame")
+@Category({ "NES", "Frame" })
+@Description("Frame of the game thread, emulation and wait until the deadline")
+@StackTrace(false)
+public class FrameEvent extends jdk.jfr.Event {
+
+	@Label("Frame")
+	public long frame;
+
+	@Label("Cycles")
+	@Description("CPU cycles emulated during the frame")
+	public long cycles;
+
+	@Label("Emulated Duration")
+	@Description("Time taken by the cycles on the real console")
+	@Timespan(Timespan.NANOSECONDS)
+	public long emulatedDuration;
+
+	@Label("Late")
+	@Description("Time between the deadline and the wake-up of the thread")
+	@Timespan(Timespan.NANOSECONDS)
+	public long late;
+}
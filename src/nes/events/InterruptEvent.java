@@ -0,0 +1,46 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Reset, NMI or IRQ sequence started by the CPU
+ */
+@Name("nes.Interrupt")
+@Label("Interrupt")
+@Category({ "NES", "CPU" })
+@Description("Reset, NMI or IRQ sequence started by the CPU")
+@StackTrace(false)
+public class InterruptEvent extends jdk.jfr.Event {
+
+	@Label("Type")
+	public String type;
+
+	@Label("Return Address")
+	@Description("PC when the interrupt was taken")
+	public int returnAddress;
+
+	@Label("Handler")
+	@Description("PC after the sequence, read in the vector")
+	public int handler;
+
+	/**
+	 * Records an interrupt if the event is enabled
+	 * 
+	 * @param type          RESET, NMI or IRQ
+	 * @param returnAddress the PC when the interrupt was taken
+	 * @param handler       the PC after the sequence
+	 */
+	public static void commit(String type, int returnAddress, int handler) {
+		InterruptEvent event = new InterruptEvent();
+		if (event.shouldCommit()) {
+			event.type = type;
+			event.returnAddress = returnAddress;
+			event.handler = handler;
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * OAM DMA transfer halting the CPU
+ */
+@Name("nes.OamDma")
+@Label("OAM DMA")
+@Category({ "NES", "CPU" })
+@Description("OAM DMA transfer halting the CPU")
+@StackTrace(false)
+public class OamDmaEvent extends jdk.jfr.Event {
+
+	@Label("Halt Cycles")
+	public int haltCycles;
+
+	@Label("Alignment Cycles")
+	@Description("1 if the transfer started on a put cycle")
+	public int alignmentCycles;
+
+	@Label("PC")
+	public int pc;
+
+	/**
+	 * Records a DMA transfer if the event is enabled
+	 * 
+	 * @param haltCycles      the cycles the CPU is halted, without alignment
+	 * @param alignmentCycles the alignment cycle (0 or 1)
+	 * @param pc              the PC after the instruction requesting the DMA
+	 */
+	public static void commit(int haltCycles, int alignmentCycles, int pc) {
+		OamDmaEvent event = new OamDmaEvent();
+		if (event.shouldCommit()) {
+			event.haltCycles = haltCycles;
+			event.alignmentCycles = alignmentCycles;
+			event.pc = pc;
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A frame drawn on screen, the duration of the event is the time of the draw on
+ * the event dispatch thread. The game thread only hands the frame over, what
+ * emulation pays for it is the display call timing printed by
+ * {@link frame.GameThread}
+ */
+@Name("nes.Present")
+@Label("Present")
+@Category({ "NES", "Frame" })
+@Description("Frame scaled and shown on screen")
+@StackTrace(false)
+public class PresentEvent extends jdk.jfr.Event {
+
+	@Label("Scale")
+	@Description("Integer scale of the frame")
+	public int scale;
+
+	@Label("Contents Lost")
+	@Description("Times the back buffer was lost and the frame drawn again")
+	public int contentsLost;
+
+	@Label("Duplicated")
+	@Description("No new frame since the last presentation, the same one is shown")
+	public boolean duplicated;
+
+	@Label("Dropped Frames")
+	@Description("Frames replaced by a newer one before being shown, since the start")
+	public long droppedFrames;
+}
@@ -4,7 +4,8 @@ import java.awt.event.WindowEvent;
 
 import javax.swing.JFrame;
 
-import instructions.Instruction;
+import components.Cpu;
+import components.PrgDecodeCache;
 
 public class GameFrame extends JFrame {
 
@@ -21,16 +22,24 @@ public class GameFrame extends JFrame {
 	// Game Thread
 	private GameThread gameThread;
 
-	public GameFrame(Instruction[] romInstructions) {
+	// PPU output
+	private final Screen screen;
+
+	public GameFrame(PrgDecodeCache prgDecodeCache) {
 		this.setTitle("NES Emulator");
-		this.setSize(500, 500);
-		this.setLocationRelativeTo(null);
 		this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
+		// The PPU draws directly in the images of the screen
+		screen = new Screen();
+		Cpu.getInstance().getPpu().setFrameBuffers(screen.getFrameBuffers());
+		this.add(screen);
+		this.pack();
+		this.setLocationRelativeTo(null);
+
 		// Create dialogs
 		registerDialog = new RegisterDialog();
 		flagDialog = new FlagDialog();
-		instructionDialog = new InstructionDialog(romInstructions);
+		instructionDialog = new InstructionDialog(prgDecodeCache);
 
 		// Add everything to front when deiconify
 		this.addWindowListener(new WindowActivatedListener() {
@@ -56,8 +65,12 @@ public class GameFrame extends JFrame {
 		
 		// Create game thread and key listener
 		gameThread = new GameThread();
-		this.addKeyListener(new GameKeyListener(gameThread));
-		gameThread.startThread(GameThread.CPU_CLOCK_SPEED, GameThread.CPU_TICK_PER_PERIOD);
+		gameThread.setSpeed(GameThread.speedFromProperty());
+		gameThread.setDisplay(screen::requestPresent);
+		GameKeyListener keyListener = new GameKeyListener(gameThread);
+		this.addKeyListener(keyListener);
+		screen.addKeyListener(keyListener);
+		gameThread.startThread(gameThread.getConsoleFrequency());
 	}
 
 }
@@ -9,6 +9,9 @@ import exceptions.InstructionNotSupportedException;
 // This is only for testing purposes
 public class GameKeyListener implements KeyListener {
 
+	// Speed multipliers, uncapped after the last one
+	private static final double[] SPEEDS = { 0.25, 0.5, 1, 2, 4, 8 };
+
 	private final Cpu cpu = Cpu.getInstance();
 	private int currentMode = 3;
 	private GameThread gameThread;
@@ -61,26 +64,75 @@ public class GameKeyListener implements KeyListener {
 			}
 			break;
 
+		// Faster, up to uncapped
+		case KeyEvent.VK_ADD:
+		case KeyEvent.VK_PLUS:
+		case KeyEvent.VK_EQUALS:
+			changeSpeed(true);
+			break;
+
+		// Slower
+		case KeyEvent.VK_SUBTRACT:
+		case KeyEvent.VK_MINUS:
+			changeSpeed(false);
+			break;
+
+		// Turbo, uncapped or back to normal speed
+		case KeyEvent.VK_T:
+			gameThread.setSpeed(gameThread.getSpeed() == GameThread.UNCAPPED ? 1 : GameThread.UNCAPPED);
+			System.out.println("Speed: " + speedName(gameThread.getSpeed()));
+			break;
+
 		default:
 			break;
 		}
 
-		// If changing mode then kill the thread if living and create a new one
+		// If changing mode then change the frequency, the thread is only stopped
+		// in pause mode
 		if (newMode != currentMode) {
+			int frequency = 0;
+			if (newMode == 1) {
+				frequency = GameThread.SPEED1;
+			} else if (newMode == 2) {
+				frequency = GameThread.SPEED2;
+			} else if (newMode == 3) {
+				frequency = gameThread.getConsoleFrequency();
+			}
+
+			if (newMode == 0) {
+				// Waits for the thread to stop
+				gameThread.interrupt();
+			} else if (currentMode == 0) {
+				gameThread.startThread(frequency);
+			} else {
+				gameThread.setFrequency(frequency);
+			}
+
 			currentMode = newMode;
+		}
+	}
 
-			gameThread.interrupt();
-			// Waiting for thread to stop
-			while (!gameThread.isStopped());
+	private void changeSpeed(boolean faster) {
+		// Next multiplier of the list, uncapped after the last one
+		double speed = gameThread.getSpeed();
+		double newSpeed = faster ? GameThread.UNCAPPED : SPEEDS[0];
+		for (double candidate : SPEEDS) {
+			if (faster && candidate > speed) {
+				newSpeed = candidate;
+				break;
+			}
 
-			if (currentMode == 1) {
-				gameThread.startThread(GameThread.SPEED1, 1);
-			} else if (currentMode == 2) {
-				gameThread.startThread(GameThread.SPEED2, 1);
-			} else if (currentMode == 3) {
-				gameThread.startThread(GameThread.CPU_CLOCK_SPEED, GameThread.CPU_TICK_PER_PERIOD);
+			if (!faster && candidate < speed) {
+				newSpeed = candidate;
 			}
 		}
+
+		gameThread.setSpeed(newSpeed);
+		System.out.println("Speed: " + speedName(newSpeed));
+	}
+
+	private static String speedName(double speed) {
+		return speed == GameThread.UNCAPPED ? "uncapped" : speed + "x";
 	}
 
 	@Override
@@ -1,110 +1,283 @@
 package frame;
 
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
 import components.Cpu;
+import events.CpuSliceEvent;
+import events.FrameEvent;
 import exceptions.InstructionNotSupportedException;
 
+/**
+ * <p>
+ * Runs the CPU at a given frequency, one frame at a time: the cycles of a
+ * frame are emulated as fast as possible, then the thread parks until the
+ * deadline of the next frame. The host CPU is used only while emulating.
+ * The frame period is the one of the region of the loaded ROM (see
+ * {@link components.Ppu#getRegion()}), read once per frame like the
+ * frequency.
+ * </p>
+ *
+ * <p>
+ * Deadlines are absolute (the start plus a number of frames) so that waking up
+ * late is compensated on the next frame instead of accumulating, and cycles
+ * done beyond the budget of a frame (an instruction does not stop in the
+ * middle) are taken from the next one. After a long pause (debugger, GC...)
+ * the thread does not try to catch up more than a few frames.
+ * </p>
+ *
+ * <p>
+ * The speed multiplier (see {@link #setSpeed(double)}) and the frequency can
+ * be changed while running, they are read once per frame. In uncapped mode
+ * frames follow each other without parking. The display is called after a
+ * frame at most {@link #DISPLAY_RATE} times per second in host time, so in
+ * fast modes frames in between are not shown. The time taken by the display
+ * call is printed with the frequency, to check that it does not slow emulation
+ * down (it should only hand the frame over, see {@link Screen}).
+ * </p>
+ */
 // This is only for testing purposes
 public class GameThread implements Runnable {
 
 	// Speed 1: 2 Hz
-	public static final long SPEED1 = 500000000;
+	public static final int SPEED1 = 2;
 	// Speed 2: 100 Hz
-	public static final long SPEED2 = 10000000;
-	// Speed 3: CPU speed
-	public static final long CPU_CLOCK_SPEED = 601;
+	public static final int SPEED2 = 100;
+	// Speed 3: CPU speed of the region, see getConsoleFrequency()
 
-	// 5 CPU ticks <=> 16 PPU ticks
-	public static final int CPU_TICK_PER_PERIOD = 25;
-	public static final int PPU_TICK_PER_PERIOD = 16 * (CPU_TICK_PER_PERIOD / 5);
+	// Speed multipliers, uncapped runs as fast as the host can
+	public static final double MIN_SPEED = 0.25;
+	public static final double MAX_SPEED = 8;
+	public static final double UNCAPPED = Double.POSITIVE_INFINITY;
+	public static final String SPEED_PROPERTY = "nes.speed";
 
 	// In Hz
-	private static final int CPU_FREQUENCY = 1662607;
+	public static final int DISPLAY_RATE = 60;
 
-	private AtomicBoolean running = new AtomicBoolean(false);
-	private AtomicBoolean stopped = new AtomicBoolean(true);
+	// Frames late before giving up catching up
+	private static final int MAX_LATE_FRAMES = 5;
+
+	private static final long NANOS_PER_SECOND = 1_000_000_000L;
+	private static final long DISPLAY_PERIOD = NANOS_PER_SECOND / DISPLAY_RATE;
+
+	private final Cpu cpu = Cpu.getInstance();
+
+	private volatile boolean running = false;
 	private Thread gameThread;
 
-	// In ns
-	private long waitPeriod;
-	private long tickCounter;
-	private int cpuTickNumber;
+	// In Hz
+	private volatile int frequency;
+	private volatile double speed = 1;
+	private volatile Runnable display;
 
 	public GameThread() {
-		tickCounter = 0;
-
-		// Creating timing check thread
-		Thread timingCheckThread = new Thread(new Runnable() {
-			@Override
-			public void run() {
-				long counter = 0;
-				long start = System.currentTimeMillis();
-				while (true) {
-					long end = System.currentTimeMillis();
-					if (end > start + 1000) {
-						long actualTicks = tickCounter;
-						long totalTicks = actualTicks - counter;
-						System.out.println(
-								"CPU frequency: %d Hz (should be: %d Hz)".formatted(totalTicks, CPU_FREQUENCY));
-
-						counter = actualTicks;
-						start = end;
-					}
-				}
-			}
-		});
-		timingCheckThread.start();
 	}
 
-	public void startThread(long waitPeriod, int cpuTickNumber) {
-		this.waitPeriod = waitPeriod;
-		this.cpuTickNumber = cpuTickNumber;
+	/**
+	 * Starts emulating at a frequency. The thread must be stopped before (see
+	 * {@link #interrupt()})
+	 *
+	 * @param frequency the CPU frequency in Hz
+	 */
+	public void startThread(int frequency) {
+		this.frequency = frequency;
 
+		running = true;
 		gameThread = new Thread(this);
-		gameThread.setName("Game Thread (wait: " + waitPeriod + ")");
+		gameThread.setName("Game Thread");
 		gameThread.start();
 	}
 
+	/**
+	 * Changes the CPU frequency, from the next frame
+	 *
+	 * @param frequency the CPU frequency in Hz
+	 */
+	public void setFrequency(int frequency) {
+		this.frequency = frequency;
+	}
+
+	/**
+	 * Returns the CPU frequency of the console the loaded ROM is made for
+	 *
+	 * @return the CPU frequency in Hz
+	 */
+	public int getConsoleFrequency() {
+		return cpu.getPpu().getRegion().getCpuFrequency();
+	}
+
+	/**
+	 * Changes the speed multiplier, from the next frame. Frames are shorter (or
+	 * longer), the number of cycles per frame does not change
+	 *
+	 * @param speed the multiplier, from {@link #MIN_SPEED} to {@link #MAX_SPEED}
+	 *              or {@link #UNCAPPED}
+	 * @throws IllegalArgumentException if the multiplier is out of bounds
+	 */
+	public void setSpeed(double speed) {
+		if (speed != UNCAPPED && !(speed >= MIN_SPEED && speed <= MAX_SPEED)) {
+			throw new IllegalArgumentException(
+					"Speed must be between %sx and %sx or uncapped: %s".formatted(MIN_SPEED, MAX_SPEED, speed));
+		}
+
+		this.speed = speed;
+	}
+
+	public double getSpeed() {
+		return speed;
+	}
+
+	/**
+	 * Sets what is called by the game thread to show a frame, rate-limited to
+	 * {@link #DISPLAY_RATE} (null to show nothing)
+	 *
+	 * @param display the display action
+	 */
+	public void setDisplay(Runnable display) {
+		this.display = display;
+	}
+
+	/**
+	 * Returns the speed multiplier set in the <code>nes.speed</code> system
+	 * property (a number or "uncapped"), or 1 if not set
+	 *
+	 * @return the speed multiplier
+	 * @throws IllegalArgumentException if the multiplier is not valid
+	 */
+	public static double speedFromProperty() {
+		String speed = System.getProperty(SPEED_PROPERTY);
+		if (speed == null) {
+			return 1;
+		}
+
+		speed = speed.trim().toLowerCase();
+		return speed.equals("uncapped") ? UNCAPPED : Double.parseDouble(speed.replace("x", ""));
+	}
+
+	/**
+	 * Stops the thread and waits for the end of the current frame
+	 */
 	public void interrupt() {
-		running.set(false);
+		running = false;
+
+		if (gameThread != null) {
+			LockSupport.unpark(gameThread);
+			try {
+				gameThread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
 	}
 
 	public boolean isStopped() {
-		return stopped.get();
+		return gameThread == null || !gameThread.isAlive();
 	}
 
 	@Override
 	public void run() {
-		running.set(true);
-		stopped.set(false);
-
-		// Time for next activation (in ns)
-		int cycles = 0;
-		long nextTick = System.nanoTime();
-		while (running.get()) {
-			long currentTime = System.nanoTime();
-			// If it's time to tick, we tick
-			if (currentTime >= nextTick) {
-				nextTick = currentTime;
-				try {
-					for (int tickNumber = 0; tickNumber < cpuTickNumber; tickNumber++) {
-						// For timing
-						tickCounter += cycles;
-
-						// Tick!
-						cycles = Cpu.getInstance().tick();
-
-						// Setting next tick
-						nextTick += cycles * waitPeriod;
-					}
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
+		// Cycles are counted in ns to get an exact budget per frame, even below
+		// one cycle per frame
+		long budget = 0;
+		long deadline = System.nanoTime();
+		long lastDisplay = deadline - DISPLAY_PERIOD;
+
+		// For timing
+		long secondStart = deadline;
+		long secondCycles = 0;
+		long busyTime = 0;
+		long displayTime = 0;
+		long displayedFrames = 0;
+
+		long frame = 0;
+		while (running) {
+			// Can be changed by other threads
+			int frequency = this.frequency;
+			double speed = this.speed;
+			long framePeriod = cpu.getPpu().getRegion().getFramePeriod();
+
+			FrameEvent frameEvent = new FrameEvent();
+			frameEvent.begin();
+			CpuSliceEvent sliceEvent = new CpuSliceEvent();
+			sliceEvent.begin();
+
+			long start = System.nanoTime();
+			long frameCycles = 0;
+			long ticks = 0;
+			budget += frequency * framePeriod;
+			try {
+				while (budget > 0) {
+					int cycles = cpu.tick();
+					budget -= cycles * NANOS_PER_SECOND;
+					frameCycles += cycles;
+					ticks++;
 				}
+			} catch (InstructionNotSupportedException e) {
+				// The CPU is halted on the opcode, no need to tick again
+				System.err.println(e.getMessage());
+				running = false;
+				break;
 			}
-		}
 
-		stopped.set(true);
+			long end = System.nanoTime();
+			busyTime += end - start;
+			secondCycles += frameCycles;
+
+			sliceEvent.end();
+			if (sliceEvent.shouldCommit()) {
+				sliceEvent.cycles = frameCycles;
+				sliceEvent.ticks = ticks;
+				sliceEvent.engine = cpu.getEngine().name();
+				sliceEvent.commit();
+			}
+
+			Runnable display = this.display;
+			if (display != null && end - lastDisplay >= DISPLAY_PERIOD) {
+				display.run();
+				lastDisplay = end;
+
+				long displayEnd = System.nanoTime();
+				displayTime += displayEnd - end;
+				displayedFrames++;
+				end = displayEnd;
+			}
+
+			if (end - secondStart >= NANOS_PER_SECOND) {
+				System.out.println(
+						"CPU frequency: %d Hz (should be: %s), emulating %.1f%% of the time, %d frames sent to display in %.3f ms each"
+								.formatted(secondCycles * NANOS_PER_SECOND / (end - secondStart),
+										speed == UNCAPPED ? "uncapped" : "%d Hz".formatted((long) (frequency * speed)),
+										100d * busyTime / (end - secondStart), displayedFrames,
+										displayedFrames == 0 ? 0 : displayTime / 1e6 / displayedFrames));
+
+				secondStart = end;
+				secondCycles = 0;
+				busyTime = 0;
+				displayTime = 0;
+				displayedFrames = 0;
+			}
+
+			// Too late, restart from now instead of running frames in a row
+			long period = speed == UNCAPPED ? 0 : (long) (framePeriod / speed);
+			deadline += period;
+			if (end - deadline > MAX_LATE_FRAMES * period) {
+				deadline = end;
+			}
+
+			// Park until the deadline (again if woken up before)
+			long remaining;
+			while (running && (remaining = deadline - System.nanoTime()) > 0) {
+				LockSupport.parkNanos(this, remaining);
+			}
+
+			if (frameEvent.shouldCommit()) {
+				frameEvent.frame = frame;
+				frameEvent.cycles = frameCycles;
+				frameEvent.emulatedDuration = frameCycles * NANOS_PER_SECOND / frequency;
+				frameEvent.late = Math.max(0, System.nanoTime() - deadline);
+				frameEvent.commit();
+			}
+			frame++;
+		}
 	}
 
 }
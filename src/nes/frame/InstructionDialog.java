@@ -1,5 +1,6 @@
 package frame;
 
+import components.PrgDecodeCache;
 import instructions.Instruction;
 import instructions.branch.BranchInstruction;
 import instructions.jump.JMPInstruction;
@@ -10,7 +11,7 @@ public class InstructionDialog extends CpuInfoDialog {
 	private static final String TITLE = "Instructions";
 	private static final int ELEMENT_NUMBER = 3;
 
-	private final Instruction[] romInstructions;
+	private final PrgDecodeCache prgDecodeCache;
 
 	private String instructionPrevious = "";
 	private String instructionReady = "";
@@ -25,9 +26,9 @@ public class InstructionDialog extends CpuInfoDialog {
 	 */
 	private static final long serialVersionUID = -4913622929738924125L;
 
-	public InstructionDialog(Instruction[] romInstructions) {
+	public InstructionDialog(PrgDecodeCache prgDecodeCache) {
 		super(TITLE, ELEMENT_NUMBER);
-		this.romInstructions = romInstructions;
+		this.prgDecodeCache = prgDecodeCache;
 		this.setLocation(328, 512);
 	}
 
@@ -64,7 +65,7 @@ public class InstructionDialog extends CpuInfoDialog {
 			instructionReady = "Not in ROM";
 			instructionNext = "";
 		} else {
-			Instruction instruction = romInstructions[cpuInfo.PC - 0x8000];
+			Instruction instruction = PrgDecodeCache.unpack(prgDecodeCache.getPacked(cpuInfo.PC));
 			// If the instruction is null, give up
 			if (instruction == null) {
 				instructionReady = "Unreadable";
@@ -91,9 +92,9 @@ public class InstructionDialog extends CpuInfoDialog {
 					if (nextPC < 0x8000) {
 						instructionNext = "Not in ROM";
 					} else {
-						Instruction nextInstruction = romInstructions[nextPC - 0x8000];
-						// Next instruction should always be readable so it's ok
-						instructionNext = nextInstruction.toString();
+						// Not cached if its operands are in the next window
+						Instruction nextInstruction = PrgDecodeCache.unpack(prgDecodeCache.getPacked(nextPC));
+						instructionNext = nextInstruction == null ? "Unreadable" : nextInstruction.toString();
 					}
 				}
 			}
@@ -0,0 +1,167 @@
+package frame;
+
+import java.awt.Canvas;
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.EventQueue;
+import java.awt.Graphics;
+import java.awt.Toolkit;
+import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import components.Ppu;
+import components.TripleBuffer;
+import events.PresentEvent;
+
+/**
+ * <p>
+ * Shows the frames of the PPU. The PPU writes its pixels in the
+ * {@link DataBufferInt} of an image, so a frame is never copied pixel by pixel
+ * nor converted: presenting it is a single scaled draw of the image.
+ * </p>
+ *
+ * <p>
+ * There are three images, one per buffer of a {@link TripleBuffer} (see
+ * {@link #getFrameBuffers()}): the PPU writes in one while the newest finished
+ * frame waits in another and the screen shows the third. The game thread only
+ * requests a presentation (see {@link #requestPresent()}), which is done on
+ * the event dispatch thread, so neither waits for the other.
+ * </p>
+ *
+ * <p>
+ * The canvas is drawn actively through a {@link BufferStrategy} and ignores
+ * repaints from Swing. The frame is scaled by the largest integer factor that
+ * fits, centred on black borders, so that every NES pixel has the same size.
+ * </p>
+ */
+public class Screen extends Canvas {
+
+	/**
+	 *
+	 */
+	private static final long serialVersionUID = -2405164718367049711L;
+
+	private static final int DEFAULT_SCALE = 2;
+
+	private static final int[] RGB_MASKS = { 0xFF0000, 0x00FF00, 0x0000FF };
+
+	private final TripleBuffer frameBuffers = new TripleBuffer(Ppu.SCREEN_WIDTH * Ppu.SCREEN_HEIGHT);
+	private final BufferedImage[] images = new BufferedImage[3];
+	private BufferStrategy bufferStrategy;
+
+	// Only one presentation waits in the event queue
+	private final AtomicBoolean presentRequested = new AtomicBoolean(false);
+	private final Runnable presentTask = () -> {
+		presentRequested.set(false);
+		present();
+	};
+
+	public Screen() {
+		// Images directly on the buffers, as TYPE_INT_RGB
+		DirectColorModel colorModel = new DirectColorModel(24, RGB_MASKS[0], RGB_MASKS[1], RGB_MASKS[2]);
+		for (int index = 0; index < images.length; index++) {
+			int[] buffer = frameBuffers.getBuffer(index);
+			WritableRaster raster = Raster.createPackedRaster(new DataBufferInt(buffer, buffer.length), Ppu.SCREEN_WIDTH,
+					Ppu.SCREEN_HEIGHT, Ppu.SCREEN_WIDTH, RGB_MASKS, null);
+			images[index] = new BufferedImage(colorModel, raster, false, null);
+		}
+
+		this.setPreferredSize(new Dimension(Ppu.SCREEN_WIDTH * DEFAULT_SCALE, Ppu.SCREEN_HEIGHT * DEFAULT_SCALE));
+		this.setBackground(Color.BLACK);
+		this.setIgnoreRepaint(true);
+	}
+
+	/**
+	 * Returns the buffers of the images, to give to
+	 * {@link Ppu#setFrameBuffers(TripleBuffer)}. They also count dropped and
+	 * duplicated frames
+	 *
+	 * @return the triple buffer of the images
+	 */
+	public TripleBuffer getFrameBuffers() {
+		return frameBuffers;
+	}
+
+	/**
+	 * Asks the event dispatch thread to show the newest frame, and returns
+	 * immediately. Requests made while one is waiting are merged
+	 */
+	public void requestPresent() {
+		if (presentRequested.compareAndSet(false, true)) {
+			EventQueue.invokeLater(presentTask);
+		}
+	}
+
+	/**
+	 * Returns the largest integer scale of the frame fitting in a size, at least 1
+	 *
+	 * @param width  the width of the area
+	 * @param height the height of the area
+	 * @return the scale
+	 */
+	public static int getScale(int width, int height) {
+		return Math.max(1, Math.min(width / Ppu.SCREEN_WIDTH, height / Ppu.SCREEN_HEIGHT));
+	}
+
+	/**
+	 * Draws the newest frame on screen, in the event dispatch thread. Does
+	 * nothing if the canvas is not shown yet. The time taken is recorded by a
+	 * {@link PresentEvent}
+	 */
+	public void present() {
+		if (!isDisplayable()) {
+			return;
+		}
+
+		PresentEvent event = new PresentEvent();
+		event.begin();
+
+		// The same frame is drawn again if none was finished since
+		long duplicatedFrames = frameBuffers.getDuplicatedFrames();
+		BufferedImage image = images[frameBuffers.acquire()];
+
+		if (bufferStrategy == null) {
+			createBufferStrategy(2);
+			bufferStrategy = getBufferStrategy();
+		}
+
+		int width = getWidth();
+		int height = getHeight();
+		int scale = getScale(width, height);
+		int x = (width - Ppu.SCREEN_WIDTH * scale) / 2;
+		int y = (height - Ppu.SCREEN_HEIGHT * scale) / 2;
+
+		// Drawn again while the back buffer is lost
+		int contentsLost = -1;
+		do {
+			do {
+				Graphics graphics = bufferStrategy.getDrawGraphics();
+				try {
+					graphics.setColor(Color.BLACK);
+					graphics.fillRect(0, 0, width, height);
+					graphics.drawImage(image, x, y, Ppu.SCREEN_WIDTH * scale, Ppu.SCREEN_HEIGHT * scale, null);
+				} finally {
+					graphics.dispose();
+				}
+			} while (bufferStrategy.contentsRestored());
+
+			bufferStrategy.show();
+			contentsLost++;
+		} while (bufferStrategy.contentsLost());
+		Toolkit.getDefaultToolkit().sync();
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.scale = scale;
+			event.contentsLost = contentsLost;
+			event.duplicated = frameBuffers.getDuplicatedFrames() != duplicatedFrames;
+			event.droppedFrames = frameBuffers.getDroppedFrames();
+			event.commit();
+		}
+	}
+}
@@ -7,13 +7,14 @@ public abstract class Instruction {
 
 	protected static final Cpu cpu = Cpu.getInstance();
 	private final AddressingMode mode;
-	protected int pageCrossed = 0;
 	private final int constant;
+	private int opcode = -1;
 
 	/**
-	 * Address stored when fetching operand to use in {@link #storeMemory(int)}
+	 * Shift of the page crossed bit in the value returned by
+	 * {@link #resolveAddress()}
 	 */
-	private int address = -1;
+	protected static final int PAGE_CROSSED_SHIFT = 16;
 
 	public Instruction(AddressingMode mode) {
 		this.mode = mode;
@@ -26,21 +27,23 @@ public abstract class Instruction {
 	}
 
 	/**
-	 * Executes the instruction according to its addressing mode. If this updates
-	 * {@link #pageCrossed}, then it <em>MUST BE</em> executed only once. Else
-	 * {@link #pageCrossed} will never be set back to 0
+	 * Executes the instruction according to its addressing mode. An instruction
+	 * keeps no state between two executions: the same object can be executed any
+	 * number of times, and shared between decoded ROMs.
 	 * 
-	 * @return the instruction result
-	 * @throws InstructionNotSupportedException if an exception occurs during the
-	 *                                          execution
+	 * @return the cycles added by this execution to the base cycles of the opcode
+	 *         (1 if a page has been crossed, 1 or 3 for a taken branch). Use
+	 *         {@link InstructionInfo#getCycles(int, int)} to know if the opcode
+	 *         pays them
 	 */
-	public abstract void execute() throws InstructionNotSupportedException;
+	public abstract int execute();
 
 	/**
-	 * Gets the number of cycles of the instruction. Can depend on the result of the
-	 * execution, that's why this should be called AFTER {@link #execute()}
+	 * Gets the base number of cycles of the instruction, without the penalties
+	 * that depend on the execution (page crossed, branch taken). This is only
+	 * called once per opcode, to build the cycle table of {@link InstructionInfo}
 	 * 
-	 * @return the number of cycles taken by the instructions
+	 * @return the base number of cycles taken by the instruction
 	 * @throws InstructionNotSupportedException if the addressing mode does not
 	 *                                          correspond to the instruction
 	 */
@@ -48,6 +51,17 @@ public abstract class Instruction {
 
 	public abstract String getName();
 
+	/**
+	 * Tells if the instruction takes one more cycle when its operand is read
+	 * across a page (instructions that only read memory). This is only used to
+	 * build the cycle table of {@link InstructionInfo}
+	 * 
+	 * @return true if a page crossed adds one cycle
+	 */
+	protected boolean hasPageCrossedPenalty() {
+		return false;
+	}
+
 	/**
 	 * <p>
 	 * Creates a new instruction with the same addressing mode but with a constant.
@@ -74,6 +88,35 @@ public abstract class Instruction {
 	 */
 	public abstract Instruction newInstruction(int constant);
 
+	/**
+	 * Creates a new instruction with a constant (see
+	 * {@link #newInstruction(int)}) keeping the opcode, so that the CPU does not
+	 * need to read it again from the bus when executing
+	 * 
+	 * @param constant the constant that the instruction will use
+	 * @return a new instance of the instruction with a constant and the same
+	 *         opcode
+	 */
+	public Instruction newInstructionFromOpcode(int constant) {
+		Instruction instruction = newInstruction(constant);
+		instruction.opcode = opcode;
+		return instruction;
+	}
+
+	/**
+	 * Returns the opcode of the instruction, set when it is registered in
+	 * {@link InstructionInfo}
+	 * 
+	 * @return the opcode, or -1 if the instruction has not been decoded
+	 */
+	public int getOpcode() {
+		return opcode;
+	}
+
+	void setOpcode(int opcode) {
+		this.opcode = opcode;
+	}
+
 	/**
 	 * Returns the byte number of the instruction. This calls the getByteNumber
 	 * method from {@link AddressingMode}
@@ -89,80 +132,80 @@ public abstract class Instruction {
 	 * 
 	 * @return the addressing mode
 	 */
-	protected AddressingMode getMode() {
+	public AddressingMode getMode() {
 		return mode;
 	}
 
 	/**
-	 * Updates the address according to the value in the constant to store in memory
-	 * WITHOUT accessing to the memory and provoke PPU read when we only want to
-	 * write (for example)
+	 * Computes the effective address from the constant WITHOUT accessing to the
+	 * memory (except for pointers) and provoke PPU read when we only want to write
+	 * (for example). The page crossed bit is returned with the address, at
+	 * {@link #PAGE_CROSSED_SHIFT}.
+	 * 
+	 * @return the address, with 1 at {@link #PAGE_CROSSED_SHIFT} if a page has
+	 *         been crossed. 0 if the addressing mode has no address
 	 */
-	protected void updateMemoryAddress() {
-		if (constant == -1) {
-			return;
-		}
-
+	protected int resolveAddress() {
 		switch (mode) {
 		case ZEROPAGE:
-			address = constant & 0xFF;
-			break;
+			return constant & 0xFF;
 
 		case ZEROPAGE_X:
-			address = (constant + cpu.cpuInfo.X) & 0xFF;
-			break;
+			return (constant + cpu.cpuInfo.X) & 0xFF;
 
 		case ZEROPAGE_Y:
-			address = (constant + cpu.cpuInfo.Y) & 0xFF;
-			break;
+			return (constant + cpu.cpuInfo.Y) & 0xFF;
 
 		case ABSOLUTE:
-			address = constant & 0xFFFF;
-			break;
+			return constant & 0xFFFF;
 
 		case ABSOLUTE_X:
-			address = (constant + cpu.cpuInfo.X) & 0xFFFF;
-			pageCrossed = (constant & 0xFF) + cpu.cpuInfo.X > 0xFF ? 1 : 0;
-			break;
+			return ((constant + cpu.cpuInfo.X) & 0xFFFF)
+					| ((constant & 0xFF) + cpu.cpuInfo.X > 0xFF ? 1 << PAGE_CROSSED_SHIFT : 0);
 
 		case ABSOLUTE_Y:
-			address = (constant + cpu.cpuInfo.Y) & 0xFFFF;
-			pageCrossed = (constant & 0xFF) + cpu.cpuInfo.Y > 0xFF ? 1 : 0;
-			break;
+			return ((constant + cpu.cpuInfo.Y) & 0xFFFF)
+					| ((constant & 0xFF) + cpu.cpuInfo.Y > 0xFF ? 1 << PAGE_CROSSED_SHIFT : 0);
 
 		case INDIRECT_X:
-			address = cpu.fetchAddress((constant + cpu.cpuInfo.X) & 0xFFFF);
-			break;
+			return cpu.fetchAddress((constant + cpu.cpuInfo.X) & 0xFFFF);
 
 		case INDIRECT_Y:
 			int tmpAddress = cpu.fetchAddress(constant & 0xFFFF);
-			address = (tmpAddress + cpu.cpuInfo.Y) & 0xFFFF;
-			pageCrossed = (tmpAddress & 0xFF) + cpu.cpuInfo.Y > 0xFF ? 1 : 0;
-			break;
+			return ((tmpAddress + cpu.cpuInfo.Y) & 0xFFFF)
+					| ((tmpAddress & 0xFF) + cpu.cpuInfo.Y > 0xFF ? 1 << PAGE_CROSSED_SHIFT : 0);
 
 		default:
-			break;
+			return 0;
 		}
 	}
 
+	/**
+	 * Returns 1 if the resolved address crossed a page, 0 otherwise
+	 * 
+	 * @param resolved the value returned by {@link #resolveAddress()}
+	 * @return 1 if a page has been crossed
+	 */
+	protected static int pageCrossed(int resolved) {
+		return resolved >>> PAGE_CROSSED_SHIFT;
+	}
+
 	/**
 	 * Fetches the second operand for the instruction since the first one is always
-	 * the accumulator. It also sets the memory address to store in memory
+	 * the accumulator.
 	 * 
-	 * @return the value of the second operand
-	 * @throws InstructionNotSupportedException if the addressing mode does not
-	 *                                          correspond to something that can be
-	 *                                          fetched
+	 * @param resolved the value returned by {@link #resolveAddress()}
+	 * @return the value of the second operand, -1 if the instruction has no
+	 *         constant
+	 * @throws IllegalStateException if the addressing mode does not correspond to
+	 *                               something that can be fetched (cannot happen
+	 *                               with the opcodes of {@link InstructionInfo})
 	 */
-	protected int fetchOperand2() throws InstructionNotSupportedException {
+	protected int fetchOperand2(int resolved) {
 		if (constant == -1) {
 			return -1;
 		}
 
-		if (address == -1) {
-			updateMemoryAddress();
-		}
-
 		int operand;
 		switch (mode) {
 		case IMMEDIATE:
@@ -171,39 +214,18 @@ public abstract class Instruction {
 			break;
 
 		case ZEROPAGE:
-			operand = cpu.fetchMemory(address);
-			break;
-
 		case ZEROPAGE_X:
-			operand = cpu.fetchMemory(address);
-			break;
-
 		case ZEROPAGE_Y:
-			operand = cpu.fetchMemory(address);
-			break;
-
 		case ABSOLUTE:
-			operand = cpu.fetchMemory(address);
-			break;
-
 		case ABSOLUTE_X:
-			operand = cpu.fetchMemory(address);
-			break;
-
 		case ABSOLUTE_Y:
-			operand = cpu.fetchMemory(address);
-			break;
-
 		case INDIRECT_X:
-			operand = cpu.fetchMemory(address);
-			break;
-
 		case INDIRECT_Y:
-			operand = cpu.fetchMemory(address);
+			operand = cpu.fetchMemory(resolved & 0xFFFF);
 			break;
 
 		default:
-			throw new InstructionNotSupportedException("Cannot fetch second operand: addressing mode is wrong!");
+			throw new IllegalStateException("Cannot fetch second operand: addressing mode is wrong!");
 		}
 
 		return operand;
@@ -213,11 +235,11 @@ public abstract class Instruction {
 	 * Fetches the address for jump instructions
 	 * 
 	 * @return the address where to jump
-	 * @throws InstructionNotSupportedException if the addressing mode does not
-	 *                                          correspond to something that can be
-	 *                                          fetched
+	 * @throws IllegalStateException if the addressing mode does not correspond to
+	 *                               something that can be fetched (cannot happen
+	 *                               with the opcodes of {@link InstructionInfo})
 	 */
-	protected int fetchJumpAddress() throws InstructionNotSupportedException {
+	protected int fetchJumpAddress() {
 		int retAddress;
 		switch (mode) {
 		case ABSOLUTE:
@@ -229,7 +251,7 @@ public abstract class Instruction {
 			break;
 
 		default:
-			throw new InstructionNotSupportedException("Cannot fetch address: addressing mode is wrong!");
+			throw new IllegalStateException("Cannot fetch address: addressing mode is wrong!");
 		}
 
 		return retAddress;
@@ -248,14 +270,11 @@ public abstract class Instruction {
 	/**
 	 * Stores the result in memory exactly where the 2nd operand have been taken.
 	 * 
-	 * @param value the value to store
+	 * @param resolved the value returned by {@link #resolveAddress()}
+	 * @param value    the value to store
 	 */
-	protected void storeMemory(int value) {
-		if (address == -1) {
-			updateMemoryAddress();
-		}
-
-		cpu.storeMemory(address, value);
+	protected void storeMemory(int resolved, int value) {
+		cpu.storeMemory(resolved & 0xFFFF, value);
 	}
 
 	@Override
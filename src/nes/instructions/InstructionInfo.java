@@ -1,14 +1,21 @@
 package instructions;
 
+import java.util.Arrays;
 import java.util.HashMap;
 
+import exceptions.InstructionNotSupportedException;
 import instructions.alu.ADCInstruction;
+import instructions.alu.ALRInstruction;
+import instructions.alu.ANCInstruction;
 import instructions.alu.ANDInstruction;
+import instructions.alu.ARRInstruction;
 import instructions.alu.ASLInstruction;
+import instructions.alu.AXSInstruction;
 import instructions.alu.BITInstruction;
 import instructions.alu.CMPInstruction;
 import instructions.alu.CPXInstruction;
 import instructions.alu.CPYInstruction;
+import instructions.alu.DCPInstruction;
 import instructions.alu.DECInstruction;
 import instructions.alu.DEXInstruction;
 import instructions.alu.DEYInstruction;
@@ -16,11 +23,16 @@ import instructions.alu.EORInstruction;
 import instructions.alu.INCInstruction;
 import instructions.alu.INXInstruction;
 import instructions.alu.INYInstruction;
+import instructions.alu.ISCInstruction;
 import instructions.alu.LSRInstruction;
 import instructions.alu.ORAInstruction;
+import instructions.alu.RLAInstruction;
 import instructions.alu.ROLInstruction;
 import instructions.alu.RORInstruction;
+import instructions.alu.RRAInstruction;
 import instructions.alu.SBCInstruction;
+import instructions.alu.SLOInstruction;
+import instructions.alu.SREInstruction;
 import instructions.branch.BCCInstruction;
 import instructions.branch.BCSInstruction;
 import instructions.branch.BEQInstruction;
@@ -47,9 +59,11 @@ import instructions.register.TSXInstruction;
 import instructions.register.TXAInstruction;
 import instructions.register.TXSInstruction;
 import instructions.register.TYAInstruction;
+import instructions.registermemory.LAXInstruction;
 import instructions.registermemory.LDAInstruction;
 import instructions.registermemory.LDXInstruction;
 import instructions.registermemory.LDYInstruction;
+import instructions.registermemory.SAXInstruction;
 import instructions.registermemory.STAInstruction;
 import instructions.registermemory.STXInstruction;
 import instructions.registermemory.STYInstruction;
@@ -60,274 +74,491 @@ import instructions.stack.PLPInstruction;
 
 public class InstructionInfo {
 
-	// TODO Transform the map in an array?
+	private static final int OPCODE_NUMBER = 0x100;
+
+	/**
+	 * Dense opcode table, this is the lookup used when decoding. Unknown opcodes
+	 * are null
+	 */
+	private static final Instruction[] instructionTable = new Instruction[OPCODE_NUMBER];
+
+	/**
+	 * Byte number of each opcode (parallel to {@link #instructionTable}), -1 if the
+	 * opcode is unknown
+	 */
+	private static final int[] byteNumberTable = new int[OPCODE_NUMBER];
+
+	/**
+	 * Base cycles of each opcode (parallel to {@link #instructionTable}), 0 if the
+	 * opcode is unknown
+	 */
+	private static final int[] cycleTable = new int[OPCODE_NUMBER];
+
+	/**
+	 * Mask of the cycles returned by {@link Instruction#execute()} for each opcode:
+	 * -1 if the opcode pays the page crossed or branch penalty, 0 if not
+	 */
+	private static final int[] penaltyMaskTable = new int[OPCODE_NUMBER];
+
+	/**
+	 * Description of the opcodes that are not emulated (unstable or jamming the
+	 * CPU), null for the others. Used to halt with a useful message
+	 */
+	private static final String[] unsupportedTable = new String[OPCODE_NUMBER];
+
 	private static final HashMap<Integer, Instruction> instructionMap = new HashMap<Integer, Instruction>();
 	private static final InstructionInfo instance = new InstructionInfo();
 
 	private InstructionInfo() {
-		// Init of the instruction map
+		// Unknown opcodes have no byte number
+		Arrays.fill(byteNumberTable, -1);
+
+		// Init of the instruction table
 		// ADC
-		instructionMap.put(0x69, new ADCInstruction(AddressingMode.IMMEDIATE));
-		instructionMap.put(0x65, new ADCInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0x75, new ADCInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0x6D, new ADCInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0x7D, new ADCInstruction(AddressingMode.ABSOLUTE_X));
-		instructionMap.put(0x79, new ADCInstruction(AddressingMode.ABSOLUTE_Y));
-		instructionMap.put(0x61, new ADCInstruction(AddressingMode.INDIRECT_X));
-		instructionMap.put(0x71, new ADCInstruction(AddressingMode.INDIRECT_Y));
+		register(0x69, new ADCInstruction(AddressingMode.IMMEDIATE));
+		register(0x65, new ADCInstruction(AddressingMode.ZEROPAGE));
+		register(0x75, new ADCInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x6D, new ADCInstruction(AddressingMode.ABSOLUTE));
+		register(0x7D, new ADCInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x79, new ADCInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0x61, new ADCInstruction(AddressingMode.INDIRECT_X));
+		register(0x71, new ADCInstruction(AddressingMode.INDIRECT_Y));
 
 		// AND
-		instructionMap.put(0x29, new ANDInstruction(AddressingMode.IMMEDIATE));
-		instructionMap.put(0x25, new ANDInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0x35, new ANDInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0x2D, new ANDInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0x3D, new ANDInstruction(AddressingMode.ABSOLUTE_X));
-		instructionMap.put(0x39, new ANDInstruction(AddressingMode.ABSOLUTE_Y));
-		instructionMap.put(0x21, new ANDInstruction(AddressingMode.INDIRECT_X));
-		instructionMap.put(0x31, new ANDInstruction(AddressingMode.INDIRECT_Y));
+		register(0x29, new ANDInstruction(AddressingMode.IMMEDIATE));
+		register(0x25, new ANDInstruction(AddressingMode.ZEROPAGE));
+		register(0x35, new ANDInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x2D, new ANDInstruction(AddressingMode.ABSOLUTE));
+		register(0x3D, new ANDInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x39, new ANDInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0x21, new ANDInstruction(AddressingMode.INDIRECT_X));
+		register(0x31, new ANDInstruction(AddressingMode.INDIRECT_Y));
 
 		// ASL
-		instructionMap.put(0x0A, new ASLInstruction(AddressingMode.ACCUMULATOR));
-		instructionMap.put(0x06, new ASLInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0x16, new ASLInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0x0E, new ASLInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0x1E, new ASLInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x0A, new ASLInstruction(AddressingMode.ACCUMULATOR));
+		register(0x06, new ASLInstruction(AddressingMode.ZEROPAGE));
+		register(0x16, new ASLInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x0E, new ASLInstruction(AddressingMode.ABSOLUTE));
+		register(0x1E, new ASLInstruction(AddressingMode.ABSOLUTE_X));
 
 		// BCC
-		instructionMap.put(0x90, new BCCInstruction(AddressingMode.RELATIVE));
+		register(0x90, new BCCInstruction(AddressingMode.RELATIVE));
 
 		// BCS
-		instructionMap.put(0xB0, new BCSInstruction(AddressingMode.RELATIVE));
+		register(0xB0, new BCSInstruction(AddressingMode.RELATIVE));
 
 		// BEQ
-		instructionMap.put(0xF0, new BEQInstruction(AddressingMode.RELATIVE));
+		register(0xF0, new BEQInstruction(AddressingMode.RELATIVE));
 
 		// BIT
-		instructionMap.put(0x24, new BITInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0x2C, new BITInstruction(AddressingMode.ABSOLUTE));
+		register(0x24, new BITInstruction(AddressingMode.ZEROPAGE));
+		register(0x2C, new BITInstruction(AddressingMode.ABSOLUTE));
 
 		// BMI
-		instructionMap.put(0x30, new BMIInstruction(AddressingMode.RELATIVE));
+		register(0x30, new BMIInstruction(AddressingMode.RELATIVE));
 
 		// BNE
-		instructionMap.put(0xD0, new BNEInstruction(AddressingMode.RELATIVE));
+		register(0xD0, new BNEInstruction(AddressingMode.RELATIVE));
 
 		// BPL
-		instructionMap.put(0x10, new BPLInstruction(AddressingMode.RELATIVE));
+		register(0x10, new BPLInstruction(AddressingMode.RELATIVE));
 
 		// BRK
-		instructionMap.put(0x00, new BRKInstruction(AddressingMode.IMPLICIT));
+		register(0x00, new BRKInstruction(AddressingMode.IMPLICIT));
 
 		// BVC
-		instructionMap.put(0x50, new BVCInstruction(AddressingMode.RELATIVE));
+		register(0x50, new BVCInstruction(AddressingMode.RELATIVE));
 
 		// BVS
-		instructionMap.put(0x70, new BVSInstruction(AddressingMode.RELATIVE));
+		register(0x70, new BVSInstruction(AddressingMode.RELATIVE));
 
 		// CLC
-		instructionMap.put(0x18, new CLCInstruction(AddressingMode.IMPLICIT));
+		register(0x18, new CLCInstruction(AddressingMode.IMPLICIT));
 
 		// CLD
-		instructionMap.put(0xD8, new CLDInstruction(AddressingMode.IMPLICIT));
+		register(0xD8, new CLDInstruction(AddressingMode.IMPLICIT));
 
 		// CLI
-		instructionMap.put(0x58, new CLIInstruction(AddressingMode.IMPLICIT));
+		register(0x58, new CLIInstruction(AddressingMode.IMPLICIT));
 
 		// CLV
-		instructionMap.put(0xB8, new CLVInstruction(AddressingMode.IMPLICIT));
+		register(0xB8, new CLVInstruction(AddressingMode.IMPLICIT));
 
 		// CMP
-		instructionMap.put(0xC9, new CMPInstruction(AddressingMode.IMMEDIATE));
-		instructionMap.put(0xC5, new CMPInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0xD5, new CMPInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0xCD, new CMPInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0xDD, new CMPInstruction(AddressingMode.ABSOLUTE_X));
-		instructionMap.put(0xD9, new CMPInstruction(AddressingMode.ABSOLUTE_Y));
-		instructionMap.put(0xC1, new CMPInstruction(AddressingMode.INDIRECT_X));
-		instructionMap.put(0xD1, new CMPInstruction(AddressingMode.INDIRECT_Y));
+		register(0xC9, new CMPInstruction(AddressingMode.IMMEDIATE));
+		register(0xC5, new CMPInstruction(AddressingMode.ZEROPAGE));
+		register(0xD5, new CMPInstruction(AddressingMode.ZEROPAGE_X));
+		register(0xCD, new CMPInstruction(AddressingMode.ABSOLUTE));
+		register(0xDD, new CMPInstruction(AddressingMode.ABSOLUTE_X));
+		register(0xD9, new CMPInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0xC1, new CMPInstruction(AddressingMode.INDIRECT_X));
+		register(0xD1, new CMPInstruction(AddressingMode.INDIRECT_Y));
 
 		// CPX
-		instructionMap.put(0xE0, new CPXInstruction(AddressingMode.IMMEDIATE));
-		instructionMap.put(0xE4, new CPXInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0xEC, new CPXInstruction(AddressingMode.ABSOLUTE));
+		register(0xE0, new CPXInstruction(AddressingMode.IMMEDIATE));
+		register(0xE4, new CPXInstruction(AddressingMode.ZEROPAGE));
+		register(0xEC, new CPXInstruction(AddressingMode.ABSOLUTE));
 
 		// CPY
-		instructionMap.put(0xC0, new CPYInstruction(AddressingMode.IMMEDIATE));
-		instructionMap.put(0xC4, new CPYInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0xCC, new CPYInstruction(AddressingMode.ABSOLUTE));
+		register(0xC0, new CPYInstruction(AddressingMode.IMMEDIATE));
+		register(0xC4, new CPYInstruction(AddressingMode.ZEROPAGE));
+		register(0xCC, new CPYInstruction(AddressingMode.ABSOLUTE));
 
 		// DEC
-		instructionMap.put(0xC6, new DECInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0xD6, new DECInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0xCE, new DECInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0xDE, new DECInstruction(AddressingMode.ABSOLUTE_X));
+		register(0xC6, new DECInstruction(AddressingMode.ZEROPAGE));
+		register(0xD6, new DECInstruction(AddressingMode.ZEROPAGE_X));
+		register(0xCE, new DECInstruction(AddressingMode.ABSOLUTE));
+		register(0xDE, new DECInstruction(AddressingMode.ABSOLUTE_X));
 
 		// DEX
-		instructionMap.put(0xCA, new DEXInstruction(AddressingMode.IMPLICIT));
+		register(0xCA, new DEXInstruction(AddressingMode.IMPLICIT));
 
 		// DEY
-		instructionMap.put(0x88, new DEYInstruction(AddressingMode.IMPLICIT));
+		register(0x88, new DEYInstruction(AddressingMode.IMPLICIT));
 
 		// EOR
-		instructionMap.put(0x49, new EORInstruction(AddressingMode.IMMEDIATE));
-		instructionMap.put(0x45, new EORInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0x55, new EORInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0x4D, new EORInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0x5D, new EORInstruction(AddressingMode.ABSOLUTE_X));
-		instructionMap.put(0x59, new EORInstruction(AddressingMode.ABSOLUTE_Y));
-		instructionMap.put(0x41, new EORInstruction(AddressingMode.INDIRECT_X));
-		instructionMap.put(0x51, new EORInstruction(AddressingMode.INDIRECT_Y));
+		register(0x49, new EORInstruction(AddressingMode.IMMEDIATE));
+		register(0x45, new EORInstruction(AddressingMode.ZEROPAGE));
+		register(0x55, new EORInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x4D, new EORInstruction(AddressingMode.ABSOLUTE));
+		register(0x5D, new EORInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x59, new EORInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0x41, new EORInstruction(AddressingMode.INDIRECT_X));
+		register(0x51, new EORInstruction(AddressingMode.INDIRECT_Y));
 
 		// INC
-		instructionMap.put(0xE6, new INCInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0xF6, new INCInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0xEE, new INCInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0xFE, new INCInstruction(AddressingMode.ABSOLUTE_X));
+		register(0xE6, new INCInstruction(AddressingMode.ZEROPAGE));
+		register(0xF6, new INCInstruction(AddressingMode.ZEROPAGE_X));
+		register(0xEE, new INCInstruction(AddressingMode.ABSOLUTE));
+		register(0xFE, new INCInstruction(AddressingMode.ABSOLUTE_X));
 
 		// INX
-		instructionMap.put(0xE8, new INXInstruction(AddressingMode.IMPLICIT));
+		register(0xE8, new INXInstruction(AddressingMode.IMPLICIT));
 
 		// INY
-		instructionMap.put(0xC8, new INYInstruction(AddressingMode.IMPLICIT));
+		register(0xC8, new INYInstruction(AddressingMode.IMPLICIT));
 
 		// JMP
-		instructionMap.put(0x4C, new JMPInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0x6C, new JMPInstruction(AddressingMode.INDIRECT));
+		register(0x4C, new JMPInstruction(AddressingMode.ABSOLUTE));
+		register(0x6C, new JMPInstruction(AddressingMode.INDIRECT));
 
 		// JSR
-		instructionMap.put(0x20, new JSRInstruction(AddressingMode.ABSOLUTE));
+		register(0x20, new JSRInstruction(AddressingMode.ABSOLUTE));
 
 		// LDA
-		instructionMap.put(0xA9, new LDAInstruction(AddressingMode.IMMEDIATE));
-		instructionMap.put(0xA5, new LDAInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0xB5, new LDAInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0xAD, new LDAInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0xBD, new LDAInstruction(AddressingMode.ABSOLUTE_X));
-		instructionMap.put(0xB9, new LDAInstruction(AddressingMode.ABSOLUTE_Y));
-		instructionMap.put(0xA1, new LDAInstruction(AddressingMode.INDIRECT_X));
-		instructionMap.put(0xB1, new LDAInstruction(AddressingMode.INDIRECT_Y));
+		register(0xA9, new LDAInstruction(AddressingMode.IMMEDIATE));
+		register(0xA5, new LDAInstruction(AddressingMode.ZEROPAGE));
+		register(0xB5, new LDAInstruction(AddressingMode.ZEROPAGE_X));
+		register(0xAD, new LDAInstruction(AddressingMode.ABSOLUTE));
+		register(0xBD, new LDAInstruction(AddressingMode.ABSOLUTE_X));
+		register(0xB9, new LDAInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0xA1, new LDAInstruction(AddressingMode.INDIRECT_X));
+		register(0xB1, new LDAInstruction(AddressingMode.INDIRECT_Y));
 
 		// LDX
-		instructionMap.put(0xA2, new LDXInstruction(AddressingMode.IMMEDIATE));
-		instructionMap.put(0xA6, new LDXInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0xB6, new LDXInstruction(AddressingMode.ZEROPAGE_Y));
-		instructionMap.put(0xAE, new LDXInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0xBE, new LDXInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0xA2, new LDXInstruction(AddressingMode.IMMEDIATE));
+		register(0xA6, new LDXInstruction(AddressingMode.ZEROPAGE));
+		register(0xB6, new LDXInstruction(AddressingMode.ZEROPAGE_Y));
+		register(0xAE, new LDXInstruction(AddressingMode.ABSOLUTE));
+		register(0xBE, new LDXInstruction(AddressingMode.ABSOLUTE_Y));
 
 		// LDY
-		instructionMap.put(0xA0, new LDYInstruction(AddressingMode.IMMEDIATE));
-		instructionMap.put(0xA4, new LDYInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0xB4, new LDYInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0xAC, new LDYInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0xBC, new LDYInstruction(AddressingMode.ABSOLUTE_X));
+		register(0xA0, new LDYInstruction(AddressingMode.IMMEDIATE));
+		register(0xA4, new LDYInstruction(AddressingMode.ZEROPAGE));
+		register(0xB4, new LDYInstruction(AddressingMode.ZEROPAGE_X));
+		register(0xAC, new LDYInstruction(AddressingMode.ABSOLUTE));
+		register(0xBC, new LDYInstruction(AddressingMode.ABSOLUTE_X));
 
 		// LSR
-		instructionMap.put(0x4A, new LSRInstruction(AddressingMode.ACCUMULATOR));
-		instructionMap.put(0x46, new LSRInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0x56, new LSRInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0x4E, new LSRInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0x5E, new LSRInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x4A, new LSRInstruction(AddressingMode.ACCUMULATOR));
+		register(0x46, new LSRInstruction(AddressingMode.ZEROPAGE));
+		register(0x56, new LSRInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x4E, new LSRInstruction(AddressingMode.ABSOLUTE));
+		register(0x5E, new LSRInstruction(AddressingMode.ABSOLUTE_X));
 
 		// NOP
-		instructionMap.put(0xEA, new NOPInstruction(AddressingMode.IMPLICIT));
+		register(0xEA, new NOPInstruction(AddressingMode.IMPLICIT));
 
 		// ORA
-		instructionMap.put(0x09, new ORAInstruction(AddressingMode.IMMEDIATE));
-		instructionMap.put(0x05, new ORAInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0x15, new ORAInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0x0D, new ORAInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0x1D, new ORAInstruction(AddressingMode.ABSOLUTE_X));
-		instructionMap.put(0x19, new ORAInstruction(AddressingMode.ABSOLUTE_Y));
-		instructionMap.put(0x01, new ORAInstruction(AddressingMode.INDIRECT_X));
-		instructionMap.put(0x11, new ORAInstruction(AddressingMode.INDIRECT_Y));
+		register(0x09, new ORAInstruction(AddressingMode.IMMEDIATE));
+		register(0x05, new ORAInstruction(AddressingMode.ZEROPAGE));
+		register(0x15, new ORAInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x0D, new ORAInstruction(AddressingMode.ABSOLUTE));
+		register(0x1D, new ORAInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x19, new ORAInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0x01, new ORAInstruction(AddressingMode.INDIRECT_X));
+		register(0x11, new ORAInstruction(AddressingMode.INDIRECT_Y));
 
 		// PHA
-		instructionMap.put(0x48, new PHAInstruction(AddressingMode.IMPLICIT));
+		register(0x48, new PHAInstruction(AddressingMode.IMPLICIT));
 
 		// PHP
-		instructionMap.put(0x08, new PHPInstruction(AddressingMode.IMPLICIT));
+		register(0x08, new PHPInstruction(AddressingMode.IMPLICIT));
 
 		// PLA
-		instructionMap.put(0x68, new PLAInstruction(AddressingMode.IMPLICIT));
+		register(0x68, new PLAInstruction(AddressingMode.IMPLICIT));
 
 		// PLP
-		instructionMap.put(0x28, new PLPInstruction(AddressingMode.IMPLICIT));
+		register(0x28, new PLPInstruction(AddressingMode.IMPLICIT));
 
 		// ROL
-		instructionMap.put(0x2A, new ROLInstruction(AddressingMode.ACCUMULATOR));
-		instructionMap.put(0x26, new ROLInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0x36, new ROLInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0x2E, new ROLInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0x3E, new ROLInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x2A, new ROLInstruction(AddressingMode.ACCUMULATOR));
+		register(0x26, new ROLInstruction(AddressingMode.ZEROPAGE));
+		register(0x36, new ROLInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x2E, new ROLInstruction(AddressingMode.ABSOLUTE));
+		register(0x3E, new ROLInstruction(AddressingMode.ABSOLUTE_X));
 
 		// ROR
-		instructionMap.put(0x6A, new RORInstruction(AddressingMode.ACCUMULATOR));
-		instructionMap.put(0x66, new RORInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0x76, new RORInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0x6E, new RORInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0x7E, new RORInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x6A, new RORInstruction(AddressingMode.ACCUMULATOR));
+		register(0x66, new RORInstruction(AddressingMode.ZEROPAGE));
+		register(0x76, new RORInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x6E, new RORInstruction(AddressingMode.ABSOLUTE));
+		register(0x7E, new RORInstruction(AddressingMode.ABSOLUTE_X));
 
 		// RTI
-		instructionMap.put(0x40, new RTIInstruction(AddressingMode.IMPLICIT));
+		register(0x40, new RTIInstruction(AddressingMode.IMPLICIT));
 
 		// RTS
-		instructionMap.put(0x60, new RTSInstruction(AddressingMode.IMPLICIT));
+		register(0x60, new RTSInstruction(AddressingMode.IMPLICIT));
 
 		// SBC
-		instructionMap.put(0xE9, new SBCInstruction(AddressingMode.IMMEDIATE));
-		instructionMap.put(0xE5, new SBCInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0xF5, new SBCInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0xED, new SBCInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0xFD, new SBCInstruction(AddressingMode.ABSOLUTE_X));
-		instructionMap.put(0xF9, new SBCInstruction(AddressingMode.ABSOLUTE_Y));
-		instructionMap.put(0xE1, new SBCInstruction(AddressingMode.INDIRECT_X));
-		instructionMap.put(0xF1, new SBCInstruction(AddressingMode.INDIRECT_Y));
+		register(0xE9, new SBCInstruction(AddressingMode.IMMEDIATE));
+		register(0xE5, new SBCInstruction(AddressingMode.ZEROPAGE));
+		register(0xF5, new SBCInstruction(AddressingMode.ZEROPAGE_X));
+		register(0xED, new SBCInstruction(AddressingMode.ABSOLUTE));
+		register(0xFD, new SBCInstruction(AddressingMode.ABSOLUTE_X));
+		register(0xF9, new SBCInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0xE1, new SBCInstruction(AddressingMode.INDIRECT_X));
+		register(0xF1, new SBCInstruction(AddressingMode.INDIRECT_Y));
 
 		// SEC
-		instructionMap.put(0x38, new SECInstruction(AddressingMode.IMPLICIT));
+		register(0x38, new SECInstruction(AddressingMode.IMPLICIT));
 
 		// SED
-		instructionMap.put(0xF8, new SEDInstruction(AddressingMode.IMPLICIT));
+		register(0xF8, new SEDInstruction(AddressingMode.IMPLICIT));
 
 		// SEI
-		instructionMap.put(0x78, new SEIInstruction(AddressingMode.IMPLICIT));
+		register(0x78, new SEIInstruction(AddressingMode.IMPLICIT));
 
 		// STA
-		instructionMap.put(0x85, new STAInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0x95, new STAInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0x8D, new STAInstruction(AddressingMode.ABSOLUTE));
-		instructionMap.put(0x9D, new STAInstruction(AddressingMode.ABSOLUTE_X));
-		instructionMap.put(0x99, new STAInstruction(AddressingMode.ABSOLUTE_Y));
-		instructionMap.put(0x81, new STAInstruction(AddressingMode.INDIRECT_X));
-		instructionMap.put(0x91, new STAInstruction(AddressingMode.INDIRECT_Y));
+		register(0x85, new STAInstruction(AddressingMode.ZEROPAGE));
+		register(0x95, new STAInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x8D, new STAInstruction(AddressingMode.ABSOLUTE));
+		register(0x9D, new STAInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x99, new STAInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0x81, new STAInstruction(AddressingMode.INDIRECT_X));
+		register(0x91, new STAInstruction(AddressingMode.INDIRECT_Y));
 
 		// STX
-		instructionMap.put(0x86, new STXInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0x96, new STXInstruction(AddressingMode.ZEROPAGE_Y));
-		instructionMap.put(0x8E, new STXInstruction(AddressingMode.ABSOLUTE));
+		register(0x86, new STXInstruction(AddressingMode.ZEROPAGE));
+		register(0x96, new STXInstruction(AddressingMode.ZEROPAGE_Y));
+		register(0x8E, new STXInstruction(AddressingMode.ABSOLUTE));
 
 		// STY
-		instructionMap.put(0x84, new STYInstruction(AddressingMode.ZEROPAGE));
-		instructionMap.put(0x94, new STYInstruction(AddressingMode.ZEROPAGE_X));
-		instructionMap.put(0x8C, new STYInstruction(AddressingMode.ABSOLUTE));
+		register(0x84, new STYInstruction(AddressingMode.ZEROPAGE));
+		register(0x94, new STYInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x8C, new STYInstruction(AddressingMode.ABSOLUTE));
 
 		// TAX
-		instructionMap.put(0xAA, new TAXInstruction(AddressingMode.IMPLICIT));
+		register(0xAA, new TAXInstruction(AddressingMode.IMPLICIT));
 
 		// TAY
-		instructionMap.put(0xA8, new TAYInstruction(AddressingMode.IMPLICIT));
+		register(0xA8, new TAYInstruction(AddressingMode.IMPLICIT));
 
 		// TSX
-		instructionMap.put(0xBA, new TSXInstruction(AddressingMode.IMPLICIT));
+		register(0xBA, new TSXInstruction(AddressingMode.IMPLICIT));
 
 		// TXA
-		instructionMap.put(0x8A, new TXAInstruction(AddressingMode.IMPLICIT));
+		register(0x8A, new TXAInstruction(AddressingMode.IMPLICIT));
 
 		// TXS
-		instructionMap.put(0x9A, new TXSInstruction(AddressingMode.IMPLICIT));
+		register(0x9A, new TXSInstruction(AddressingMode.IMPLICIT));
 
 		// TYA
-		instructionMap.put(0x98, new TYAInstruction(AddressingMode.IMPLICIT));
+		register(0x98, new TYAInstruction(AddressingMode.IMPLICIT));
+
+		// Stable unofficial opcodes (see "CPU unofficial opcodes" on the NESdev wiki)
+		// ALR
+		register(0x4B, new ALRInstruction(AddressingMode.IMMEDIATE));
+
+		// ANC
+		register(0x0B, new ANCInstruction(AddressingMode.IMMEDIATE));
+		register(0x2B, new ANCInstruction(AddressingMode.IMMEDIATE));
+
+		// ARR
+		register(0x6B, new ARRInstruction(AddressingMode.IMMEDIATE));
+
+		// AXS
+		register(0xCB, new AXSInstruction(AddressingMode.IMMEDIATE));
+
+		// DCP
+		register(0xC7, new DCPInstruction(AddressingMode.ZEROPAGE));
+		register(0xD7, new DCPInstruction(AddressingMode.ZEROPAGE_X));
+		register(0xCF, new DCPInstruction(AddressingMode.ABSOLUTE));
+		register(0xDF, new DCPInstruction(AddressingMode.ABSOLUTE_X));
+		register(0xDB, new DCPInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0xC3, new DCPInstruction(AddressingMode.INDIRECT_X));
+		register(0xD3, new DCPInstruction(AddressingMode.INDIRECT_Y));
+
+		// ISC
+		register(0xE7, new ISCInstruction(AddressingMode.ZEROPAGE));
+		register(0xF7, new ISCInstruction(AddressingMode.ZEROPAGE_X));
+		register(0xEF, new ISCInstruction(AddressingMode.ABSOLUTE));
+		register(0xFF, new ISCInstruction(AddressingMode.ABSOLUTE_X));
+		register(0xFB, new ISCInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0xE3, new ISCInstruction(AddressingMode.INDIRECT_X));
+		register(0xF3, new ISCInstruction(AddressingMode.INDIRECT_Y));
+
+		// LAX
+		register(0xA7, new LAXInstruction(AddressingMode.ZEROPAGE));
+		register(0xB7, new LAXInstruction(AddressingMode.ZEROPAGE_Y));
+		register(0xAF, new LAXInstruction(AddressingMode.ABSOLUTE));
+		register(0xBF, new LAXInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0xA3, new LAXInstruction(AddressingMode.INDIRECT_X));
+		register(0xB3, new LAXInstruction(AddressingMode.INDIRECT_Y));
+
+		// NOP
+		register(0x1A, new NOPInstruction(AddressingMode.IMPLICIT));
+		register(0x3A, new NOPInstruction(AddressingMode.IMPLICIT));
+		register(0x5A, new NOPInstruction(AddressingMode.IMPLICIT));
+		register(0x7A, new NOPInstruction(AddressingMode.IMPLICIT));
+		register(0xDA, new NOPInstruction(AddressingMode.IMPLICIT));
+		register(0xFA, new NOPInstruction(AddressingMode.IMPLICIT));
+		register(0x80, new NOPInstruction(AddressingMode.IMMEDIATE));
+		register(0x82, new NOPInstruction(AddressingMode.IMMEDIATE));
+		register(0x89, new NOPInstruction(AddressingMode.IMMEDIATE));
+		register(0xC2, new NOPInstruction(AddressingMode.IMMEDIATE));
+		register(0xE2, new NOPInstruction(AddressingMode.IMMEDIATE));
+		register(0x04, new NOPInstruction(AddressingMode.ZEROPAGE));
+		register(0x44, new NOPInstruction(AddressingMode.ZEROPAGE));
+		register(0x64, new NOPInstruction(AddressingMode.ZEROPAGE));
+		register(0x14, new NOPInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x34, new NOPInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x54, new NOPInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x74, new NOPInstruction(AddressingMode.ZEROPAGE_X));
+		register(0xD4, new NOPInstruction(AddressingMode.ZEROPAGE_X));
+		register(0xF4, new NOPInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x0C, new NOPInstruction(AddressingMode.ABSOLUTE));
+		register(0x1C, new NOPInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x3C, new NOPInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x5C, new NOPInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x7C, new NOPInstruction(AddressingMode.ABSOLUTE_X));
+		register(0xDC, new NOPInstruction(AddressingMode.ABSOLUTE_X));
+		register(0xFC, new NOPInstruction(AddressingMode.ABSOLUTE_X));
+
+		// RLA
+		register(0x27, new RLAInstruction(AddressingMode.ZEROPAGE));
+		register(0x37, new RLAInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x2F, new RLAInstruction(AddressingMode.ABSOLUTE));
+		register(0x3F, new RLAInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x3B, new RLAInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0x23, new RLAInstruction(AddressingMode.INDIRECT_X));
+		register(0x33, new RLAInstruction(AddressingMode.INDIRECT_Y));
+
+		// RRA
+		register(0x67, new RRAInstruction(AddressingMode.ZEROPAGE));
+		register(0x77, new RRAInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x6F, new RRAInstruction(AddressingMode.ABSOLUTE));
+		register(0x7F, new RRAInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x7B, new RRAInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0x63, new RRAInstruction(AddressingMode.INDIRECT_X));
+		register(0x73, new RRAInstruction(AddressingMode.INDIRECT_Y));
+
+		// SAX
+		register(0x87, new SAXInstruction(AddressingMode.ZEROPAGE));
+		register(0x97, new SAXInstruction(AddressingMode.ZEROPAGE_Y));
+		register(0x8F, new SAXInstruction(AddressingMode.ABSOLUTE));
+		register(0x83, new SAXInstruction(AddressingMode.INDIRECT_X));
+
+		// SBC (same as 0xE9)
+		register(0xEB, new SBCInstruction(AddressingMode.IMMEDIATE));
+
+		// SLO
+		register(0x07, new SLOInstruction(AddressingMode.ZEROPAGE));
+		register(0x17, new SLOInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x0F, new SLOInstruction(AddressingMode.ABSOLUTE));
+		register(0x1F, new SLOInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x1B, new SLOInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0x03, new SLOInstruction(AddressingMode.INDIRECT_X));
+		register(0x13, new SLOInstruction(AddressingMode.INDIRECT_Y));
+
+		// SRE
+		register(0x47, new SREInstruction(AddressingMode.ZEROPAGE));
+		register(0x57, new SREInstruction(AddressingMode.ZEROPAGE_X));
+		register(0x4F, new SREInstruction(AddressingMode.ABSOLUTE));
+		register(0x5F, new SREInstruction(AddressingMode.ABSOLUTE_X));
+		register(0x5B, new SREInstruction(AddressingMode.ABSOLUTE_Y));
+		register(0x43, new SREInstruction(AddressingMode.INDIRECT_X));
+		register(0x53, new SREInstruction(AddressingMode.INDIRECT_Y));
+
+		// Other opcodes are not emulated: the CPU halts on them
+		registerUnsupported(0x02, "JAM (freezes the CPU)");
+		registerUnsupported(0x12, "JAM (freezes the CPU)");
+		registerUnsupported(0x22, "JAM (freezes the CPU)");
+		registerUnsupported(0x32, "JAM (freezes the CPU)");
+		registerUnsupported(0x42, "JAM (freezes the CPU)");
+		registerUnsupported(0x52, "JAM (freezes the CPU)");
+		registerUnsupported(0x62, "JAM (freezes the CPU)");
+		registerUnsupported(0x72, "JAM (freezes the CPU)");
+		registerUnsupported(0x92, "JAM (freezes the CPU)");
+		registerUnsupported(0xB2, "JAM (freezes the CPU)");
+		registerUnsupported(0xD2, "JAM (freezes the CPU)");
+		registerUnsupported(0xF2, "JAM (freezes the CPU)");
+		registerUnsupported(0x8B, "XAA #i (unstable)");
+		registerUnsupported(0xAB, "LXA #i (unstable)");
+		registerUnsupported(0x93, "AHX (d),Y (unstable)");
+		registerUnsupported(0x9F, "AHX a,Y (unstable)");
+		registerUnsupported(0x9B, "TAS a,Y (unstable)");
+		registerUnsupported(0x9C, "SHY a,X (unstable)");
+		registerUnsupported(0x9E, "SHX a,Y (unstable)");
+		registerUnsupported(0xBB, "LAS a,Y (unstable)");
+	}
+
+	/**
+	 * Registers the instruction in the opcode table (and in the map). Its cycles
+	 * are checked here, once, so that they never fail during the execution
+	 * 
+	 * @param opcode      the instruction opcode
+	 * @param instruction the instruction (without constant)
+	 */
+	private void register(int opcode, Instruction instruction) {
+		instruction.setOpcode(opcode);
+		instructionTable[opcode] = instruction;
+		byteNumberTable[opcode] = instruction.getByteNumber();
+		instructionMap.put(opcode, instruction);
+
+		try {
+			cycleTable[opcode] = instruction.getCycles();
+		} catch (InstructionNotSupportedException e) {
+			throw new IllegalStateException("No cycles for opcode 0x%02X".formatted(opcode), e);
+		}
+
+		switch (instruction.getMode()) {
+		case RELATIVE:
+			// Branch taken (and new page)
+			penaltyMaskTable[opcode] = -1;
+			break;
+
+		case ABSOLUTE_X:
+		case ABSOLUTE_Y:
+		case INDIRECT_Y:
+			penaltyMaskTable[opcode] = instruction.hasPageCrossedPenalty() ? -1 : 0;
+			break;
+
+		default:
+			penaltyMaskTable[opcode] = 0;
+			break;
+		}
+	}
+
+	/**
+	 * Registers an opcode that is not emulated with a short description
+	 * 
+	 * @param opcode      the instruction opcode
+	 * @param description what the opcode is and why it is not emulated
+	 */
+	private void registerUnsupported(int opcode, String description) {
+		unsupportedTable[opcode] = description;
 	}
 
 	/**
@@ -338,14 +569,67 @@ public class InstructionInfo {
 	 *         or -1 if null
 	 */
 	public int getByteNumberFromOpcode(int opcode) {
-		Instruction instruction = instructionMap.get(opcode);
-		if (instruction != null) {
-			return instruction.getByteNumber();
-		}
+		return byteNumberTable[opcode & 0xFF];
+	}
+
+	/**
+	 * Returns the base number of cycles of an opcode, without penalties
+	 * 
+	 * @param opcode the instruction opcode
+	 * @return the base number of cycles, or 0 if the opcode is unknown
+	 */
+	public int getCycles(int opcode) {
+		return cycleTable[opcode & 0xFF];
+	}
 
-		return -1;
+	/**
+	 * Returns the number of cycles taken by an execution of an opcode, adding the
+	 * penalties returned by {@link Instruction#execute()} if the opcode pays them
+	 * 
+	 * @param opcode      the instruction opcode
+	 * @param extraCycles the value returned by {@link Instruction#execute()}
+	 * @return the number of cycles of the execution
+	 */
+	public int getCycles(int opcode, int extraCycles) {
+		opcode &= 0xFF;
+		return cycleTable[opcode] + (extraCycles & penaltyMaskTable[opcode]);
 	}
 
+	/**
+	 * Returns the description of an opcode that is not emulated
+	 * 
+	 * @param opcode the instruction opcode
+	 * @return the description, or null if the opcode is emulated
+	 */
+	public String getUnsupportedDescription(int opcode) {
+		return unsupportedTable[opcode & 0xFF];
+	}
+
+	/**
+	 * Returns the instruction (without constant) associated to the opcode
+	 * 
+	 * @param opcode the instruction opcode
+	 * @return the instruction, or null if the opcode is unknown
+	 */
+	public Instruction getInstruction(int opcode) {
+		return instructionTable[opcode & 0xFF];
+	}
+
+	/**
+	 * Returns the opcode table, indexed by the opcode. Do not modify it!
+	 * 
+	 * @return the opcode table
+	 */
+	public Instruction[] getInstructionTable() {
+		return instructionTable;
+	}
+
+	/**
+	 * Returns the instructions as a map. This is kept for tools and tests, use
+	 * {@link #getInstruction(int)} when decoding
+	 * 
+	 * @return the instruction map
+	 */
 	public HashMap<Integer, Instruction> getInstructionMap() {
 		return instructionMap;
 	}
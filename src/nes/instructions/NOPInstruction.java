@@ -13,16 +13,34 @@ public class NOPInstruction extends Instruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
-		// Nothing, this is NOP
+	public int execute() {
+		// Nothing, this is NOP. Unofficial NOPs with an operand still read it
+		int resolved = resolveAddress();
+		fetchOperand2(resolved);
+
+		return pageCrossed(resolved);
+	}
+
+	@Override
+	protected boolean hasPageCrossedPenalty() {
+		return true;
 	}
 
 	@Override
 	public int getCycles() throws InstructionNotSupportedException {
 		switch (getMode()) {
 		case IMPLICIT:
+		case IMMEDIATE:
 			return 2;
 
+		case ZEROPAGE:
+			return 3;
+
+		case ZEROPAGE_X:
+		case ABSOLUTE:
+		case ABSOLUTE_X:
+			return 4;
+
 		default:
 			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
 		}
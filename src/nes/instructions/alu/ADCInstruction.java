@@ -14,18 +14,21 @@ public class ADCInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// A = A + M + C
-		int result = operand1 + operand2 + cpu.cpuInfo.C;
+		int entry = AluTables.adc(operand1, operand2, cpu.cpuInfo.C);
 
 		// Register A update
-		cpu.cpuInfo.A = result & 0xFF;
+		cpu.cpuInfo.A = entry & AluTables.RESULT_MASK;
 
 		// Flags update
-		updateFlags(result, true);
+		updateTableFlags(entry, true);
+		updateV(entry);
+	}
 
-		// Gym for V
-		updateV(operand1, operand2, result & 0xFF);
+	@Override
+	protected boolean hasPageCrossedPenalty() {
+		return true;
 	}
 
 	@Override
@@ -43,13 +46,13 @@ public class ADCInstruction extends AluInstruction {
 
 		case ABSOLUTE_X:
 		case ABSOLUTE_Y:
-			return 4 + pageCrossed;
+			return 4;
 
 		case INDIRECT_X:
 			return 6;
 
 		case INDIRECT_Y:
-			return 5 + pageCrossed;
+			return 5;
 
 		default:
 			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
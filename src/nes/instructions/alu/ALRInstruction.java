@@ -0,0 +1,51 @@
+package instructions.alu;
+
+import exceptions.InstructionNotSupportedException;
+import instructions.AddressingMode;
+
+/**
+ * Unofficial instruction: AND then LSR on A
+ */
+public class ALRInstruction extends AluInstruction {
+
+	public ALRInstruction(AddressingMode mode) {
+		super(mode);
+	}
+
+	public ALRInstruction(AddressingMode mode, int constant) {
+		super(mode, constant);
+	}
+
+	@Override
+	protected void execute(int operand1, int operand2, int address) {
+		// A = (A & M) >> 1
+		int entry = AluTables.lsr(operand1 & operand2);
+
+		// Register A update
+		cpu.cpuInfo.A = entry & AluTables.RESULT_MASK;
+
+		// Flags update
+		updateTableFlags(entry, true);
+	}
+
+	@Override
+	public int getCycles() throws InstructionNotSupportedException {
+		switch (getMode()) {
+		case IMMEDIATE:
+			return 2;
+
+		default:
+			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "ALR";
+	}
+
+	@Override
+	public AluInstruction newInstruction(int constant) {
+		return new ALRInstruction(getMode(), constant);
+	}
+}
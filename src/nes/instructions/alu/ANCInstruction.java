@@ -0,0 +1,52 @@
+package instructions.alu;
+
+import exceptions.InstructionNotSupportedException;
+import instructions.AddressingMode;
+
+/**
+ * Unofficial instruction: AND then C is set like N
+ */
+public class ANCInstruction extends AluInstruction {
+
+	public ANCInstruction(AddressingMode mode) {
+		super(mode);
+	}
+
+	public ANCInstruction(AddressingMode mode, int constant) {
+		super(mode, constant);
+	}
+
+	@Override
+	protected void execute(int operand1, int operand2, int address) {
+		// A = A & M
+		int result = operand1 & operand2;
+
+		// Register A update
+		cpu.cpuInfo.A = result;
+
+		// Flags update, C is bit 7 like N
+		updateFlags(result, false);
+		cpu.cpuInfo.C = result >> 7;
+	}
+
+	@Override
+	public int getCycles() throws InstructionNotSupportedException {
+		switch (getMode()) {
+		case IMMEDIATE:
+			return 2;
+
+		default:
+			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "ANC";
+	}
+
+	@Override
+	public AluInstruction newInstruction(int constant) {
+		return new ANCInstruction(getMode(), constant);
+	}
+}
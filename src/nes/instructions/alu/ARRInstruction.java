@@ -0,0 +1,53 @@
+package instructions.alu;
+
+import exceptions.InstructionNotSupportedException;
+import instructions.AddressingMode;
+
+/**
+ * Unofficial instruction: AND then ROR on A, with C and V taken from the result
+ */
+public class ARRInstruction extends AluInstruction {
+
+	public ARRInstruction(AddressingMode mode) {
+		super(mode);
+	}
+
+	public ARRInstruction(AddressingMode mode, int constant) {
+		super(mode, constant);
+	}
+
+	@Override
+	protected void execute(int operand1, int operand2, int address) {
+		// A = (A & M) >> 1 with C in bit 7
+		int result = (operand1 & operand2) >> 1 | cpu.cpuInfo.C << 7;
+
+		// Register A update
+		cpu.cpuInfo.A = result;
+
+		// Flags update, C is bit 6 and V is bit 6 xor bit 5
+		updateFlags(result, false);
+		cpu.cpuInfo.C = (result >> 6) & 1;
+		cpu.cpuInfo.V = ((result >> 6) ^ (result >> 5)) & 1;
+	}
+
+	@Override
+	public int getCycles() throws InstructionNotSupportedException {
+		switch (getMode()) {
+		case IMMEDIATE:
+			return 2;
+
+		default:
+			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "ARR";
+	}
+
+	@Override
+	public AluInstruction newInstruction(int constant) {
+		return new ARRInstruction(getMode(), constant);
+	}
+}
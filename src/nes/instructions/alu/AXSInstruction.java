@@ -0,0 +1,52 @@
+package instructions.alu;
+
+import exceptions.InstructionNotSupportedException;
+import instructions.AddressingMode;
+
+/**
+ * Unofficial instruction: X = (A & X) - M, flags set like CMP
+ */
+public class AXSInstruction extends AluInstruction {
+
+	public AXSInstruction(AddressingMode mode) {
+		super(mode);
+	}
+
+	public AXSInstruction(AddressingMode mode, int constant) {
+		super(mode, constant);
+	}
+
+	@Override
+	protected void execute(int operand1, int operand2, int address) {
+		// X = (A & X) - M, without borrow
+		int result = (operand1 & cpu.cpuInfo.X) - operand2;
+
+		// Register X update
+		cpu.cpuInfo.X = result & 0xFF;
+
+		// Flags update
+		cpu.cpuInfo.C = 1 - (result >>> 31);
+		updateFlags(result & 0xFF, false);
+	}
+
+	@Override
+	public int getCycles() throws InstructionNotSupportedException {
+		switch (getMode()) {
+		case IMMEDIATE:
+			return 2;
+
+		default:
+			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "AXS";
+	}
+
+	@Override
+	public AluInstruction newInstruction(int constant) {
+		return new AXSInstruction(getMode(), constant);
+	}
+}
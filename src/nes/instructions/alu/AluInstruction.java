@@ -1,10 +1,8 @@
 package instructions.alu;
 
-import exceptions.InstructionNotSupportedException;
 import instructions.AddressingMode;
 import instructions.Instruction;
 
-// TODO For some ALU instructions (like ADC, SBC, etc...) wouldn't it be more efficient to do an already prepared array? Yes it is! Need to do to optimise time
 public abstract class AluInstruction extends Instruction {
 
 	public AluInstruction(AddressingMode mode) {
@@ -17,32 +15,66 @@ public abstract class AluInstruction extends Instruction {
 
 	/**
 	 * Executes the ALU instruction with the 2 inputs. Output is directly placed in
-	 * A
+	 * A, or in memory at the given address
 	 * 
 	 * @param operand1
 	 * @param operand2
+	 * @param address  the resolved address of operand2 (see
+	 *                 {@link #resolveAddress()})
 	 */
-	protected abstract void execute(int operand1, int operand2);
+	protected abstract void execute(int operand1, int operand2, int address);
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
-		int operand2 = fetchOperand2();
-		execute(cpu.cpuInfo.A, operand2);
+	public int execute() {
+		int resolved = resolveAddress();
+		int operand2 = fetchOperand2(resolved);
+		execute(cpu.cpuInfo.A, operand2, resolved);
+
+		// Only counted for instructions reading memory (see InstructionInfo)
+		return pageCrossed(resolved);
 	}
 
 	@Override
 	public abstract AluInstruction newInstruction(int constant);
 
+	/**
+	 * Updates Z and N (and C if asked) from a result in [-255; 511]. A negative
+	 * result always sets N.
+	 * 
+	 * @param result  the result of the operation
+	 * @param updateC true if C must be set when the result is greater than 255
+	 */
 	protected void updateFlags(int result, boolean updateC) {
 		if (updateC) {
-			cpu.cpuInfo.C = result > 255 ? 1 : 0;
+			cpu.cpuInfo.C = (result >> 8) & 1;
 		}
 
-		cpu.cpuInfo.Z = (result & 0xFF) == 0 ? 1 : 0;
-		cpu.cpuInfo.N = (result & 0x80) != 0 || result < 0 ? 1 : 0;
+		int flags = AluTables.nz(result);
+		cpu.cpuInfo.Z = (flags >> AluTables.Z_SHIFT) & 1;
+		cpu.cpuInfo.N = ((flags >> AluTables.N_SHIFT) & 1) | (result >>> 31);
 	}
 
-	protected void updateV(int operand1, int operand2, int result) {
-		cpu.cpuInfo.V = ((operand1 ^ result) & (operand2 ^ result) & 0x80) == 0 ? 0 : 1;
+	/**
+	 * Updates Z and N (and C if asked) from an {@link AluTables} entry
+	 * 
+	 * @param entry   the entry of the operation
+	 * @param updateC true if C must be updated
+	 */
+	protected void updateTableFlags(int entry, boolean updateC) {
+		if (updateC) {
+			cpu.cpuInfo.C = (entry >> AluTables.C_SHIFT) & 1;
+		}
+
+		cpu.cpuInfo.Z = (entry >> AluTables.Z_SHIFT) & 1;
+		cpu.cpuInfo.N = (entry >> AluTables.N_SHIFT) & 1;
+	}
+
+	/**
+	 * Updates V from an {@link AluTables} entry
+	 * 
+	 * @param entry the entry of the operation
+	 */
+	protected void updateV(int entry) {
+		cpu.cpuInfo.V = (entry >> AluTables.V_SHIFT) & 1;
 	}
 }
@@ -0,0 +1,171 @@
+package instructions.alu;
+
+/**
+ * <p>
+ * Precomputed results and flags of the ALU operations. Instead of computing
+ * the result and evaluating each flag with a condition, ALU instructions look
+ * up an entry in one of these tables.
+ * </p>
+ *
+ * <p>
+ * An entry packs the 8-bit result and the flags it produces:
+ * <ul>
+ * <li>bits 0-7 - the result (use {@link #RESULT_MASK})
+ * <li>bit 8 - the C flag (use {@link #C_SHIFT})
+ * <li>bit 9 - the V flag (use {@link #V_SHIFT})
+ * <li>bit 10 - the Z flag (use {@link #Z_SHIFT})
+ * <li>bit 11 - the N flag (use {@link #N_SHIFT})
+ * </ul>
+ * Flags that an operation does not change are always 0 in its table.
+ * </p>
+ *
+ * <p>
+ * Tables are built with the same formulas as the instructions used before, so
+ * the carry of SBC stays inverted (see {@link SBCInstruction}).
+ * </p>
+ */
+public final class AluTables {
+
+	public static final int RESULT_MASK = 0xFF;
+	public static final int C_SHIFT = 8;
+	public static final int V_SHIFT = 9;
+	public static final int Z_SHIFT = 10;
+	public static final int N_SHIFT = 11;
+
+	// Z and N of a byte
+	private static final int[] NZ_TABLE = new int[0x100];
+
+	// Indexed by C << 16 | A << 8 | M
+	private static final int[] ADC_TABLE = new int[0x20000];
+	private static final int[] SBC_TABLE = new int[0x20000];
+
+	// Indexed by the value (and C << 8 for rotations)
+	private static final int[] ASL_TABLE = new int[0x100];
+	private static final int[] LSR_TABLE = new int[0x100];
+	private static final int[] ROL_TABLE = new int[0x200];
+	private static final int[] ROR_TABLE = new int[0x200];
+
+	static {
+		for (int value = 0; value < 0x100; value++) {
+			NZ_TABLE[value] = ((value == 0 ? 1 : 0) << Z_SHIFT) | (((value & 0x80) >> 7) << N_SHIFT);
+		}
+
+		for (int C = 0; C < 2; C++) {
+			for (int A = 0; A < 0x100; A++) {
+				for (int M = 0; M < 0x100; M++) {
+					int index = C << 16 | A << 8 | M;
+
+					// A = A + M + C
+					int result = A + M + C;
+					ADC_TABLE[index] = entry(result, result > 0xFF ? 1 : 0, overflow(A, M, result));
+
+					// A = A - M - (1 - C), C is inverted
+					result = A + (0xFF - M) + C;
+					SBC_TABLE[index] = entry(result, result > 0xFF ? 0 : 1, overflow(A, 0xFF - M, result));
+				}
+			}
+		}
+
+		for (int C = 0; C < 2; C++) {
+			for (int value = 0; value < 0x100; value++) {
+				int index = C << 8 | value;
+
+				if (C == 0) {
+					ASL_TABLE[value] = entry(value << 1, value >> 7, 0);
+					LSR_TABLE[value] = entry(value >> 1, value & 0b1, 0);
+				}
+
+				ROL_TABLE[index] = entry((value << 1) | C, value >> 7, 0);
+				ROR_TABLE[index] = entry((C << 7) | (value >> 1), value & 0b1, 0);
+			}
+		}
+	}
+
+	private AluTables() {
+	}
+
+	private static int entry(int result, int C, int V) {
+		return NZ_TABLE[result & 0xFF] | (result & RESULT_MASK) | C << C_SHIFT | V << V_SHIFT;
+	}
+
+	private static int overflow(int operand1, int operand2, int result) {
+		return ((operand1 ^ result) & (operand2 ^ result) & 0x80) == 0 ? 0 : 1;
+	}
+
+	/**
+	 * Returns the Z and N flags of a byte, at {@link #Z_SHIFT} and
+	 * {@link #N_SHIFT}
+	 *
+	 * @param value the value, only its 8 lower bits are used
+	 * @return the entry of the value
+	 */
+	public static int nz(int value) {
+		return NZ_TABLE[value & 0xFF];
+	}
+
+	/**
+	 * Returns the entry of A + M + C (C, V, Z and N are set)
+	 *
+	 * @param A the accumulator
+	 * @param M the operand
+	 * @param C the carry
+	 * @return the entry of the addition
+	 */
+	public static int adc(int A, int M, int C) {
+		return ADC_TABLE[C << 16 | A << 8 | M];
+	}
+
+	/**
+	 * Returns the entry of A - M - (1 - C) (C, V, Z and N are set)
+	 *
+	 * @param A the accumulator
+	 * @param M the operand
+	 * @param C the carry
+	 * @return the entry of the subtraction
+	 */
+	public static int sbc(int A, int M, int C) {
+		return SBC_TABLE[C << 16 | A << 8 | M];
+	}
+
+	/**
+	 * Returns the entry of value << 1 (C, Z and N are set)
+	 *
+	 * @param value the value to shift
+	 * @return the entry of the shift
+	 */
+	public static int asl(int value) {
+		return ASL_TABLE[value];
+	}
+
+	/**
+	 * Returns the entry of value >> 1 (C, Z and N are set)
+	 *
+	 * @param value the value to shift
+	 * @return the entry of the shift
+	 */
+	public static int lsr(int value) {
+		return LSR_TABLE[value];
+	}
+
+	/**
+	 * Returns the entry of (value << 1) | C (C, Z and N are set)
+	 *
+	 * @param value the value to rotate
+	 * @param C     the carry
+	 * @return the entry of the rotation
+	 */
+	public static int rol(int value, int C) {
+		return ROL_TABLE[C << 8 | value];
+	}
+
+	/**
+	 * Returns the entry of (C << 7) | (value >> 1) (C, Z and N are set)
+	 *
+	 * @param value the value to rotate
+	 * @param C     the carry
+	 * @return the entry of the rotation
+	 */
+	public static int ror(int value, int C) {
+		return ROR_TABLE[C << 8 | value];
+	}
+}
@@ -14,7 +14,7 @@ public class BITInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// A = A & M
 		int result = operand1 & operand2;
 
@@ -14,15 +14,20 @@ public class CMPInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// A - M
 		int result = operand1 - operand2;
 		
 		// Flag update
-		cpu.cpuInfo.C = result >= 0 ? 1 : 0;
+		cpu.cpuInfo.C = 1 - (result >>> 31);
 		updateFlags(result, false);
 	}
 
+	@Override
+	protected boolean hasPageCrossedPenalty() {
+		return true;
+	}
+
 	@Override
 	public int getCycles() throws InstructionNotSupportedException {
 		switch (getMode()) {
@@ -38,13 +43,13 @@ public class CMPInstruction extends AluInstruction {
 		
 		case ABSOLUTE_X:
 		case ABSOLUTE_Y:
-			return 4 + pageCrossed;
+			return 4;
 		
 		case INDIRECT_X:
 			return 6;
 			
 		case INDIRECT_Y:
-			return 5 + pageCrossed;
+			return 5;
 
 		default:
 			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
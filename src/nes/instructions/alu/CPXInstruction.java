@@ -14,12 +14,12 @@ public class CPXInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// X - M
 		int result = cpu.cpuInfo.X - operand2;
 		
 		// Flag update
-		cpu.cpuInfo.C = result >= 0 ? 1 : 0;
+		cpu.cpuInfo.C = 1 - (result >>> 31);
 		updateFlags(result, false);
 	}
 
@@ -14,12 +14,12 @@ public class CPYInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// Y - M
 		int result = cpu.cpuInfo.Y - operand2;
 		
 		// Flag update
-		cpu.cpuInfo.C = result >= 0 ? 1 : 0;
+		cpu.cpuInfo.C = 1 - (result >>> 31);
 		updateFlags(result, false);
 	}
 
@@ -42,7 +42,7 @@ public class CPYInstruction extends AluInstruction {
 
 	@Override
 	public String getName() {
-		return "CPX";
+		return "CPY";
 	}
 	
 	@Override
@@ -0,0 +1,67 @@
+package instructions.alu;
+
+import exceptions.InstructionNotSupportedException;
+import instructions.AddressingMode;
+
+/**
+ * Unofficial instruction: DEC then CMP
+ */
+public class DCPInstruction extends AluInstruction {
+
+	public DCPInstruction(AddressingMode mode) {
+		super(mode);
+	}
+
+	public DCPInstruction(AddressingMode mode, int constant) {
+		super(mode, constant);
+	}
+
+	@Override
+	protected void execute(int operand1, int operand2, int address) {
+		// M = M - 1
+		int value = (operand2 - 1) & 0xFF;
+
+		// Memory update
+		storeMemory(address, value);
+
+		// A - M
+		int result = operand1 - value;
+
+		// Flag update
+		cpu.cpuInfo.C = 1 - (result >>> 31);
+		updateFlags(result, false);
+	}
+
+	@Override
+	public int getCycles() throws InstructionNotSupportedException {
+		switch (getMode()) {
+		case ZEROPAGE:
+			return 5;
+
+		case ZEROPAGE_X:
+		case ABSOLUTE:
+			return 6;
+
+		case ABSOLUTE_X:
+		case ABSOLUTE_Y:
+			return 7;
+
+		case INDIRECT_X:
+		case INDIRECT_Y:
+			return 8;
+
+		default:
+			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "DCP";
+	}
+
+	@Override
+	public AluInstruction newInstruction(int constant) {
+		return new DCPInstruction(getMode(), constant);
+	}
+}
@@ -14,12 +14,12 @@ public class DECInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// M = M - 1
 		int result = operand2 - 1;
 		
 		// Update memory
-		storeMemory(result & 0xFF);
+		storeMemory(address, result & 0xFF);
 		
 		// Update flags
 		updateFlags(result, false);
@@ -14,7 +14,7 @@ public class DEXInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// X = X - 1
 		int result = cpu.cpuInfo.X - 1;
 		
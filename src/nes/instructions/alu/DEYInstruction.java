@@ -14,7 +14,7 @@ public class DEYInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// Y = Y - 1
 		int result = cpu.cpuInfo.Y - 1;
 		
@@ -0,0 +1,68 @@
+package instructions.alu;
+
+import exceptions.InstructionNotSupportedException;
+import instructions.AddressingMode;
+
+/**
+ * Unofficial instruction: INC then SBC
+ */
+public class ISCInstruction extends AluInstruction {
+
+	public ISCInstruction(AddressingMode mode) {
+		super(mode);
+	}
+
+	public ISCInstruction(AddressingMode mode, int constant) {
+		super(mode, constant);
+	}
+
+	@Override
+	protected void execute(int operand1, int operand2, int address) {
+		// M = M + 1
+		int value = (operand2 + 1) & 0xFF;
+
+		// Memory update
+		storeMemory(address, value);
+
+		// A = A - M - (1 - C)
+		int entry = AluTables.sbc(operand1, value, cpu.cpuInfo.C);
+		cpu.cpuInfo.A = entry & AluTables.RESULT_MASK;
+
+		// Flags update (C is already inverted in the table, see SBCInstruction)
+		updateTableFlags(entry, true);
+		updateV(entry);
+	}
+
+	@Override
+	public int getCycles() throws InstructionNotSupportedException {
+		switch (getMode()) {
+		case ZEROPAGE:
+			return 5;
+
+		case ZEROPAGE_X:
+		case ABSOLUTE:
+			return 6;
+
+		case ABSOLUTE_X:
+		case ABSOLUTE_Y:
+			return 7;
+
+		case INDIRECT_X:
+		case INDIRECT_Y:
+			return 8;
+
+		default:
+			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "ISC";
+	}
+
+	@Override
+	public AluInstruction newInstruction(int constant) {
+		return new ISCInstruction(getMode(), constant);
+	}
+}
@@ -14,31 +14,25 @@ public class LSRInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// If ACCUMULATOR then use operand1 and store in A
 		// If not use operand2 and store in memory
 		// A/M = A/M >> 1
-		int result;
+		int entry;
 		if (getMode() == AddressingMode.ACCUMULATOR) {
-			result = operand1 >> 1;
+			entry = AluTables.lsr(operand1);
 
 			// Register A update
-			cpu.cpuInfo.A = result & 0xFF;
-
-			// Flag C update
-			cpu.cpuInfo.C = operand1 & 0b00000001;
+			cpu.cpuInfo.A = entry & AluTables.RESULT_MASK;
 		} else {
-			result = operand2 >> 1;
+			entry = AluTables.lsr(operand2);
 
 			// Memory update
-			storeMemory(result & 0xFF);
-
-			// Flag C update
-			cpu.cpuInfo.C = operand2 & 0b00000001;
+			storeMemory(address, entry & AluTables.RESULT_MASK);
 		}
 
-		// Flags update
-		updateFlags(result, false);
+		// Flags update (C is the shifted out bit)
+		updateTableFlags(entry, true);
 	}
 
 	@Override
@@ -14,7 +14,7 @@ public class ORAInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// A = A | M
 		int result = operand1 | operand2;
 
@@ -26,6 +26,11 @@ public class ORAInstruction extends AluInstruction {
 		updateFlags(result, false);
 	}
 
+	@Override
+	protected boolean hasPageCrossedPenalty() {
+		return true;
+	}
+
 	@Override
 	public int getCycles() throws InstructionNotSupportedException {
 		switch (getMode()) {
@@ -41,13 +46,13 @@ public class ORAInstruction extends AluInstruction {
 		
 		case ABSOLUTE_X:
 		case ABSOLUTE_Y:
-			return 4 + pageCrossed;
+			return 4;
 		
 		case INDIRECT_X:
 			return 6;
 			
 		case INDIRECT_Y:
-			return 5 + pageCrossed;
+			return 5;
 
 		default:
 			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
@@ -14,25 +14,25 @@ public class ROLInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// If ACCUMULATOR then use operand1 and store in A
 		// If not use operand2 and store in memory
 		// A/M = (A/M << 1) | C
-		int result;
+		int entry;
 		if (getMode() == AddressingMode.ACCUMULATOR) {
-			result = (operand1 << 1) | cpu.cpuInfo.C;
+			entry = AluTables.rol(operand1, cpu.cpuInfo.C);
 			
 			// Register A update
-			cpu.cpuInfo.A = result & 0xFF;
+			cpu.cpuInfo.A = entry & AluTables.RESULT_MASK;
 		} else {
-			result = (operand2 << 1) | cpu.cpuInfo.C;
+			entry = AluTables.rol(operand2, cpu.cpuInfo.C);
 			
 			// Memory update
-			storeMemory(result & 0xFF);
+			storeMemory(address, entry & AluTables.RESULT_MASK);
 		}
 		
 		// Flags update
-		updateFlags(result, true);
+		updateTableFlags(entry, true);
 	}
 
 	@Override
@@ -0,0 +1,69 @@
+package instructions.alu;
+
+import exceptions.InstructionNotSupportedException;
+import instructions.AddressingMode;
+
+/**
+ * Unofficial instruction: ROR then ADC
+ */
+public class RRAInstruction extends AluInstruction {
+
+	public RRAInstruction(AddressingMode mode) {
+		super(mode);
+	}
+
+	public RRAInstruction(AddressingMode mode, int constant) {
+		super(mode, constant);
+	}
+
+	@Override
+	protected void execute(int operand1, int operand2, int address) {
+		// M = (C << 7) | (M >> 1)
+		int entry = AluTables.ror(operand2, cpu.cpuInfo.C);
+		int value = entry & AluTables.RESULT_MASK;
+
+		// Memory update
+		storeMemory(address, value);
+
+		// A = A + M + C, with C the shifted out bit
+		entry = AluTables.adc(operand1, value, (entry >> AluTables.C_SHIFT) & 1);
+		cpu.cpuInfo.A = entry & AluTables.RESULT_MASK;
+
+		// Flags update
+		updateTableFlags(entry, true);
+		updateV(entry);
+	}
+
+	@Override
+	public int getCycles() throws InstructionNotSupportedException {
+		switch (getMode()) {
+		case ZEROPAGE:
+			return 5;
+
+		case ZEROPAGE_X:
+		case ABSOLUTE:
+			return 6;
+
+		case ABSOLUTE_X:
+		case ABSOLUTE_Y:
+			return 7;
+
+		case INDIRECT_X:
+		case INDIRECT_Y:
+			return 8;
+
+		default:
+			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "RRA";
+	}
+
+	@Override
+	public AluInstruction newInstruction(int constant) {
+		return new RRAInstruction(getMode(), constant);
+	}
+}
@@ -14,21 +14,21 @@ public class SBCInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// A = A - M - (1 - C)
-		int result = operand1 + (255 - operand2) + cpu.cpuInfo.C;
+		int entry = AluTables.sbc(operand1, operand2, cpu.cpuInfo.C);
 
 		// Register A update
-		cpu.cpuInfo.A = result & 0xFF;
+		cpu.cpuInfo.A = entry & AluTables.RESULT_MASK;
 
-		// Flags update
-		updateFlags(result, true);
-
-		// C re-update (SBC is always 1 - C)
-		cpu.cpuInfo.C = 1 - cpu.cpuInfo.C;
+		// Flags update (C is already inverted in the table, SBC is always 1 - C)
+		updateTableFlags(entry, true);
+		updateV(entry);
+	}
 
-		// Gym for V
-		updateV(operand1, (255 - operand2), result);
+	@Override
+	protected boolean hasPageCrossedPenalty() {
+		return true;
 	}
 
 	@Override
@@ -46,13 +46,13 @@ public class SBCInstruction extends AluInstruction {
 
 		case ABSOLUTE_X:
 		case ABSOLUTE_Y:
-			return 4 + pageCrossed;
+			return 4;
 
 		case INDIRECT_X:
 			return 6;
 
 		case INDIRECT_Y:
-			return 5 + pageCrossed;
+			return 5;
 
 		default:
 			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
@@ -0,0 +1,66 @@
+package instructions.alu;
+
+import exceptions.InstructionNotSupportedException;
+import instructions.AddressingMode;
+
+/**
+ * Unofficial instruction: ASL then ORA
+ */
+public class SLOInstruction extends AluInstruction {
+
+	public SLOInstruction(AddressingMode mode) {
+		super(mode);
+	}
+
+	public SLOInstruction(AddressingMode mode, int constant) {
+		super(mode, constant);
+	}
+
+	@Override
+	protected void execute(int operand1, int operand2, int address) {
+		// M = M << 1
+		int entry = AluTables.asl(operand2);
+		int value = entry & AluTables.RESULT_MASK;
+
+		// Memory update
+		storeMemory(address, value);
+
+		// A = A | M, C is the shifted out bit
+		cpu.cpuInfo.C = (entry >> AluTables.C_SHIFT) & 1;
+		cpu.cpuInfo.A = operand1 | value;
+		updateFlags(cpu.cpuInfo.A, false);
+	}
+
+	@Override
+	public int getCycles() throws InstructionNotSupportedException {
+		switch (getMode()) {
+		case ZEROPAGE:
+			return 5;
+
+		case ZEROPAGE_X:
+		case ABSOLUTE:
+			return 6;
+
+		case ABSOLUTE_X:
+		case ABSOLUTE_Y:
+			return 7;
+
+		case INDIRECT_X:
+		case INDIRECT_Y:
+			return 8;
+
+		default:
+			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "SLO";
+	}
+
+	@Override
+	public AluInstruction newInstruction(int constant) {
+		return new SLOInstruction(getMode(), constant);
+	}
+}
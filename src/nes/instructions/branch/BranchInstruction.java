@@ -7,10 +7,7 @@ import instructions.AddressingMode;
 import instructions.Instruction;
 
 public abstract class BranchInstruction extends Instruction {
-	
-	protected int branchSucceed = 0;
-	protected int newPage = 0;
-	 
+
 	private final BooleanSupplier branchCondition;
 
 	public BranchInstruction(AddressingMode mode, BooleanSupplier branchCondition) {
@@ -24,9 +21,9 @@ public abstract class BranchInstruction extends Instruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// Fetch branch offset
-		int offset = fetchOperand2();
+		int offset = fetchOperand2(0);
 		
 		// Offset is a signed byte
 		offset = offset > 0x7F ? offset - 256 : offset;
@@ -40,23 +37,19 @@ public abstract class BranchInstruction extends Instruction {
 			// Update PC
 			cpu.cpuInfo.PC = newPC;
 			
-			// Branch succeeded
-			branchSucceed = 1;
-			
-			// Test new page
-			newPage = (oldPC & 0xFF00) == (newPC & 0xFF00) ? 0 : 2;
-		} else {
-			// Reset values
-			branchSucceed = 0;
-			newPage = 0;
+			// Branch succeeded, test new page
+			int newPage = (oldPC & 0xFF00) == (newPC & 0xFF00) ? 0 : 2;
+			return 1 + newPage;
 		}
+
+		return 0;
 	}
 
 	@Override
 	public int getCycles() throws InstructionNotSupportedException {
 		switch (getMode()) {
 		case RELATIVE:
-			return 2 + branchSucceed + newPage;
+			return 2;
 
 		default:
 			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
@@ -1,6 +1,5 @@
 package instructions.flags;
 
-import exceptions.InstructionNotSupportedException;
 import instructions.AddressingMode;
 
 public class SECInstruction extends FlagInstruction {
@@ -15,8 +14,10 @@ public class SECInstruction extends FlagInstruction {
 
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		cpu.cpuInfo.C = 1;
+
+		return 0;
 	}
 
 	@Override
@@ -1,6 +1,5 @@
 package instructions.flags;
 
-import exceptions.InstructionNotSupportedException;
 import instructions.AddressingMode;
 
 public class SEDInstruction extends FlagInstruction {
@@ -14,8 +13,10 @@ public class SEDInstruction extends FlagInstruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		cpu.cpuInfo.D = 1;
+
+		return 0;
 	}
 
 	@Override
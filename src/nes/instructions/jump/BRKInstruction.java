@@ -16,7 +16,7 @@ public class BRKInstruction extends Instruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// Push PC (remove 1 for RTI)
 		int address = (cpu.cpuInfo.PC - 1) & 0xFFFF;
 		cpu.push(address >> 8); // MSB
@@ -25,11 +25,14 @@ public class BRKInstruction extends Instruction {
 		// Push flags
 		cpu.push(cpu.cpuInfo.getP());
 
-		// Load PC with address at 0xFFFE (remove 1 for BRK)
-		cpu.cpuInfo.PC = (fetchAddress(Cpu.BREAK_VECTOR) - 1) & 0xFFFF;
+		// Load PC with address at 0xFFFE (remove 1 for BRK), unless hijacked by NMI
+		cpu.cpuInfo.PC = (fetchAddress(cpu.getInterruptVector(Cpu.BREAK_VECTOR)) - 1) & 0xFFFF;
 
-		// Put break to 1
+		// Put break and interrupt disable to 1
 		cpu.cpuInfo.B = 1;
+		cpu.cpuInfo.I = 1;
+
+		return 0;
 	}
 
 	@Override
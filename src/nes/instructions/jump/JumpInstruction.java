@@ -1,6 +1,5 @@
 package instructions.jump;
 
-import exceptions.InstructionNotSupportedException;
 import instructions.AddressingMode;
 import instructions.Instruction;
 
@@ -22,9 +21,11 @@ public abstract class JumpInstruction extends Instruction {
 	protected abstract void jump(int address);
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		int address = fetchJumpAddress();
 		jump(address);
+
+		return 0;
 	}
 
 	@Override
@@ -1,6 +1,5 @@
 package instructions.jump;
 
-import exceptions.InstructionNotSupportedException;
 import instructions.AddressingMode;
 import instructions.Instruction;
 
@@ -15,12 +14,12 @@ public class RTIInstruction extends RTSInstruction {
 	}
 	
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// We pop flags
 		cpu.cpuInfo.setP(cpu.pop());
 		
 		// Then basic RTS
-		super.execute();
+		return super.execute();
 	}
 	
 	@Override
@@ -15,12 +15,14 @@ public class RTSInstruction extends Instruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// Popping values
 		int address = cpu.pop() | cpu.pop() << 8;
 		
 		// Update PC
 		cpu.cpuInfo.PC = address;
+
+		return 0;
 	}
 
 	@Override
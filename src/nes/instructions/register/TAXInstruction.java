@@ -1,6 +1,5 @@
 package instructions.register;
 
-import exceptions.InstructionNotSupportedException;
 import instructions.AddressingMode;
 
 public class TAXInstruction extends TransferInstruction {
@@ -14,13 +13,15 @@ public class TAXInstruction extends TransferInstruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// X = A
 		int value = cpu.cpuInfo.A;
 		cpu.cpuInfo.X = value;
 		
 		// Update flags
 		updateFlags(value);
+
+		return 0;
 	}
 
 	@Override
@@ -1,6 +1,5 @@
 package instructions.register;
 
-import exceptions.InstructionNotSupportedException;
 import instructions.AddressingMode;
 
 public class TAYInstruction extends TransferInstruction {
@@ -14,13 +13,15 @@ public class TAYInstruction extends TransferInstruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// Y = A
 		int value = cpu.cpuInfo.A;
 		cpu.cpuInfo.Y = value;
 		
 		// Update flags
 		updateFlags(value);
+
+		return 0;
 	}
 
 	@Override
@@ -1,6 +1,5 @@
 package instructions.register;
 
-import exceptions.InstructionNotSupportedException;
 import instructions.AddressingMode;
 
 public class TSXInstruction extends TransferInstruction {
@@ -14,13 +13,15 @@ public class TSXInstruction extends TransferInstruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// X = SP
 		int value = cpu.cpuInfo.SP;
 		cpu.cpuInfo.X = value;
 		
 		// Update flags
 		updateFlags(value);
+
+		return 0;
 	}
 
 	@Override
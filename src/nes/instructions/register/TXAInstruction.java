@@ -1,6 +1,5 @@
 package instructions.register;
 
-import exceptions.InstructionNotSupportedException;
 import instructions.AddressingMode;
 
 public class TXAInstruction extends TransferInstruction {
@@ -14,13 +13,15 @@ public class TXAInstruction extends TransferInstruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// A = X
 		int value = cpu.cpuInfo.X;
 		cpu.cpuInfo.A = value;
 		
 		// Update flags
 		updateFlags(value);
+
+		return 0;
 	}
 
 	@Override
@@ -1,6 +1,5 @@
 package instructions.register;
 
-import exceptions.InstructionNotSupportedException;
 import instructions.AddressingMode;
 
 public class TXSInstruction extends TransferInstruction {
@@ -14,10 +13,12 @@ public class TXSInstruction extends TransferInstruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// SP = X
 		int value = cpu.cpuInfo.X;
 		cpu.cpuInfo.SP = value;
+
+		return 0;
 	}
 
 	@Override
@@ -1,6 +1,5 @@
 package instructions.register;
 
-import exceptions.InstructionNotSupportedException;
 import instructions.AddressingMode;
 
 public class TYAInstruction extends TransferInstruction {
@@ -14,13 +13,15 @@ public class TYAInstruction extends TransferInstruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// A = Y
 		int value = cpu.cpuInfo.Y;
 		cpu.cpuInfo.A = value;
 		
 		// Update flags
 		updateFlags(value);
+
+		return 0;
 	}
 
 	@Override
@@ -0,0 +1,66 @@
+package instructions.registermemory;
+
+import exceptions.InstructionNotSupportedException;
+import instructions.AddressingMode;
+import instructions.alu.AluInstruction;
+
+/**
+ * Unofficial instruction: LDA and LDX at the same time
+ */
+public class LAXInstruction extends AluInstruction {
+
+	public LAXInstruction(AddressingMode mode) {
+		super(mode);
+	}
+
+	public LAXInstruction(AddressingMode mode, int constant) {
+		super(mode, constant);
+	}
+
+	@Override
+	protected void execute(int operand1, int operand2, int address) {
+		// A = X = M
+		cpu.cpuInfo.A = operand2;
+		cpu.cpuInfo.X = operand2;
+		
+		// Flags update
+		updateFlags(operand2, false);
+	}
+
+	@Override
+	protected boolean hasPageCrossedPenalty() {
+		return true;
+	}
+
+	@Override
+	public int getCycles() throws InstructionNotSupportedException {
+		switch (getMode()) {
+		case ZEROPAGE:
+			return 3;
+
+		case ZEROPAGE_Y:
+		case ABSOLUTE:
+		case ABSOLUTE_Y:
+			return 4;
+
+		case INDIRECT_X:
+			return 6;
+
+		case INDIRECT_Y:
+			return 5;
+
+		default:
+			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "LAX";
+	}
+
+	@Override
+	public AluInstruction newInstruction(int constant) {
+		return new LAXInstruction(getMode(), constant);
+	}
+}
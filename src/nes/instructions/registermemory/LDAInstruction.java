@@ -15,7 +15,7 @@ public class LDAInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// A = M
 		cpu.cpuInfo.A = operand2;
 		
@@ -23,6 +23,11 @@ public class LDAInstruction extends AluInstruction {
 		updateFlags(operand2, false);
 	}
 
+	@Override
+	protected boolean hasPageCrossedPenalty() {
+		return true;
+	}
+
 	@Override
 	public int getCycles() throws InstructionNotSupportedException {
 		switch (getMode()) {
@@ -38,13 +43,13 @@ public class LDAInstruction extends AluInstruction {
 
 		case ABSOLUTE_X:
 		case ABSOLUTE_Y:
-			return 4 + pageCrossed;
+			return 4;
 
 		case INDIRECT_X:
 			return 6;
 
 		case INDIRECT_Y:
-			return 5 + pageCrossed;
+			return 5;
 
 		default:
 			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
@@ -15,7 +15,7 @@ public class LDXInstruction extends AluInstruction {
 	}
 
 	@Override
-	protected void execute(int operand1, int operand2) {
+	protected void execute(int operand1, int operand2, int address) {
 		// A = M
 		cpu.cpuInfo.X = operand2;
 		
@@ -23,6 +23,11 @@ public class LDXInstruction extends AluInstruction {
 		updateFlags(operand2, false);
 	}
 
+	@Override
+	protected boolean hasPageCrossedPenalty() {
+		return true;
+	}
+
 	@Override
 	public int getCycles() throws InstructionNotSupportedException {
 		switch (getMode()) {
@@ -37,7 +42,7 @@ public class LDXInstruction extends AluInstruction {
 			return 4;
 
 		case ABSOLUTE_Y:
-			return 4 + pageCrossed;
+			return 4;
 
 		default:
 			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
@@ -0,0 +1,59 @@
+package instructions.registermemory;
+
+import exceptions.InstructionNotSupportedException;
+import instructions.AddressingMode;
+import instructions.Instruction;
+
+/**
+ * Unofficial instruction: stores A AND X, without updating flags
+ */
+public class SAXInstruction extends Instruction {
+
+	public SAXInstruction(AddressingMode mode) {
+		super(mode);
+	}
+
+	public SAXInstruction(AddressingMode mode, int constant) {
+		super(mode, constant);
+	}
+
+	@Override
+	public int execute() {
+		// M = A & X
+		// Set address to write
+		int resolved = resolveAddress();
+		
+		// Set in memory
+		storeMemory(resolved, cpu.cpuInfo.A & cpu.cpuInfo.X);
+
+		return 0;
+	}
+
+	@Override
+	public int getCycles() throws InstructionNotSupportedException {
+		switch (getMode()) {
+		case ZEROPAGE:
+			return 3;
+
+		case ZEROPAGE_Y:
+		case ABSOLUTE:
+			return 4;
+
+		case INDIRECT_X:
+			return 6;
+
+		default:
+			throw new InstructionNotSupportedException("Cannot get cycles: addressing mode is wrong!");
+		}
+	}
+
+	@Override
+	public String getName() {
+		return "SAX";
+	}
+
+	@Override
+	public Instruction newInstruction(int constant) {
+		return new SAXInstruction(getMode(), constant);
+	}
+}
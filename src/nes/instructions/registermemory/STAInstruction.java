@@ -15,13 +15,15 @@ public class STAInstruction extends Instruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// M = A
 		// Set address to write
-		updateMemoryAddress();
+		int resolved = resolveAddress();
 		
 		// Set in memory
-		storeMemory(cpu.cpuInfo.A);
+		storeMemory(resolved, cpu.cpuInfo.A);
+
+		return 0;
 	}
 
 	@Override
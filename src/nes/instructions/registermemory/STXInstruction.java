@@ -15,13 +15,15 @@ public class STXInstruction extends Instruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// M = X
 		// Set address to write
-		updateMemoryAddress();
+		int resolved = resolveAddress();
 		
 		// Set in memory
-		storeMemory(cpu.cpuInfo.X);
+		storeMemory(resolved, cpu.cpuInfo.X);
+
+		return 0;
 	}
 
 	@Override
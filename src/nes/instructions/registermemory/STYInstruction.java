@@ -15,13 +15,15 @@ public class STYInstruction extends Instruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// M = Y
 		// Set address to write
-		updateMemoryAddress();
+		int resolved = resolveAddress();
 
 		// Set in memory
-		storeMemory(cpu.cpuInfo.Y);
+		storeMemory(resolved, cpu.cpuInfo.Y);
+
+		return 0;
 	}
 
 	@Override
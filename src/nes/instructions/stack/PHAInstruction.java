@@ -15,8 +15,10 @@ public class PHAInstruction extends Instruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		cpu.push(cpu.cpuInfo.A);
+
+		return 0;
 	}
 
 	@Override
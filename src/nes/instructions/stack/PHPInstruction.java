@@ -15,8 +15,10 @@ public class PHPInstruction extends Instruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		cpu.push(cpu.cpuInfo.getP());
+
+		return 0;
 	}
 
 	@Override
@@ -15,7 +15,7 @@ public class PLAInstruction extends Instruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// Pop value
 		int value = cpu.pop();
 
@@ -25,6 +25,8 @@ public class PLAInstruction extends Instruction {
 		// Update flags
 		cpu.cpuInfo.Z = value == 0 ? 1 : 0;
 		cpu.cpuInfo.N = value >= 0x80 ? 1 : 0;
+
+		return 0;
 	}
 
 	@Override
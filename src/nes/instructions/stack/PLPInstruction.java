@@ -15,9 +15,11 @@ public class PLPInstruction extends Instruction {
 	}
 
 	@Override
-	public void execute() throws InstructionNotSupportedException {
+	public int execute() {
 		// Pop value and update flags
 		cpu.cpuInfo.setP(cpu.pop());		
+
+		return 0;
 	}
 
 	@Override
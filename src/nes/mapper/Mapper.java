@@ -1,20 +1,174 @@
 package mapper;
 
+import components.ChrTileCache;
+import components.Cpu;
 import components.CpuBus;
+import components.DecodeCache;
+import components.Ppu;
 import components.PpuBus;
+import components.PrgDecodeCache;
+import events.BankSwitchEvent;
 
 public abstract class Mapper {
 
+	/**
+	 * Size of a PRG ROM bank (the CPU sees two of them, at 0x8000 and 0xC000)
+	 */
+	public static final int PRG_BANK_SIZE = 0x4000;
+
+	/**
+	 * Size of the smallest PRG ROM window a mapper can switch (0x8000 to 0xFFFF
+	 * is four of them)
+	 */
+	public static final int PRG_WINDOW_SIZE = 0x2000;
+
 	protected static final CpuBus cpuBus = new CpuBus();
 	protected static final PpuBus ppuBus = new PpuBus();
-	
-	protected int ppuBusLatch = 0;
+
+	/**
+	 * Instructions decoded outside the ROM, writes below 0x8000 must invalidate it
+	 */
+	protected final DecodeCache decodeCache = new DecodeCache();
+
+	/**
+	 * Instructions decoded in the ROM, bank switches must update its windows
+	 */
+	protected final PrgDecodeCache prgDecodeCache = new PrgDecodeCache();
+
+	/**
+	 * Pattern tables decoded in pixel rows, writes below 0x2000 must invalidate
+	 * it
+	 */
+	protected final ChrTileCache chrTileCache = new ChrTileCache(ppuBus.busContent);
 	
 	public Mapper() {
 	}
 
 	public abstract int readCpuBus(int address);
 
-	public abstract void writeCpuBus(int address, int... values);
+	/**
+	 * Writes one value in the CPU bus. This is the method used by instructions,
+	 * it must not allocate anything
+	 * 
+	 * @param address the address to write to
+	 * @param value   the value to write
+	 */
+	public abstract void writeCpuBus(int address, int value);
+
+	/**
+	 * Writes a slice of an array in the CPU bus, starting at the specified address
+	 * (for DMA-like copies). Every value is written as with
+	 * {@link #writeCpuBus(int, int)}
+	 * 
+	 * @param address the address to write to
+	 * @param values  the array containing the values to write
+	 * @param offset  the index of the first value to write in the array
+	 * @param length  the number of values to write
+	 */
+	public void writeCpuBus(int address, int[] values, int offset, int length) {
+		for (int index = 0; index < length; index++) {
+			writeCpuBus((address + index) & 0xFFFF, values[offset + index]);
+		}
+	}
+
+	/**
+	 * Writes the values in the CPU bus at the specified address. This allocates an
+	 * array at each call, use {@link #writeCpuBus(int, int)} for single values
+	 * 
+	 * @param address the address to write to
+	 * @param values  the values to write
+	 */
+	public final void writeCpuBus(int address, int... values) {
+		writeCpuBus(address, values, 0, values.length);
+	}
+
+	/**
+	 * Reads the PPU bus, pattern tables and nametables with their mirrors (0x0000
+	 * to 0x3EFF). The PPU handles the palette
+	 * 
+	 * @param address the address to read
+	 * @return the value read
+	 */
+	public int readPpuBus(int address) {
+		return ppuBus.getFromBus(address);
+	}
+
+	/**
+	 * Writes the PPU bus, pattern tables and nametables with their mirrors (0x0000
+	 * to 0x3EFF). A write in the pattern tables invalidates the decoded tile
+	 * 
+	 * @param address the address to write to
+	 * @param value   the value to write
+	 */
+	public void writePpuBus(int address, int value) {
+		ppuBus.writeToBus(address, value);
+		chrTileCache.invalidate(address);
+	}
+
+	/**
+	 * Returns the cache of instructions decoded outside the ROM
+	 * 
+	 * @return the decode cache
+	 */
+	public DecodeCache getDecodeCache() {
+		return decodeCache;
+	}
+
+	/**
+	 * Returns the cache of instructions decoded in the ROM
+	 * 
+	 * @return the PRG decode cache
+	 */
+	public PrgDecodeCache getPrgDecodeCache() {
+		return prgDecodeCache;
+	}
+
+	/**
+	 * Returns the pattern tables decoded in pixel rows
+	 * 
+	 * @return the CHR tile cache
+	 */
+	public ChrTileCache getChrTileCache() {
+		return chrTileCache;
+	}
+
+	/**
+	 * Returns the scanline of the PPU at the CPU cycle of the current access, for
+	 * mappers counting scanlines (IRQ counters) when their registers are accessed.
+	 * The PPU is caught up first, nothing else runs it scanline by scanline
+	 * 
+	 * @return the scanline, the pre-render one (261, or 311 in PAL) being the
+	 *         last
+	 */
+	protected int getPpuScanline() {
+		Ppu ppu = Cpu.getInstance().getPpu();
+		ppu.catchUp();
+		return ppu.getScanline();
+	}
+
+	/**
+	 * Switches the PRG ROM bank shown in a window. Mappers with bank switching
+	 * must use this method so that decoded instructions follow the switch
+	 * 
+	 * @param window the window, from 0 (0x8000) to 3 (0xE000)
+	 * @param bank   the 8 KB bank of the PRG ROM
+	 */
+	protected void mapPrgWindow(int window, int bank) {
+		int previousBank = prgDecodeCache.getBank(0x8000 | window << 13);
+		prgDecodeCache.mapWindow(window, bank);
+		BankSwitchEvent.commit(window, previousBank, bank);
+	}
+
+	/**
+	 * Returns the 8 KB PRG ROM bank mapped at this address (0x8000 to 0xFFFF). Two
+	 * addresses with the same bank and the same offset in the bank contain the
+	 * same code. Without ROM, the four windows are four different banks.
+	 * 
+	 * @param address the address in ROM
+	 * @return the bank mapped at this address
+	 */
+	public int getPrgBank(int address) {
+		return prgDecodeCache.getBank(address);
+	}
 
 }
@@ -1,26 +1,56 @@
 package mapper;
 
 import components.Cpu;
+import components.Mirroring;
+import components.Ppu;
 
 public class Mapper0 extends Mapper {
 
+	private final Ppu ppu = Cpu.getInstance().getPpu();
+	private final boolean chrRam;
+
+	/**
+	 * Creates a NROM cartridge with horizontal mirroring
+	 * 
+	 * @param prgRom the PRG ROM, 16 or 32 KB
+	 * @param chrRom the CHR ROM, 8 KB, or empty for CHR RAM
+	 */
 	public Mapper0(byte[] prgRom, byte[] chrRom) {
+		this(prgRom, chrRom, Mirroring.HORIZONTAL);
+	}
+
+	/**
+	 * Creates a NROM cartridge
+	 * 
+	 * @param prgRom    the PRG ROM, 16 or 32 KB
+	 * @param chrRom    the CHR ROM, 8 KB, or empty for CHR RAM
+	 * @param mirroring the nametable layout, fixed by the cartridge wiring
+	 */
+	public Mapper0(byte[] prgRom, byte[] chrRom, Mirroring mirroring) {
 		// PrgROM can have a size of 0x4000 or 0x8000
 		if (prgRom.length == 0x4000) {
 			// Then put it twice
 			for (int address = 0; address < 0x4000; address++) {
-				cpuBus.busContent[0x8000 + address] = prgRom[address];
-				cpuBus.busContent[0xC000 + address] = prgRom[address];
+				cpuBus.busContent[0x8000 + address] = prgRom[address] & 0xFF;
+				cpuBus.busContent[0xC000 + address] = prgRom[address] & 0xFF;
 			}
 		} else {
 			for (int address = 0; address < 0x8000; address++) {
-				cpuBus.busContent[0x8000 + address] = prgRom[address];
+				cpuBus.busContent[0x8000 + address] = prgRom[address] & 0xFF;
 			}
 		}
 
-		// TODO PPU bus ChrROM
+		// Windows mirror a 16 KB ROM by default
+		prgDecodeCache.load(prgRom);
+
+		// Pattern tables, 8 KB of CHR RAM if there is no CHR ROM
+		chrRam = chrRom.length == 0;
+		for (int address = 0; address < Math.min(chrRom.length, 0x2000); address++) {
+			ppuBus.busContent[address] = chrRom[address] & 0xFF;
+		}
 
-		// TODO PPU nametable mirroring
+		// Nametables are soldered, no switching
+		ppuBus.setMirroring(mirroring);
 
 		// Set PC from reset vector
 		Cpu.getInstance().cpuInfo.PC = (cpuBus.busContent[Cpu.RESET_VECTOR + 1] << 8)
@@ -35,51 +65,9 @@ public class Mapper0 extends Mapper {
 			value = cpuBus.busContent[address & 0x7FF];
 		}
 
-		// If in PPU registers or their mirrors then it's complicated
+		// PPU registers and their mirrors
 		else if (address < 0x4000) {
-			int ppuRegister = 0x2000 + (address & 0x7);
-
-			switch (ppuRegister) {
-			case 0x2000:
-				value = ppuBusLatch;
-				break;
-
-			case 0x2001:
-				value = ppuBusLatch;
-				break;
-
-			case 0x2002:
-				value = cpuBus.busContent[ppuRegister];
-				// Remove NMI in 2002 register
-				// Clear PPUScroll and PPUAddress (0x2005 and 0x2006) registers
-				ppuBusLatch = value;
-				break;
-
-			case 0x2003:
-				value = ppuBusLatch;
-				break;
-
-			case 0x2004:
-				value = cpuBus.busContent[ppuRegister];
-				ppuBusLatch = value;
-				break;
-
-			case 0x2005:
-				value = ppuBusLatch;
-				break;
-
-			case 0x2006:
-				value = ppuBusLatch;
-				break;
-
-			case 0x2007:
-				value = cpuBus.busContent[ppuRegister];
-				ppuBusLatch = value;
-				break;
-			}
-		} else if (address == 0x4014) {
-			// OAM DMA
-			value = ppuBusLatch;
+			value = ppu.readRegister(address);
 
 		} else {
 			value = cpuBus.busContent[address];
@@ -89,63 +77,32 @@ public class Mapper0 extends Mapper {
 	}
 
 	@Override
-	public void writeCpuBus(int address, int... values) {
-		int offset = 0;
-		for (int value : values) {
-			int writeAddress = (address + offset) & 0xFFFF;
-
-			// If in RAM, write in the RAM (and not in mirrors)
-			if (writeAddress < 0x2000) {
-				cpuBus.busContent[writeAddress & 0x7FF] = value;
-			}
+	public void writeCpuBus(int address, int value) {
+		// If in RAM, write in the RAM (and not in mirrors)
+		if (address < 0x2000) {
+			cpuBus.busContent[address & 0x7FF] = value;
+			decodeCache.invalidate(address);
+		}
 
-			// If in PPU registers or their mirrors then it's complicated
-			else if (address < 0x4000) {
-				int ppuRegister = 0x2000 + (address & 0x7);
-				ppuBusLatch = value;
-				switch (ppuRegister) {
-				case 0x2000:
-					// TODO Set PPU 0x2000 register
-					cpuBus.busContent[ppuRegister] = value;
-					break;
-
-				case 0x2001:
-					// TODO Set PPU 0x2001 register
-					cpuBus.busContent[ppuRegister] = value;
-					break;
-
-				case 0x2003:
-					// TODO Set PPU 0x2003 register
-					cpuBus.busContent[ppuRegister] = value;
-					break;
-
-				case 0x2004:
-					// TODO Set PPU 0x2004 register
-					cpuBus.busContent[ppuRegister] = value;
-					break;
-
-				case 0x2005:
-					// TODO Set PPU 0x2005 register
-					cpuBus.busContent[ppuRegister] = value;
-					break;
-
-				case 0x2006:
-					// TODO Set PPU 0x2006 register
-					cpuBus.busContent[ppuRegister] = value;
-					break;
-
-				case 0x2007:
-					// TODO Set PPU 0x2007 register
-					cpuBus.busContent[ppuRegister] = value;
-					break;
-				}
-			} else if (address == 0x4014) {
-				// OAM DMA
-				// TODO Launch OAM DMA action
-				ppuBusLatch = value;
-			} else if (address < 0x8000) { // We don't want to write in the ROM
-				cpuBus.busContent[writeAddress] = value;
-			}
+		// PPU registers and their mirrors
+		else if (address < 0x4000) {
+			ppu.writeRegister(address, value);
+
+		} else if (address == 0x4014) {
+			// OAM DMA, halts the CPU
+			ppu.writeOamDma(value);
+
+		} else if (address < 0x8000) { // We don't want to write in the ROM
+			cpuBus.busContent[address] = value;
+			decodeCache.invalidate(address);
+		}
+	}
+
+	@Override
+	public void writePpuBus(int address, int value) {
+		// CHR ROM cannot be written, but there is CHR RAM without CHR ROM
+		if (address >= 0x2000 || chrRam) {
+			super.writePpuBus(address, value);
 		}
 	}
 }
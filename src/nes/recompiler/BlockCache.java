@@ -0,0 +1,92 @@
+package recompiler;
+
+import java.util.Arrays;
+
+import mapper.Mapper;
+
+/**
+ * <p>
+ * Compiled blocks indexed by PRG ROM bank and offset in the bank. As ROM never
+ * changes, a block compiled for a bank stays valid when the bank is switched
+ * out and in again.
+ * </p>
+ *
+ * <p>
+ * The cache also counts how many times each entry point is reached, so that
+ * only hot code is compiled.
+ * </p>
+ */
+class BlockCache {
+
+	private static final int OFFSET_MASK = Mapper.PRG_WINDOW_SIZE - 1;
+
+	private CompiledBlock[][] blocks = new CompiledBlock[0][];
+	private int[][] counters = new int[0][];
+
+	private void ensureBank(int bank) {
+		if (bank >= blocks.length) {
+			int oldLength = blocks.length;
+			blocks = Arrays.copyOf(blocks, bank + 1);
+			counters = Arrays.copyOf(counters, bank + 1);
+
+			for (int index = oldLength; index <= bank; index++) {
+				blocks[index] = new CompiledBlock[Mapper.PRG_WINDOW_SIZE];
+				counters[index] = new int[Mapper.PRG_WINDOW_SIZE];
+			}
+		}
+	}
+
+	/**
+	 * Returns the block compiled at this address, or null if none
+	 *
+	 * @param bank    the PRG ROM bank of the address
+	 * @param address the address of the block
+	 * @return the block or null
+	 */
+	CompiledBlock get(int bank, int address) {
+		if (bank >= blocks.length) {
+			return null;
+		}
+
+		CompiledBlock block = blocks[bank][address & OFFSET_MASK];
+
+		// The same bank can be seen at several addresses (mirrors), but a block
+		// contains absolute addresses
+		return block != null && block.address == address ? block : null;
+	}
+
+	/**
+	 * Counts one more hit of this address and returns the total
+	 *
+	 * @param bank    the PRG ROM bank of the address
+	 * @param address the address of the block
+	 * @return the number of hits of this address
+	 */
+	int hit(int bank, int address) {
+		ensureBank(bank);
+		return ++counters[bank][address & OFFSET_MASK];
+	}
+
+	void put(int bank, CompiledBlock block) {
+		ensureBank(bank);
+		blocks[bank][block.address & OFFSET_MASK] = block;
+	}
+
+	/**
+	 * Returns the number of cached blocks (compiled or not)
+	 *
+	 * @return the number of blocks
+	 */
+	int size() {
+		int size = 0;
+		for (CompiledBlock[] bankBlocks : blocks) {
+			for (CompiledBlock block : bankBlocks) {
+				if (block != null) {
+					size++;
+				}
+			}
+		}
+
+		return size;
+	}
+}
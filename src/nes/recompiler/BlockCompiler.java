@@ -0,0 +1,665 @@
+package recompiler;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import components.Cpu;
+import instructions.AddressingMode;
+import instructions.Instruction;
+import instructions.InstructionInfo;
+import mapper.Mapper;
+
+/**
+ * <p>
+ * Compiles basic blocks of ROM code to JVM bytecode. A block starts at a PC
+ * and goes on until a jump, a branch, a return or a break (included), or until
+ * an instruction that cannot be compiled (excluded). The block becomes a
+ * hidden class with a straight-line method updating {@link components.CpuInfo}
+ * and calling the mapper directly, see {@link CompiledBlock}.
+ * </p>
+ *
+ * <p>
+ * The last jump or branch instruction of the block is executed by the
+ * interpreter, so that there is only one implementation of the control flow
+ * quirks. Other instructions are compiled, with help of {@link BlockRuntime}.
+ * </p>
+ *
+ * <p>
+ * Instructions accessing an absolute address outside RAM and SRAM (PPU and APU
+ * registers, mapper registers) are not compiled: they stay in the interpreter
+ * so that I/O is done one instruction at a time. Indexed and indirect
+ * addresses are only known at runtime and can be registers too: before such an
+ * access, the block gives the CPU its PC, its opcode and the cycles already
+ * taken (see {@link Cpu#enterBlockInstruction(int, int, int)}), so that the
+ * PPU is caught up to the right dot. If the
+ * <code>nes.recompiler.dump</code> system property is set to a directory, the
+ * generated classes are written there (read them with <code>javap -c</code>).
+ * </p>
+ */
+public class BlockCompiler {
+
+	public static final String DUMP_PROPERTY = "nes.recompiler.dump";
+
+	/* Maximum number of instructions in a block */
+	static final int MAX_INSTRUCTIONS = 64;
+
+	/* Internal names */
+	private static final String BLOCK = "recompiler/Block";
+	private static final String COMPILED_BLOCK = "recompiler/CompiledBlock";
+	private static final String RUNTIME = "recompiler/BlockRuntime";
+	private static final String CPU = "components/Cpu";
+	private static final String CPU_INFO = "components/CpuInfo";
+	private static final String MAPPER = "mapper/Mapper";
+	private static final String INTERPRETER = "components/SwitchInterpreter";
+
+	private static final String EXECUTE_DESCRIPTOR = "(Lcomponents/Cpu;Lcomponents/CpuInfo;Lmapper/Mapper;Lcomponents/SwitchInterpreter;)I";
+
+	/* Local variables of execute */
+	private static final int CPU_LOCAL = 1;
+	private static final int CPU_INFO_LOCAL = 2;
+	private static final int MAPPER_LOCAL = 3;
+	private static final int INTERPRETER_LOCAL = 4;
+	private static final int CYCLES_LOCAL = 5;
+	private static final int ADDRESS_LOCAL = 6;
+
+	private static final int MAX_STACK = 8;
+	private static final int MAX_LOCALS = 7;
+
+	private final Cpu cpu;
+	private final Lookup lookup = MethodHandles.lookup();
+	private final Path dumpDirectory;
+
+	private int compiledBlocks = 0;
+	private int compiledInstructions = 0;
+
+	public BlockCompiler(Cpu cpu) {
+		this.cpu = cpu;
+
+		String dump = System.getProperty(DUMP_PROPERTY);
+		this.dumpDirectory = dump == null ? null : Path.of(dump);
+	}
+
+	/**
+	 * Compiles the block starting at the given address. If the first instruction
+	 * cannot be compiled, this returns a block running it with the interpreter
+	 *
+	 * @param address the address of the first instruction, in ROM
+	 * @return the compiled block
+	 */
+	public CompiledBlock compile(int address) {
+		// Not a field: the CPU creates the compiler before instructions can be created
+		InstructionInfo instructionInfo = InstructionInfo.getInstance();
+		Mapper mapper = cpu.getMapper();
+		int window = address >> 13;
+
+		ClassFileWriter writer = new ClassFileWriter(BLOCK, COMPILED_BLOCK);
+		writer.defaultConstructor(COMPILED_BLOCK);
+		writer.beginMethod("execute", EXECUTE_DESCRIPTOR);
+		writer.op(ClassFileWriter.ICONST_0);
+		writer.load(ClassFileWriter.ISTORE, CYCLES_LOCAL);
+
+		int PC = address;
+		int staticCycles = 0;
+		int instructionNumber = 0;
+		boolean terminated = false;
+		boolean entered = false;
+
+		while (instructionNumber < MAX_INSTRUCTIONS) {
+			int opcode = mapper.readCpuBus(PC);
+			Instruction instruction = instructionInfo.getInstruction(opcode);
+			if (instruction == null) {
+				break;
+			}
+
+			// Stay in the window, the next one can show another bank
+			int byteNumber = instruction.getByteNumber();
+			int lastAddress = PC + byteNumber - 1;
+			if (lastAddress >> 13 != window) {
+				break;
+			}
+
+			int constant = 0;
+			if (byteNumber == 2) {
+				constant = mapper.readCpuBus(PC + 1);
+			} else if (byteNumber == 3) {
+				constant = mapper.readCpuBus(PC + 2) << 8 | mapper.readCpuBus(PC + 1);
+			}
+
+			// The CPU must know where the block is if this can be a register
+			AddressingMode mode = instruction.getMode();
+			boolean memory = isMemory(mode, constant);
+
+			String name = instruction.getName();
+			if (isTerminator(name)) {
+				if (!memory) {
+					emitEnterInstruction(writer, PC, opcode, staticCycles);
+					entered = true;
+				}
+
+				emitTerminator(writer, PC);
+				instructionNumber++;
+				terminated = true;
+				break;
+			}
+
+			int cycles = instructionInfo.getCycles(opcode);
+
+			if (isIO(mode, constant)) {
+				break;
+			}
+
+			if (!memory) {
+				emitEnterInstruction(writer, PC, opcode, staticCycles);
+				entered = true;
+			}
+
+			if (!emitInstruction(writer, name, mode, constant)) {
+				break;
+			}
+
+			staticCycles += cycles;
+			instructionNumber++;
+			PC += byteNumber;
+		}
+
+		if (instructionNumber == 0) {
+			return new CompiledBlock.InterpretedBlock(address);
+		}
+
+		// Fall through the next instruction
+		if (!terminated) {
+			writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+			writer.pushInt(PC & 0xFFFF);
+			writer.member(ClassFileWriter.PUTFIELD, CPU_INFO, "PC", "I");
+		}
+
+		// cpu.exitBlock()
+		if (entered) {
+			writer.load(ClassFileWriter.ALOAD, CPU_LOCAL);
+			writer.member(ClassFileWriter.INVOKEVIRTUAL, CPU, "exitBlock", "()V");
+		}
+
+		writer.load(ClassFileWriter.ILOAD, CYCLES_LOCAL);
+		writer.pushInt(staticCycles);
+		writer.op(ClassFileWriter.IADD);
+		writer.op(ClassFileWriter.IRETURN);
+		writer.endMethod(MAX_STACK, MAX_LOCALS);
+
+		byte[] bytes = writer.toByteArray();
+		dump(address, bytes);
+
+		CompiledBlock block = define(bytes);
+		block.address = address;
+		block.instructionNumber = instructionNumber;
+
+		compiledBlocks++;
+		compiledInstructions += instructionNumber;
+		return block;
+	}
+
+	private CompiledBlock define(byte[] bytes) {
+		try {
+			Lookup blockLookup = lookup.defineHiddenClass(bytes, true);
+			return (CompiledBlock) blockLookup
+					.findConstructor(blockLookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+		} catch (Throwable e) {
+			// Generated code is wrong, this is a bug
+			throw new IllegalStateException("Cannot define compiled block", e);
+		}
+	}
+
+	private void dump(int address, byte[] bytes) {
+		if (dumpDirectory == null) {
+			return;
+		}
+
+		try {
+			Files.createDirectories(dumpDirectory);
+			Files.write(dumpDirectory.resolve("Block_%04X.class".formatted(address)), bytes);
+		} catch (IOException e) {
+			System.err.println("Cannot dump block 0x%04X: %s".formatted(address, e.getMessage()));
+		}
+	}
+
+	/**
+	 * Returns the number of blocks compiled to bytecode
+	 *
+	 * @return the number of compiled blocks
+	 */
+	public int getCompiledBlocks() {
+		return compiledBlocks;
+	}
+
+	/**
+	 * Returns the number of instructions compiled to bytecode
+	 *
+	 * @return the number of compiled instructions
+	 */
+	public int getCompiledInstructions() {
+		return compiledInstructions;
+	}
+
+	/* Block analysis */
+
+	private static boolean isTerminator(String name) {
+		switch (name) {
+		case "BCC":
+		case "BCS":
+		case "BEQ":
+		case "BMI":
+		case "BNE":
+		case "BPL":
+		case "BVC":
+		case "BVS":
+		case "JMP":
+		case "JSR":
+		case "RTS":
+		case "RTI":
+		case "BRK":
+			return true;
+
+		default:
+			return false;
+		}
+	}
+
+	private static boolean isIO(AddressingMode mode, int constant) {
+		if (mode != AddressingMode.ZEROPAGE && mode != AddressingMode.ABSOLUTE) {
+			// Indexed and indirect addresses are only known at runtime, they still go
+			// through the mapper (see isMemory)
+			return false;
+		}
+
+		// RAM (and mirrors) and SRAM are plain memory
+		return constant >= 0x2000 && (constant < 0x6000 || constant >= 0x8000);
+	}
+
+	/**
+	 * Tells if every address the instruction can access is RAM or SRAM, else it
+	 * can access a register at runtime
+	 */
+	private static boolean isMemory(AddressingMode mode, int constant) {
+		switch (mode) {
+		case ABSOLUTE_X:
+		case ABSOLUTE_Y:
+			// Up to 0xFF after the constant
+			int last = constant + 0xFF;
+			return last < 0x2000 || (constant >= 0x6000 && last < 0x8000);
+
+		case INDIRECT:
+		case INDIRECT_X:
+		case INDIRECT_Y:
+			return false;
+
+		default:
+			// Zero page, or constant addresses which are not compiled outside memory
+			return true;
+		}
+	}
+
+	/* Code generation */
+
+	private void emitEnterInstruction(ClassFileWriter writer, int PC, int opcode, int staticCycles) {
+		// cpu.enterBlockInstruction(PC, opcode, cycles + staticCycles)
+		writer.load(ClassFileWriter.ALOAD, CPU_LOCAL);
+		writer.pushInt(PC);
+		writer.pushInt(opcode);
+		writer.load(ClassFileWriter.ILOAD, CYCLES_LOCAL);
+		writer.pushInt(staticCycles);
+		writer.op(ClassFileWriter.IADD);
+		writer.member(ClassFileWriter.INVOKEVIRTUAL, CPU, "enterBlockInstruction", "(III)V");
+	}
+
+	private void emitTerminator(ClassFileWriter writer, int PC) {
+		// info.PC = PC
+		writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+		writer.pushInt(PC);
+		writer.member(ClassFileWriter.PUTFIELD, CPU_INFO, "PC", "I");
+
+		// cycles += interpreter.execute()
+		writer.load(ClassFileWriter.ILOAD, CYCLES_LOCAL);
+		writer.load(ClassFileWriter.ALOAD, INTERPRETER_LOCAL);
+		writer.member(ClassFileWriter.INVOKEVIRTUAL, INTERPRETER, "execute", "()I");
+		writer.op(ClassFileWriter.IADD);
+		writer.load(ClassFileWriter.ISTORE, CYCLES_LOCAL);
+	}
+
+	/**
+	 * Emits the code of an instruction
+	 *
+	 * @return false if the instruction cannot be compiled
+	 */
+	private boolean emitInstruction(ClassFileWriter writer, String name, AddressingMode mode, int constant) {
+		switch (name) {
+		case "LDA":
+			emitLoad(writer, "A", mode, constant);
+			return true;
+		case "LDX":
+			emitLoad(writer, "X", mode, constant);
+			return true;
+		case "LDY":
+			emitLoad(writer, "Y", mode, constant);
+			return true;
+
+		case "ADC":
+		case "SBC":
+		case "AND":
+		case "ORA":
+		case "EOR":
+		case "BIT":
+		case "ANC":
+		case "ALR":
+		case "ARR":
+		case "AXS":
+			// BlockRuntime.op(info, value)
+			writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+			emitRead(writer, mode, constant, !name.equals("BIT"));
+			writer.member(ClassFileWriter.INVOKESTATIC, RUNTIME, name.toLowerCase(), "(Lcomponents/CpuInfo;I)V");
+			return true;
+
+		case "CMP":
+			emitCompare(writer, "A", mode, constant);
+			return true;
+		case "CPX":
+			emitCompare(writer, "X", mode, constant);
+			return true;
+		case "CPY":
+			emitCompare(writer, "Y", mode, constant);
+			return true;
+
+		case "STA":
+			emitStore(writer, "A", mode, constant);
+			return true;
+		case "STX":
+			emitStore(writer, "X", mode, constant);
+			return true;
+		case "STY":
+			emitStore(writer, "Y", mode, constant);
+			return true;
+
+		case "ASL":
+		case "LSR":
+		case "ROL":
+		case "ROR":
+			emitReadModifyWrite(writer, name.toLowerCase(), mode, constant);
+			return true;
+		case "INC":
+			emitReadModifyWrite(writer, "increment", mode, constant);
+			return true;
+		case "DEC":
+			emitReadModifyWrite(writer, "decrement", mode, constant);
+			return true;
+
+		case "TAX":
+			emitTransfer(writer, "A", "X", "load");
+			return true;
+		case "TAY":
+			emitTransfer(writer, "A", "Y", "load");
+			return true;
+		case "TSX":
+			emitTransfer(writer, "SP", "X", "load");
+			return true;
+		case "TXA":
+			emitTransfer(writer, "X", "A", "load");
+			return true;
+		case "TYA":
+			emitTransfer(writer, "Y", "A", "load");
+			return true;
+		case "INX":
+			emitTransfer(writer, "X", "X", "increment");
+			return true;
+		case "INY":
+			emitTransfer(writer, "Y", "Y", "increment");
+			return true;
+		case "DEX":
+			emitTransfer(writer, "X", "X", "decrement");
+			return true;
+		case "DEY":
+			emitTransfer(writer, "Y", "Y", "decrement");
+			return true;
+		case "TXS":
+			// No flag
+			writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+			emitGetRegister(writer, "X");
+			writer.member(ClassFileWriter.PUTFIELD, CPU_INFO, "SP", "I");
+			return true;
+
+		case "CLC":
+			emitSetFlag(writer, "C", 0);
+			return true;
+		case "CLD":
+			emitSetFlag(writer, "D", 0);
+			return true;
+		case "CLI":
+			emitSetFlag(writer, "I", 0);
+			return true;
+		case "CLV":
+			emitSetFlag(writer, "V", 0);
+			return true;
+		case "SEC":
+			emitSetFlag(writer, "C", 1);
+			return true;
+		case "SED":
+			emitSetFlag(writer, "D", 1);
+			return true;
+		case "SEI":
+			emitSetFlag(writer, "I", 1);
+			return true;
+
+		case "PHA":
+			// cpu.push(info.A)
+			writer.load(ClassFileWriter.ALOAD, CPU_LOCAL);
+			emitGetRegister(writer, "A");
+			writer.member(ClassFileWriter.INVOKEVIRTUAL, CPU, "push", "(I)V");
+			return true;
+		case "PHP":
+			// cpu.push(info.getP())
+			writer.load(ClassFileWriter.ALOAD, CPU_LOCAL);
+			writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+			writer.member(ClassFileWriter.INVOKEVIRTUAL, CPU_INFO, "getP", "()I");
+			writer.member(ClassFileWriter.INVOKEVIRTUAL, CPU, "push", "(I)V");
+			return true;
+		case "PLA":
+			// info.A = BlockRuntime.load(info, cpu.pop())
+			writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+			writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+			writer.load(ClassFileWriter.ALOAD, CPU_LOCAL);
+			writer.member(ClassFileWriter.INVOKEVIRTUAL, CPU, "pop", "()I");
+			writer.member(ClassFileWriter.INVOKESTATIC, RUNTIME, "load", "(Lcomponents/CpuInfo;I)I");
+			writer.member(ClassFileWriter.PUTFIELD, CPU_INFO, "A", "I");
+			return true;
+		case "PLP":
+			// info.setP(cpu.pop())
+			writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+			writer.load(ClassFileWriter.ALOAD, CPU_LOCAL);
+			writer.member(ClassFileWriter.INVOKEVIRTUAL, CPU, "pop", "()I");
+			writer.member(ClassFileWriter.INVOKEVIRTUAL, CPU_INFO, "setP", "(I)V");
+			return true;
+
+		case "NOP":
+			// Unofficial NOPs read their operand (with the page penalty)
+			if (mode != AddressingMode.IMPLICIT && mode != AddressingMode.IMMEDIATE) {
+				emitRead(writer, mode, constant, true);
+				writer.op(ClassFileWriter.POP);
+			}
+			return true;
+
+		case "LAX":
+			// info.A = load(value) ; info.X = load(info.A)
+			emitLoad(writer, "A", mode, constant);
+			emitTransfer(writer, "A", "X", "load");
+			return true;
+		case "SAX":
+			// BlockRuntime.write(mapper, address, info.A & info.X)
+			writer.load(ClassFileWriter.ALOAD, MAPPER_LOCAL);
+			emitAddress(writer, mode, constant, false);
+			emitGetRegister(writer, "A");
+			emitGetRegister(writer, "X");
+			writer.op(ClassFileWriter.IAND);
+			writer.member(ClassFileWriter.INVOKESTATIC, RUNTIME, "write", "(Lmapper/Mapper;II)V");
+			return true;
+		case "DCP":
+		case "ISC":
+		case "SLO":
+		case "RLA":
+		case "SRE":
+		case "RRA":
+			emitReadModifyWrite(writer, name.toLowerCase(), mode, constant);
+			return true;
+
+		default:
+			return false;
+		}
+	}
+
+	private void emitGetRegister(ClassFileWriter writer, String register) {
+		writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+		writer.member(ClassFileWriter.GETFIELD, CPU_INFO, register, "I");
+	}
+
+	private void emitSetFlag(ClassFileWriter writer, String flag, int value) {
+		writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+		writer.pushInt(value);
+		writer.member(ClassFileWriter.PUTFIELD, CPU_INFO, flag, "I");
+	}
+
+	private void emitLoad(ClassFileWriter writer, String register, AddressingMode mode, int constant) {
+		// info.register = BlockRuntime.load(info, value)
+		writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+		writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+		emitRead(writer, mode, constant, true);
+		writer.member(ClassFileWriter.INVOKESTATIC, RUNTIME, "load", "(Lcomponents/CpuInfo;I)I");
+		writer.member(ClassFileWriter.PUTFIELD, CPU_INFO, register, "I");
+	}
+
+	private void emitCompare(ClassFileWriter writer, String register, AddressingMode mode, int constant) {
+		// BlockRuntime.compare(info, info.register, value)
+		writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+		emitGetRegister(writer, register);
+		emitRead(writer, mode, constant, true);
+		writer.member(ClassFileWriter.INVOKESTATIC, RUNTIME, "compare", "(Lcomponents/CpuInfo;II)V");
+	}
+
+	private void emitStore(ClassFileWriter writer, String register, AddressingMode mode, int constant) {
+		// BlockRuntime.write(mapper, address, info.register)
+		writer.load(ClassFileWriter.ALOAD, MAPPER_LOCAL);
+		emitAddress(writer, mode, constant, false);
+		emitGetRegister(writer, register);
+		writer.member(ClassFileWriter.INVOKESTATIC, RUNTIME, "write", "(Lmapper/Mapper;II)V");
+	}
+
+	private void emitReadModifyWrite(ClassFileWriter writer, String operation, AddressingMode mode, int constant) {
+		if (mode == AddressingMode.ACCUMULATOR) {
+			emitTransfer(writer, "A", "A", operation);
+			return;
+		}
+
+		// address = ...
+		emitAddress(writer, mode, constant, false);
+		writer.load(ClassFileWriter.ISTORE, ADDRESS_LOCAL);
+
+		// BlockRuntime.write(mapper, address, BlockRuntime.operation(info,
+		// mapper.readCpuBus(address)))
+		writer.load(ClassFileWriter.ALOAD, MAPPER_LOCAL);
+		writer.load(ClassFileWriter.ILOAD, ADDRESS_LOCAL);
+		writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+		writer.load(ClassFileWriter.ALOAD, MAPPER_LOCAL);
+		writer.load(ClassFileWriter.ILOAD, ADDRESS_LOCAL);
+		writer.member(ClassFileWriter.INVOKEVIRTUAL, MAPPER, "readCpuBus", "(I)I");
+		writer.member(ClassFileWriter.INVOKESTATIC, RUNTIME, operation, "(Lcomponents/CpuInfo;I)I");
+		writer.member(ClassFileWriter.INVOKESTATIC, RUNTIME, "write", "(Lmapper/Mapper;II)V");
+	}
+
+	private void emitTransfer(ClassFileWriter writer, String source, String destination, String operation) {
+		// info.destination = BlockRuntime.operation(info, info.source)
+		writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+		writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+		emitGetRegister(writer, source);
+		writer.member(ClassFileWriter.INVOKESTATIC, RUNTIME, operation, "(Lcomponents/CpuInfo;I)I");
+		writer.member(ClassFileWriter.PUTFIELD, CPU_INFO, destination, "I");
+	}
+
+	/**
+	 * Emits the code pushing the operand value on the stack
+	 */
+	private void emitRead(ClassFileWriter writer, AddressingMode mode, int constant, boolean pagePenalty) {
+		if (mode == AddressingMode.IMMEDIATE) {
+			writer.pushInt(constant & 0xFF);
+			return;
+		}
+
+		// mapper.readCpuBus(address)
+		writer.load(ClassFileWriter.ALOAD, MAPPER_LOCAL);
+		emitAddress(writer, mode, constant, pagePenalty);
+		writer.member(ClassFileWriter.INVOKEVIRTUAL, MAPPER, "readCpuBus", "(I)I");
+	}
+
+	/**
+	 * Emits the code pushing the effective address on the stack. If asked, one
+	 * cycle is added when the page is crossed
+	 */
+	private void emitAddress(ClassFileWriter writer, AddressingMode mode, int constant, boolean pagePenalty) {
+		switch (mode) {
+		case ZEROPAGE:
+			writer.pushInt(constant & 0xFF);
+			return;
+
+		case ABSOLUTE:
+			writer.pushInt(constant & 0xFFFF);
+			return;
+
+		case ZEROPAGE_X:
+		case ZEROPAGE_Y:
+			// (constant + index) & 0xFF
+			emitGetRegister(writer, mode == AddressingMode.ZEROPAGE_X ? "X" : "Y");
+			writer.pushInt(constant);
+			writer.op(ClassFileWriter.IADD);
+			writer.pushInt(0xFF);
+			writer.op(ClassFileWriter.IAND);
+			return;
+
+		case ABSOLUTE_X:
+		case ABSOLUTE_Y:
+			writer.pushInt(constant);
+			emitGetRegister(writer, mode == AddressingMode.ABSOLUTE_X ? "X" : "Y");
+			writer.member(ClassFileWriter.INVOKESTATIC, RUNTIME, "indexed", "(II)I");
+			break;
+
+		case INDIRECT_X:
+			writer.load(ClassFileWriter.ALOAD, CPU_LOCAL);
+			writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+			writer.pushInt(constant);
+			writer.member(ClassFileWriter.INVOKESTATIC, RUNTIME, "indirectX",
+					"(Lcomponents/Cpu;Lcomponents/CpuInfo;I)I");
+			return;
+
+		case INDIRECT_Y:
+			writer.load(ClassFileWriter.ALOAD, CPU_LOCAL);
+			writer.load(ClassFileWriter.ALOAD, CPU_INFO_LOCAL);
+			writer.pushInt(constant);
+			writer.member(ClassFileWriter.INVOKESTATIC, RUNTIME, "indirectY",
+					"(Lcomponents/Cpu;Lcomponents/CpuInfo;I)I");
+			break;
+
+		default:
+			throw new IllegalArgumentException("No address for addressing mode " + mode);
+		}
+
+		// Indexed address: cycles += address >> 16 if penalty, then address & 0xFFFF
+		if (pagePenalty) {
+			writer.op(ClassFileWriter.DUP);
+			writer.pushInt(BlockRuntime.PAGE_CROSSED_SHIFT);
+			writer.op(ClassFileWriter.ISHR);
+			writer.load(ClassFileWriter.ILOAD, CYCLES_LOCAL);
+			writer.op(ClassFileWriter.IADD);
+			writer.load(ClassFileWriter.ISTORE, CYCLES_LOCAL);
+		}
+
+		writer.pushInt(0xFFFF);
+		writer.op(ClassFileWriter.IAND);
+	}
+}
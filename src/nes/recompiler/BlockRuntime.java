@@ -0,0 +1,197 @@
+package recompiler;
+
+import components.Cpu;
+import components.CpuInfo;
+import instructions.alu.AluTables;
+import mapper.Mapper;
+
+/**
+ * <p>
+ * Static helpers called by the compiled blocks for what would be too long to
+ * write in bytecode without branches (flags, indexed addresses). They are small
+ * enough to be inlined by the JIT.
+ * </p>
+ *
+ * <p>
+ * The operations are also those of the {@link components.SwitchInterpreter},
+ * so both engines share one implementation of the flags. This must give
+ * <em>EXACTLY</em> the same results as the classes in the
+ * <code>instructions</code> package.
+ * </p>
+ */
+public final class BlockRuntime {
+
+	static final int PAGE_CROSSED_SHIFT = 16;
+
+	private BlockRuntime() {
+	}
+
+	/* Addressing modes (address | pageCrossed << 16) */
+
+	public static int indexed(int constant, int index) {
+		int pageCrossed = ((constant & 0xFF) + index) >> 8;
+		return ((constant + index) & 0xFFFF) | pageCrossed << PAGE_CROSSED_SHIFT;
+	}
+
+	public static int indirectX(Cpu cpu, CpuInfo cpuInfo, int constant) {
+		return cpu.fetchAddress((constant + cpuInfo.X) & 0xFFFF);
+	}
+
+	public static int indirectY(Cpu cpu, CpuInfo cpuInfo, int constant) {
+		return indexed(cpu.fetchAddress(constant), cpuInfo.Y);
+	}
+
+	/* Memory */
+
+	public static void write(Mapper mapper, int address, int value) {
+		mapper.writeCpuBus(address, value);
+	}
+
+	/* Operations */
+
+	private static void updateNZ(CpuInfo cpuInfo, int result) {
+		// A negative result (compare, decrement) always sets N
+		int flags = AluTables.nz(result);
+		cpuInfo.Z = (flags >> AluTables.Z_SHIFT) & 1;
+		cpuInfo.N = ((flags >> AluTables.N_SHIFT) & 1) | (result >>> 31);
+	}
+
+	private static int updateFlags(CpuInfo cpuInfo, int entry) {
+		cpuInfo.C = (entry >> AluTables.C_SHIFT) & 1;
+		cpuInfo.Z = (entry >> AluTables.Z_SHIFT) & 1;
+		cpuInfo.N = (entry >> AluTables.N_SHIFT) & 1;
+		return entry & AluTables.RESULT_MASK;
+	}
+
+	public static int load(CpuInfo cpuInfo, int value) {
+		updateNZ(cpuInfo, value);
+		return value;
+	}
+
+	public static void adc(CpuInfo cpuInfo, int operand) {
+		int entry = AluTables.adc(cpuInfo.A, operand, cpuInfo.C);
+		cpuInfo.V = (entry >> AluTables.V_SHIFT) & 1;
+		cpuInfo.A = updateFlags(cpuInfo, entry);
+	}
+
+	public static void sbc(CpuInfo cpuInfo, int operand) {
+		// SBC carry is inverted in the table (see SBCInstruction)
+		int entry = AluTables.sbc(cpuInfo.A, operand, cpuInfo.C);
+		cpuInfo.V = (entry >> AluTables.V_SHIFT) & 1;
+		cpuInfo.A = updateFlags(cpuInfo, entry);
+	}
+
+	public static void and(CpuInfo cpuInfo, int operand) {
+		cpuInfo.A = load(cpuInfo, cpuInfo.A & operand);
+	}
+
+	public static void ora(CpuInfo cpuInfo, int operand) {
+		cpuInfo.A = load(cpuInfo, cpuInfo.A | operand);
+	}
+
+	public static void eor(CpuInfo cpuInfo, int operand) {
+		cpuInfo.A = load(cpuInfo, cpuInfo.A ^ operand);
+	}
+
+	public static void bit(CpuInfo cpuInfo, int operand) {
+		int result = cpuInfo.A & operand;
+		updateNZ(cpuInfo, result);
+		cpuInfo.V = (result & 0b01000000) >> 6;
+	}
+
+	public static void compare(CpuInfo cpuInfo, int register, int operand) {
+		int result = register - operand;
+		cpuInfo.C = 1 - (result >>> 31);
+		updateNZ(cpuInfo, result);
+	}
+
+	public static int increment(CpuInfo cpuInfo, int value) {
+		int result = value + 1;
+		updateNZ(cpuInfo, result);
+		return result & 0xFF;
+	}
+
+	public static int decrement(CpuInfo cpuInfo, int value) {
+		int result = value - 1;
+		updateNZ(cpuInfo, result);
+		return result & 0xFF;
+	}
+
+	public static int asl(CpuInfo cpuInfo, int value) {
+		return updateFlags(cpuInfo, AluTables.asl(value));
+	}
+
+	public static int lsr(CpuInfo cpuInfo, int value) {
+		return updateFlags(cpuInfo, AluTables.lsr(value));
+	}
+
+	public static int rol(CpuInfo cpuInfo, int value) {
+		return updateFlags(cpuInfo, AluTables.rol(value, cpuInfo.C));
+	}
+
+	public static int ror(CpuInfo cpuInfo, int value) {
+		return updateFlags(cpuInfo, AluTables.ror(value, cpuInfo.C));
+	}
+
+	/* Unofficial immediate operations */
+
+	public static void anc(CpuInfo cpuInfo, int operand) {
+		and(cpuInfo, operand);
+		cpuInfo.C = cpuInfo.A >> 7;
+	}
+
+	public static void alr(CpuInfo cpuInfo, int operand) {
+		cpuInfo.A = lsr(cpuInfo, cpuInfo.A & operand);
+	}
+
+	public static void arr(CpuInfo cpuInfo, int operand) {
+		int result = (cpuInfo.A & operand) >> 1 | cpuInfo.C << 7;
+		cpuInfo.A = load(cpuInfo, result);
+		cpuInfo.C = (result >> 6) & 1;
+		cpuInfo.V = ((result >> 6) ^ (result >> 5)) & 1;
+	}
+
+	public static void axs(CpuInfo cpuInfo, int operand) {
+		int result = (cpuInfo.A & cpuInfo.X) - operand;
+		cpuInfo.C = 1 - (result >>> 31);
+		cpuInfo.X = load(cpuInfo, result & 0xFF);
+	}
+
+	/* Unofficial read-modify-write, returning the value to write */
+
+	public static int dcp(CpuInfo cpuInfo, int value) {
+		int result = (value - 1) & 0xFF;
+		compare(cpuInfo, cpuInfo.A, result);
+		return result;
+	}
+
+	public static int isc(CpuInfo cpuInfo, int value) {
+		int result = (value + 1) & 0xFF;
+		sbc(cpuInfo, result);
+		return result;
+	}
+
+	public static int slo(CpuInfo cpuInfo, int value) {
+		int result = asl(cpuInfo, value);
+		ora(cpuInfo, result);
+		return result;
+	}
+
+	public static int rla(CpuInfo cpuInfo, int value) {
+		int result = rol(cpuInfo, value);
+		and(cpuInfo, result);
+		return result;
+	}
+
+	public static int sre(CpuInfo cpuInfo, int value) {
+		int result = lsr(cpuInfo, value);
+		eor(cpuInfo, result);
+		return result;
+	}
+
+	public static int rra(CpuInfo cpuInfo, int value) {
+		int result = ror(cpuInfo, value);
+		adc(cpuInfo, result);
+		return result;
+	}
+}
@@ -0,0 +1,293 @@
+package recompiler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Minimal class file writer, only what the {@link BlockCompiler} needs: a class
+ * with a super class, a default constructor and methods whose code has no
+ * branch (so that no stack map frame is needed).
+ * </p>
+ *
+ * <p>
+ * Code is appended with {@link #op(int)} and the other emitting methods between
+ * {@link #beginMethod(String, String)} and {@link #endMethod(int, int)}.
+ * </p>
+ */
+class ClassFileWriter {
+
+	/* Class file version (Java 17) */
+	private static final int MAJOR_VERSION = 61;
+
+	/* Access flags */
+	static final int ACC_PUBLIC = 0x0001;
+	static final int ACC_FINAL = 0x0010;
+	static final int ACC_SUPER = 0x0020;
+
+	/* Constant pool tags */
+	private static final int CONSTANT_UTF8 = 1;
+	private static final int CONSTANT_INTEGER = 3;
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_FIELDREF = 9;
+	private static final int CONSTANT_METHODREF = 10;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+	/* Opcodes */
+	static final int ICONST_0 = 0x03;
+	static final int BIPUSH = 0x10;
+	static final int SIPUSH = 0x11;
+	static final int LDC_W = 0x13;
+	static final int ILOAD = 0x15;
+	static final int ALOAD = 0x19;
+	static final int ISTORE = 0x36;
+	static final int POP = 0x57;
+	static final int DUP = 0x59;
+	static final int IADD = 0x60;
+	static final int ISHR = 0x7A;
+	static final int IAND = 0x7E;
+	static final int IRETURN = 0xAC;
+	static final int RETURN = 0xB1;
+	static final int GETFIELD = 0xB4;
+	static final int PUTFIELD = 0xB5;
+	static final int INVOKEVIRTUAL = 0xB6;
+	static final int INVOKESPECIAL = 0xB7;
+	static final int INVOKESTATIC = 0xB8;
+
+	private final ByteArrayOutputStream constantPool = new ByteArrayOutputStream();
+	private final Map<String, Integer> constants = new HashMap<String, Integer>();
+	private int constantNumber = 1;
+
+	private final ByteArrayOutputStream methods = new ByteArrayOutputStream();
+	private int methodNumber = 0;
+
+	private final int thisClass;
+	private final int superClass;
+
+	private ByteArrayOutputStream code;
+	private int methodName;
+	private int methodDescriptor;
+
+	/**
+	 * Creates a writer for a final public class
+	 *
+	 * @param className  the internal name of the class (with /)
+	 * @param superName  the internal name of the super class
+	 */
+	ClassFileWriter(String className, String superName) {
+		thisClass = classConstant(className);
+		superClass = classConstant(superName);
+	}
+
+	/* Constant pool */
+
+	private int constant(String key, int tag, int... content) {
+		Integer index = constants.get(key);
+		if (index != null) {
+			return index;
+		}
+
+		constantPool.write(tag);
+		for (int u2 : content) {
+			writeShort(constantPool, u2);
+		}
+
+		constants.put(key, constantNumber);
+		return constantNumber++;
+	}
+
+	private int utf8Constant(String value) {
+		Integer index = constants.get("U" + value);
+		if (index != null) {
+			return index;
+		}
+
+		try {
+			DataOutputStream stream = new DataOutputStream(constantPool);
+			stream.writeByte(CONSTANT_UTF8);
+			stream.writeUTF(value);
+		} catch (IOException e) {
+			// Cannot happen with a byte array
+			throw new IllegalStateException(e);
+		}
+
+		constants.put("U" + value, constantNumber);
+		return constantNumber++;
+	}
+
+	private int integerConstant(int value) {
+		return constant("I" + value, CONSTANT_INTEGER, value >>> 16, value & 0xFFFF);
+	}
+
+	private int classConstant(String name) {
+		int utf8 = utf8Constant(name);
+		return constant("C" + name, CONSTANT_CLASS, utf8);
+	}
+
+	private int nameAndTypeConstant(String name, String descriptor) {
+		int nameIndex = utf8Constant(name);
+		int descriptorIndex = utf8Constant(descriptor);
+		return constant("N" + name + ":" + descriptor, CONSTANT_NAME_AND_TYPE, nameIndex, descriptorIndex);
+	}
+
+	private int memberConstant(int tag, String owner, String name, String descriptor) {
+		int ownerIndex = classConstant(owner);
+		int nameAndType = nameAndTypeConstant(name, descriptor);
+		return constant(tag + owner + "." + name + ":" + descriptor, tag, ownerIndex, nameAndType);
+	}
+
+	/* Methods */
+
+	/**
+	 * Starts a public method. Its code is written with the emitting methods until
+	 * {@link #endMethod(int, int)} is called
+	 *
+	 * @param name       the name of the method
+	 * @param descriptor the descriptor of the method
+	 */
+	void beginMethod(String name, String descriptor) {
+		code = new ByteArrayOutputStream();
+		methodName = utf8Constant(name);
+		methodDescriptor = utf8Constant(descriptor);
+	}
+
+	/**
+	 * Ends the current method
+	 *
+	 * @param maxStack  the maximum depth of the operand stack
+	 * @param maxLocals the number of local variables (including parameters)
+	 */
+	void endMethod(int maxStack, int maxLocals) {
+		int codeAttribute = utf8Constant("Code");
+		byte[] bytecode = code.toByteArray();
+
+		writeShort(methods, ACC_PUBLIC);
+		writeShort(methods, methodName);
+		writeShort(methods, methodDescriptor);
+
+		// One attribute: Code
+		writeShort(methods, 1);
+		writeShort(methods, codeAttribute);
+		writeInt(methods, 12 + bytecode.length);
+		writeShort(methods, maxStack);
+		writeShort(methods, maxLocals);
+		writeInt(methods, bytecode.length);
+		methods.writeBytes(bytecode);
+
+		// No exception table and no attribute
+		writeShort(methods, 0);
+		writeShort(methods, 0);
+
+		methodNumber++;
+		code = null;
+	}
+
+	/**
+	 * Writes the default constructor calling the no argument constructor of the
+	 * super class
+	 *
+	 * @param superName the internal name of the super class
+	 */
+	void defaultConstructor(String superName) {
+		beginMethod("<init>", "()V");
+		load(ALOAD, 0);
+		member(INVOKESPECIAL, superName, "<init>", "()V");
+		op(RETURN);
+		endMethod(1, 1);
+	}
+
+	/* Code */
+
+	void op(int opcode) {
+		code.write(opcode);
+	}
+
+	/**
+	 * Pushes an int constant with the smallest instruction
+	 *
+	 * @param value the value to push
+	 */
+	void pushInt(int value) {
+		if (value >= -1 && value <= 5) {
+			op(ICONST_0 + value);
+		} else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+			op(BIPUSH);
+			code.write(value);
+		} else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+			op(SIPUSH);
+			writeShort(code, value);
+		} else {
+			op(LDC_W);
+			writeShort(code, integerConstant(value));
+		}
+	}
+
+	/**
+	 * Loads or stores a local variable
+	 *
+	 * @param opcode ILOAD, ALOAD or ISTORE
+	 * @param local  the local variable index
+	 */
+	void load(int opcode, int local) {
+		op(opcode);
+		code.write(local);
+	}
+
+	/**
+	 * Writes a field or method instruction
+	 *
+	 * @param opcode     GETFIELD, PUTFIELD, INVOKEVIRTUAL, INVOKESPECIAL or
+	 *                   INVOKESTATIC
+	 * @param owner      the internal name of the owner class
+	 * @param name       the name of the member
+	 * @param descriptor the descriptor of the member
+	 */
+	void member(int opcode, String owner, String name, String descriptor) {
+		int tag = opcode == GETFIELD || opcode == PUTFIELD ? CONSTANT_FIELDREF : CONSTANT_METHODREF;
+		op(opcode);
+		writeShort(code, memberConstant(tag, owner, name, descriptor));
+	}
+
+	/**
+	 * Returns the complete class file
+	 *
+	 * @return the bytes of the class
+	 */
+	byte[] toByteArray() {
+		ByteArrayOutputStream classFile = new ByteArrayOutputStream();
+		writeInt(classFile, 0xCAFEBABE);
+		writeShort(classFile, 0);
+		writeShort(classFile, MAJOR_VERSION);
+
+		writeShort(classFile, constantNumber);
+		classFile.writeBytes(constantPool.toByteArray());
+
+		writeShort(classFile, ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+		writeShort(classFile, thisClass);
+		writeShort(classFile, superClass);
+
+		// No interface and no field
+		writeShort(classFile, 0);
+		writeShort(classFile, 0);
+
+		writeShort(classFile, methodNumber);
+		classFile.writeBytes(methods.toByteArray());
+
+		// No attribute
+		writeShort(classFile, 0);
+		return classFile.toByteArray();
+	}
+
+	private static void writeShort(ByteArrayOutputStream stream, int value) {
+		stream.write(value >> 8);
+		stream.write(value);
+	}
+
+	private static void writeInt(ByteArrayOutputStream stream, int value) {
+		writeShort(stream, value >>> 16);
+		writeShort(stream, value & 0xFFFF);
+	}
+}
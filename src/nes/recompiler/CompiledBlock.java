@@ -0,0 +1,82 @@
+package recompiler;
+
+import components.Cpu;
+import components.CpuInfo;
+import components.SwitchInterpreter;
+import exceptions.InstructionNotSupportedException;
+import mapper.Mapper;
+
+/**
+ * <p>
+ * A basic block of ROM code compiled by the {@link BlockCompiler}. Generated
+ * blocks are hidden classes extending this one, with a straight-line
+ * {@link #execute(Cpu, CpuInfo, Mapper, SwitchInterpreter)} method.
+ * </p>
+ *
+ * <p>
+ * A block that cannot be compiled (I/O access or unknown opcode at its start)
+ * is still cached, as a block running one instruction with the interpreter, so
+ * that the compiler does not try again.
+ * </p>
+ */
+public abstract class CompiledBlock {
+
+	/* Address of the first instruction */
+	int address;
+
+	/* Number of instructions in the block */
+	int instructionNumber;
+
+	protected CompiledBlock() {
+	}
+
+	/**
+	 * Executes all the instructions of the block and updates PC
+	 *
+	 * @param cpu         the CPU
+	 * @param cpuInfo     the CPU registers
+	 * @param mapper      the mapper to read and write
+	 * @param interpreter the interpreter running the last instruction of the
+	 *                    block if it is a jump or a branch
+	 * @return the number of cycles taken by the block
+	 * @throws InstructionNotSupportedException if the interpreter finds an
+	 *                                          unknown opcode
+	 */
+	public abstract int execute(Cpu cpu, CpuInfo cpuInfo, Mapper mapper, SwitchInterpreter interpreter)
+			throws InstructionNotSupportedException;
+
+	/**
+	 * Returns the address of the first instruction of the block
+	 *
+	 * @return the address of the block
+	 */
+	public int getAddress() {
+		return address;
+	}
+
+	/**
+	 * Returns the number of instructions executed by the block
+	 *
+	 * @return the number of instructions
+	 */
+	public int getInstructionNumber() {
+		return instructionNumber;
+	}
+
+	/**
+	 * Block executing one instruction with the interpreter
+	 */
+	static final class InterpretedBlock extends CompiledBlock {
+
+		InterpretedBlock(int address) {
+			this.address = address;
+			this.instructionNumber = 1;
+		}
+
+		@Override
+		public int execute(Cpu cpu, CpuInfo cpuInfo, Mapper mapper, SwitchInterpreter interpreter)
+				throws InstructionNotSupportedException {
+			return interpreter.execute();
+		}
+	}
+}
@@ -0,0 +1,167 @@
+package recompiler;
+
+import components.Cpu;
+import components.CpuInfo;
+import components.SwitchInterpreter;
+import exceptions.InstructionNotSupportedException;
+import mapper.Mapper;
+
+/**
+ * <p>
+ * CPU engine running compiled basic blocks (see {@link BlockCompiler}). An
+ * entry point in ROM is interpreted until it has been reached
+ * <code>nes.recompiler.threshold</code> times (16 by default), then its block
+ * is compiled and cached per ROM bank (see {@link BlockCache}).
+ * </p>
+ *
+ * <p>
+ * Code in RAM is always interpreted since it can modify itself, and one call
+ * to {@link #execute()} can run several instructions (a whole block).
+ * </p>
+ */
+public class Recompiler {
+
+	public static final String THRESHOLD_PROPERTY = "nes.recompiler.threshold";
+	private static final int DEFAULT_THRESHOLD = 16;
+
+	/**
+	 * Upper bound of the cycles of an instruction, penalties included: the
+	 * unofficial read-modify-write opcodes with indirect addressing take 8
+	 * cycles, a read with (d),Y at most 6 and a taken branch 4
+	 */
+	public static final int MAX_INSTRUCTION_CYCLES = 8;
+
+	/**
+	 * Upper bound of the cycles of a block
+	 */
+	public static final int MAX_BLOCK_CYCLES = BlockCompiler.MAX_INSTRUCTIONS * MAX_INSTRUCTION_CYCLES;
+
+	private final Cpu cpu;
+	private final CpuInfo cpuInfo;
+	private final SwitchInterpreter interpreter;
+	private final BlockCompiler compiler;
+	private final BlockCache cache = new BlockCache();
+	private final int threshold;
+
+	private long executions = 0;
+	private long executedInstructions = 0;
+
+	public Recompiler(Cpu cpu, SwitchInterpreter interpreter) {
+		this(cpu, interpreter, Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD));
+	}
+
+	/**
+	 * Creates a recompiler compiling blocks after a given number of hits
+	 *
+	 * @param cpu         the CPU
+	 * @param interpreter the interpreter for code that is not compiled
+	 * @param threshold   the number of hits before compiling a block (1 compiles
+	 *                    every block the first time)
+	 */
+	public Recompiler(Cpu cpu, SwitchInterpreter interpreter, int threshold) {
+		this.cpu = cpu;
+		this.cpuInfo = cpu.cpuInfo;
+		this.interpreter = interpreter;
+		this.compiler = new BlockCompiler(cpu);
+		this.threshold = threshold;
+	}
+
+	/**
+	 * Executes the block (or the instruction) pointed by PC and updates PC
+	 *
+	 * @return the number of cycles taken
+	 * @throws InstructionNotSupportedException if an opcode is not emulated
+	 */
+	public int execute() throws InstructionNotSupportedException {
+		int PC = cpuInfo.PC;
+		executions++;
+
+		// RAM can be modified, only ROM is compiled
+		if (PC < 0x8000) {
+			executedInstructions++;
+			return interpreter.execute();
+		}
+
+		Mapper mapper = cpu.getMapper();
+		int bank = mapper.getPrgBank(PC);
+		CompiledBlock block = cache.get(bank, PC);
+
+		if (block == null) {
+			if (cache.hit(bank, PC) < threshold) {
+				executedInstructions++;
+				return interpreter.execute();
+			}
+
+			block = compiler.compile(PC);
+			cache.put(bank, block);
+		}
+
+		// Blocks are straight-line, all their instructions are executed
+		executedInstructions += block.getInstructionNumber();
+		return block.execute(cpu, cpuInfo, mapper, interpreter);
+	}
+
+	/**
+	 * Returns the block cached for an address (compiling it if needed), used to
+	 * know how many instructions it contains
+	 *
+	 * @param address the address of the block
+	 * @return the block
+	 */
+	public CompiledBlock getBlock(int address) {
+		int bank = cpu.getMapper().getPrgBank(address);
+		CompiledBlock block = cache.get(bank, address);
+		if (block == null) {
+			block = compiler.compile(address);
+			cache.put(bank, block);
+		}
+
+		return block;
+	}
+
+	/**
+	 * Returns the number of blocks compiled to bytecode
+	 *
+	 * @return the number of compiled blocks
+	 */
+	public int getCompiledBlocks() {
+		return compiler.getCompiledBlocks();
+	}
+
+	/**
+	 * Returns the number of instructions compiled to bytecode
+	 *
+	 * @return the number of compiled instructions
+	 */
+	public int getCompiledInstructions() {
+		return compiler.getCompiledInstructions();
+	}
+
+	/**
+	 * Returns the number of calls to {@link #execute()}
+	 *
+	 * @return the number of executions
+	 */
+	public long getExecutions() {
+		return executions;
+	}
+
+	/**
+	 * Returns the number of instructions executed, compiled or interpreted. It is
+	 * greater than {@link #getExecutions()} as soon as a block runs
+	 *
+	 * @return the number of executed instructions
+	 */
+	public long getExecutedInstructions() {
+		return executedInstructions;
+	}
+
+	/**
+	 * Returns the number of cached blocks, compiled or interpreted
+	 *
+	 * @return the number of cached blocks
+	 */
+	public int getCachedBlocks() {
+		return cache.size();
+	}
+}
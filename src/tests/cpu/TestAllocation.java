@@ -0,0 +1,80 @@
+package cpu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import components.Cpu;
+import components.CpuEngine;
+import exceptions.InstructionNotSupportedException;
+import utils.MapperTest;
+
+class TestAllocation {
+
+	static final Cpu cpu = Cpu.getInstance();
+	static final MapperTest mapper = new MapperTest();
+	static final ThreadMXBean threadBean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+	static final int CODE_ADDRESS = 0x0300;
+	static final int SUBROUTINE_ADDRESS = 0x0320;
+
+	// Warm-up loads and initialises every class used by the loop. Rounds are
+	// short so that the JIT has no time to remove allocations (escape analysis),
+	// but the JVM itself can allocate a few bytes while compiling: at least one
+	// round must allocate nothing
+	static final int WARMUP_TICKS = 1000;
+	static final int ROUNDS = 5;
+	static final int ROUND_TICKS = 1000;
+
+	@BeforeAll
+	static void init() {
+		cpu.setMapper(mapper);
+
+		// LDA #$12 ; STA $0200,X ; PHA ; PLA ; JSR $0320 ; INX ; JMP $0300
+		cpu.storeMemory(CODE_ADDRESS, 0xA9, 0x12, 0x9D, 0x00, 0x02, 0x48, 0x68, 0x20, 0x20, 0x03, 0xE8, 0x4C, 0x00,
+				0x03);
+
+		// STA $10 ; INC $11 ; RTS
+		cpu.storeMemory(SUBROUTINE_ADDRESS, 0x85, 0x10, 0xE6, 0x11, 0x60);
+	}
+
+	private long allocatedBytes(CpuEngine engine) throws InstructionNotSupportedException {
+		cpu.setEngine(engine);
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+		cpu.cpuInfo.SP = 0xFD;
+		cpu.cpuInfo.X = 0;
+
+		for (int tick = 0; tick < WARMUP_TICKS; tick++) {
+			cpu.tick();
+		}
+
+		long allocated = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS && allocated != 0; round++) {
+			long before = threadBean.getCurrentThreadAllocatedBytes();
+			for (int tick = 0; tick < ROUND_TICKS; tick++) {
+				cpu.tick();
+			}
+			allocated = Math.min(allocated, threadBean.getCurrentThreadAllocatedBytes() - before);
+		}
+
+		return allocated;
+	}
+
+	@Test
+	void testInstructionEngineDoesNotAllocate() throws InstructionNotSupportedException {
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+		assertEquals(0, allocatedBytes(CpuEngine.INSTRUCTION), "Executing instructions must not allocate");
+	}
+
+	@Test
+	void testSwitchEngineDoesNotAllocate() throws InstructionNotSupportedException {
+		assumeTrue(threadBean.isThreadAllocatedMemorySupported() && threadBean.isThreadAllocatedMemoryEnabled());
+		assertEquals(0, allocatedBytes(CpuEngine.SWITCH), "Executing instructions must not allocate");
+	}
+}
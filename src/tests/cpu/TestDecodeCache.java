@@ -0,0 +1,123 @@
+package cpu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import components.Cpu;
+import components.CpuEngine;
+import components.DecodeCache;
+import exceptions.InstructionNotSupportedException;
+import instructions.Instruction;
+import utils.MapperTest;
+
+class TestDecodeCache {
+
+	static final Cpu cpu = Cpu.getInstance();
+	static final MapperTest mapper = new MapperTest();
+	static final DecodeCache decodeCache = mapper.getDecodeCache();
+
+	static final int CODE_ADDRESS = 0x0300;
+
+	@BeforeAll
+	static void init() {
+		cpu.setMapper(mapper);
+		cpu.setEngine(CpuEngine.INSTRUCTION);
+	}
+
+	@BeforeEach
+	void clear() {
+		decodeCache.clear();
+	}
+
+	private Instruction tickAndGet(int address) throws InstructionNotSupportedException {
+		cpu.cpuInfo.PC = address;
+		cpu.tick();
+		return decodeCache.get(address);
+	}
+
+	@Test
+	void testDecodedOnce() throws InstructionNotSupportedException {
+		// LDA #$12
+		cpu.storeMemory(CODE_ADDRESS, 0xA9, 0x12);
+		long misses = decodeCache.getMisses();
+
+		Instruction instruction = tickAndGet(CODE_ADDRESS);
+		assertNotNull(instruction);
+		assertEquals(misses + 1, decodeCache.getMisses());
+
+		long hits = decodeCache.getHits();
+		assertSame(instruction, tickAndGet(CODE_ADDRESS));
+		assertEquals(hits + 2, decodeCache.getHits());
+		assertEquals(misses + 1, decodeCache.getMisses());
+		assertEquals(0x12, cpu.cpuInfo.A);
+	}
+
+	@Test
+	void testWriteInvalidates() throws InstructionNotSupportedException {
+		// LDA $1234 (3 bytes)
+		cpu.storeMemory(CODE_ADDRESS, 0xAD, 0x34, 0x12);
+
+		for (int offset = 0; offset < 3; offset++) {
+			assertNotNull(tickAndGet(CODE_ADDRESS));
+
+			// Any byte of the instruction
+			cpu.storeMemory(CODE_ADDRESS + offset, cpu.fetchMemory(CODE_ADDRESS + offset));
+			assertNull(decodeCache.get(CODE_ADDRESS), "Write at offset %d must invalidate".formatted(offset));
+		}
+
+		// But not the byte after
+		assertNotNull(tickAndGet(CODE_ADDRESS));
+		cpu.storeMemory(CODE_ADDRESS + 3, 0xEA);
+		assertNotNull(decodeCache.get(CODE_ADDRESS));
+	}
+
+	@Test
+	void testModifiedCodeIsDecodedAgain() throws InstructionNotSupportedException {
+		// LDA #$12 then LDA #$34
+		cpu.storeMemory(CODE_ADDRESS, 0xA9, 0x12);
+		tickAndGet(CODE_ADDRESS);
+		assertEquals(0x12, cpu.cpuInfo.A);
+
+		cpu.storeMemory(CODE_ADDRESS + 1, 0x34);
+		tickAndGet(CODE_ADDRESS);
+		assertEquals(0x34, cpu.cpuInfo.A);
+	}
+
+	@Test
+	void testRamMirrors() throws InstructionNotSupportedException {
+		// LDX #$01
+		cpu.storeMemory(CODE_ADDRESS, 0xA2, 0x01);
+		Instruction instruction = tickAndGet(CODE_ADDRESS);
+
+		// Mirrors share the entries
+		assertSame(instruction, decodeCache.get(CODE_ADDRESS + 0x800));
+		decodeCache.invalidate(CODE_ADDRESS + 0x1801);
+		assertNull(decodeCache.get(CODE_ADDRESS));
+	}
+
+	@Test
+	void testOperandsWrappingAroundRam() throws InstructionNotSupportedException {
+		// LDA $1234 at 0x07FE, its last byte is at 0x0800 (mirror of 0x0000)
+		cpu.storeMemory(0x07FE, 0xAD, 0x34, 0x12);
+		assertNotNull(tickAndGet(0x07FE));
+
+		// Written through another mirror
+		decodeCache.invalidate(0x1000);
+		assertNull(decodeCache.get(0x07FE));
+
+		// 0x0001 is after the instruction
+		assertNotNull(tickAndGet(0x07FE));
+		decodeCache.invalidate(0x0001);
+		assertNotNull(decodeCache.get(0x07FE));
+
+		// 0x07FF is its second byte
+		decodeCache.invalidate(0x0FFF);
+		assertNull(decodeCache.get(0x07FE));
+	}
+}
@@ -0,0 +1,92 @@
+package cpu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import components.Cpu;
+import components.CpuEngine;
+import components.HeadlessRunner;
+import components.Ppu;
+import utils.MapperTest;
+
+class TestHeadlessRunner {
+
+	static final Cpu cpu = Cpu.getInstance();
+	static final MapperTest mapper = new MapperTest();
+
+	// In ROM so that the recompiler compiles it
+	static final int CODE_ADDRESS = 0x8000;
+
+	// INX ; JMP $8000 (2 instructions in 5 cycles)
+	static final int LOOP_CYCLES = 5;
+	static final int LOOPS = 2000;
+
+	@BeforeAll
+	static void init() {
+		cpu.setMapper(mapper);
+		cpu.storeMemory(CODE_ADDRESS, 0xE8, 0x4C, 0x00, 0x80);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testCountsInstructions(CpuEngine engine) {
+		cpu.setEngine(engine);
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+
+		HeadlessRunner.Report report = new HeadlessRunner(cpu).runCycles(LOOPS * LOOP_CYCLES);
+		assertNull(report.getError());
+		assertEquals(LOOPS * LOOP_CYCLES, report.getCycles());
+		assertEquals(LOOPS * 2, report.getInstructions());
+		assertTrue(report.getHostNanos() > 0);
+		assertTrue(report.getMegahertz() > 0);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "false, 27395, 29780", "true, 25683, 33247" })
+	void testFrames(boolean pal, long firstFrameCycles, long frameCycles) {
+		cpu.setEngine(CpuEngine.SWITCH);
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+
+		Ppu ppu = cpu.getPpu();
+		ppu.setPal(pal);
+		ppu.reset();
+
+		// Stops on the tick reaching the second VBlank
+		HeadlessRunner.Report report = new HeadlessRunner(cpu).runFrames(2);
+		assertNull(report.getError());
+		assertEquals(2, report.getFrames());
+		assertEquals(2, ppu.getCompletedFrames());
+		assertEquals(Ppu.VBLANK_SCANLINE, ppu.getScanline());
+
+		long cycles = firstFrameCycles + frameCycles;
+		assertTrue(report.getCycles() >= cycles, "%d cycles".formatted(report.getCycles()));
+		assertTrue(report.getCycles() <= cycles + LOOP_CYCLES, "%d cycles".formatted(report.getCycles()));
+
+		// Frames ended during a run of cycles
+		assertEquals(1, new HeadlessRunner(cpu).runCycles(frameCycles + 1).getFrames());
+
+		ppu.setPal(false);
+		ppu.reset();
+	}
+
+	@Test
+	void testStopsOnUnknownOpcode() {
+		cpu.setEngine(CpuEngine.SWITCH);
+
+		// JAM
+		cpu.storeMemory(0x0300, 0x02);
+		cpu.cpuInfo.PC = 0x0300;
+
+		HeadlessRunner.Report report = new HeadlessRunner(cpu).runCycles(1000);
+		assertNotNull(report.getError());
+		assertEquals(0, report.getCycles());
+		assertEquals(0, report.getInstructions());
+	}
+}
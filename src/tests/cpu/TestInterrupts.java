@@ -0,0 +1,216 @@
+package cpu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import components.Cpu;
+import components.CpuEngine;
+import components.CpuInfo;
+import components.SwitchInterpreter;
+import exceptions.InstructionNotSupportedException;
+import instructions.AddressingMode;
+import instructions.jump.BRKInstruction;
+import utils.MapperTest;
+
+class TestInterrupts {
+
+	static final Cpu cpu = Cpu.getInstance();
+	static final CpuInfo cpuInfo = cpu.cpuInfo;
+	static final MapperTest mapper = new MapperTest();
+
+	static final int CODE_ADDRESS = 0x0300;
+	static final int NMI_HANDLER = 0x0400;
+	static final int RESET_HANDLER = 0x0500;
+	static final int IRQ_HANDLER = 0x0600;
+
+	@BeforeAll
+	static void init() {
+		cpu.setMapper(mapper);
+
+		// Vectors
+		cpu.storeMemory(Cpu.NMI_VECTOR, NMI_HANDLER & 0xFF, NMI_HANDLER >> 8);
+		cpu.storeMemory(Cpu.RESET_VECTOR, RESET_HANDLER & 0xFF, RESET_HANDLER >> 8);
+		cpu.storeMemory(Cpu.IRQ_VECTOR, IRQ_HANDLER & 0xFF, IRQ_HANDLER >> 8);
+
+		// Handlers are RTI
+		cpu.storeMemory(NMI_HANDLER, 0x40);
+		cpu.storeMemory(IRQ_HANDLER, 0x40);
+	}
+
+	@BeforeEach
+	void setUp() {
+		cpuInfo.interrupts = 0;
+		cpuInfo.PC = CODE_ADDRESS;
+		cpuInfo.SP = 0xFD;
+		cpuInfo.setP(0);
+	}
+
+	@AfterEach
+	void tearDown() {
+		// The CPU is shared with other tests
+		cpuInfo.interrupts = 0;
+		cpuInfo.I = 0;
+	}
+
+	@Test
+	void testVectors() {
+		assertEquals(0xFFFA, Cpu.NMI_VECTOR);
+		assertEquals(0xFFFC, Cpu.RESET_VECTOR);
+		assertEquals(0xFFFE, Cpu.IRQ_VECTOR);
+		assertEquals(Cpu.BREAK_VECTOR, Cpu.IRQ_VECTOR);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testNmi(CpuEngine engine) throws InstructionNotSupportedException {
+		cpu.setEngine(engine);
+
+		// NOP
+		cpu.storeMemory(CODE_ADDRESS, 0xEA);
+		cpuInfo.Z = 1;
+		cpu.requestNmi();
+
+		// Taken before the NOP, even with I set
+		cpuInfo.I = 1;
+		assertEquals(7, cpu.tick());
+		assertEquals(NMI_HANDLER, cpuInfo.PC);
+		assertEquals(0xFA, cpuInfo.SP);
+		assertEquals(0, cpuInfo.interrupts);
+
+		// B is not pushed
+		assertEquals(0b00000110, cpu.fetchMemory(0x1FB));
+
+		// RTI goes back to the NOP, only once
+		assertEquals(6, cpu.tick());
+		assertEquals(CODE_ADDRESS, cpuInfo.PC);
+		assertEquals(0xFD, cpuInfo.SP);
+		assertEquals(2, cpu.tick());
+		assertEquals(CODE_ADDRESS + 1, cpuInfo.PC);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testIrqIsLevelTriggered(CpuEngine engine) throws InstructionNotSupportedException {
+		cpu.setEngine(engine);
+
+		// NOP
+		cpu.storeMemory(CODE_ADDRESS, 0xEA);
+		cpu.assertIrq(Cpu.IRQ_MAPPER);
+
+		assertEquals(7, cpu.tick());
+		assertEquals(IRQ_HANDLER, cpuInfo.PC);
+		assertEquals(1, cpuInfo.I);
+
+		// Not acknowledged: taken again right after RTI
+		assertEquals(6, cpu.tick());
+		assertEquals(CODE_ADDRESS, cpuInfo.PC);
+		assertEquals(7, cpu.tick());
+		assertEquals(IRQ_HANDLER, cpuInfo.PC);
+
+		// Acknowledged
+		cpu.acknowledgeIrq(Cpu.IRQ_MAPPER);
+		assertEquals(6, cpu.tick());
+		assertEquals(2, cpu.tick());
+		assertEquals(CODE_ADDRESS + 1, cpuInfo.PC);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testIrqMasked(CpuEngine engine) throws InstructionNotSupportedException {
+		cpu.setEngine(engine);
+
+		// NOP ; NOP
+		cpu.storeMemory(CODE_ADDRESS, 0xEA, 0xEA);
+		cpuInfo.I = 1;
+		cpu.assertIrq(Cpu.IRQ_APU_FRAME);
+
+		assertEquals(2, cpu.tick());
+		assertEquals(2, cpu.tick());
+		assertEquals(CODE_ADDRESS + 2, cpuInfo.PC);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testCliLatency(CpuEngine engine) throws InstructionNotSupportedException {
+		cpu.setEngine(engine);
+
+		// CLI ; NOP ; NOP
+		cpu.storeMemory(CODE_ADDRESS, 0x58, 0xEA, 0xEA);
+		cpuInfo.I = 1;
+		cpu.assertIrq(Cpu.IRQ_APU_DMC);
+
+		// The instruction after CLI is executed before the IRQ
+		assertEquals(2, cpu.tick());
+		assertEquals(0, cpuInfo.I);
+		assertEquals(2, cpu.tick());
+		assertEquals(CODE_ADDRESS + 2, cpuInfo.PC);
+
+		assertEquals(7, cpu.tick());
+		assertEquals(IRQ_HANDLER, cpuInfo.PC);
+		assertEquals(CODE_ADDRESS + 1, cpu.fetchAddress(0x1FC));
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testNmiBeforeIrq(CpuEngine engine) throws InstructionNotSupportedException {
+		cpu.setEngine(engine);
+
+		cpu.storeMemory(CODE_ADDRESS, 0xEA);
+		cpu.assertIrq(Cpu.IRQ_MAPPER);
+		cpu.requestNmi();
+
+		assertEquals(7, cpu.tick());
+		assertEquals(NMI_HANDLER, cpuInfo.PC);
+
+		// NMI handler sets I, the IRQ waits for RTI
+		assertEquals(6, cpu.tick());
+		assertEquals(7, cpu.tick());
+		assertEquals(IRQ_HANDLER, cpuInfo.PC);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testReset(CpuEngine engine) throws InstructionNotSupportedException {
+		cpu.setEngine(engine);
+		cpu.storeMemory(0x1FD, 0x12);
+		cpu.requestReset();
+		cpu.requestNmi();
+
+		// Nothing is written in the stack, NMI is forgotten
+		assertEquals(7, cpu.tick());
+		assertEquals(RESET_HANDLER, cpuInfo.PC);
+		assertEquals(0xFA, cpuInfo.SP);
+		assertEquals(1, cpuInfo.I);
+		assertEquals(0x12, cpu.fetchMemory(0x1FD));
+		assertEquals(0, cpuInfo.interrupts);
+	}
+
+	@Test
+	void testBrkHijackedByNmi() throws InstructionNotSupportedException {
+		// NMI pending while BRK pushes
+		cpu.requestNmi();
+		new BRKInstruction(AddressingMode.IMPLICIT).execute();
+		assertEquals(NMI_HANDLER - 1, cpuInfo.PC);
+		assertEquals(1, cpuInfo.I);
+		assertEquals(0, cpuInfo.interrupts);
+
+		cpuInfo.PC = CODE_ADDRESS;
+		cpuInfo.SP = 0xFD;
+		cpu.storeMemory(CODE_ADDRESS, 0x00);
+		cpu.requestNmi();
+		new SwitchInterpreter(cpu).execute();
+		assertEquals(NMI_HANDLER, cpuInfo.PC);
+		assertEquals(0, cpuInfo.interrupts);
+
+		// Not hijacked
+		cpuInfo.PC = CODE_ADDRESS;
+		new SwitchInterpreter(cpu).execute();
+		assertEquals(IRQ_HANDLER, cpuInfo.PC);
+	}
+}
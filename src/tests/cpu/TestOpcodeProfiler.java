@@ -0,0 +1,85 @@
+package cpu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import components.OpcodeProfiler;
+
+class TestOpcodeProfiler {
+
+	OpcodeProfiler profiler;
+
+	@BeforeEach
+	void init() {
+		profiler = new OpcodeProfiler();
+
+		// LDA $1234,X (4 cycles, 5 when crossing a page)
+		profiler.record(0xBD, 4);
+		profiler.record(0xBD, 5);
+		profiler.record(0xBD, 4);
+		profiler.record(0xBD, 4);
+
+		// BNE (2 cycles, 3 when taken, 5 when taken to another page)
+		profiler.record(0xD0, 2);
+		profiler.record(0xD0, 3);
+		profiler.record(0xD0, 5);
+
+		// NOP
+		profiler.record(0xEA, 2);
+	}
+
+	@Test
+	void testCounts() {
+		assertEquals(4, profiler.getExecutions(0xBD));
+		assertEquals(17, profiler.getCycles(0xBD));
+		assertEquals(3, profiler.getExecutions(0xBD, 0));
+		assertEquals(1, profiler.getExecutions(0xBD, 1));
+		assertEquals(1, profiler.getPageCrossings(0xBD));
+		assertEquals(0, profiler.getBranchesTaken(0xBD));
+
+		assertEquals(3, profiler.getExecutions(0xD0));
+		assertEquals(10, profiler.getCycles(0xD0));
+		assertEquals(2, profiler.getBranchesTaken(0xD0));
+		assertEquals(1, profiler.getPageCrossings(0xD0));
+
+		assertEquals(0, profiler.getExecutions(0x00));
+
+		profiler.clear();
+		assertEquals(0, profiler.getExecutions(0xBD));
+		assertEquals(0, profiler.getCycles(0xD0));
+		assertEquals(0, profiler.getExecutions(0xD0, 3));
+	}
+
+	@Test
+	void testCsv() {
+		StringWriter writer = new StringWriter();
+		profiler.writeCsv(writer);
+		String[] lines = writer.toString().split("\\R");
+
+		// Header, then the most expensive opcode first
+		assertEquals(4, lines.length);
+		assertTrue(lines[0].startsWith("opcode,name,mode,executions,cycles"));
+		assertEquals("0xBD,LDA,ABSOLUTE_X,4,17,0.586207,3,1,0,0,0.250000,0.000000", lines[1]);
+		assertEquals("0xD0,BNE,RELATIVE,3,10,0.344828,1,1,0,1,0.333333,0.666667", lines[2]);
+		assertTrue(lines[3].startsWith("0xEA,NOP,IMPLICIT,1,2,"));
+	}
+
+	@Test
+	void testJson() {
+		StringWriter writer = new StringWriter();
+		profiler.writeJson(writer);
+		String json = writer.toString();
+
+		assertTrue(json.contains("\"executions\": 8,"));
+		assertTrue(json.contains("\"cycles\": 29,"));
+		assertTrue(json.contains("{\"opcode\": \"0xD0\", \"name\": \"BNE\", \"mode\": \"RELATIVE\", "
+				+ "\"executions\": 3, \"cycles\": 10, \"cycleShare\": 0.344828, \"extraCycles\": [1, 1, 0, 1], "
+				+ "\"pageCrossRate\": 0.333333, \"branchTakenRate\": 0.666667},"));
+		assertTrue(json.trim().endsWith("}"));
+	}
+}
@@ -0,0 +1,198 @@
+package cpu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import components.Cpu;
+import components.CpuEngine;
+import components.PrgDecodeCache;
+import disassemble.Disassembler;
+import exceptions.InstructionNotSupportedException;
+import instructions.AddressingMode;
+import instructions.Instruction;
+import instructions.InstructionInfo;
+import instructions.registermemory.LDAInstruction;
+import utils.MapperTest;
+
+class TestPrgDecodeCache {
+
+	static final Cpu cpu = Cpu.getInstance();
+	static final MapperTest mapper = new MapperTest();
+	static final PrgDecodeCache prgDecodeCache = mapper.getPrgDecodeCache();
+
+	static final int BANK_SIZE = 0x2000;
+
+	@BeforeAll
+	static void init() {
+		cpu.setMapper(mapper);
+		cpu.setEngine(CpuEngine.INSTRUCTION);
+	}
+
+	@AfterEach
+	void unload() {
+		prgDecodeCache.load(new byte[0]);
+	}
+
+	// Every bank is filled with LDA #bank
+	private byte[] createRom(int bankNumber) {
+		byte[] prgRom = new byte[bankNumber * BANK_SIZE];
+		for (int bank = 0; bank < bankNumber; bank++) {
+			for (int offset = 0; offset < BANK_SIZE; offset += 2) {
+				prgRom[bank * BANK_SIZE + offset] = (byte) 0xA9;
+				prgRom[bank * BANK_SIZE + offset + 1] = (byte) bank;
+			}
+		}
+
+		return prgRom;
+	}
+
+	// What a mapper does for its bus
+	private void storeRom(byte[] prgRom) {
+		for (int address = 0x8000; address < 0x10000; address++) {
+			cpu.storeMemory(address, prgRom[(address - 0x8000) % prgRom.length] & 0xFF);
+		}
+	}
+
+	@Test
+	void testSixteenKilobyteRomIsMirrored() throws InstructionNotSupportedException {
+		byte[] prgRom = createRom(2);
+		prgDecodeCache.load(prgRom);
+		storeRom(prgRom);
+
+		assertEquals(2, prgDecodeCache.getBankNumber());
+		assertEquals(0, prgDecodeCache.getBank(0xC000));
+		assertEquals(1, prgDecodeCache.getBank(0xFFF0));
+		assertSame(prgDecodeCache.get(0xBFF0), prgDecodeCache.get(0xFFF0));
+
+		// Used to be outside of the decoded instructions
+		cpu.cpuInfo.PC = 0xFFF0;
+		cpu.tick();
+		assertEquals(1, cpu.cpuInfo.A);
+		assertEquals(0xFFF2, cpu.cpuInfo.PC);
+	}
+
+	@Test
+	void testBankSwitch() {
+		prgDecodeCache.load(createRom(8));
+
+		Instruction instruction = prgDecodeCache.get(0xE000);
+		assertEquals(new LDAInstruction(AddressingMode.IMMEDIATE, 3), instruction);
+
+		// Nothing decoded again, only the window changes
+		prgDecodeCache.mapWindow(3, 6);
+		assertEquals(6, prgDecodeCache.getBank(0xE000));
+		assertEquals(new LDAInstruction(AddressingMode.IMMEDIATE, 6), prgDecodeCache.get(0xE000));
+		assertEquals(6, mapper.getPrgBank(0xFFFF));
+
+		prgDecodeCache.mapWindow(3, 3);
+		assertSame(instruction, prgDecodeCache.get(0xE000));
+	}
+
+	@Test
+	void testOperandsInNextWindow() throws InstructionNotSupportedException {
+		// LDA $0234 on the last two bytes of the first bank and the first byte of the
+		// second one
+		byte[] prgRom = createRom(4);
+		prgRom[BANK_SIZE - 2] = (byte) 0xAD;
+		prgRom[BANK_SIZE - 1] = 0x34;
+		prgRom[BANK_SIZE] = 0x02;
+		prgDecodeCache.load(prgRom);
+		storeRom(prgRom);
+
+		// Operand 2 is in the next window, which can show any bank
+		assertNull(prgDecodeCache.get(0x9FFE));
+		assertNotNull(prgDecodeCache.get(0x9FFC));
+
+		// The CPU reads it from the bus
+		cpu.storeMemory(0x0234, 0x56);
+		cpu.cpuInfo.PC = 0x9FFE;
+		cpu.tick();
+		assertEquals(0x56, cpu.cpuInfo.A);
+		assertEquals(0xA001, cpu.cpuInfo.PC);
+	}
+
+	@Test
+	void testDecodedWhenRead() {
+		prgDecodeCache.load(createRom(4));
+		long savedBytes = prgDecodeCache.getSavedBytes();
+		assertEquals(0, prgDecodeCache.getDecodedOffsets());
+
+		Instruction instruction = prgDecodeCache.get(0x8010);
+		assertEquals(1, prgDecodeCache.getDecodedOffsets());
+		assertTrue(prgDecodeCache.getSavedBytes() < savedBytes);
+
+		// Memoized
+		assertSame(instruction, prgDecodeCache.get(0x8010));
+		assertEquals(1, prgDecodeCache.getDecodedOffsets());
+	}
+
+	@Test
+	void testPackedRebuildsInstruction() {
+		Disassembler disassembler = new Disassembler();
+		InstructionInfo instructionInfo = InstructionInfo.getInstance();
+
+		for (int opcode = 0; opcode < 0x100; opcode++) {
+			// Opcode then $1234 at the start of the first bank
+			byte[] prgRom = createRom(1);
+			prgRom[0] = (byte) opcode;
+			prgRom[1] = 0x34;
+			prgRom[2] = 0x12;
+			prgDecodeCache.load(prgRom);
+
+			int packed = prgDecodeCache.getPacked(0x8000);
+			Instruction expected = disassembler.disassemble(opcode, 0x34, 0x12);
+			assertEquals(expected, PrgDecodeCache.unpack(packed), "Opcode 0x%02X".formatted(opcode));
+
+			if (expected == null) {
+				assertEquals(0, packed);
+			} else {
+				assertEquals(opcode, packed & PrgDecodeCache.OPCODE_MASK);
+				assertEquals(instructionInfo.getByteNumberFromOpcode(opcode), packed >> PrgDecodeCache.LENGTH_SHIFT);
+			}
+		}
+	}
+
+	@Test
+	void testSwitchRunsPackedRom() throws InstructionNotSupportedException {
+		// LDA $0234 ; LDX #$07
+		byte[] prgRom = createRom(4);
+		prgRom[0] = (byte) 0xAD;
+		prgRom[1] = 0x34;
+		prgRom[2] = 0x02;
+		prgRom[3] = (byte) 0xA2;
+		prgRom[4] = 0x07;
+		prgDecodeCache.load(prgRom);
+		storeRom(prgRom);
+
+		cpu.setEngine(CpuEngine.SWITCH);
+		cpu.storeMemory(0x0234, 0x56);
+		cpu.cpuInfo.PC = 0x8000;
+		assertEquals(4, cpu.tick());
+		assertEquals(2, cpu.tick());
+		cpu.setEngine(CpuEngine.INSTRUCTION);
+
+		assertEquals(0x56, cpu.cpuInfo.A);
+		assertEquals(0x07, cpu.cpuInfo.X);
+		assertEquals(0x8005, cpu.cpuInfo.PC);
+		assertEquals(2, prgDecodeCache.getPackedOffsets());
+		assertEquals(0, prgDecodeCache.getDecodedOffsets());
+	}
+
+	@Test
+	void testNoRom() {
+		assertEquals(0, prgDecodeCache.getBankNumber());
+		assertNull(prgDecodeCache.get(0x8000));
+
+		// Windows are different banks
+		for (int window = 0; window < 4; window++) {
+			assertEquals(window, mapper.getPrgBank(0x8000 + window * BANK_SIZE));
+		}
+	}
+}
@@ -0,0 +1,140 @@
+package cpu;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.TestFactory;
+
+import components.Cpu;
+import components.CpuInfo;
+import components.SwitchInterpreter;
+import disassemble.Disassembler;
+import exceptions.InstructionNotSupportedException;
+import instructions.Instruction;
+import instructions.InstructionInfo;
+import utils.MapperTest;
+
+class TestSwitchInterpreter {
+
+	static final Cpu cpu = Cpu.getInstance();
+	static final List<int[]> outsideWrites = new ArrayList<int[]>();
+	static final MapperTest mapper = new MapperTest() {
+		@Override
+		public void writeCpuBus(int address, int value) {
+			// Indirect addresses can point outside of the checked memory: remember what
+			// is overwritten so that both executions start from the same memory
+			if (address >= CHECKED_MEMORY) {
+				outsideWrites.add(new int[] { address, readCpuBus(address) });
+			}
+			super.writeCpuBus(address, value);
+		}
+	};
+	static final SwitchInterpreter switchInterpreter = new SwitchInterpreter(cpu);
+	static final Disassembler disassembler = new Disassembler();
+
+	// Random states tested for each opcode
+	static final int STATE_NUMBER = 200;
+
+	// Memory window checked after execution (stack + zeropage + data)
+	static final int CHECKED_MEMORY = 0x800;
+	static final int POINTER_PAGES = (CHECKED_MEMORY >> 8) - 1;
+
+	@BeforeAll
+	static void init() {
+		cpu.setMapper(mapper);
+	}
+
+	private void setState(int[] state, int[] memory) {
+		for (int index = outsideWrites.size() - 1; index >= 0; index--) {
+			int[] write = outsideWrites.get(index);
+			cpu.storeMemory(write[0], write[1]);
+		}
+		outsideWrites.clear();
+
+		for (int address = 0; address < memory.length; address++) {
+			cpu.storeMemory(address, memory[address]);
+		}
+
+		CpuInfo cpuInfo = cpu.cpuInfo;
+		cpuInfo.A = state[0];
+		cpuInfo.X = state[1];
+		cpuInfo.Y = state[2];
+		cpuInfo.SP = state[3];
+		cpuInfo.PC = state[4];
+		cpuInfo.setP(state[5]);
+	}
+
+	private int[] getState(int cycles) {
+		CpuInfo cpuInfo = cpu.cpuInfo;
+		int[] state = new int[7 + CHECKED_MEMORY];
+		state[0] = cpuInfo.A;
+		state[1] = cpuInfo.X;
+		state[2] = cpuInfo.Y;
+		state[3] = cpuInfo.SP;
+		state[4] = cpuInfo.PC;
+		state[5] = cpuInfo.getP();
+		state[6] = cycles;
+
+		for (int address = 0; address < CHECKED_MEMORY; address++) {
+			state[7 + address] = cpu.fetchMemory(address);
+		}
+
+		return state;
+	}
+
+	private int executeInstruction(int opcode, int operand1, int operand2) throws InstructionNotSupportedException {
+		Instruction instruction = disassembler.disassemble(opcode, operand1, operand2);
+		int cycles = InstructionInfo.getInstance().getCycles(opcode, instruction.execute());
+		cpu.cpuInfo.PC = (cpu.cpuInfo.PC + instruction.getByteNumber()) & 0xFFFF;
+		return cycles;
+	}
+
+	@TestFactory
+	Collection<DynamicTest> testSameResultsAsInstructions() throws InstructionNotSupportedException {
+		List<DynamicTest> tests = new ArrayList<DynamicTest>();
+		Random random = new Random(0x6502);
+
+		for (int opcode : InstructionInfo.getInstance().getInstructionMap().keySet()) {
+			for (int stateNumber = 0; stateNumber < STATE_NUMBER; stateNumber++) {
+				// Random memory with pointers (plus X or Y) staying in the checked memory
+				int[] memory = new int[CHECKED_MEMORY];
+				for (int address = 0; address < CHECKED_MEMORY; address++) {
+					memory[address] = random.nextInt(0x100);
+				}
+				for (int address = 1; address < 0x100; address += 2) {
+					memory[address] = random.nextInt(POINTER_PAGES);
+				}
+
+				// Instruction somewhere in the data part
+				int PC = 0x200 + random.nextInt(0x500);
+				int operand1 = random.nextInt(0x100);
+				int operand2 = random.nextInt(POINTER_PAGES);
+				memory[PC] = opcode;
+				memory[PC + 1] = operand1;
+				memory[PC + 2] = operand2;
+
+				int[] state = { random.nextInt(0x100), random.nextInt(0x100), random.nextInt(0x100),
+						random.nextInt(0x100), PC, random.nextInt(0x100) };
+
+				// Instruction classes
+				setState(state, memory);
+				int[] expectedState = getState(executeInstruction(opcode, operand1, operand2));
+
+				// Switch interpreter
+				setState(state, memory);
+				int[] gotState = getState(switchInterpreter.execute());
+
+				tests.add(DynamicTest.dynamicTest("0x%02X (%d)".formatted(opcode, stateNumber),
+						() -> assertArrayEquals(expectedState, gotState, "Switch interpreter must match instructions")));
+			}
+		}
+
+		return tests;
+	}
+}
@@ -0,0 +1,232 @@
+package cpu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import components.Cpu;
+import components.CpuEngine;
+import components.CpuInfo;
+import exceptions.InstructionNotSupportedException;
+import utils.MapperTest;
+
+class TestUnofficialOpcodes {
+
+	static final Cpu cpu = Cpu.getInstance();
+	static final CpuInfo cpuInfo = cpu.cpuInfo;
+	static final MapperTest mapper = new MapperTest();
+
+	static final int CODE_ADDRESS = 0x0300;
+	static final int OPERAND_ADDRESS = 0x10;
+
+	@BeforeAll
+	static void init() {
+		cpu.setMapper(mapper);
+	}
+
+	/**
+	 * Executes one instruction at {@link #CODE_ADDRESS} with an operand in zero
+	 * page, and checks that PC moved after it
+	 */
+	private int execute(CpuEngine engine, int operand, int... code) throws InstructionNotSupportedException {
+		cpu.setEngine(engine);
+		cpu.storeMemory(OPERAND_ADDRESS, operand);
+		cpu.storeMemory(CODE_ADDRESS, code);
+		cpuInfo.PC = CODE_ADDRESS;
+
+		int cycles = cpu.tick();
+		assertEquals(CODE_ADDRESS + code.length, cpuInfo.PC);
+		return cycles;
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testLAX(CpuEngine engine) throws InstructionNotSupportedException {
+		assertEquals(3, execute(engine, 0x80, 0xA7, OPERAND_ADDRESS));
+		assertEquals(0x80, cpuInfo.A);
+		assertEquals(0x80, cpuInfo.X);
+		assertEquals(1, cpuInfo.N);
+		assertEquals(0, cpuInfo.Z);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testSAX(CpuEngine engine) throws InstructionNotSupportedException {
+		cpuInfo.A = 0xF0;
+		cpuInfo.X = 0x3C;
+		assertEquals(3, execute(engine, 0x00, 0x87, OPERAND_ADDRESS));
+		assertEquals(0x30, cpu.fetchMemory(OPERAND_ADDRESS));
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testANC(CpuEngine engine) throws InstructionNotSupportedException {
+		// C is bit 7 of the result, for both opcodes
+		cpuInfo.A = 0xF0;
+		cpuInfo.C = 0;
+		assertEquals(2, execute(engine, 0x00, 0x0B, 0x81));
+		assertEquals(0x80, cpuInfo.A);
+		assertEquals(1, cpuInfo.C);
+		assertEquals(1, cpuInfo.N);
+
+		assertEquals(2, execute(engine, 0x00, 0x2B, 0x7F));
+		assertEquals(0x00, cpuInfo.A);
+		assertEquals(0, cpuInfo.C);
+		assertEquals(1, cpuInfo.Z);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testALR(CpuEngine engine) throws InstructionNotSupportedException {
+		cpuInfo.A = 0xFF;
+		cpuInfo.C = 0;
+		assertEquals(2, execute(engine, 0x00, 0x4B, 0x83));
+		assertEquals(0x41, cpuInfo.A);
+		assertEquals(1, cpuInfo.C);
+		assertEquals(0, cpuInfo.N);
+		assertEquals(0, cpuInfo.Z);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testARR(CpuEngine engine) throws InstructionNotSupportedException {
+		// The carry goes in bit 7, C is bit 6 and V is bit 6 xor bit 5
+		cpuInfo.A = 0xFF;
+		cpuInfo.C = 1;
+		cpuInfo.V = 0;
+		assertEquals(2, execute(engine, 0x00, 0x6B, 0x41));
+		assertEquals(0xA0, cpuInfo.A);
+		assertEquals(0, cpuInfo.C);
+		assertEquals(1, cpuInfo.V);
+		assertEquals(1, cpuInfo.N);
+
+		cpuInfo.A = 0xFF;
+		cpuInfo.C = 0;
+		assertEquals(2, execute(engine, 0x00, 0x6B, 0xC0));
+		assertEquals(0x60, cpuInfo.A);
+		assertEquals(1, cpuInfo.C);
+		assertEquals(0, cpuInfo.V);
+		assertEquals(0, cpuInfo.N);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testAXS(CpuEngine engine) throws InstructionNotSupportedException {
+		// X = (A & X) - M without borrow, A is kept
+		cpuInfo.A = 0xF0;
+		cpuInfo.X = 0x3C;
+		cpuInfo.C = 0;
+		assertEquals(2, execute(engine, 0x00, 0xCB, 0x10));
+		assertEquals(0x20, cpuInfo.X);
+		assertEquals(0xF0, cpuInfo.A);
+		assertEquals(1, cpuInfo.C);
+
+		// Borrow: C is cleared and N comes from the 8-bit result
+		cpuInfo.X = 0x00;
+		assertEquals(2, execute(engine, 0x00, 0xCB, 0x90));
+		assertEquals(0x70, cpuInfo.X);
+		assertEquals(0, cpuInfo.C);
+		assertEquals(0, cpuInfo.N);
+		assertEquals(0, cpuInfo.Z);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testDCP(CpuEngine engine) throws InstructionNotSupportedException {
+		// Memory decremented and compared to A
+		cpuInfo.A = 0x40;
+		assertEquals(5, execute(engine, 0x41, 0xC7, OPERAND_ADDRESS));
+		assertEquals(0x40, cpu.fetchMemory(OPERAND_ADDRESS));
+		assertEquals(1, cpuInfo.C);
+		assertEquals(1, cpuInfo.Z);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testISC(CpuEngine engine) throws InstructionNotSupportedException {
+		// Memory incremented and subtracted from A
+		cpuInfo.A = 0x20;
+		cpuInfo.C = 1;
+		assertEquals(5, execute(engine, 0x0F, 0xE7, OPERAND_ADDRESS));
+		assertEquals(0x10, cpu.fetchMemory(OPERAND_ADDRESS));
+		assertEquals(0x10, cpuInfo.A);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testSLO(CpuEngine engine) throws InstructionNotSupportedException {
+		cpuInfo.A = 0x01;
+		assertEquals(5, execute(engine, 0x81, 0x07, OPERAND_ADDRESS));
+		assertEquals(0x02, cpu.fetchMemory(OPERAND_ADDRESS));
+		assertEquals(0x03, cpuInfo.A);
+		assertEquals(1, cpuInfo.C);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testRLA(CpuEngine engine) throws InstructionNotSupportedException {
+		cpuInfo.A = 0xFF;
+		cpuInfo.C = 1;
+		assertEquals(5, execute(engine, 0x80, 0x27, OPERAND_ADDRESS));
+		assertEquals(0x01, cpu.fetchMemory(OPERAND_ADDRESS));
+		assertEquals(0x01, cpuInfo.A);
+		assertEquals(1, cpuInfo.C);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testSRE(CpuEngine engine) throws InstructionNotSupportedException {
+		cpuInfo.A = 0x01;
+		assertEquals(5, execute(engine, 0x03, 0x47, OPERAND_ADDRESS));
+		assertEquals(0x01, cpu.fetchMemory(OPERAND_ADDRESS));
+		assertEquals(0x00, cpuInfo.A);
+		assertEquals(1, cpuInfo.C);
+		assertEquals(1, cpuInfo.Z);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testRRA(CpuEngine engine) throws InstructionNotSupportedException {
+		// The carry shifted out is used by the addition
+		cpuInfo.A = 0x10;
+		cpuInfo.C = 1;
+		assertEquals(5, execute(engine, 0x02, 0x67, OPERAND_ADDRESS));
+		assertEquals(0x81, cpu.fetchMemory(OPERAND_ADDRESS));
+		assertEquals(0x91, cpuInfo.A);
+		assertEquals(0, cpuInfo.C);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testNOP(CpuEngine engine) throws InstructionNotSupportedException {
+		assertEquals(2, execute(engine, 0x00, 0x1A));
+		assertEquals(2, execute(engine, 0x00, 0x80, 0x12));
+		assertEquals(3, execute(engine, 0x00, 0x04, OPERAND_ADDRESS));
+
+		// Page crossed penalty
+		cpuInfo.X = 0x01;
+		assertEquals(4, execute(engine, 0x00, 0x1C, 0x00, 0x02));
+		assertEquals(5, execute(engine, 0x00, 0x1C, 0xFF, 0x02));
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "INSTRUCTION", "SWITCH", "RECOMPILER" })
+	void testUnstableOpcodeHalts(CpuEngine engine) {
+		cpu.setEngine(engine);
+		cpu.storeMemory(CODE_ADDRESS, 0x02);
+		cpuInfo.PC = CODE_ADDRESS;
+
+		// Halted with a diagnostic, twice since PC did not move
+		for (int tick = 0; tick < 2; tick++) {
+			InstructionNotSupportedException exception = assertThrows(InstructionNotSupportedException.class,
+					cpu::tick);
+			assertTrue(exception.getMessage().contains("0x02"));
+			assertTrue(exception.getMessage().contains("JAM"));
+			assertEquals(CODE_ADDRESS, cpuInfo.PC);
+		}
+	}
+}
@@ -2,6 +2,7 @@ package disassemble;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -11,12 +12,16 @@ import java.io.IOException;
 
 import org.junit.jupiter.api.Test;
 
+import components.Mirroring;
 import exceptions.NotNesFileException;
 import instructions.AddressingMode;
 import instructions.Instruction;
+import instructions.NOPInstruction;
 import instructions.alu.ADCInstruction;
 import instructions.alu.ASLInstruction;
+import instructions.alu.ISCInstruction;
 import instructions.alu.ORAInstruction;
+import instructions.alu.SLOInstruction;
 import instructions.branch.BCCInstruction;
 import instructions.branch.BEQInstruction;
 import instructions.branch.BPLInstruction;
@@ -51,7 +56,7 @@ public class TestDisassembler {
 
 	@Test
 	void testDisassembleUnknownInstruction() {
-		Instruction instruction = disass.disassemble(0xFC, 0, 0);
+		Instruction instruction = disass.disassemble(0x02, 0, 0);
 		assertNull(instruction);
 	}
 
@@ -70,15 +75,24 @@ public class TestDisassembler {
 		assertNull(instruction);
 	}
 
+	@Test
+	void testDisassembleKeepsOpcode() {
+		// Same class and addressing mode for both NOPs, only the opcode differs
+		assertEquals(0xEA, disass.disassemble(0xEA, -1, -1).getOpcode());
+		assertEquals(0x1A, disass.disassemble(0x1A, -1, -1).getOpcode());
+		assertEquals(0x7D, disass.disassemble(0x7D, 0x34, 0x12).getOpcode());
+		assertEquals(0x69, disass.disassemble(0x69, 0x01, -1).getOpcode());
+	}
+
 	@Test
 	void testDisassembleNesFile() throws NotNesFileException, IOException {
 		// Content of instructions in littleNesFile.nes
 		// LDA #$50
 		// BVC *-121
 		// STA #$1A
-		// null
+		// NOP
 		// LDA #$03
-		// null
+		// SLO ($A2,X)
 		// LDX #$0A
 		// ASL A
 		// ADC $10,X
@@ -89,9 +103,9 @@ public class TestDisassembler {
 		// SED
 		// ...null...
 		// BEQ *+1
-		// null
+		// ISC $8000,X
 		// BRK
-		// null
+		// NOP #$F0
 		// BEQ *+1
 		// null
 
@@ -108,9 +122,9 @@ public class TestDisassembler {
 		instructions[0] = new LDAInstruction(AddressingMode.IMMEDIATE, 0x50);
 		instructions[1] = new BVCInstruction(AddressingMode.RELATIVE, 0x85);
 		instructions[2] = new STAInstruction(AddressingMode.ZEROPAGE, 0x1A);
-		instructions[3] = null;
+		instructions[3] = new NOPInstruction(AddressingMode.IMPLICIT);
 		instructions[4] = new LDAInstruction(AddressingMode.IMMEDIATE, 0x03);
-		instructions[5] = null;
+		instructions[5] = new SLOInstruction(AddressingMode.INDIRECT_X, 0xA2);
 		instructions[6] = new LDXInstruction(AddressingMode.IMMEDIATE, 0x0A);
 		instructions[7] = new ASLInstruction(AddressingMode.ACCUMULATOR);
 		instructions[8] = new ADCInstruction(AddressingMode.ZEROPAGE_X, 0x10);
@@ -125,15 +139,16 @@ public class TestDisassembler {
 		}
 
 		instructions[0x7FFA] = new BEQInstruction(AddressingMode.RELATIVE, 0xFF);
-		instructions[0x7FFB] = null;
+		instructions[0x7FFB] = new ISCInstruction(AddressingMode.ABSOLUTE_X, 0x8000);
 		instructions[0x7FFC] = new BRKInstruction(AddressingMode.IMPLICIT);
-		instructions[0x7FFD] = null;
+		instructions[0x7FFD] = new NOPInstruction(AddressingMode.IMMEDIATE, 0xF0);
 		instructions[0x7FFE] = new BEQInstruction(AddressingMode.RELATIVE, 0xFF);
 		instructions[0x7FFF] = null;
 
 		assertArrayEquals(expectedPrgRom, info.getPrgRom());
 		assertArrayEquals(new byte[0], info.getChrRom());
 		assertArrayEquals(instructions, info.getInstructions());
+		assertEquals(Mirroring.HORIZONTAL, info.getNametableMirroring());
 	}
 
 }
@@ -0,0 +1,152 @@
+package events;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import components.Cpu;
+import components.CpuEngine;
+import components.HeadlessRunner;
+import exceptions.InstructionNotSupportedException;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import utils.MapperTest;
+
+class TestEvents {
+
+	static final Cpu cpu = Cpu.getInstance();
+	static final MapperTest mapper = new MapperTest();
+
+	static final int CODE_ADDRESS = 0x0300;
+	static final int NMI_HANDLER = 0x0400;
+
+	Recording recording;
+
+	@BeforeAll
+	static void init() {
+		cpu.setMapper(mapper);
+		cpu.setEngine(CpuEngine.INSTRUCTION);
+		cpu.storeMemory(Cpu.NMI_VECTOR, NMI_HANDLER & 0xFF, NMI_HANDLER >> 8);
+	}
+
+	@BeforeEach
+	void start() {
+		recording = new Recording();
+		for (String event : new String[] { "nes.Interrupt", "nes.OamDma", "nes.DecodeMiss", "nes.BankSwitch" }) {
+			recording.enable(event).withoutStackTrace();
+		}
+		recording.enable("nes.CpuSlice").withoutThreshold();
+		recording.start();
+	}
+
+	@AfterEach
+	void close() {
+		recording.close();
+	}
+
+	private List<RecordedEvent> stop(String name) throws IOException {
+		recording.stop();
+		Path file = Files.createTempFile("nes", ".jfr");
+		try {
+			recording.dump(file);
+			return RecordingFile.readAllEvents(file).stream()
+					.filter(event -> event.getEventType().getName().equals(name)).toList();
+		} finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test
+	void testInterrupt() throws InstructionNotSupportedException, IOException {
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+		cpu.cpuInfo.SP = 0xFD;
+		cpu.requestNmi();
+		cpu.tick();
+
+		List<RecordedEvent> events = stop("nes.Interrupt");
+		assertEquals(1, events.size());
+		assertEquals("NMI", events.get(0).getString("type"));
+		assertEquals(CODE_ADDRESS, events.get(0).getInt("returnAddress"));
+		assertEquals(NMI_HANDLER, events.get(0).getInt("handler"));
+	}
+
+	@Test
+	void testOamDma() throws InstructionNotSupportedException, IOException {
+		// NOP
+		cpu.storeMemory(CODE_ADDRESS, 0xEA);
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+		cpu.cpuInfo.dmaRequested = true;
+		cpu.cpuInfo.dmaHaltCycles = 513;
+		cpu.tick();
+
+		List<RecordedEvent> events = stop("nes.OamDma");
+		assertEquals(1, events.size());
+		assertEquals(513, events.get(0).getInt("haltCycles"));
+	}
+
+	@Test
+	void testDecodeMiss() throws InstructionNotSupportedException, IOException {
+		// LDA #$12, written so it is not in the cache
+		cpu.storeMemory(CODE_ADDRESS, 0xA9, 0x12);
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+		cpu.tick();
+
+		// Then it is
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+		cpu.tick();
+
+		List<RecordedEvent> events = stop("nes.DecodeMiss");
+		assertEquals(1, events.size());
+		assertEquals(DecodeMissEvent.RAM, events.get(0).getString("cache"));
+		assertEquals(CODE_ADDRESS, events.get(0).getInt("address"));
+		assertEquals(0xA9, events.get(0).getInt("opcode"));
+	}
+
+	@Test
+	void testBankSwitch() throws IOException {
+		new MapperTest() {
+			{
+				// 4 banks of 8 KB, the last one in the window 0xE000
+				prgDecodeCache.load(new byte[0x8000]);
+				mapPrgWindow(3, 1);
+			}
+		};
+
+		List<RecordedEvent> events = stop("nes.BankSwitch");
+		assertEquals(1, events.size());
+		assertEquals(3, events.get(0).getInt("window"));
+		assertEquals(3, events.get(0).getInt("previousBank"));
+		assertEquals(1, events.get(0).getInt("bank"));
+	}
+
+	@Test
+	void testCpuSlices() throws IOException {
+		// INX ; JMP $0300
+		cpu.storeMemory(CODE_ADDRESS, 0xE8, 0x4C, 0x00, 0x03);
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+
+		HeadlessRunner.Report report = new HeadlessRunner(cpu).runFrames(3);
+
+		// One slice per frame
+		List<RecordedEvent> events = stop("nes.CpuSlice");
+		assertEquals(3, events.size());
+
+		long cycles = 0;
+		for (RecordedEvent event : events) {
+			assertTrue(event.getLong("cycles") > 0);
+			assertEquals("INSTRUCTION", event.getString("engine"));
+			cycles += event.getLong("cycles");
+		}
+		assertEquals(report.getCycles(), cycles);
+	}
+}
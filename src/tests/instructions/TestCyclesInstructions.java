@@ -32,6 +32,7 @@ import instructions.alu.BITInstruction;
 import instructions.alu.CMPInstruction;
 import instructions.alu.CPXInstruction;
 import instructions.alu.CPYInstruction;
+import instructions.alu.DCPInstruction;
 import instructions.alu.DECInstruction;
 import instructions.alu.DEXInstruction;
 import instructions.alu.DEYInstruction;
@@ -39,11 +40,16 @@ import instructions.alu.EORInstruction;
 import instructions.alu.INCInstruction;
 import instructions.alu.INXInstruction;
 import instructions.alu.INYInstruction;
+import instructions.alu.ISCInstruction;
 import instructions.alu.LSRInstruction;
 import instructions.alu.ORAInstruction;
+import instructions.alu.RLAInstruction;
 import instructions.alu.ROLInstruction;
 import instructions.alu.RORInstruction;
+import instructions.alu.RRAInstruction;
 import instructions.alu.SBCInstruction;
+import instructions.alu.SLOInstruction;
+import instructions.alu.SREInstruction;
 import instructions.branch.BCCInstruction;
 import instructions.branch.BCSInstruction;
 import instructions.branch.BEQInstruction;
@@ -71,9 +77,11 @@ import instructions.register.TSXInstruction;
 import instructions.register.TXAInstruction;
 import instructions.register.TXSInstruction;
 import instructions.register.TYAInstruction;
+import instructions.registermemory.LAXInstruction;
 import instructions.registermemory.LDAInstruction;
 import instructions.registermemory.LDXInstruction;
 import instructions.registermemory.LDYInstruction;
+import instructions.registermemory.SAXInstruction;
 import instructions.registermemory.STAInstruction;
 import instructions.registermemory.STXInstruction;
 import instructions.registermemory.STYInstruction;
@@ -144,12 +152,14 @@ class TestCyclesInstructions {
 			// Normal cycles
 			assertEquals(cycles[i], instruction.getCycles());
 
-			// Update page crossed (to 1)
+			// Page crossed, one more cycle
 			instruction = instruction.newInstruction(0xFE);
-			instruction.execute();
+			assertEquals(1, instruction.execute());
 
-			// Cycles + 1
-			assertEquals(cycles[i] + 1, instruction.getCycles());
+			// Same instruction without page crossed, no more cycle
+			cpu.cpuInfo.X = 0;
+			cpu.cpuInfo.Y = 0;
+			assertEquals(0, instruction.execute());
 		}
 	}
 
@@ -177,7 +187,7 @@ class TestCyclesInstructions {
 		assertEquals(cycles, instruction.getCycles());
 
 		// Execute instruction, if jumped then begin tests, else change flags to 1
-		instruction.execute();
+		int branchedCycles = instruction.execute();
 
 		if (cpu.cpuInfo.PC == 0) {
 			// Flags at 1
@@ -190,18 +200,17 @@ class TestCyclesInstructions {
 			cpu.cpuInfo.N = 1;
 
 			// Execute again
-			instruction.execute();
+			branchedCycles = instruction.execute();
 		}
 
 		// Branched cycles
-		assertEquals(cycles + 1, instruction.getCycles());
+		assertEquals(1, branchedCycles);
 
 		// Recreate branch instruction with page change (-128)
 		instruction = instruction.newInstruction(0x80);
-		instruction.execute();
 
 		// Branched cycles with new page
-		assertEquals(cycles + 1 + 2, instruction.getCycles());
+		assertEquals(1 + 2, instruction.execute());
 	}
 
 	private void testException(Class<?> instructionClass, AddressingMode... addressingModes)
@@ -436,9 +445,9 @@ class TestCyclesInstructions {
 	@ParameterizedTest
 	@ValueSource(classes = { CLCInstruction.class, CLDInstruction.class, CLIInstruction.class, CLVInstruction.class,
 			DEXInstruction.class, DEYInstruction.class, INXInstruction.class, INYInstruction.class,
-			NOPInstruction.class, SECInstruction.class, SEDInstruction.class, SEIInstruction.class,
-			TAXInstruction.class, TAYInstruction.class, TSXInstruction.class, TXAInstruction.class,
-			TXSInstruction.class, TYAInstruction.class })
+			SECInstruction.class, SEDInstruction.class, SEIInstruction.class, TAXInstruction.class,
+			TAYInstruction.class, TSXInstruction.class, TXAInstruction.class, TXSInstruction.class,
+			TYAInstruction.class })
 	void testCyclesImplied(Class<?> clazz)
 			throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException,
 			NoSuchMethodException, SecurityException, InstructionNotSupportedException {
@@ -732,4 +741,132 @@ class TestCyclesInstructions {
 				INDIRECT_X, INDIRECT_Y);
 	}
 
-}
\ No newline at end of file
+	/**
+	 * <ul>
+	 * <li>Implied - 2
+	 * <li>Immediate - 2
+	 * <li>Zeropage - 3
+	 * <li>ZeropageX - 4
+	 * <li>Absolute - 4
+	 * <li>AbsoluteX - 4+
+	 * </ul>
+	 * 
+	 * @param clazz the instruction class
+	 * @throws InstructionNotSupportedException
+	 * @throws SecurityException
+	 * @throws NoSuchMethodException
+	 * @throws InvocationTargetException
+	 * @throws IllegalArgumentException
+	 * @throws IllegalAccessException
+	 * @throws InstantiationException
+	 */
+	@ParameterizedTest
+	@ValueSource(classes = { NOPInstruction.class })
+	void testCyclesNOP(Class<?> clazz)
+			throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException,
+			NoSuchMethodException, SecurityException, InstructionNotSupportedException {
+		// Working
+		testWorking(clazz, new int[] { 2, 2, 3, 4, 4 }, IMPLICIT, IMMEDIATE, ZEROPAGE, ZEROPAGE_X, ABSOLUTE);
+		testWorkingPageCross(clazz, new int[] { 4 }, ABSOLUTE_X);
+
+		// Others
+		testException(clazz, ACCUMULATOR, ZEROPAGE_Y, RELATIVE, ABSOLUTE_Y, INDIRECT, INDIRECT_X, INDIRECT_Y);
+	}
+
+	/**
+	 * <ul>
+	 * <li>Zeropage - 3
+	 * <li>ZeropageY - 4
+	 * <li>Absolute - 4
+	 * <li>AbsoluteY - 4+
+	 * <li>IndirectX - 6
+	 * <li>IndirectY - 5+
+	 * </ul>
+	 * 
+	 * @param clazz the instruction class
+	 * @throws InstructionNotSupportedException
+	 * @throws SecurityException
+	 * @throws NoSuchMethodException
+	 * @throws InvocationTargetException
+	 * @throws IllegalArgumentException
+	 * @throws IllegalAccessException
+	 * @throws InstantiationException
+	 */
+	@ParameterizedTest
+	@ValueSource(classes = { LAXInstruction.class })
+	void testCyclesLAX(Class<?> clazz)
+			throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException,
+			NoSuchMethodException, SecurityException, InstructionNotSupportedException {
+		// Working
+		testWorking(clazz, new int[] { 3, 4, 4, 6 }, ZEROPAGE, ZEROPAGE_Y, ABSOLUTE, INDIRECT_X);
+		testWorkingPageCross(clazz, new int[] { 4, 5 }, ABSOLUTE_Y, INDIRECT_Y);
+
+		// Others
+		testException(clazz, IMPLICIT, ACCUMULATOR, IMMEDIATE, ZEROPAGE_X, RELATIVE, ABSOLUTE_X, INDIRECT);
+	}
+
+	/**
+	 * <ul>
+	 * <li>Zeropage - 3
+	 * <li>ZeropageY - 4
+	 * <li>Absolute - 4
+	 * <li>IndirectX - 6
+	 * </ul>
+	 * 
+	 * @param clazz the instruction class
+	 * @throws InstructionNotSupportedException
+	 * @throws SecurityException
+	 * @throws NoSuchMethodException
+	 * @throws InvocationTargetException
+	 * @throws IllegalArgumentException
+	 * @throws IllegalAccessException
+	 * @throws InstantiationException
+	 */
+	@ParameterizedTest
+	@ValueSource(classes = { SAXInstruction.class })
+	void testCyclesSAX(Class<?> clazz)
+			throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException,
+			NoSuchMethodException, SecurityException, InstructionNotSupportedException {
+		// Working
+		testWorking(clazz, new int[] { 3, 4, 4, 6 }, ZEROPAGE, ZEROPAGE_Y, ABSOLUTE, INDIRECT_X);
+
+		// Others
+		testException(clazz, IMPLICIT, ACCUMULATOR, IMMEDIATE, ZEROPAGE_X, RELATIVE, ABSOLUTE_X, ABSOLUTE_Y, INDIRECT,
+				INDIRECT_Y);
+	}
+
+	/**
+	 * <ul>
+	 * <li>Zeropage - 5
+	 * <li>ZeropageX - 6
+	 * <li>Absolute - 6
+	 * <li>AbsoluteX - 7
+	 * <li>AbsoluteY - 7
+	 * <li>IndirectX - 8
+	 * <li>IndirectY - 8
+	 * </ul>
+	 * 
+	 * @param clazz the instruction class
+	 * @throws InstructionNotSupportedException
+	 * @throws SecurityException
+	 * @throws NoSuchMethodException
+	 * @throws InvocationTargetException
+	 * @throws IllegalArgumentException
+	 * @throws IllegalAccessException
+	 * @throws InstantiationException
+	 */
+	@ParameterizedTest
+	@ValueSource(classes = { DCPInstruction.class, ISCInstruction.class, RLAInstruction.class, RRAInstruction.class,
+			SLOInstruction.class, SREInstruction.class })
+	void testCyclesUnofficialReadModifyWrite(Class<?> clazz)
+			throws InstantiationException, IllegalAccessException, IllegalArgumentException, InvocationTargetException,
+			NoSuchMethodException, SecurityException, InstructionNotSupportedException {
+		// Working
+		testWorking(clazz, new int[] { 5, 6, 6, 7, 7, 8, 8 }, ZEROPAGE, ZEROPAGE_X, ABSOLUTE, ABSOLUTE_X, ABSOLUTE_Y,
+				INDIRECT_X, INDIRECT_Y);
+
+		// Others
+		testException(clazz, IMPLICIT, ACCUMULATOR, IMMEDIATE, ZEROPAGE_Y, RELATIVE, INDIRECT);
+	}
+
+}
\ No newline at end of file
@@ -2,20 +2,28 @@ package instructions;
 
 import static org.junit.Assert.assertNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Map;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
 import instructions.alu.ADCInstruction;
+import instructions.alu.ALRInstruction;
+import instructions.alu.ANCInstruction;
 import instructions.alu.ANDInstruction;
+import instructions.alu.ARRInstruction;
 import instructions.alu.ASLInstruction;
+import instructions.alu.AXSInstruction;
 import instructions.alu.BITInstruction;
 import instructions.alu.CMPInstruction;
 import instructions.alu.CPXInstruction;
 import instructions.alu.CPYInstruction;
+import instructions.alu.DCPInstruction;
 import instructions.alu.DECInstruction;
 import instructions.alu.DEXInstruction;
 import instructions.alu.DEYInstruction;
@@ -23,11 +31,16 @@ import instructions.alu.EORInstruction;
 import instructions.alu.INCInstruction;
 import instructions.alu.INXInstruction;
 import instructions.alu.INYInstruction;
+import instructions.alu.ISCInstruction;
 import instructions.alu.LSRInstruction;
 import instructions.alu.ORAInstruction;
+import instructions.alu.RLAInstruction;
 import instructions.alu.ROLInstruction;
 import instructions.alu.RORInstruction;
+import instructions.alu.RRAInstruction;
 import instructions.alu.SBCInstruction;
+import instructions.alu.SLOInstruction;
+import instructions.alu.SREInstruction;
 import instructions.branch.BCCInstruction;
 import instructions.branch.BCSInstruction;
 import instructions.branch.BEQInstruction;
@@ -54,9 +67,11 @@ import instructions.register.TSXInstruction;
 import instructions.register.TXAInstruction;
 import instructions.register.TXSInstruction;
 import instructions.register.TYAInstruction;
+import instructions.registermemory.LAXInstruction;
 import instructions.registermemory.LDAInstruction;
 import instructions.registermemory.LDXInstruction;
 import instructions.registermemory.LDYInstruction;
+import instructions.registermemory.SAXInstruction;
 import instructions.registermemory.STAInstruction;
 import instructions.registermemory.STXInstruction;
 import instructions.registermemory.STYInstruction;
@@ -587,15 +602,174 @@ public class TestInstructionInfo {
 		assertEquals(expectedInstruction, gotInstruction);
 	}
 
+	/* Stable unofficial opcodes */
+
+	@ParameterizedTest
+	@CsvSource(value = { "IMMEDIATE, 0x4B" })
+	void testInfoALR(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new ALRInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "IMMEDIATE, 0x0B", "IMMEDIATE, 0x2B" })
+	void testInfoANC(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new ANCInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "IMMEDIATE, 0x6B" })
+	void testInfoARR(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new ARRInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "IMMEDIATE, 0xCB" })
+	void testInfoAXS(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new AXSInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "ZEROPAGE, 0xC7", "ZEROPAGE_X, 0xD7", "ABSOLUTE, 0xCF", "ABSOLUTE_X, 0xDF",
+			"ABSOLUTE_Y, 0xDB", "INDIRECT_X, 0xC3", "INDIRECT_Y, 0xD3" })
+	void testInfoDCP(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new DCPInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "ZEROPAGE, 0xE7", "ZEROPAGE_X, 0xF7", "ABSOLUTE, 0xEF", "ABSOLUTE_X, 0xFF",
+			"ABSOLUTE_Y, 0xFB", "INDIRECT_X, 0xE3", "INDIRECT_Y, 0xF3" })
+	void testInfoISC(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new ISCInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "ZEROPAGE, 0xA7", "ZEROPAGE_Y, 0xB7", "ABSOLUTE, 0xAF", "ABSOLUTE_Y, 0xBF", "INDIRECT_X, 0xA3",
+			"INDIRECT_Y, 0xB3" })
+	void testInfoLAX(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new LAXInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "IMPLICIT, 0x1A", "IMPLICIT, 0xFA", "IMMEDIATE, 0x80", "IMMEDIATE, 0xE2", "ZEROPAGE, 0x04",
+			"ZEROPAGE_X, 0xF4", "ABSOLUTE, 0x0C", "ABSOLUTE_X, 0xFC" })
+	void testInfoUnofficialNOP(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new NOPInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "ZEROPAGE, 0x27", "ZEROPAGE_X, 0x37", "ABSOLUTE, 0x2F", "ABSOLUTE_X, 0x3F",
+			"ABSOLUTE_Y, 0x3B", "INDIRECT_X, 0x23", "INDIRECT_Y, 0x33" })
+	void testInfoRLA(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new RLAInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "ZEROPAGE, 0x67", "ZEROPAGE_X, 0x77", "ABSOLUTE, 0x6F", "ABSOLUTE_X, 0x7F",
+			"ABSOLUTE_Y, 0x7B", "INDIRECT_X, 0x63", "INDIRECT_Y, 0x73" })
+	void testInfoRRA(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new RRAInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "ZEROPAGE, 0x87", "ZEROPAGE_Y, 0x97", "ABSOLUTE, 0x8F", "INDIRECT_X, 0x83" })
+	void testInfoSAX(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new SAXInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
 	@ParameterizedTest
-	@ValueSource(ints = { 0x2, 0x3, 0x4, 0x7, 0xB, 0xC, 0xF, 0x12, 0x13, 0x14, 0x17, 0x1A, 0x1B, 0x1C, 0x1F, 0x22, 0x23,
-			0x27, 0x2B, 0x2F, 0x32, 0x33, 0x34, 0x37, 0x3A, 0x3B, 0x3C, 0x3F, 0x42, 0x43, 0x44, 0x47, 0x4B, 0x4F, 0x52,
-			0x53, 0x54, 0x57, 0x5A, 0x5B, 0x5C, 0x5F, 0x62, 0x63, 0x64, 0x67, 0x6B, 0x6F, 0x72, 0x73, 0x74, 0x77, 0x7A,
-			0x7B, 0x7C, 0x7F, 0x80, 0x82, 0x83, 0x87, 0x89, 0x8B, 0x8F, 0x92, 0x93, 0x97, 0x9B, 0x9C, 0x9E, 0x9F, 0xA3,
-			0xA7, 0xAB, 0xAF, 0xB2, 0xB3, 0xB7, 0xBB, 0xBF, 0xC2, 0xC3, 0xC7, 0xCB, 0xCF, 0xD2, 0xD3, 0xD4, 0xD7, 0xDA,
-			0xDB, 0xDC, 0xDF, 0xE2, 0xE3, 0xE7, 0xEB, 0xEF, 0xF2, 0xF3, 0xF4, 0xF7, 0xFA, 0xFB, 0xFC, 0xFF })
-	void testUnknownOpcodes(int opcode) {
+	@CsvSource(value = { "IMMEDIATE, 0xEB" })
+	void testInfoUnofficialSBC(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new SBCInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "ZEROPAGE, 0x07", "ZEROPAGE_X, 0x17", "ABSOLUTE, 0x0F", "ABSOLUTE_X, 0x1F",
+			"ABSOLUTE_Y, 0x1B", "INDIRECT_X, 0x03", "INDIRECT_Y, 0x13" })
+	void testInfoSLO(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new SLOInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "ZEROPAGE, 0x47", "ZEROPAGE_X, 0x57", "ABSOLUTE, 0x4F", "ABSOLUTE_X, 0x5F",
+			"ABSOLUTE_Y, 0x5B", "INDIRECT_X, 0x43", "INDIRECT_Y, 0x53" })
+	void testInfoSRE(AddressingMode mode, int opcode) {
+		Instruction expectedInstruction = new SREInstruction(mode);
+		Instruction gotInstruction = instructionMap.get(opcode);
+
+		assertEquals(expectedInstruction, gotInstruction);
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "0x69, 2, 2", "0x7D, 4, 5", "0x79, 4, 5", "0x71, 5, 6", "0xBE, 4, 5", "0x9D, 5, 5",
+			"0x91, 6, 6", "0x1E, 7, 7", "0xF0, 2, 3", "0x4C, 3, 3",
+			"0xBF, 4, 5", "0xB3, 5, 6", "0x1C, 4, 5", "0xDF, 7, 7", "0xF3, 8, 8", "0x9F, 0, 0" })
+	void testCycleTable(int opcode, int cycles, int pageCrossedCycles) {
+		InstructionInfo instructionInfo = InstructionInfo.getInstance();
+
+		// Base cycles, then with one more cycle returned by the execution
+		assertEquals(cycles, instructionInfo.getCycles(opcode));
+		assertEquals(cycles, instructionInfo.getCycles(opcode, 0));
+		assertEquals(pageCrossedCycles, instructionInfo.getCycles(opcode, 1));
+	}
+
+	@ParameterizedTest
+	@ValueSource(ints = { 0x02, 0x12, 0x22, 0x32, 0x42, 0x52, 0x62, 0x72, 0x92, 0xB2, 0xD2, 0xF2, 0x8B, 0x93, 0x9B,
+			0x9C, 0x9E, 0x9F, 0xAB, 0xBB })
+	void testUnsupportedOpcodes(int opcode) {
 		Instruction gotInstruction = instructionMap.get(opcode);
 		assertNull(gotInstruction);
+
+		// The CPU halts on them with a description
+		assertNotNull(InstructionInfo.getInstance().getUnsupportedDescription(opcode));
+	}
+
+	@Test
+	void testEveryOpcodeIsDescribed() {
+		InstructionInfo instructionInfo = InstructionInfo.getInstance();
+		for (int opcode = 0; opcode < 0x100; opcode++) {
+			// Either emulated or described, never both
+			boolean emulated = instructionInfo.getInstruction(opcode) != null;
+			boolean described = instructionInfo.getUnsupportedDescription(opcode) != null;
+			assertTrue(emulated != described, "Opcode 0x%02X".formatted(opcode));
+		}
 	}
 }
@@ -76,6 +76,20 @@ class TestInstructionReadWrite {
 		mapper.resetCounters();
 	}
 
+	@Test
+	void testSameInstructionWithOtherIndex() throws InstructionNotSupportedException {
+		// The address is computed again at each execution (instructions are shared)
+		STAInstruction staInstruction = new STAInstruction(AddressingMode.ABSOLUTE_X, 0x0300);
+		cpu.cpuInfo.A = 0x50;
+
+		for (int xValue = 0; xValue <= 0xFF; xValue++) {
+			cpu.cpuInfo.X = xValue;
+			staInstruction.execute();
+			assertEquals(0x50, cpu.fetchMemory(0x0300 + xValue),
+					"Value is not 0x50 for address 0x%04X".formatted(0x0300 + xValue));
+		}
+	}
+
 	// If all addressing modes work, then each instruction must be tested with only
 	// one addressing mode! (Like ASL)
 	// Test to put 0x50 with all memory-based addressing modes
@@ -99,16 +113,13 @@ class TestInstructionReadWrite {
 				}
 
 				@Override
-				public void execute() throws InstructionNotSupportedException {
-					this.storeMemory(0x50);
+				public int execute() {
+					this.storeMemory(resolveAddress(), 0x50);
+					return 0;
 				}
 			};
 
-			try {
-				instruction.execute();
-			} catch (InstructionNotSupportedException e) {
-				e.printStackTrace();
-			}
+			instruction.execute();
 
 			assertEquals(0x50, cpu.fetchMemory(zeroPageAddress),
 					"Value is not 0x50 for address 0x%04X".formatted(zeroPageAddress));
@@ -137,16 +148,13 @@ class TestInstructionReadWrite {
 					}
 
 					@Override
-					public void execute() throws InstructionNotSupportedException {
-						this.storeMemory(0x50);
+					public int execute() {
+						this.storeMemory(resolveAddress(), 0x50);
+						return 0;
 					}
 				};
 
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				assertEquals(0x50, cpu.fetchMemory((zeroPageAddress + xValue) & 0xFF),
 						"Value is not 0x50 for address 0x%04X (X=0x%02X)".formatted(zeroPageAddress, xValue));
@@ -176,16 +184,13 @@ class TestInstructionReadWrite {
 					}
 
 					@Override
-					public void execute() throws InstructionNotSupportedException {
-						this.storeMemory(0x50);
+					public int execute() {
+						this.storeMemory(resolveAddress(), 0x50);
+						return 0;
 					}
 				};
 
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				assertEquals(0x50, cpu.fetchMemory((zeroPageAddress + yValue) & 0xFF),
 						"Value is not 0x50 for address 0x%04X (Y=0x%02X)".formatted(zeroPageAddress, yValue));
@@ -213,16 +218,13 @@ class TestInstructionReadWrite {
 				}
 
 				@Override
-				public void execute() throws InstructionNotSupportedException {
-					this.storeMemory(0x50);
+				public int execute() {
+					this.storeMemory(resolveAddress(), 0x50);
+					return 0;
 				}
 			};
 
-			try {
-				instruction.execute();
-			} catch (InstructionNotSupportedException e) {
-				e.printStackTrace();
-			}
+			instruction.execute();
 
 			assertEquals(0x50, cpu.fetchMemory(absoluteAddress),
 					"Value is not 0x50 for address 0x%04X".formatted(absoluteAddress));
@@ -252,16 +254,13 @@ class TestInstructionReadWrite {
 					}
 
 					@Override
-					public void execute() throws InstructionNotSupportedException {
-						this.storeMemory(0x50);
+					public int execute() {
+						this.storeMemory(resolveAddress(), 0x50);
+						return 0;
 					}
 				};
 
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				assertEquals(0x50, cpu.fetchMemory((absoluteAddress + xValue) & 0xFFFF),
 						"Value is not 0x50 for address 0x%04X (X=0x%02X)".formatted(absoluteAddress, xValue));
@@ -292,16 +291,13 @@ class TestInstructionReadWrite {
 					}
 
 					@Override
-					public void execute() throws InstructionNotSupportedException {
-						this.storeMemory(0x50);
+					public int execute() {
+						this.storeMemory(resolveAddress(), 0x50);
+						return 0;
 					}
 				};
 
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				assertEquals(0x50, cpu.fetchMemory((absoluteAddress + yValue) & 0xFFFF),
 						"Value is not 0x50 for address 0x%04X (Y=0x%02X)".formatted(absoluteAddress, yValue));
@@ -334,16 +330,13 @@ class TestInstructionReadWrite {
 					}
 
 					@Override
-					public void execute() throws InstructionNotSupportedException {
-						this.storeMemory(0x50);
+					public int execute() {
+						this.storeMemory(resolveAddress(), 0x50);
+						return 0;
 					}
 				};
 
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				assertEquals(0x50, cpu.fetchMemory(0x1234),
 						"Value is not 0x50 for address 0x1234 (ZP=0x%02X,X=0x%02X)".formatted(zeroPageAddress, xValue));
@@ -376,16 +369,13 @@ class TestInstructionReadWrite {
 					}
 
 					@Override
-					public void execute() throws InstructionNotSupportedException {
-						this.storeMemory(0x50);
+					public int execute() {
+						this.storeMemory(resolveAddress(), 0x50);
+						return 0;
 					}
 				};
 
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				assertEquals(0x50, cpu.fetchMemory((0x1234 + yValue) & 0xFFFF),
 						"Value is not 0x50 for address 0x12%02X (ZP=0x%02X)".formatted(yValue, zeroPageAddress));
@@ -25,7 +25,6 @@ import org.junit.jupiter.api.TestFactory;
 
 import components.Cpu;
 import components.CpuInfo;
-import exceptions.InstructionNotSupportedException;
 import instructions.alu.ADCInstruction;
 import instructions.alu.ANDInstruction;
 import instructions.alu.ASLInstruction;
@@ -181,11 +180,7 @@ class TestInstructions {
 					instruction = instruction.newInstruction(operand2);
 
 					// Without carry
-					try {
-						instruction.execute();
-					} catch (InstructionNotSupportedException e) {
-						e.printStackTrace();
-					}
+					instruction.execute();
 
 					int rawValue = function.apply(operand1, operand2, 0);
 					int expectedValue = rawValue & 0xFF;
@@ -204,11 +199,7 @@ class TestInstructions {
 					cpu.cpuInfo.C = 1;
 					cpu.cpuInfo.A = operand1;
 					instruction = instruction.newInstruction(operand2);
-					try {
-						instruction.execute();
-					} catch (InstructionNotSupportedException e) {
-						e.printStackTrace();
-					}
+					instruction.execute();
 
 					int rawCarryValue = function.apply(operand1, operand2, 1);
 					int expectedCarryValue = rawCarryValue & 0xFF;
@@ -257,11 +248,7 @@ class TestInstructions {
 					cpu.cpuInfo.A = operand1;
 					instruction = instruction.newInstruction(operand2);
 
-					try {
-						instruction.execute();
-					} catch (InstructionNotSupportedException e) {
-						e.printStackTrace();
-					}
+					instruction.execute();
 
 					int rawValue = logicFunction.apply(operand1, operand2);
 					int expectedValue = rawValue & 0xFF;
@@ -295,11 +282,7 @@ class TestInstructions {
 				cpu.cpuInfo.A = operand1;
 				flagSet.accept(cpu.cpuInfo);
 
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				int rawValue = function.apply(operand1);
 				int expectedValue = rawValue & 0xFF;
@@ -337,11 +320,7 @@ class TestInstructions {
 					valueUpdate.accept(operand1);
 
 					instruction = instruction.newInstruction(operand2);
-					try {
-						instruction.execute();
-					} catch (InstructionNotSupportedException e) {
-						e.printStackTrace();
-					}
+					instruction.execute();
 
 					int value = operand1 - operand2;
 					int expectedC = value >= 0 ? 1 : 0;
@@ -377,11 +356,7 @@ class TestInstructions {
 
 				// Execute instruction
 				instruction = instruction.newInstruction(zeroPageAddress);
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				// Test flags
 				int expectedResult = function.apply(value) & 0xFF;
@@ -413,11 +388,7 @@ class TestInstructions {
 				registerUpdate.accept(value);
 
 				// Execute instruction (implicit so no new)
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				// Test flags
 				int expectedResult = (function.apply(value)) & 0xFF;
@@ -471,11 +442,7 @@ class TestInstructions {
 
 					// Execute instruction
 					BITInstruction instruction = new BITInstruction(ZEROPAGE, zeroPageAddress);
-					try {
-						instruction.execute();
-					} catch (InstructionNotSupportedException e) {
-						e.printStackTrace();
-					}
+					instruction.execute();
 
 					// Test flags
 					int result = operand1 & operand2;
@@ -602,11 +569,7 @@ class TestInstructions {
 				nonBranchCondition.accept(cpu.cpuInfo);
 
 				// Execute instruction
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				// Got values
 				int gotPC = cpu.cpuInfo.PC;
@@ -621,11 +584,7 @@ class TestInstructions {
 				branchCondition.accept(cpu.cpuInfo);
 
 				// Execute instruction
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				// Expected values
 				int signedOffset = offset > 0x7F ? offset - 256 : offset;
@@ -718,11 +677,7 @@ class TestInstructions {
 
 			// Execute CLC
 			CLCInstruction instruction = new CLCInstruction(IMPLICIT);
-			try {
-				instruction.execute();
-			} catch (InstructionNotSupportedException e) {
-				e.printStackTrace();
-			}
+			instruction.execute();
 
 			// Test
 			assertEquals(0, cpu.cpuInfo.C, "C must be 0");
@@ -735,11 +690,7 @@ class TestInstructions {
 
 			// Execute CLD
 			CLDInstruction instruction = new CLDInstruction(IMPLICIT);
-			try {
-				instruction.execute();
-			} catch (InstructionNotSupportedException e) {
-				e.printStackTrace();
-			}
+			instruction.execute();
 
 			// Test
 			assertEquals(0, cpu.cpuInfo.D, "D must be 0");
@@ -752,11 +703,7 @@ class TestInstructions {
 
 			// Execute CLI
 			CLIInstruction instruction = new CLIInstruction(IMPLICIT);
-			try {
-				instruction.execute();
-			} catch (InstructionNotSupportedException e) {
-				e.printStackTrace();
-			}
+			instruction.execute();
 
 			// Test
 			assertEquals(0, cpu.cpuInfo.I, "I must be 0");
@@ -769,11 +716,7 @@ class TestInstructions {
 
 			// Execute CLV
 			CLVInstruction instruction = new CLVInstruction(IMPLICIT);
-			try {
-				instruction.execute();
-			} catch (InstructionNotSupportedException e) {
-				e.printStackTrace();
-			}
+			instruction.execute();
 
 			// Test
 			assertEquals(0, cpu.cpuInfo.V, "V must be 0");
@@ -786,11 +729,7 @@ class TestInstructions {
 
 			// Execute CLC
 			SECInstruction instruction = new SECInstruction(IMPLICIT);
-			try {
-				instruction.execute();
-			} catch (InstructionNotSupportedException e) {
-				e.printStackTrace();
-			}
+			instruction.execute();
 
 			// Test
 			assertEquals(1, cpu.cpuInfo.C, "C must be 1");
@@ -803,11 +742,7 @@ class TestInstructions {
 
 			// Execute CLC
 			SEDInstruction instruction = new SEDInstruction(IMPLICIT);
-			try {
-				instruction.execute();
-			} catch (InstructionNotSupportedException e) {
-				e.printStackTrace();
-			}
+			instruction.execute();
 
 			// Test
 			assertEquals(1, cpu.cpuInfo.D, "D must be 1");
@@ -820,11 +755,7 @@ class TestInstructions {
 
 			// Execute CLC
 			SEIInstruction instruction = new SEIInstruction(IMPLICIT);
-			try {
-				instruction.execute();
-			} catch (InstructionNotSupportedException e) {
-				e.printStackTrace();
-			}
+			instruction.execute();
 
 			// Test
 			assertEquals(1, cpu.cpuInfo.I, "I must be 1");
@@ -865,11 +796,7 @@ class TestInstructions {
 			cpu.storeMemory(vectorAddress, new int[] { 0xAD, 0xDE });
 
 			BRKInstruction instruction = new BRKInstruction(IMPLICIT);
-			try {
-				instruction.execute();
-			} catch (InstructionNotSupportedException e) {
-				e.printStackTrace();
-			}
+			instruction.execute();
 
 			// Test what is in stack
 			assertEquals(0xBEEF - 1, cpu.fetchAddress(0x1FC), "Old PC should be in first stack position");
@@ -891,11 +818,7 @@ class TestInstructions {
 
 				// Create and execute instruction
 				JMPInstruction instruction = new JMPInstruction(ABSOLUTE, address);
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				int expectedAddress = (address - 3) & 0xFFFF;
 				int gotAddress = cpu.cpuInfo.PC;
@@ -918,11 +841,7 @@ class TestInstructions {
 
 				// Create and execute instruction
 				JSRInstruction instruction = new JSRInstruction(ABSOLUTE, address);
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				int expectedAddress = (address - 3) & 0xFFFF;
 				int expectedSP = 0xFB;
@@ -949,11 +868,7 @@ class TestInstructions {
 
 			// Create and execute instruction
 			RTIInstruction instruction = new RTIInstruction(IMPLICIT);
-			try {
-				instruction.execute();
-			} catch (InstructionNotSupportedException e) {
-				e.printStackTrace();
-			}
+			instruction.execute();
 
 			// Test values
 			assertEquals(0xBEEF - 1, cpu.cpuInfo.PC, "Old PC should be back");
@@ -972,19 +887,11 @@ class TestInstructions {
 
 				// Create and execute instruction
 				JSRInstruction jumpInstruction = new JSRInstruction(ABSOLUTE, 0);
-				try {
-					jumpInstruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				jumpInstruction.execute();
 
 				// Go back
 				RTSInstruction rtsInstruction = new RTSInstruction(IMPLICIT);
-				try {
-					rtsInstruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				rtsInstruction.execute();
 
 				int expectedAddress = (address - 1) & 0xFFFF;
 				int expectedSP = 0xFD;
@@ -1031,11 +938,7 @@ class TestInstructions {
 				resetCpu();
 				instruction = instruction.newInstruction(value);
 
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				int expectedValue = value;
 				int expectedZ = value == 0 ? 1 : 0;
@@ -1071,11 +974,7 @@ class TestInstructions {
 
 				// Create and execute instruction
 				instruction = instruction.newInstruction(0x10);
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				// Test values
 				int expectedValue = value;
@@ -1157,11 +1056,7 @@ class TestInstructions {
 				registerUpdate.accept(value);
 
 				// Execute instruction
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				// Test values
 				int expectedValue = value;
@@ -1186,11 +1081,7 @@ class TestInstructions {
 				cpu.push(value);
 
 				// Execute instruction
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				// Test values
 				int expectedValue = value;
@@ -1256,11 +1147,7 @@ class TestInstructions {
 				registerUpdate.accept(value);
 
 				// Execute instruction
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				int expectedValue = value;
 				int expectedZ = value == 0 ? 1 : 0;
@@ -1317,11 +1204,7 @@ class TestInstructions {
 				cpu.cpuInfo.X = value;
 
 				// Execute instruction
-				try {
-					instruction.execute();
-				} catch (InstructionNotSupportedException e) {
-					e.printStackTrace();
-				}
+				instruction.execute();
 
 				int expectedValue = value;
 				int gotValue = cpu.cpuInfo.SP;
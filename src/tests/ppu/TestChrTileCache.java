@@ -0,0 +1,91 @@
+package ppu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import components.ChrTileCache;
+import utils.MapperTest;
+
+class TestChrTileCache {
+
+	MapperTest mapper;
+	ChrTileCache tileCache;
+
+	@BeforeEach
+	void init() {
+		mapper = new MapperTest();
+		tileCache = mapper.getChrTileCache();
+	}
+
+	private void writeTile(int tile, int... bytes) {
+		for (int index = 0; index < bytes.length; index++) {
+			mapper.writePpuBus(tile * 16 + index, bytes[index]);
+		}
+	}
+
+	@Test
+	void testDecode() {
+		// Row 0: low plane 0b11000001, high plane 0b10100001 => 3 1 2 0 0 0 0 3
+		writeTile(5, 0b11000001, 0, 0, 0, 0, 0, 0, 0, 0b10100001);
+
+		int row = tileCache.getRow(5, 0);
+		int[] expected = { 3, 1, 2, 0, 0, 0, 0, 3 };
+		for (int x = 0; x < 8; x++) {
+			assertEquals(expected[x], ChrTileCache.getPixel(row, x, false));
+			assertEquals(expected[7 - x], ChrTileCache.getPixel(row, x, true));
+		}
+
+		// Other rows are transparent
+		assertEquals(0, tileCache.getRow(5, 1));
+	}
+
+	@Test
+	void testRightTable() {
+		writeTile(256 + 3, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF);
+		for (int row = 0; row < 8; row++) {
+			assertEquals(1, ChrTileCache.getPixel(tileCache.getRow(259, row), 0, false));
+		}
+	}
+
+	@Test
+	void testDecodedOnce() {
+		writeTile(7, 0xFF);
+		long decoded = tileCache.getDecodedTiles();
+
+		for (int row = 0; row < 8; row++) {
+			tileCache.getRow(7, row);
+		}
+		tileCache.getRow(7, 0);
+		assertEquals(decoded + 1, tileCache.getDecodedTiles());
+	}
+
+	@Test
+	void testWriteInvalidatesTile() {
+		writeTile(9, 0);
+		writeTile(10, 0);
+		assertEquals(0, tileCache.getRow(9, 0));
+		assertEquals(0, tileCache.getRow(10, 0));
+		long decoded = tileCache.getDecodedTiles();
+		long invalidations = tileCache.getInvalidations();
+
+		// High plane of the row 2 of tile 9
+		mapper.writePpuBus(9 * 16 + 8 + 2, 0x80);
+		assertEquals(invalidations + 1, tileCache.getInvalidations());
+		assertEquals(2, ChrTileCache.getPixel(tileCache.getRow(9, 2), 0, false));
+
+		// Only the written tile is decoded again
+		tileCache.getRow(10, 0);
+		assertEquals(decoded + 1, tileCache.getDecodedTiles());
+	}
+
+	@Test
+	void testNametableWriteDoesNotInvalidate() {
+		tileCache.getRow(0, 0);
+		long invalidations = tileCache.getInvalidations();
+
+		mapper.writePpuBus(0x2000, 1);
+		assertEquals(invalidations, tileCache.getInvalidations());
+	}
+}
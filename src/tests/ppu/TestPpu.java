@@ -0,0 +1,519 @@
+package ppu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import components.Cpu;
+import components.CpuEngine;
+import components.Ppu;
+import components.Region;
+import components.TripleBuffer;
+import exceptions.InstructionNotSupportedException;
+import utils.MapperTest;
+
+class TestPpu {
+
+	static final Cpu cpu = Cpu.getInstance();
+	static final Ppu ppu = cpu.getPpu();
+	static final MapperTest mapper = new MapperTest();
+
+	static final int CODE_ADDRESS = 0x0300;
+
+	// From the power up to the dot 1 of the scanline 241 (the dot is run)
+	static final int NTSC_VBLANK_CYCLES = 27395;
+	static final int PAL_VBLANK_CYCLES = 25683;
+
+	@BeforeEach
+	void init() {
+		cpu.setMapper(mapper);
+		cpu.setEngine(CpuEngine.SWITCH);
+
+		// NOP ; JMP $0300
+		cpu.storeMemory(CODE_ADDRESS, 0xEA, 0x4C, 0x00, 0x03);
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+
+		ppu.setPal(false);
+		ppu.reset();
+	}
+
+	@AfterEach
+	void clear() {
+		// No NMI for the other tests
+		ppu.reset();
+		cpu.cpuInfo.interrupts = 0;
+		cpu.cpuInfo.dmaRequested = false;
+	}
+
+	private void writeVram(int address, int... values) {
+		ppu.writeRegister(0x2006, address >> 8);
+		ppu.writeRegister(0x2006, address & 0xFF);
+		for (int value : values) {
+			ppu.writeRegister(0x2007, value);
+		}
+	}
+
+	@Test
+	void testVblank() {
+		long vblank = ppu.getNextVblankCycle();
+		assertEquals(cpu.getClock() + NTSC_VBLANK_CYCLES, vblank);
+		assertEquals(vblank, ppu.getNextEventCycle());
+
+		ppu.catchUp(vblank - 1);
+		assertEquals(0, ppu.getStatus() & Ppu.STATUS_VBLANK);
+
+		ppu.catchUp(vblank);
+		assertEquals(Ppu.STATUS_VBLANK, ppu.getStatus() & Ppu.STATUS_VBLANK);
+		assertEquals(Ppu.VBLANK_SCANLINE, ppu.getScanline());
+
+		// Next event is the next frame
+		assertTrue(ppu.getNextEventCycle() > vblank);
+	}
+
+	@Test
+	void testPalVblank() {
+		ppu.setPal(true);
+		ppu.reset();
+		assertEquals(cpu.getClock() + PAL_VBLANK_CYCLES, ppu.getNextVblankCycle());
+
+		// 312 scanlines, 33247.5 CPU cycles per frame
+		long vblank = ppu.getNextVblankCycle();
+		ppu.catchUp(vblank);
+		long nextVblank = ppu.getNextVblankCycle();
+		ppu.catchUp(nextVblank);
+		assertEquals(66495, ppu.getNextVblankCycle() - vblank);
+		assertEquals(Region.PAL, ppu.getRegion());
+		assertEquals(Region.PAL.getHalfCyclesPerFrame(), ppu.getNextVblankCycle() - vblank);
+	}
+
+	@Test
+	void testOddFramesAreShorter() {
+		// Rendering enabled, NTSC frames are 89342 and 89341 dots long
+		ppu.writeRegister(0x2001, 0x18);
+		long first = ppu.getNextVblankCycle();
+		ppu.catchUp(first);
+		long second = ppu.getNextVblankCycle();
+		ppu.catchUp(second);
+		long third = ppu.getNextVblankCycle();
+
+		assertEquals(59561, third - first);
+		assertEquals(Region.NTSC, ppu.getRegion());
+		assertEquals(Region.NTSC.getHalfCyclesPerFrame(), third - first);
+	}
+
+	@Test
+	void testFramePeriod() {
+		// 60.0988 and 50.0070 Hz
+		assertEquals(16639260, Region.NTSC.getFramePeriod());
+		assertEquals(19997209, Region.PAL.getFramePeriod());
+	}
+
+	@Test
+	void testCpuLoopSynchronisesAtVblank() throws InstructionNotSupportedException {
+		ppu.writeRegister(0x2000, 0x80);
+		long vblank = ppu.getNextEventCycle();
+
+		// The PPU is not advanced by the CPU before its event
+		while (cpu.getClock() < vblank) {
+			assertEquals(0, ppu.getScanline());
+			assertEquals(0, cpu.cpuInfo.interrupts & Cpu.INTERRUPT_NMI);
+			cpu.tick();
+		}
+
+		assertEquals(Ppu.VBLANK_SCANLINE, ppu.getScanline());
+		assertEquals(Cpu.INTERRUPT_NMI, cpu.cpuInfo.interrupts & Cpu.INTERRUPT_NMI);
+	}
+
+	@Test
+	void testStatusRead() {
+		ppu.catchUp(ppu.getNextVblankCycle());
+
+		// VBlank is cleared by the read
+		assertEquals(Ppu.STATUS_VBLANK, ppu.readRegister(0x2002) & Ppu.STATUS_VBLANK);
+		assertEquals(0, ppu.readRegister(0x2002) & Ppu.STATUS_VBLANK);
+
+		// Mirrors
+		ppu.catchUp(ppu.getNextVblankCycle());
+		assertEquals(Ppu.STATUS_VBLANK, ppu.readRegister(0x3FFA) & Ppu.STATUS_VBLANK);
+	}
+
+	@Test
+	void testNmiEnabledDuringVblank() {
+		ppu.catchUp(ppu.getNextVblankCycle());
+		assertEquals(0, cpu.cpuInfo.interrupts & Cpu.INTERRUPT_NMI);
+
+		ppu.writeRegister(0x2000, 0x80);
+		assertEquals(Cpu.INTERRUPT_NMI, cpu.cpuInfo.interrupts & Cpu.INTERRUPT_NMI);
+	}
+
+	@Test
+	void testVramBufferedRead() {
+		writeVram(0x2100, 0x12, 0x34);
+
+		// First read gives the buffer
+		ppu.writeRegister(0x2006, 0x21);
+		ppu.writeRegister(0x2006, 0x00);
+		ppu.readRegister(0x2007);
+		assertEquals(0x12, ppu.readRegister(0x2007));
+		assertEquals(0x34, ppu.readRegister(0x2007));
+
+		// Increment by 32
+		ppu.writeRegister(0x2000, 0b100);
+		writeVram(0x2200, 0x56, 0x78);
+		ppu.writeRegister(0x2000, 0);
+		ppu.writeRegister(0x2006, 0x22);
+		ppu.writeRegister(0x2006, 0x20);
+		ppu.readRegister(0x2007);
+		assertEquals(0x78, ppu.readRegister(0x2007));
+	}
+
+	@Test
+	void testPalette() {
+		// Sprite backdrop is the background one, not buffered
+		writeVram(0x3F10, 0x2A);
+		ppu.writeRegister(0x2006, 0x3F);
+		ppu.writeRegister(0x2006, 0x00);
+		assertEquals(0x2A, ppu.readRegister(0x2007) & 0x3F);
+		assertEquals(0x2A, ppu.getPalette()[0]);
+	}
+
+	/**
+	 * Shows sprite 0 from (28, 30) over a background only opaque on the left, so
+	 * that it hits at (29, 30)
+	 */
+	private void showSprite0() {
+		// Tile 1 opaque, tile 0 transparent
+		writeVram(0x0000, new int[16]);
+		writeVram(0x0010, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF);
+
+		// Background of tile 1 but on the left
+		int[] nametable = new int[960];
+		for (int index = 0; index < nametable.length; index++) {
+			nametable[index] = index % 32 < 4 ? 1 : 0;
+		}
+		writeVram(0x2000, nametable);
+		ppu.writeRegister(0x2005, 0);
+		ppu.writeRegister(0x2005, 0);
+
+		// Sprite 0 from (28, 30), tile 1: only its first 4 pixels are on the background
+		ppu.writeRegister(0x2003, 0);
+		ppu.writeRegister(0x2004, 29);
+		ppu.writeRegister(0x2004, 1);
+		ppu.writeRegister(0x2004, 0);
+		ppu.writeRegister(0x2004, 28);
+		ppu.writeRegister(0x2001, 0x1E);
+	}
+
+	@Test
+	void testSprite0Hit() {
+		showSprite0();
+
+		long hit = ppu.getSprite0HitCycle();
+		assertEquals(ppu.getCycleAt(30, 29), hit);
+
+		ppu.catchUp(hit - 1);
+		assertEquals(0, ppu.getStatus() & Ppu.STATUS_SPRITE0_HIT);
+		ppu.catchUp(hit);
+		assertEquals(Ppu.STATUS_SPRITE0_HIT, ppu.getStatus() & Ppu.STATUS_SPRITE0_HIT);
+
+		// Cleared with the next frame
+		ppu.catchUp(ppu.getCycleAt(261, 2));
+		assertEquals(0, ppu.getStatus() & Ppu.STATUS_SPRITE0_HIT);
+
+		// No hit over a transparent background
+		ppu.writeRegister(0x2003, 0);
+		ppu.writeRegister(0x2004, 29);
+		ppu.writeRegister(0x2004, 1);
+		ppu.writeRegister(0x2004, 0);
+		ppu.writeRegister(0x2004, 100);
+		assertEquals(Ppu.NO_HIT, ppu.getSprite0HitCycle());
+	}
+
+	@Test
+	void testCpuLoopSynchronisesAtSprite0Hit() throws InstructionNotSupportedException {
+		showSprite0();
+		long hit = ppu.getSprite0HitCycle();
+		assertEquals(hit, ppu.getNextEventCycle());
+
+		// The PPU is not advanced by the CPU before the hit, then it is right after
+		while (cpu.getClock() < hit) {
+			assertEquals(0, ppu.getScanline());
+			cpu.tick();
+		}
+
+		assertEquals(Ppu.STATUS_SPRITE0_HIT, ppu.getStatus() & Ppu.STATUS_SPRITE0_HIT);
+		assertEquals(30, ppu.getScanline());
+		assertEquals(ppu.getNextVblankCycle(), ppu.getNextEventCycle());
+
+		// Predicted in the next frame after VBlank
+		ppu.catchUp(ppu.getNextVblankCycle());
+		assertEquals(ppu.getCycleAt(30, 29), ppu.getNextEventCycle());
+	}
+
+	@Test
+	void testMapperScanline() throws InstructionNotSupportedException {
+		int[] scanline = { -1 };
+		cpu.setMapper(new MapperTest() {
+			@Override
+			public void writeCpuBus(int address, int value) {
+				if (address == 0x5000) {
+					scanline[0] = getPpuScanline();
+				} else {
+					super.writeCpuBus(address, value);
+				}
+			}
+		});
+
+		// NOP ; JMP $0300 for 100 scanlines, then STA $5000
+		cpu.storeMemory(CODE_ADDRESS + 4, 0x8D, 0x00, 0x50);
+		long start = cpu.getClock();
+		while (cpu.getClock() < ppu.getCycleAt(100, 0)) {
+			cpu.tick();
+		}
+		assertEquals(0, ppu.getScanline());
+
+		// Written at the last cycle of STA, 3 dots per cycle
+		cpu.cpuInfo.PC = CODE_ADDRESS + 4;
+		long access = cpu.getClock() + 3;
+		cpu.tick();
+		assertEquals((access - start) * 3 / Ppu.DOTS_PER_SCANLINE, scanline[0]);
+		assertEquals(scanline[0], ppu.getScanline());
+
+		cpu.setMapper(mapper);
+	}
+
+	private void nextFrame() {
+		ppu.catchUp(ppu.getNextVblankCycle());
+	}
+
+	@Test
+	void testBackgroundRendering() {
+		int[] frameBuffer = new int[Ppu.SCREEN_WIDTH * Ppu.SCREEN_HEIGHT];
+		ppu.setFrameBuffer(frameBuffer);
+		assertSame(frameBuffer, ppu.getFrameBuffer());
+
+		// Backdrop, then colours 1 of the background palettes 0 and 1
+		writeVram(0x3F00, 0x0F, 0x16);
+		writeVram(0x3F05, 0x01);
+
+		// Tile 2 is colour 1, everywhere in the nametable
+		writeVram(0x0020, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0, 0, 0, 0, 0, 0, 0, 0);
+		int[] nametable = new int[960];
+		for (int index = 0; index < nametable.length; index++) {
+			nametable[index] = 2;
+		}
+		writeVram(0x2000, nametable);
+
+		// Palette 1 for the top left 16x16 pixels
+		int[] attributes = new int[64];
+		attributes[0] = 0b01;
+		writeVram(0x23C0, attributes);
+
+		// No scroll, v is copied from t by the pre-render scanline
+		ppu.writeRegister(0x2006, 0);
+		ppu.writeRegister(0x2006, 0);
+		ppu.writeRegister(0x2001, 0x0A);
+		nextFrame();
+		nextFrame();
+
+		assertEquals(Ppu.getRgb(0x01), frameBuffer[0]);
+		assertEquals(Ppu.getRgb(0x01), frameBuffer[15 * Ppu.SCREEN_WIDTH + 15]);
+		assertEquals(Ppu.getRgb(0x16), frameBuffer[16]);
+		assertEquals(Ppu.getRgb(0x16), frameBuffer[16 * Ppu.SCREEN_WIDTH]);
+		assertEquals(Ppu.getRgb(0x16), frameBuffer[Ppu.SCREEN_WIDTH * Ppu.SCREEN_HEIGHT - 1]);
+
+		// Scrolled by 4 pixels, with the left column hidden
+		ppu.writeRegister(0x2005, 4);
+		ppu.writeRegister(0x2005, 0);
+		ppu.writeRegister(0x2001, 0x08);
+		nextFrame();
+
+		assertEquals(Ppu.getRgb(0x0F), frameBuffer[7]);
+		assertEquals(Ppu.getRgb(0x01), frameBuffer[11]);
+		assertEquals(Ppu.getRgb(0x16), frameBuffer[12]);
+
+		// Palette writes are seen by the next frame, without rendering the backdrop
+		writeVram(0x3F01, 0x30);
+		ppu.writeRegister(0x2001, 0);
+		nextFrame();
+		assertEquals(Ppu.getRgb(0x0F), frameBuffer[12]);
+	}
+
+	@Test
+	void testFramesPublishedAtVblank() {
+		TripleBuffer frameBuffers = new TripleBuffer(Ppu.SCREEN_WIDTH * Ppu.SCREEN_HEIGHT);
+		ppu.setFrameBuffers(frameBuffers);
+		int[] first = ppu.getFrameBuffer();
+		assertSame(frameBuffers.getBackBuffer(), first);
+
+		// Rendering disabled, the backdrop is drawn
+		writeVram(0x3F00, 0x21);
+		nextFrame();
+		assertEquals(1, frameBuffers.getPublishedFrames());
+		assertSame(frameBuffers.getBackBuffer(), ppu.getFrameBuffer());
+		assertSame(first, frameBuffers.getBuffer(frameBuffers.acquire()));
+		assertEquals(Ppu.getRgb(0x21), first[Ppu.SCREEN_WIDTH * Ppu.SCREEN_HEIGHT - 1]);
+
+		// Back to a single buffer
+		ppu.setFrameBuffer(new int[Ppu.SCREEN_WIDTH * Ppu.SCREEN_HEIGHT]);
+		nextFrame();
+		assertEquals(1, frameBuffers.getPublishedFrames());
+	}
+
+	/**
+	 * Opaque background on the left half, transparent on the right, 8x8 tile 1
+	 * opaque and tile 3 only on its left half. Sprites are hidden
+	 */
+	private int[] setUpSprites() {
+		int[] frameBuffer = new int[Ppu.SCREEN_WIDTH * Ppu.SCREEN_HEIGHT];
+		ppu.setFrameBuffer(frameBuffer);
+
+		writeVram(0x3F00, 0x0F, 0x16);
+		writeVram(0x3F11, 0x05);
+		writeVram(0x3F15, 0x06);
+
+		writeVram(0x0000, new int[16]);
+		writeVram(0x0010, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0xFF, 0, 0, 0, 0, 0, 0, 0, 0);
+		writeVram(0x0030, 0xF0, 0xF0, 0xF0, 0xF0, 0xF0, 0xF0, 0xF0, 0xF0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+		int[] nametable = new int[1024];
+		for (int index = 0; index < 960; index++) {
+			nametable[index] = index % 32 < 16 ? 1 : 0;
+		}
+		writeVram(0x2000, nametable);
+		ppu.writeRegister(0x2006, 0);
+		ppu.writeRegister(0x2006, 0);
+
+		int[] oam = new int[256];
+		for (int index = 0; index < oam.length; index += 4) {
+			oam[index] = 0xEF;
+		}
+		writeOam(0, oam);
+
+		return frameBuffer;
+	}
+
+	private void writeOam(int address, int... values) {
+		ppu.writeRegister(0x2003, address);
+		for (int value : values) {
+			ppu.writeRegister(0x2004, value);
+		}
+	}
+
+	private static int pixel(int[] frameBuffer, int x, int y) {
+		return frameBuffer[y * Ppu.SCREEN_WIDTH + x];
+	}
+
+	@Test
+	void testSpriteRendering() {
+		int[] frameBuffer = setUpSprites();
+
+		// Behind the background, behind again, flipped palette 1, under sprite 1
+		writeOam(0, 9, 1, 0x20, 100);
+		writeOam(4, 9, 1, 0x20, 200);
+		writeOam(8, 9, 3, 0x41, 150);
+		writeOam(12, 9, 1, 0x01, 196);
+		ppu.writeRegister(0x2001, 0x1E);
+		nextFrame();
+		nextFrame();
+
+		assertEquals(4, ppu.getSpriteCount(10));
+		assertEquals(0, ppu.getSpriteCount(9));
+
+		assertEquals(Ppu.getRgb(0x16), pixel(frameBuffer, 100, 10));
+		assertEquals(Ppu.getRgb(0x05), pixel(frameBuffer, 200, 10));
+		assertEquals(Ppu.getRgb(0x0F), pixel(frameBuffer, 200, 9));
+		assertEquals(Ppu.getRgb(0x05), pixel(frameBuffer, 207, 17));
+		assertEquals(Ppu.getRgb(0x0F), pixel(frameBuffer, 207, 18));
+		assertEquals(Ppu.getRgb(0x0F), pixel(frameBuffer, 150, 10));
+		assertEquals(Ppu.getRgb(0x06), pixel(frameBuffer, 154, 10));
+		assertEquals(Ppu.getRgb(0x06), pixel(frameBuffer, 196, 10));
+
+		// No sprites
+		ppu.writeRegister(0x2001, 0x0A);
+		nextFrame();
+		assertEquals(Ppu.getRgb(0x0F), pixel(frameBuffer, 200, 10));
+	}
+
+	@Test
+	void testEightSpritesPerScanline() {
+		int[] frameBuffer = setUpSprites();
+
+		// 9 sprites side by side from the scanline 50
+		for (int sprite = 0; sprite < 9; sprite++) {
+			writeOam(sprite * 4, 49, 1, 0, 128 + sprite * 8);
+		}
+		ppu.writeRegister(0x2001, 0x1E);
+		nextFrame();
+		nextFrame();
+
+		assertEquals(8, ppu.getSpriteCount(50));
+		assertEquals(Ppu.getRgb(0x05), pixel(frameBuffer, 191, 50));
+		assertEquals(Ppu.getRgb(0x0F), pixel(frameBuffer, 192, 50));
+
+		// Overflow is found on the scanline before, cleared by the next frame
+		assertEquals(Ppu.STATUS_OVERFLOW, ppu.getStatus() & Ppu.STATUS_OVERFLOW);
+		ppu.catchUp(ppu.getCycleAt(261, 2));
+		assertEquals(0, ppu.getStatus() & Ppu.STATUS_OVERFLOW);
+		ppu.catchUp(ppu.getCycleAt(49, 255));
+		assertEquals(0, ppu.getStatus() & Ppu.STATUS_OVERFLOW);
+		ppu.catchUp(ppu.getCycleAt(49, 256));
+		assertEquals(Ppu.STATUS_OVERFLOW, ppu.getStatus() & Ppu.STATUS_OVERFLOW);
+
+		// OAM writes evaluate the sprites again, the 9th one is shown
+		writeOam(0, 0xEF);
+		nextFrame();
+		nextFrame();
+		assertEquals(8, ppu.getSpriteCount(50));
+		assertEquals(Ppu.getRgb(0x0F), pixel(frameBuffer, 128, 50));
+		assertEquals(Ppu.getRgb(0x05), pixel(frameBuffer, 192, 50));
+		assertEquals(0, ppu.getStatus() & Ppu.STATUS_OVERFLOW);
+
+		// And the sprite size
+		assertEquals(0, ppu.getSpriteCount(60));
+		ppu.writeRegister(0x2000, 0x20);
+		assertEquals(8, ppu.getSpriteCount(60));
+	}
+
+	@Test
+	void testSpriteOverflowBug() {
+		setUpSprites();
+
+		// After 8 sprites, the tile of the 10th one is compared as its Y
+		for (int sprite = 0; sprite < 8; sprite++) {
+			writeOam(sprite * 4, 49, 1, 0, sprite * 8);
+		}
+		writeOam(36, 0xEF, 49, 0, 0);
+		ppu.writeRegister(0x2001, 0x1E);
+		nextFrame();
+		nextFrame();
+
+		assertEquals(8, ppu.getSpriteCount(50));
+		assertEquals(Ppu.STATUS_OVERFLOW, ppu.getStatus() & Ppu.STATUS_OVERFLOW);
+	}
+
+	@Test
+	void testFrameBufferSize() {
+		assertThrows(IllegalArgumentException.class, () -> ppu.setFrameBuffer(new int[256 * 224]));
+	}
+
+	@Test
+	void testOamDma() {
+		for (int index = 0; index < 256; index++) {
+			cpu.storeMemory(0x0200 + index, index ^ 0x5A);
+		}
+
+		ppu.writeOamDma(0x02);
+		for (int index = 0; index < 256; index++) {
+			assertEquals(index ^ 0x5A, ppu.getOam()[index]);
+		}
+
+		assertTrue(cpu.cpuInfo.dmaRequested);
+		assertEquals(513, cpu.cpuInfo.dmaHaltCycles);
+	}
+}
@@ -0,0 +1,101 @@
+package ppu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import components.Mirroring;
+import components.PpuBus;
+
+class TestPpuBus {
+
+	static final int[] SLOTS = { 0x2000, 0x2400, 0x2800, 0x2C00 };
+
+	PpuBus ppuBus;
+
+	@BeforeEach
+	void init() {
+		ppuBus = new PpuBus();
+	}
+
+	/**
+	 * Writes the slot number at the start of each slot, the last one written wins
+	 * for slots showing the same page
+	 */
+	private int[] writeSlots() {
+		for (int slot = 0; slot < SLOTS.length; slot++) {
+			ppuBus.writeToBus(SLOTS[slot] + 0x10, slot + 1);
+		}
+
+		int[] values = new int[SLOTS.length];
+		for (int slot = 0; slot < SLOTS.length; slot++) {
+			values[slot] = ppuBus.getFromBus(SLOTS[slot] + 0x10);
+		}
+		return values;
+	}
+
+	@ParameterizedTest
+	@CsvSource(value = { "HORIZONTAL, 2, 2, 4, 4", "VERTICAL, 3, 4, 3, 4", "SINGLE_SCREEN_LOWER, 4, 4, 4, 4",
+			"SINGLE_SCREEN_UPPER, 4, 4, 4, 4", "FOUR_SCREEN, 1, 2, 3, 4" })
+	void testMirroring(Mirroring mirroring, int slot0, int slot1, int slot2, int slot3) {
+		ppuBus.setMirroring(mirroring);
+		assertEquals(mirroring, ppuBus.getMirroring());
+
+		int[] values = writeSlots();
+		assertEquals(slot0, values[0]);
+		assertEquals(slot1, values[1]);
+		assertEquals(slot2, values[2]);
+		assertEquals(slot3, values[3]);
+	}
+
+	@Test
+	void testSwitchKeepsContent() {
+		ppuBus.setMirroring(Mirroring.SINGLE_SCREEN_LOWER);
+		ppuBus.writeToBus(0x2000, 0x12);
+		ppuBus.setMirroring(Mirroring.SINGLE_SCREEN_UPPER);
+		ppuBus.writeToBus(0x2000, 0x34);
+
+		// Both CIRAM pages, seen by vertical mirroring
+		ppuBus.setMirroring(Mirroring.VERTICAL);
+		assertEquals(0x12, ppuBus.getFromBus(0x2800));
+		assertEquals(0x34, ppuBus.getFromBus(0x2C00));
+	}
+
+	@Test
+	void testMirrorsAbove() {
+		ppuBus.setMirroring(Mirroring.VERTICAL);
+		ppuBus.writeToBus(0x2403, 0x56);
+		assertEquals(0x56, ppuBus.getFromBus(0x3403));
+		assertEquals(0x56, ppuBus.getFromBus(0x3C03));
+
+		ppuBus.writeToBus(0x3EFF, 0x78);
+		assertEquals(0x78, ppuBus.getFromBus(0x2EFF));
+	}
+
+	@Test
+	void testPatternTables() {
+		ppuBus.writeToBus(0x1FFF, 0x1AB);
+		assertEquals(0xAB, ppuBus.getFromBus(0x1FFF));
+		assertEquals(0xAB, ppuBus.busContent[0x1FFF]);
+	}
+
+	@Test
+	void testMapperNametable() {
+		ppuBus.setMirroring(Mirroring.HORIZONTAL);
+		int[] page = new int[PpuBus.NAMETABLE_SIZE];
+		page[5] = 0x9A;
+
+		// Mapper RAM only in the last slot
+		ppuBus.mapNametable(3, page);
+		assertEquals(0x9A, ppuBus.getFromBus(0x2C05));
+		assertEquals(0, ppuBus.getFromBus(0x2805));
+		ppuBus.writeToBus(0x2C06, 0xBC);
+		assertEquals(0xBC, page[6]);
+
+		assertThrows(IllegalArgumentException.class, () -> ppuBus.mapNametable(0, new int[0x800]));
+	}
+}
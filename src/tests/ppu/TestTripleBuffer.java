@@ -0,0 +1,95 @@
+package ppu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import components.TripleBuffer;
+
+class TestTripleBuffer {
+
+	@Test
+	void testNewestFrame() {
+		TripleBuffer buffers = new TripleBuffer(4);
+		int[] first = buffers.getBackBuffer();
+		first[0] = 1;
+
+		int[] back = buffers.publish();
+		assertNotSame(first, back);
+		assertSame(back, buffers.getBackBuffer());
+
+		// The published frame is taken, then the writer never gets it
+		assertSame(first, buffers.getBuffer(buffers.acquire()));
+		assertSame(first, buffers.getFrontBuffer());
+		back[0] = 2;
+		assertNotSame(first, buffers.publish());
+		assertNotSame(first, buffers.getBackBuffer());
+
+		assertEquals(2, buffers.getBuffer(buffers.acquire())[0]);
+		assertEquals(2, buffers.getPublishedFrames());
+		assertEquals(0, buffers.getDroppedFrames());
+		assertEquals(0, buffers.getDuplicatedFrames());
+	}
+
+	@Test
+	void testDroppedFrames() {
+		TripleBuffer buffers = new TripleBuffer(4);
+		for (int frame = 1; frame <= 3; frame++) {
+			buffers.getBackBuffer()[0] = frame;
+			buffers.publish();
+		}
+
+		// Only the last one is shown
+		assertEquals(3, buffers.getBuffer(buffers.acquire())[0]);
+		assertEquals(2, buffers.getDroppedFrames());
+	}
+
+	@Test
+	void testDuplicatedFrames() {
+		TripleBuffer buffers = new TripleBuffer(4);
+		buffers.getBackBuffer()[0] = 1;
+		buffers.publish();
+
+		int front = buffers.acquire();
+		assertEquals(front, buffers.acquire());
+		assertEquals(front, buffers.acquire());
+		assertEquals(2, buffers.getDuplicatedFrames());
+		assertEquals(1, buffers.getFrontBuffer()[0]);
+	}
+
+	@Test
+	void testConcurrentFramesAreComplete() throws InterruptedException {
+		TripleBuffer buffers = new TripleBuffer(1024);
+		int frames = 100_000;
+
+		// A frame is filled with its number, the reader must never see two numbers
+		Thread writer = new Thread(() -> {
+			for (int frame = 1; frame <= frames; frame++) {
+				int[] buffer = buffers.getBackBuffer();
+				for (int index = 0; index < buffer.length; index++) {
+					buffer[index] = frame;
+				}
+				buffers.publish();
+			}
+		});
+
+		writer.start();
+		int lastFrame = 0;
+		while (lastFrame < frames) {
+			int[] buffer = buffers.getBuffer(buffers.acquire());
+			int frame = buffer[0];
+			for (int value : buffer) {
+				assertEquals(frame, value);
+			}
+
+			assertTrue(frame >= lastFrame);
+			lastFrame = frame;
+		}
+		writer.join();
+
+		assertEquals(frames, buffers.getPublishedFrames());
+	}
+}
@@ -0,0 +1,291 @@
+package recompiler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+
+import components.Cpu;
+import components.CpuEngine;
+import components.CpuInfo;
+import components.Ppu;
+import components.SwitchInterpreter;
+import exceptions.InstructionNotSupportedException;
+import instructions.InstructionInfo;
+import utils.MapperTest;
+
+class TestRecompiler {
+
+	static final Cpu cpu = Cpu.getInstance();
+	static final MapperTest mapper = new MapperTest();
+	static final SwitchInterpreter interpreter = new SwitchInterpreter(cpu);
+
+	// Random blocks tested
+	static final int BLOCK_NUMBER = 2000;
+
+	// Whole bus is checked (pointers can be modified by the block)
+	static final int MEMORY_SIZE = 0x10000;
+	static final int RAM_SIZE = 0x800;
+	static final int POINTER_PAGES = (RAM_SIZE >> 8) - 1;
+
+	// Code is in ROM
+	static final int CODE_ADDRESS = 0x8000;
+	static final int CODE_SIZE = BlockCompiler.MAX_INSTRUCTIONS * 3 + 3;
+
+	@BeforeAll
+	static void init() {
+		cpu.setMapper(mapper);
+	}
+
+	private void setState(int[] state, int[] memory) {
+		cpu.storeMemory(0, memory);
+
+		CpuInfo cpuInfo = cpu.cpuInfo;
+		cpuInfo.A = state[0];
+		cpuInfo.X = state[1];
+		cpuInfo.Y = state[2];
+		cpuInfo.SP = state[3];
+		cpuInfo.PC = state[4];
+		cpuInfo.setP(state[5]);
+	}
+
+	private int[] getState(int cycles) {
+		CpuInfo cpuInfo = cpu.cpuInfo;
+		int[] state = new int[7 + MEMORY_SIZE];
+		state[0] = cpuInfo.A;
+		state[1] = cpuInfo.X;
+		state[2] = cpuInfo.Y;
+		state[3] = cpuInfo.SP;
+		state[4] = cpuInfo.PC;
+		state[5] = cpuInfo.getP();
+		state[6] = cycles;
+
+		for (int address = 0; address < MEMORY_SIZE; address++) {
+			state[7 + address] = cpu.fetchMemory(address);
+		}
+
+		return state;
+	}
+
+	@TestFactory
+	Collection<DynamicTest> testSameResultsAsInterpreter() throws InstructionNotSupportedException {
+		List<DynamicTest> tests = new ArrayList<DynamicTest>();
+		Integer[] opcodes = InstructionInfo.getInstance().getInstructionMap().keySet().toArray(new Integer[0]);
+		Random random = new Random(0x6502);
+
+		for (int blockNumber = 0; blockNumber < BLOCK_NUMBER; blockNumber++) {
+			// Random RAM with pointers staying in RAM
+			int[] memory = new int[MEMORY_SIZE];
+			for (int address = 0; address < RAM_SIZE; address++) {
+				memory[address] = random.nextInt(0x100);
+			}
+			for (int address = 1; address < 0x100; address += 2) {
+				memory[address] = random.nextInt(POINTER_PAGES);
+			}
+
+			// Random code, absolute addresses (plus X or Y) staying in RAM
+			for (int address = CODE_ADDRESS; address < CODE_ADDRESS + CODE_SIZE; address += 3) {
+				memory[address] = opcodes[random.nextInt(opcodes.length)];
+				memory[address + 1] = random.nextInt(0x100);
+				memory[address + 2] = random.nextInt(POINTER_PAGES);
+			}
+
+			int[] state = { random.nextInt(0x100), random.nextInt(0x100), random.nextInt(0x100),
+					random.nextInt(0x100), CODE_ADDRESS, random.nextInt(0x100) };
+
+			// Compiled block
+			setState(state, memory);
+			CompiledBlock block = new Recompiler(cpu, interpreter, 1).getBlock(CODE_ADDRESS);
+			int[] gotState = getState(block.execute(cpu, cpu.cpuInfo, mapper, interpreter));
+
+			// Interpreter, as many instructions as the block
+			setState(state, memory);
+			int cycles = 0;
+			for (int instruction = 0; instruction < block.getInstructionNumber(); instruction++) {
+				cycles += interpreter.execute();
+			}
+			int[] expectedState = getState(cycles);
+
+			// Only keep the index of the first difference (states are big)
+			int mismatch = Arrays.mismatch(expectedState, gotState);
+			tests.add(DynamicTest.dynamicTest(
+					"Block %d (%d instructions)".formatted(blockNumber, block.getInstructionNumber()),
+					() -> assertEquals(-1, mismatch, "Compiled block must match interpreter")));
+		}
+
+		return tests;
+	}
+
+	@Test
+	void testIOIsInterpreted() {
+		Recompiler recompiler = new Recompiler(cpu, interpreter, 1);
+
+		// STA $2000 is not compiled
+		cpu.storeMemory(CODE_ADDRESS, 0x8D, 0x00, 0x20);
+		CompiledBlock block = recompiler.getBlock(CODE_ADDRESS);
+		assertEquals(1, block.getInstructionNumber());
+		assertEquals(0, recompiler.getCompiledBlocks());
+
+		// LDA #$01 ; STA $2000 stops before the store
+		cpu.storeMemory(CODE_ADDRESS + 0x10, 0xA9, 0x01, 0x8D, 0x00, 0x20);
+		block = recompiler.getBlock(CODE_ADDRESS + 0x10);
+		assertEquals(1, block.getInstructionNumber());
+		assertEquals(1, recompiler.getCompiledBlocks());
+	}
+
+	/**
+	 * Runs LDX #$00 ; LDY #$00 ; NOP ; STA $2000,X ; STA ($10),Y ; JMP $8000 with
+	 * the PPU registers in the mapper and returns the PPU position (in dots) at
+	 * each write
+	 */
+	private List<Integer> runIndexedPpuWrites(boolean compiled) throws InstructionNotSupportedException {
+		Ppu ppu = cpu.getPpu();
+		List<Integer> positions = new ArrayList<Integer>();
+		MapperTest ppuMapper = new MapperTest() {
+			@Override
+			public void writeCpuBus(int address, int value) {
+				if (address >= 0x2000 && address < 0x4000) {
+					ppu.writeRegister(address, value);
+					positions.add(ppu.getScanline() * Ppu.DOTS_PER_SCANLINE + ppu.getDot());
+				} else {
+					super.writeCpuBus(address, value);
+				}
+			}
+		};
+
+		cpu.setMapper(ppuMapper);
+		cpu.storeMemory(0x10, 0x01, 0x20);
+		cpu.storeMemory(CODE_ADDRESS, 0xA2, 0x00, 0xA0, 0x00, 0xEA, 0x9D, 0x00, 0x20, 0x91, 0x10, 0x4C, 0x00, 0x80);
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+		cpu.cpuInfo.A = 0;
+
+		ppu.setPal(false);
+		ppu.reset();
+		if (compiled) {
+			// The clock is only advanced after the block (JMP is the last instruction)
+			assertEquals(20, new Recompiler(cpu, interpreter, 1).execute());
+			assertEquals(cpu.getClock(), cpu.getAccessClock() - 2);
+		} else {
+			cpu.setEngine(CpuEngine.SWITCH);
+			for (int instruction = 0; instruction < 6; instruction++) {
+				cpu.tick();
+			}
+			cpu.setEngine(CpuEngine.INSTRUCTION);
+		}
+
+		ppu.reset();
+		cpu.setMapper(mapper);
+		return positions;
+	}
+
+	@Test
+	void testIndexedIOAtTheRightDot() throws InstructionNotSupportedException {
+		// Written at the last cycle of each store (3 dots per cycle): cycle 6 + 4
+		// then 11 + 5
+		assertEquals(List.of(30, 48), runIndexedPpuWrites(false));
+		assertEquals(List.of(30, 48), runIndexedPpuWrites(true));
+	}
+
+	@Test
+	void testInstructionCyclesBound() {
+		// Base cycles and the largest penalty (taken branch on a new page)
+		InstructionInfo instructionInfo = InstructionInfo.getInstance();
+		for (int opcode : instructionInfo.getInstructionMap().keySet()) {
+			int cycles = instructionInfo.getCycles(opcode, 3);
+			assertTrue(cycles <= Recompiler.MAX_INSTRUCTION_CYCLES,
+					"Opcode 0x%02X takes %d cycles".formatted(opcode, cycles));
+		}
+	}
+
+	@Test
+	void testLongBlockStopsBeforeVblank() throws InstructionNotSupportedException {
+		Ppu ppu = cpu.getPpu();
+
+		// 64 DCP ($10,X) of 8 cycles on $0200, so the block takes 512 cycles
+		for (int instruction = 0; instruction < BlockCompiler.MAX_INSTRUCTIONS; instruction++) {
+			cpu.storeMemory(CODE_ADDRESS + instruction * 2, 0xC3, 0x10);
+		}
+		cpu.storeMemory(0x10, 0x00, 0x02);
+		assertEquals(BlockCompiler.MAX_INSTRUCTIONS, cpu.getRecompiler().getBlock(CODE_ADDRESS).getInstructionNumber());
+
+		// NOP ; JMP $0300 until the block can end just after VBlank
+		cpu.storeMemory(0x0300, 0xEA, 0x4C, 0x00, 0x03);
+		cpu.cpuInfo.PC = 0x0300;
+		cpu.cpuInfo.X = 0;
+		ppu.setPal(false);
+		ppu.reset();
+		ppu.writeRegister(0x2000, 0x80);
+
+		long vblank = ppu.getNextVblankCycle();
+		cpu.setEngine(CpuEngine.SWITCH);
+		while (vblank - cpu.getClock() > 480) {
+			cpu.tick();
+		}
+
+		// The NMI is requested by the first tick reaching VBlank, not after the block
+		cpu.setEngine(CpuEngine.RECOMPILER);
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+		while (cpu.getClock() < vblank) {
+			assertEquals(0, cpu.cpuInfo.interrupts & Cpu.INTERRUPT_NMI);
+			cpu.tick();
+		}
+		cpu.setEngine(CpuEngine.INSTRUCTION);
+
+		assertTrue(cpu.getClock() - vblank < Recompiler.MAX_INSTRUCTION_CYCLES,
+				"%d cycles late".formatted(cpu.getClock() - vblank));
+		assertEquals(Cpu.INTERRUPT_NMI, cpu.cpuInfo.interrupts & Cpu.INTERRUPT_NMI);
+
+		cpu.cpuInfo.interrupts = 0;
+		ppu.reset();
+	}
+
+	@Test
+	void testBlockEndsWithJump() throws InstructionNotSupportedException {
+		Recompiler recompiler = new Recompiler(cpu, interpreter, 1);
+
+		// INX ; INY ; JMP $8000
+		cpu.storeMemory(CODE_ADDRESS, 0xE8, 0xC8, 0x4C, 0x00, 0x80);
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+		cpu.cpuInfo.X = 0;
+		cpu.cpuInfo.Y = 0;
+
+		assertEquals(7, recompiler.execute());
+		assertEquals(7, recompiler.execute());
+		assertEquals(CODE_ADDRESS, cpu.cpuInfo.PC);
+		assertEquals(2, cpu.cpuInfo.X);
+		assertEquals(2, cpu.cpuInfo.Y);
+		assertEquals(3, recompiler.getBlock(CODE_ADDRESS).getInstructionNumber());
+	}
+
+	@Test
+	void testBlocksForgottenWithMapper() throws InstructionNotSupportedException {
+		// INX ; JMP $8000 until it is compiled
+		cpu.setEngine(CpuEngine.RECOMPILER);
+		cpu.storeMemory(CODE_ADDRESS, 0xE8, 0x4C, 0x00, 0x80);
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+		for (int tick = 0; tick < 100; tick++) {
+			cpu.tick();
+		}
+
+		// Another cartridge with INY ; JMP $8000
+		cpu.setMapper(mapper);
+		cpu.storeMemory(CODE_ADDRESS, 0xC8);
+		cpu.cpuInfo.PC = CODE_ADDRESS;
+		cpu.cpuInfo.X = 0;
+		cpu.cpuInfo.Y = 0;
+		cpu.tick();
+		cpu.setEngine(CpuEngine.INSTRUCTION);
+
+		assertEquals(0, cpu.cpuInfo.X);
+		assertEquals(1, cpu.cpuInfo.Y);
+	}
+}
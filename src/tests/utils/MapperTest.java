@@ -24,12 +24,13 @@ public class MapperTest extends Mapper {
 	}
 
 	@Override
-	public void writeCpuBus(int address, int... values) {
+	public void writeCpuBus(int address, int value) {
 		if (address == SPECIAL_REGISTER_ADDRESS) {
 			writeCounter++;
 		}
 		
-		cpuBus.writeToBus(address, values);
+		cpuBus.writeToBus(address, value);
+		decodeCache.invalidate(address);
 	}
 	
 	public int getReadCounter() {